@@ -27,10 +27,12 @@ import org.aopalliance.intercept.MethodInvocation;
 
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.core.Ordered;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 
@@ -66,7 +68,14 @@ import org.springframework.util.ClassUtils;
  * @see org.springframework.scheduling.annotation.AsyncAnnotationAdvisor
  * @see org.springframework.scheduling.annotation.AnnotationAsyncExecutionInterceptor
  */
-public class AsyncExecutionInterceptor extends AsyncExecutionAspectSupport implements MethodInterceptor, Ordered {
+public class AsyncExecutionInterceptor extends AsyncExecutionAspectSupport
+		implements MethodInterceptor, Ordered, DisposableBean {
+
+	private boolean virtualThreads;
+
+	@Nullable
+	private volatile VirtualThreadTaskExecutor localVirtualThreadExecutor;
+
 
 	/**
 	 * Create a new instance with a default {@link AsyncUncaughtExceptionHandler}.
@@ -90,6 +99,19 @@ public class AsyncExecutionInterceptor extends AsyncExecutionAspectSupport imple
 	}
 
 
+	/**
+	 * Specify whether the local default executor, created if no executor bean
+	 * could be found, is supposed to run tasks on virtual threads if supported
+	 * by the JVM.
+	 * <p>Default is "false", falling back to a {@link SimpleAsyncTaskExecutor}.
+	 * @since 5.3.3
+	 * @see VirtualThreadTaskExecutor
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
+
 	/**
 	 * Intercept the given method invocation, submit the actual calling of the method to
 	 * the correct task executor and return immediately to the caller.
@@ -148,14 +170,37 @@ public class AsyncExecutionInterceptor extends AsyncExecutionAspectSupport imple
 	 * bean in the context, or for an {@link Executor} bean named "taskExecutor" otherwise.
 	 * If neither of the two is resolvable (e.g. if no {@code BeanFactory} was configured at all),
 	 * this implementation falls back to a newly created {@link SimpleAsyncTaskExecutor} instance
-	 * for local use if no default could be found.
+	 * for local use if no default could be found, or to a {@link VirtualThreadTaskExecutor}
+	 * if {@linkplain #setVirtualThreads virtual threads} have been requested.
 	 * @see #DEFAULT_TASK_EXECUTOR_BEAN_NAME
 	 */
 	@Override
 	@Nullable
 	protected Executor getDefaultExecutor(@Nullable BeanFactory beanFactory) {
 		Executor defaultExecutor = super.getDefaultExecutor(beanFactory);
-		return (defaultExecutor != null ? defaultExecutor : new SimpleAsyncTaskExecutor());
+		if (defaultExecutor != null) {
+			return defaultExecutor;
+		}
+		if (this.virtualThreads) {
+			VirtualThreadTaskExecutor virtualThreadExecutor = new VirtualThreadTaskExecutor("async-");
+			this.localVirtualThreadExecutor = virtualThreadExecutor;
+			return virtualThreadExecutor;
+		}
+		return new SimpleAsyncTaskExecutor();
+	}
+
+	/**
+	 * Close the {@link VirtualThreadTaskExecutor} created for local use,
+	 * if any, interrupting its running tasks.
+	 * @since 5.3.3
+	 * @see #setVirtualThreads
+	 */
+	@Override
+	public void destroy() {
+		VirtualThreadTaskExecutor virtualThreadExecutor = this.localVirtualThreadExecutor;
+		if (virtualThreadExecutor != null) {
+			virtualThreadExecutor.close();
+		}
 	}
 
 	@Override
@@ -18,25 +18,31 @@ package org.springframework.beans.factory;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.infra.Blackhole;
 
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.beans.propertyeditors.CustomDateEditor;
 
 import static org.springframework.core.testfixture.io.ResourceTestUtils.qualifiedResource;
 
 /**
- * Benchmark for creating prototype beans in a concurrent fashion.
+ * Benchmark for creating prototype beans and lazy singleton beans in a concurrent fashion,
+ * with and without {@link DefaultListableBeanFactory#setSingletonLockStriping singleton lock striping}.
  * This benchmark requires to customize the number of worker threads {@code -t <int>} on the
- * CLI when running this particular benchmark to leverage concurrency.
+ * CLI when running this particular benchmark to leverage concurrency, e.g. comparing
+ * {@code -t 1}, {@code -t 8} and {@code -t 64}.
  *
  * @author Brian Clozel
  */
@@ -46,11 +52,15 @@ public class ConcurrentBeanFactoryBenchmark {
 	@State(Scope.Benchmark)
 	public static class BenchmarkState {
 
+		@Param({"false", "true"})
+		public boolean singletonLockStriping;
+
 		public DefaultListableBeanFactory factory;
 
 		@Setup
 		public void setup() {
 			this.factory = new DefaultListableBeanFactory();
+			this.factory.setSingletonLockStriping(this.singletonLockStriping);
 			new XmlBeanDefinitionReader(this.factory).loadBeanDefinitions(
 					qualifiedResource(ConcurrentBeanFactoryBenchmark.class, "context.xml"));
 
@@ -61,12 +71,51 @@ public class ConcurrentBeanFactoryBenchmark {
 
 	}
 
+	@State(Scope.Benchmark)
+	public static class LazySingletonState {
+
+		@Param({"false", "true"})
+		public boolean singletonLockStriping;
+
+		@Param({"10000"})
+		public int beanCount;
+
+		public DefaultListableBeanFactory factory;
+
+		public String[] beanNames;
+
+		public final AtomicInteger counter = new AtomicInteger();
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			this.factory = new DefaultListableBeanFactory();
+			this.factory.setSingletonLockStriping(this.singletonLockStriping);
+			this.beanNames = new String[this.beanCount];
+			for (int i = 0; i < this.beanCount; i++) {
+				RootBeanDefinition bd = new RootBeanDefinition(ConcurrentBean.class);
+				bd.setLazyInit(true);
+				bd.getPropertyValues().add("date", new Date());
+				this.beanNames[i] = "singleton" + i;
+				this.factory.registerBeanDefinition(this.beanNames[i], bd);
+			}
+			this.counter.set(0);
+		}
+
+	}
+
+
 	@Benchmark
 	public void concurrentBeanCreation(BenchmarkState state, Blackhole bh) {
 		bh.consume(state.factory.getBean("bean1"));
 		bh.consume(state.factory.getBean("bean2"));
 	}
 
+	@Benchmark
+	public void concurrentLazySingletonRetrieval(LazySingletonState state, Blackhole bh) {
+		int index = (state.counter.getAndIncrement() & Integer.MAX_VALUE) % state.beanCount;
+		bh.consume(state.factory.getBean(state.beanNames[index]));
+	}
+
 
 	public static class ConcurrentBean {
 
@@ -25,6 +25,7 @@ import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.convert.Property;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.lang.Nullable;
@@ -62,6 +63,18 @@ import org.springframework.util.ReflectionUtils;
  */
 public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements BeanWrapper {
 
+	/**
+	 * System property that instructs Spring to use compiled property access
+	 * by default, as with {@link #setCompiledPropertyAccess} being set to
+	 * {@code true} for every BeanWrapperImpl instance: {@code "spring.beans.compiled-access"}.
+	 * <p>The default is "false", sticking to reflective property access.
+	 * @since 5.3.3
+	 */
+	public static final String COMPILED_ACCESS_PROPERTY_NAME = "spring.beans.compiled-access";
+
+	private static final boolean compiledAccessByDefault = SpringProperties.getFlag(COMPILED_ACCESS_PROPERTY_NAME);
+
+
 	/**
 	 * Cached introspections results for this object, to prevent encountering
 	 * the cost of JavaBeans introspection every time.
@@ -75,6 +88,8 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	@Nullable
 	private AccessControlContext acc;
 
+	private boolean compiledPropertyAccess = compiledAccessByDefault;
+
 
 	/**
 	 * Create a new empty BeanWrapperImpl. Wrapped instance needs to be set afterwards.
@@ -132,6 +147,7 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	private BeanWrapperImpl(Object object, String nestedPath, BeanWrapperImpl parent) {
 		super(object, nestedPath, parent);
 		setSecurityContext(parent.acc);
+		setCompiledPropertyAccess(parent.compiledPropertyAccess);
 	}
 
 
@@ -193,6 +209,30 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 		return this.acc;
 	}
 
+	/**
+	 * Set whether to invoke property read and write methods through compiled
+	 * accessors instead of reflection, for public methods on public classes.
+	 * <p>Compiled accessors are generated once per bean class and property,
+	 * with type conversion and nested path semantics remaining unchanged.
+	 * They are not used when running with a security manager.
+	 * <p>Default is "false", unless the {@value #COMPILED_ACCESS_PROPERTY_NAME}
+	 * system property has been set to "true". Nested BeanWrappers inherit this
+	 * setting.
+	 * @since 5.3.3
+	 */
+	public void setCompiledPropertyAccess(boolean compiledPropertyAccess) {
+		this.compiledPropertyAccess = compiledPropertyAccess;
+	}
+
+	/**
+	 * Return whether to invoke property read and write methods through
+	 * compiled accessors instead of reflection.
+	 * @since 5.3.3
+	 */
+	public boolean isCompiledPropertyAccess() {
+		return this.compiledPropertyAccess;
+	}
+
 
 	/**
 	 * Convert the given value for the specified property to the latter's type.
@@ -227,8 +267,14 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	@Override
 	@Nullable
 	protected BeanPropertyHandler getLocalPropertyHandler(String propertyName) {
-		PropertyDescriptor pd = getCachedIntrospectionResults().getPropertyDescriptor(propertyName);
-		return (pd != null ? new BeanPropertyHandler(pd) : null);
+		CachedIntrospectionResults cachedIntrospectionResults = getCachedIntrospectionResults();
+		PropertyDescriptor pd = cachedIntrospectionResults.getPropertyDescriptor(propertyName);
+		if (pd == null) {
+			return null;
+		}
+		CompiledBeanProperty compiledProperty = (this.compiledPropertyAccess && System.getSecurityManager() == null ?
+				cachedIntrospectionResults.getCompiledProperty(pd) : null);
+		return new BeanPropertyHandler(pd, compiledProperty);
 	}
 
 	@Override
@@ -265,9 +311,13 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 
 		private final PropertyDescriptor pd;
 
-		public BeanPropertyHandler(PropertyDescriptor pd) {
+		@Nullable
+		private final CompiledBeanProperty compiledProperty;
+
+		public BeanPropertyHandler(PropertyDescriptor pd, @Nullable CompiledBeanProperty compiledProperty) {
 			super(pd.getPropertyType(), pd.getReadMethod() != null, pd.getWriteMethod() != null);
 			this.pd = pd;
+			this.compiledProperty = compiledProperty;
 		}
 
 		@Override
@@ -289,6 +339,9 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 		@Override
 		@Nullable
 		public Object getValue() throws Exception {
+			if (this.compiledProperty != null && this.compiledProperty.canRead()) {
+				return this.compiledProperty.getValue(getWrappedInstance());
+			}
 			Method readMethod = this.pd.getReadMethod();
 			if (System.getSecurityManager() != null) {
 				AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
@@ -311,6 +364,10 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 
 		@Override
 		public void setValue(@Nullable Object value) throws Exception {
+			if (this.compiledProperty != null && this.compiledProperty.canWrite()) {
+				this.compiledProperty.setValue(getWrappedInstance(), value);
+				return;
+			}
 			Method writeMethod = (this.pd instanceof GenericTypeAwarePropertyDescriptor ?
 					((GenericTypeAwarePropertyDescriptor) this.pd).getWriteMethodForActualAccess() :
 					this.pd.getWriteMethod());
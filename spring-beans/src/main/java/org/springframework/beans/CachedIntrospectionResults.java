@@ -16,10 +16,12 @@
 
 package org.springframework.beans;
 
+import java.beans.BeanDescriptor;
 import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.beans.SimpleBeanInfo;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collections;
@@ -72,6 +74,7 @@ import org.springframework.util.StringUtils;
  * @since 05 May 2001
  * @see #acceptClassLoader(ClassLoader)
  * @see #clearClassLoader(ClassLoader)
+ * @see #setPersistentCache(PersistentIntrospectionCache)
  * @see #forClass(Class)
  */
 public final class CachedIntrospectionResults {
@@ -128,6 +131,12 @@ public final class CachedIntrospectionResults {
 	static final ConcurrentMap<Class<?>, CachedIntrospectionResults> softClassCache =
 			new ConcurrentReferenceHashMap<>(64);
 
+	/**
+	 * Persistent store for introspection results across JVM restarts, if any.
+	 */
+	@Nullable
+	private static volatile PersistentIntrospectionCache persistentCache;
+
 
 	/**
 	 * Accept the given ClassLoader as cache-safe, even if its classes would
@@ -162,6 +171,22 @@ public final class CachedIntrospectionResults {
 				isUnderneathClassLoader(beanClass.getClassLoader(), classLoader));
 	}
 
+	/**
+	 * Set a persistent cache to restore introspection results from, instead
+	 * of introspecting classes through the JavaBeans {@link Introspector}, and
+	 * to record fresh introspection results into.
+	 * <p>Only applies to classes that qualify for strong caching, i.e. cache-safe
+	 * classes and classes from {@link #acceptClassLoader accepted} ClassLoaders.
+	 * Results that have been cached already are not affected; consider calling
+	 * this method early during application startup.
+	 * @param cache the persistent cache, or {@code null} to stop using it
+	 * @since 5.3.3
+	 * @see PersistentIntrospectionCache#load
+	 */
+	public static void setPersistentCache(@Nullable PersistentIntrospectionCache cache) {
+		persistentCache = cache;
+	}
+
 	/**
 	 * Create CachedIntrospectionResults for the given bean class.
 	 * @param beanClass the bean class to analyze
@@ -178,11 +203,23 @@ public final class CachedIntrospectionResults {
 			return results;
 		}
 
-		results = new CachedIntrospectionResults(beanClass);
+		boolean cacheSafe = (ClassUtils.isCacheSafe(beanClass, CachedIntrospectionResults.class.getClassLoader()) ||
+				isClassLoaderAccepted(beanClass.getClassLoader()));
+		PersistentIntrospectionCache persistentCacheToUse = (cacheSafe ? persistentCache : null);
+		List<PropertyDescriptor> restored = (persistentCacheToUse != null ?
+				persistentCacheToUse.restore(beanClass) : null);
+		if (restored != null) {
+			results = new CachedIntrospectionResults(beanClass, restored);
+		}
+		else {
+			results = new CachedIntrospectionResults(beanClass);
+			if (persistentCacheToUse != null) {
+				persistentCacheToUse.record(beanClass, results.propertyDescriptors.values());
+			}
+		}
 		ConcurrentMap<Class<?>, CachedIntrospectionResults> classCacheToUse;
 
-		if (ClassUtils.isCacheSafe(beanClass, CachedIntrospectionResults.class.getClassLoader()) ||
-				isClassLoaderAccepted(beanClass.getClassLoader())) {
+		if (cacheSafe) {
 			classCacheToUse = strongClassCache;
 		}
 		else {
@@ -263,6 +300,10 @@ public final class CachedIntrospectionResults {
 	/** TypeDescriptor objects keyed by PropertyDescriptor. */
 	private final ConcurrentMap<PropertyDescriptor, TypeDescriptor> typeDescriptorCache;
 
+	/** CompiledBeanProperty objects keyed by PropertyDescriptor. */
+	private final ConcurrentMap<PropertyDescriptor, CompiledBeanProperty> compiledPropertyCache =
+			new ConcurrentHashMap<>();
+
 
 	/**
 	 * Create a new CachedIntrospectionResults instance for the given class.
@@ -325,6 +366,36 @@ public final class CachedIntrospectionResults {
 		}
 	}
 
+	/**
+	 * Create a new CachedIntrospectionResults instance for the given class,
+	 * based on property descriptors restored from a persistent cache.
+	 * @param beanClass the bean class
+	 * @param pds the restored property descriptors
+	 * @see PersistentIntrospectionCache#restore
+	 */
+	private CachedIntrospectionResults(Class<?> beanClass, List<PropertyDescriptor> pds) {
+		if (logger.isTraceEnabled()) {
+			logger.trace("Restored PropertyDescriptors for class [" + beanClass.getName() + "] from persistent cache");
+		}
+		PropertyDescriptor[] pdArray = pds.toArray(EMPTY_PROPERTY_DESCRIPTOR_ARRAY);
+		BeanDescriptor beanDescriptor = new BeanDescriptor(beanClass);
+		this.beanInfo = new SimpleBeanInfo() {
+			@Override
+			public BeanDescriptor getBeanDescriptor() {
+				return beanDescriptor;
+			}
+			@Override
+			public PropertyDescriptor[] getPropertyDescriptors() {
+				return pdArray.clone();
+			}
+		};
+		this.propertyDescriptors = new LinkedHashMap<>();
+		for (PropertyDescriptor pd : pdArray) {
+			this.propertyDescriptors.put(pd.getName(), pd);
+		}
+		this.typeDescriptorCache = new ConcurrentReferenceHashMap<>();
+	}
+
 	private void introspectInterfaces(Class<?> beanClass, Class<?> currClass, Set<String> readMethodNames)
 			throws IntrospectionException {
 
@@ -423,4 +494,13 @@ public final class CachedIntrospectionResults {
 		return this.typeDescriptorCache.get(pd);
 	}
 
+	/**
+	 * Return the compiled accessors for the given property, compiling them
+	 * on first access.
+	 * @since 5.3.3
+	 */
+	CompiledBeanProperty getCompiledProperty(PropertyDescriptor pd) {
+		return this.compiledPropertyCache.computeIfAbsent(pd, CompiledBeanProperty::forPropertyDescriptor);
+	}
+
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Compiled read and write access to a bean property, bypassing
+ * {@link Method#invoke} through {@link LambdaMetafactory}-generated
+ * {@link Function} and {@link BiConsumer} implementations.
+ *
+ * <p>Only public accessor methods on public classes that are visible to
+ * the Spring class loader are compiled; for any other method, the
+ * corresponding {@link #canRead()} or {@link #canWrite()} flag is
+ * {@code false} and callers are expected to fall back to reflection.
+ * Instances are cached in {@link CachedIntrospectionResults}, i.e. per
+ * bean class.
+ *
+ * <p>Exceptions thrown by the accessor methods are wrapped in an
+ * {@link InvocationTargetException}, and incompatible values are rejected with an
+ * {@link IllegalArgumentException}, just like for reflective invocations.
+ *
+ * @since 5.3.3
+ * @see BeanWrapperImpl#setCompiledPropertyAccess
+ */
+final class CompiledBeanProperty {
+
+	private static final Log logger = LogFactory.getLog(CompiledBeanProperty.class);
+
+
+	@Nullable
+	private final Function<Object, Object> getter;
+
+	@Nullable
+	private final BiConsumer<Object, Object> setter;
+
+	private final Class<?> writeType;
+
+
+	private CompiledBeanProperty(@Nullable Function<Object, Object> getter,
+			@Nullable BiConsumer<Object, Object> setter, Class<?> writeType) {
+
+		this.getter = getter;
+		this.setter = setter;
+		this.writeType = writeType;
+	}
+
+
+	/**
+	 * Return whether the read method of the property has been compiled.
+	 */
+	public boolean canRead() {
+		return (this.getter != null);
+	}
+
+	/**
+	 * Return whether the write method of the property has been compiled.
+	 */
+	public boolean canWrite() {
+		return (this.setter != null);
+	}
+
+	/**
+	 * Invoke the compiled read method on the given target.
+	 * @throws InvocationTargetException if the read method threw an exception
+	 */
+	@Nullable
+	public Object getValue(Object target) throws InvocationTargetException {
+		if (this.getter == null) {
+			throw new IllegalStateException("Read method not compiled");
+		}
+		try {
+			return this.getter.apply(target);
+		}
+		catch (Throwable ex) {
+			throw new InvocationTargetException(ex);
+		}
+	}
+
+	/**
+	 * Invoke the compiled write method on the given target.
+	 * @throws IllegalArgumentException if the value is not assignable to the
+	 * parameter type of the write method
+	 * @throws InvocationTargetException if the write method threw an exception
+	 */
+	public void setValue(Object target, @Nullable Object value) throws InvocationTargetException {
+		if (this.setter == null) {
+			throw new IllegalStateException("Write method not compiled");
+		}
+		if (!ClassUtils.isAssignableValue(this.writeType, value)) {
+			throw new IllegalArgumentException("argument type mismatch");
+		}
+		try {
+			this.setter.accept(target, value);
+		}
+		catch (Throwable ex) {
+			throw new InvocationTargetException(ex);
+		}
+	}
+
+
+	/**
+	 * Compile the accessor methods of the given property descriptor, as far as possible.
+	 * @param pd the property descriptor (as exposed by {@link CachedIntrospectionResults})
+	 * @return the compiled property (never {@code null}, but possibly
+	 * neither readable nor writable)
+	 */
+	static CompiledBeanProperty forPropertyDescriptor(PropertyDescriptor pd) {
+		Method readMethod = pd.getReadMethod();
+		Method writeMethod = (pd instanceof GenericTypeAwarePropertyDescriptor ?
+				((GenericTypeAwarePropertyDescriptor) pd).getWriteMethodForActualAccess() : pd.getWriteMethod());
+		Function<Object, Object> getter = null;
+		BiConsumer<Object, Object> setter = null;
+		Class<?> writeType = Object.class;
+		if (readMethod != null && readMethod.getParameterCount() == 0 && isCompilable(readMethod)) {
+			getter = compileGetter(readMethod);
+		}
+		if (writeMethod != null && writeMethod.getParameterCount() == 1 && isCompilable(writeMethod)) {
+			setter = compileSetter(writeMethod);
+			writeType = writeMethod.getParameterTypes()[0];
+		}
+		return new CompiledBeanProperty(getter, setter, writeType);
+	}
+
+	private static boolean isCompilable(Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+		return (Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers()) &&
+				Modifier.isPublic(declaringClass.getModifiers()) &&
+				ClassUtils.isVisible(declaringClass, CompiledBeanProperty.class.getClassLoader()));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private static Function<Object, Object> compileGetter(Method readMethod) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+					MethodType.methodType(Function.class),
+					MethodType.methodType(Object.class, Object.class),
+					lookup.unreflect(readMethod),
+					MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(readMethod.getReturnType()),
+							readMethod.getDeclaringClass()));
+			return (Function<Object, Object>) callSite.getTarget().invoke();
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not compile read method [" + readMethod + "] - using reflection", ex);
+			}
+			return null;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private static BiConsumer<Object, Object> compileSetter(Method writeMethod) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept",
+					MethodType.methodType(BiConsumer.class),
+					MethodType.methodType(void.class, Object.class, Object.class),
+					lookup.unreflect(writeMethod),
+					MethodType.methodType(void.class, writeMethod.getDeclaringClass(),
+							ClassUtils.resolvePrimitiveIfNecessary(writeMethod.getParameterTypes()[0])));
+			return (BiConsumer<Object, Object>) callSite.getTarget().invoke();
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not compile write method [" + writeMethod + "] - using reflection", ex);
+			}
+			return null;
+		}
+	}
+
+}
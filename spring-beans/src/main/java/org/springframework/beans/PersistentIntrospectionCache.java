@@ -0,0 +1,463 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Persistent store for the property descriptors determined by
+ * {@link CachedIntrospectionResults}, allowing to skip JavaBeans introspection
+ * for unchanged classes on subsequent startups.
+ *
+ * <p>Entries are keyed by class name and carry a hash over the class files of
+ * the class and all of its superclasses and interfaces. An entry is validated
+ * lazily, when the corresponding class is introspected for the first time:
+ * if the hash does not match anymore (or any of the recorded accessor methods
+ * cannot be resolved), the entry is discarded and regular introspection
+ * applies, replacing the entry with fresh results.
+ *
+ * <p>The store does not hold on to any {@code Class} references, and only
+ * classes that {@link CachedIntrospectionResults} considers cache-safe are
+ * recorded and restored (see {@link CachedIntrospectionResults#acceptClassLoader}),
+ * so it stays safe with reloading class loaders: a reloaded class with
+ * changed bytecode simply fails validation.
+ *
+ * <p>Typical usage:
+ * <pre class="code">
+ * PersistentIntrospectionCache cache = PersistentIntrospectionCache.load(path);
+ * CachedIntrospectionResults.setPersistentCache(cache);
+ * // ... start the application ...
+ * cache.save();
+ * </pre>
+ *
+ * @since 5.3.3
+ * @see CachedIntrospectionResults#setPersistentCache
+ */
+public final class PersistentIntrospectionCache {
+
+	private static final int MAGIC = 0x53504943;
+
+	private static final int VERSION = 1;
+
+	private static final Log logger = LogFactory.getLog(PersistentIntrospectionCache.class);
+
+
+	private final Path file;
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>(256);
+
+	private volatile boolean modified;
+
+
+	private PersistentIntrospectionCache(Path file) {
+		this.file = file;
+	}
+
+
+	/**
+	 * Load the cache from the given file, starting with an empty cache
+	 * if the file does not exist or cannot be read.
+	 * @param file the cache file (also used for {@link #save()})
+	 * @return the cache instance
+	 */
+	public static PersistentIntrospectionCache load(Path file) {
+		Assert.notNull(file, "File must not be null");
+		PersistentIntrospectionCache cache = new PersistentIntrospectionCache(file);
+		if (Files.isRegularFile(file)) {
+			try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+				cache.readFrom(in);
+			}
+			catch (IOException ex) {
+				cache.entries.clear();
+				if (logger.isInfoEnabled()) {
+					logger.info("Ignoring unreadable introspection cache file [" + file + "]: " + ex);
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Write the cache to its file, if it has been modified since loading.
+	 * <p>The file is replaced atomically where supported by the file system.
+	 * @throws IOException in case of I/O errors
+	 */
+	public void save() throws IOException {
+		if (!this.modified) {
+			return;
+		}
+		this.modified = false;
+		Path parent = this.file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		Path tempFile = Files.createTempFile(parent, this.file.getFileName().toString(), ".tmp");
+		try {
+			try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+				writeTo(out);
+			}
+			try {
+				Files.move(tempFile, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException ex) {
+				Files.move(tempFile, this.file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException ex) {
+			this.modified = true;
+			throw ex;
+		}
+		finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	/**
+	 * Return the number of classes currently held in this cache.
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Remove all entries from this cache.
+	 */
+	public void clear() {
+		this.entries.clear();
+		this.modified = true;
+	}
+
+
+	/**
+	 * Restore the property descriptors for the given class, if a valid entry exists.
+	 * @param beanClass the bean class
+	 * @return the restored property descriptors, or {@code null} if none
+	 * (in which case the class needs to be introspected)
+	 */
+	@Nullable
+	List<PropertyDescriptor> restore(Class<?> beanClass) {
+		Entry entry = this.entries.get(beanClass.getName());
+		if (entry == null) {
+			return null;
+		}
+		try {
+			if (!entry.hash.equals(computeHash(beanClass))) {
+				discard(beanClass, entry, "class hierarchy changed");
+				return null;
+			}
+			List<PropertyDescriptor> pds = new ArrayList<>(entry.properties.size());
+			for (PropertyEntry property : entry.properties) {
+				pds.add(property.resolve(beanClass));
+			}
+			return pds;
+		}
+		catch (Exception ex) {
+			discard(beanClass, entry, ex.toString());
+			return null;
+		}
+	}
+
+	/**
+	 * Record the given property descriptors, as introspected for the given class.
+	 * @param beanClass the bean class
+	 * @param pds the property descriptors to record
+	 */
+	void record(Class<?> beanClass, Collection<PropertyDescriptor> pds) {
+		String hash;
+		try {
+			hash = computeHash(beanClass);
+		}
+		catch (IOException ex) {
+			// No class file available, e.g. for a generated class
+			return;
+		}
+		List<PropertyEntry> properties = new ArrayList<>(pds.size());
+		for (PropertyDescriptor pd : pds) {
+			properties.add(new PropertyEntry(pd));
+		}
+		this.entries.put(beanClass.getName(), new Entry(hash, properties));
+		this.modified = true;
+	}
+
+	private void discard(Class<?> beanClass, Entry entry, String reason) {
+		if (this.entries.remove(beanClass.getName(), entry)) {
+			this.modified = true;
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Discarding introspection cache entry for class [" + beanClass.getName() + "]: " + reason);
+		}
+	}
+
+	/**
+	 * Compute a hash over the class files of the given class, its superclasses and interfaces.
+	 */
+	private static String computeHash(Class<?> beanClass) throws IOException {
+		Set<Class<?>> hierarchy = new LinkedHashSet<>();
+		collectHierarchy(beanClass, hierarchy);
+		ByteArrayOutputStream content = new ByteArrayOutputStream(4096);
+		for (Class<?> clazz : hierarchy) {
+			content.write(clazz.getName().getBytes(StandardCharsets.UTF_8));
+			if (clazz.getClassLoader() == null) {
+				// JDK class: identified by the Java version
+				content.write(System.getProperty("java.version", "").getBytes(StandardCharsets.UTF_8));
+				continue;
+			}
+			InputStream classFile = clazz.getResourceAsStream(ClassUtils.getClassFileName(clazz));
+			if (classFile == null) {
+				throw new IOException("No class file found for " + clazz);
+			}
+			try (InputStream in = classFile) {
+				StreamUtils.copy(in, content);
+			}
+		}
+		return DigestUtils.md5DigestAsHex(content.toByteArray());
+	}
+
+	private static void collectHierarchy(@Nullable Class<?> clazz, Set<Class<?>> hierarchy) {
+		if (clazz != null && clazz != Object.class && hierarchy.add(clazz)) {
+			collectHierarchy(clazz.getSuperclass(), hierarchy);
+			for (Class<?> ifc : clazz.getInterfaces()) {
+				collectHierarchy(ifc, hierarchy);
+			}
+		}
+	}
+
+
+	void writeTo(OutputStream out) throws IOException {
+		DataOutputStream output = new DataOutputStream(out);
+		Map<String, Entry> snapshot = new TreeMap<>(this.entries);
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeInt(snapshot.size());
+		for (Map.Entry<String, Entry> mapEntry : snapshot.entrySet()) {
+			Entry entry = mapEntry.getValue();
+			output.writeUTF(mapEntry.getKey());
+			output.writeUTF(entry.hash);
+			output.writeInt(entry.properties.size());
+			for (PropertyEntry property : entry.properties) {
+				property.writeTo(output);
+			}
+		}
+		output.flush();
+	}
+
+	void readFrom(InputStream in) throws IOException {
+		DataInputStream input = new DataInputStream(in);
+		if (input.readInt() != MAGIC) {
+			throw new IOException("Not an introspection cache file");
+		}
+		int version = input.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported introspection cache version " + version);
+		}
+		int entryCount = input.readInt();
+		for (int i = 0; i < entryCount; i++) {
+			String className = input.readUTF();
+			String hash = input.readUTF();
+			int propertyCount = input.readInt();
+			List<PropertyEntry> properties = new ArrayList<>(propertyCount);
+			for (int j = 0; j < propertyCount; j++) {
+				properties.add(PropertyEntry.readFrom(input));
+			}
+			this.entries.put(className, new Entry(hash, properties));
+		}
+	}
+
+
+	/**
+	 * Cached introspection results for a single class.
+	 */
+	private static final class Entry {
+
+		final String hash;
+
+		final List<PropertyEntry> properties;
+
+		Entry(String hash, List<PropertyEntry> properties) {
+			this.hash = hash;
+			this.properties = properties;
+		}
+	}
+
+
+	/**
+	 * Serializable form of a {@link GenericTypeAwarePropertyDescriptor}.
+	 */
+	private static final class PropertyEntry {
+
+		final String name;
+
+		@Nullable
+		final MethodRef readMethod;
+
+		@Nullable
+		final MethodRef writeMethod;
+
+		@Nullable
+		final String propertyEditorClassName;
+
+		PropertyEntry(PropertyDescriptor pd) {
+			this.name = pd.getName();
+			this.readMethod = MethodRef.of(pd.getReadMethod());
+			this.writeMethod = MethodRef.of(pd.getWriteMethod());
+			this.propertyEditorClassName =
+					(pd.getPropertyEditorClass() != null ? pd.getPropertyEditorClass().getName() : null);
+		}
+
+		private PropertyEntry(String name, @Nullable MethodRef readMethod, @Nullable MethodRef writeMethod,
+				@Nullable String propertyEditorClassName) {
+
+			this.name = name;
+			this.readMethod = readMethod;
+			this.writeMethod = writeMethod;
+			this.propertyEditorClassName = propertyEditorClassName;
+		}
+
+		PropertyDescriptor resolve(Class<?> beanClass) throws Exception {
+			ClassLoader classLoader = beanClass.getClassLoader();
+			return new GenericTypeAwarePropertyDescriptor(beanClass, this.name,
+					(this.readMethod != null ? this.readMethod.resolve(classLoader) : null),
+					(this.writeMethod != null ? this.writeMethod.resolve(classLoader) : null),
+					(this.propertyEditorClassName != null ?
+							ClassUtils.forName(this.propertyEditorClassName, classLoader) : null));
+		}
+
+		void writeTo(DataOutputStream output) throws IOException {
+			output.writeUTF(this.name);
+			MethodRef.writeTo(this.readMethod, output);
+			MethodRef.writeTo(this.writeMethod, output);
+			writeNullable(this.propertyEditorClassName, output);
+		}
+
+		static PropertyEntry readFrom(DataInputStream input) throws IOException {
+			return new PropertyEntry(input.readUTF(), MethodRef.readFrom(input), MethodRef.readFrom(input),
+					readNullable(input));
+		}
+	}
+
+
+	/**
+	 * Serializable reference to a declared method.
+	 */
+	private static final class MethodRef {
+
+		final String declaringClassName;
+
+		final String methodName;
+
+		final String[] parameterTypeNames;
+
+		MethodRef(String declaringClassName, String methodName, String[] parameterTypeNames) {
+			this.declaringClassName = declaringClassName;
+			this.methodName = methodName;
+			this.parameterTypeNames = parameterTypeNames;
+		}
+
+		@Nullable
+		static MethodRef of(@Nullable Method method) {
+			if (method == null) {
+				return null;
+			}
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			String[] parameterTypeNames = new String[parameterTypes.length];
+			for (int i = 0; i < parameterTypes.length; i++) {
+				parameterTypeNames[i] = parameterTypes[i].getName();
+			}
+			return new MethodRef(method.getDeclaringClass().getName(), method.getName(), parameterTypeNames);
+		}
+
+		Method resolve(@Nullable ClassLoader classLoader) throws Exception {
+			Class<?>[] parameterTypes = new Class<?>[this.parameterTypeNames.length];
+			for (int i = 0; i < parameterTypes.length; i++) {
+				parameterTypes[i] = ClassUtils.forName(this.parameterTypeNames[i], classLoader);
+			}
+			return ClassUtils.forName(this.declaringClassName, classLoader)
+					.getDeclaredMethod(this.methodName, parameterTypes);
+		}
+
+		static void writeTo(@Nullable MethodRef method, DataOutputStream output) throws IOException {
+			output.writeBoolean(method != null);
+			if (method != null) {
+				output.writeUTF(method.declaringClassName);
+				output.writeUTF(method.methodName);
+				output.writeInt(method.parameterTypeNames.length);
+				for (String parameterTypeName : method.parameterTypeNames) {
+					output.writeUTF(parameterTypeName);
+				}
+			}
+		}
+
+		@Nullable
+		static MethodRef readFrom(DataInputStream input) throws IOException {
+			if (!input.readBoolean()) {
+				return null;
+			}
+			String declaringClassName = input.readUTF();
+			String methodName = input.readUTF();
+			String[] parameterTypeNames = new String[input.readInt()];
+			for (int i = 0; i < parameterTypeNames.length; i++) {
+				parameterTypeNames[i] = input.readUTF();
+			}
+			return new MethodRef(declaringClassName, methodName, parameterTypeNames);
+		}
+	}
+
+
+	private static void writeNullable(@Nullable String value, DataOutputStream output) throws IOException {
+		output.writeBoolean(value != null);
+		if (value != null) {
+			output.writeUTF(value);
+		}
+	}
+
+	@Nullable
+	private static String readNullable(DataInputStream input) throws IOException {
+		return (input.readBoolean() ? input.readUTF() : null);
+	}
+
+}
@@ -39,7 +39,10 @@ import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -144,6 +147,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans. */
 	private volatile boolean configurationFrozen;
 
+	/** Optional Executor for pre-instantiating independent singletons in parallel. */
+	@Nullable
+	private Executor preInstantiationExecutor;
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -229,6 +236,42 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.allowEagerClassLoading;
 	}
 
+	/**
+	 * Specify an {@link Executor} (e.g. a {@link java.util.concurrent.ForkJoinPool})
+	 * for pre-instantiating independent non-lazy singletons in parallel.
+	 * <p>Default is none, creating all singletons one by one on the calling thread.
+	 * If specified, a dependency graph is derived from the bean definitions (see
+	 * "depends-on" declarations and bean references in constructor arguments and
+	 * property values): groups of singletons connected through such dependencies
+	 * are created on the given Executor, independent from each other, whereas
+	 * singletons with undeterminable dependencies (e.g. autowired constructors,
+	 * factory methods with autowired arguments, annotation-driven injection points,
+	 * definitions without any explicit dependency declarations, FactoryBeans) are
+	 * created sequentially on the calling thread at the same time.
+	 * <p>Note that this implicitly switches on
+	 * {@linkplain #setSingletonLockStriping singleton lock striping}, which needs
+	 * to be set before any singleton gets created: configure this executor upfront,
+	 * before the factory gets populated with post-processors and singletons.
+	 * The order of singleton creation is not guaranteed across groups then.
+	 * @since 5.3.3
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setPreInstantiationExecutor(@Nullable Executor preInstantiationExecutor) {
+		this.preInstantiationExecutor = preInstantiationExecutor;
+		if (preInstantiationExecutor != null) {
+			setSingletonLockStriping(true);
+		}
+	}
+
+	/**
+	 * Return the Executor for pre-instantiating independent singletons in parallel, if any.
+	 * @since 5.3.3
+	 */
+	@Nullable
+	public Executor getPreInstantiationExecutor() {
+		return this.preInstantiationExecutor;
+	}
+
 	/**
 	 * Set a {@link java.util.Comparator} for dependency Lists and arrays.
 	 * @since 4.0
@@ -905,48 +948,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 		// Trigger initialization of all non-lazy singleton beans...
 		// 循环所有非懒加载的单例 bean
-		for (String beanName : beanNames) {
-
-			// ⭐️ 合并后的 beanDefinition，用于父子 bean 的关系
-			// 此时的 BD 属性是最完整的，并且存放在 mergedBeanDefinitions 中
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-
-			// beanDefinition 不能是抽象的，必须是单例与非懒加载的
-			// bd.isAbstract()，并不是抽象类的概念，指的指抽象 BD
-			// 抽象的 BD，通常在 xml 中配置，可用于其他 BD 的继承，如果子 BD 有同名属性，则不覆盖
-			// <bean id="abstractPrototypeBD" scope="prototype" abstract="true" />
-			// <bean id="userService" class="xx.xx.UserService", parent="abstractPrototypeBD" />
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-
-				// 是工厂 bean
-				if (isFactoryBean(beanName)) {
-					// 如果是工厂 bean，则加 & 前缀，获取的时 FactoryBean 的对象
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof FactoryBean) {
-						FactoryBean<?> factory = (FactoryBean<?>) bean;
-						boolean isEagerInit;
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged(
-									(PrivilegedAction<Boolean>) ((SmartFactoryBean<?>) factory)::isEagerInit,
-									getAccessControlContext());
-						}
-						else {
-							// 是否实现了 SmartFactoryBean 接口，并 isEagerInit 方法返回 true
-							// isEagerInit 提前调用
-							isEagerInit = (factory instanceof SmartFactoryBean &&
-									((SmartFactoryBean<?>) factory).isEagerInit());
-						}
-						if (isEagerInit) {
-							// 真正的调用 factoryBean 的 getObject 方法
-							getBean(beanName);
-						}
-					}
-				}
-				// 不是工厂 bean，即：非懒加载的单例 bean
-				else {
-					// ⭐️ 开始实例化 bean
-					getBean(beanName);
-				}
+		Executor executor = this.preInstantiationExecutor;
+		if (executor != null && isSingletonLockStriping()) {
+			preInstantiateSingletonsInParallel(beanNames, executor);
+		}
+		else {
+			for (String beanName : beanNames) {
+				preInstantiateSingleton(beanName);
 			}
 		}
 
@@ -976,6 +984,102 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	/**
+	 * Pre-instantiate the specified singleton, if it is a non-lazy singleton.
+	 * @param beanName the name of the bean
+	 */
+	private void preInstantiateSingleton(String beanName) {
+		// ⭐️ 合并后的 beanDefinition，用于父子 bean 的关系
+		// 此时的 BD 属性是最完整的，并且存放在 mergedBeanDefinitions 中
+		RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+
+		// beanDefinition 不能是抽象的，必须是单例与非懒加载的
+		// bd.isAbstract()，并不是抽象类的概念，指的指抽象 BD
+		// 抽象的 BD，通常在 xml 中配置，可用于其他 BD 的继承，如果子 BD 有同名属性，则不覆盖
+		// <bean id="abstractPrototypeBD" scope="prototype" abstract="true" />
+		// <bean id="userService" class="xx.xx.UserService", parent="abstractPrototypeBD" />
+		if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+
+			// 是工厂 bean
+			if (isFactoryBean(beanName)) {
+				// 如果是工厂 bean，则加 & 前缀，获取的时 FactoryBean 的对象
+				Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+				if (bean instanceof FactoryBean) {
+					FactoryBean<?> factory = (FactoryBean<?>) bean;
+					boolean isEagerInit;
+					if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+						isEagerInit = AccessController.doPrivileged(
+								(PrivilegedAction<Boolean>) ((SmartFactoryBean<?>) factory)::isEagerInit,
+								getAccessControlContext());
+					}
+					else {
+						// 是否实现了 SmartFactoryBean 接口，并 isEagerInit 方法返回 true
+						// isEagerInit 提前调用
+						isEagerInit = (factory instanceof SmartFactoryBean &&
+								((SmartFactoryBean<?>) factory).isEagerInit());
+					}
+					if (isEagerInit) {
+						// 真正的调用 factoryBean 的 getObject 方法
+						getBean(beanName);
+					}
+				}
+			}
+			// 不是工厂 bean，即：非懒加载的单例 bean
+			else {
+				// ⭐️ 开始实例化 bean
+				getBean(beanName);
+			}
+		}
+	}
+
+	/**
+	 * Pre-instantiate all non-lazy singletons, creating independent groups of
+	 * singletons on the given Executor and all other singletons sequentially
+	 * on the calling thread, then waiting for all of them to be created.
+	 * @param beanNames the names of all beans, in registration order
+	 * @param executor the Executor to use for independent groups of singletons
+	 * @see SingletonDependencyGraph
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> beanNames, Executor executor) {
+		SingletonDependencyGraph graph = new SingletonDependencyGraph(this, beanNames);
+		List<List<String>> groups = graph.getIndependentGroups();
+		if (logger.isDebugEnabled()) {
+			logger.debug("Pre-instantiating " + groups.size() + " independent groups of singletons in parallel, " +
+					graph.getSequentialBeanNames().size() + " singletons sequentially");
+		}
+		List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+		for (List<String> group : groups) {
+			futures.add(CompletableFuture.runAsync(() -> group.forEach(this::preInstantiateSingleton), executor));
+		}
+
+		Throwable failure = null;
+		try {
+			for (String beanName : graph.getSequentialBeanNames()) {
+				preInstantiateSingleton(beanName);
+			}
+		}
+		catch (RuntimeException | Error ex) {
+			failure = ex;
+		}
+		// Always wait for all groups, not leaving creation in progress behind
+		for (CompletableFuture<Void> future : futures) {
+			try {
+				future.join();
+			}
+			catch (CompletionException ex) {
+				if (failure == null) {
+					failure = ex.getCause();
+				}
+				else {
+					failure.addSuppressed(ex.getCause());
+				}
+			}
+		}
+		if (failure != null) {
+			ReflectionUtils.rethrowRuntimeException(failure);
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
@@ -18,6 +18,7 @@ package org.springframework.beans.factory.support;
 
 import org.springframework.beans.factory.*;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -25,6 +26,8 @@ import org.springframework.util.StringUtils;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Generic registry for shared bean instances, implementing the
@@ -50,6 +53,12 @@ import java.util.concurrent.ConcurrentHashMap;
  * (which inherit from it). Can alternatively also be used as a nested
  * helper to delegate to.
  *
+ * <p>By default, singleton creation is serialized on the full
+ * {@linkplain #getSingletonMutex() singleton mutex}. Alternatively,
+ * {@linkplain #setSingletonLockStriping singleton lock striping} can be
+ * switched on in order to create unrelated singletons concurrently, guarding
+ * the creation of each singleton with a lock for its specific bean name.
+ *
  * @author Juergen Hoeller
  * @since 2.0
  * @see #registerSingleton
@@ -62,6 +71,12 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Maximum number of suppressed exceptions to preserve. */
 	private static final int SUPPRESSED_EXCEPTIONS_LIMIT = 100;
 
+	/** Interval in milliseconds between deadlock checks while waiting for a singleton lock. */
+	private static final long SINGLETON_LOCK_CHECK_INTERVAL = 10;
+
+	/** Number of deadlock checks after which an unresolvable cross-thread cycle gets rejected. */
+	private static final int SINGLETON_LOCK_DEADLOCK_CHECKS_LIMIT = 100;
+
 
 	/** Cache of singleton objects: bean name to bean instance. */
 	// 一级缓存：这个就是单例池，保存我们所有的单例 bean
@@ -88,11 +103,23 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			Collections.newSetFromMap(new ConcurrentHashMap<>(16));
 
 	/** Collection of suppressed Exceptions, available for associating related causes. */
-	@Nullable
-	private Set<Exception> suppressedExceptions;
+	private final ThreadLocal<Set<Exception>> suppressedExceptions =
+			new NamedThreadLocal<>("Suppressed singleton creation exceptions");
 
 	/** Flag that indicates whether we're currently within destroySingletons. */
-	private boolean singletonsCurrentlyInDestruction = false;
+	private volatile boolean singletonsCurrentlyInDestruction = false;
+
+	/** Whether to guard singleton creation with a lock per bean name. */
+	private volatile boolean singletonLockStriping = false;
+
+	/** Per-bean creation locks in case of singleton lock striping: bean name to lock. */
+	private final Map<String, SingletonLock> singletonLocks = new ConcurrentHashMap<>(256);
+
+	/** Singleton locks that threads are currently waiting for: thread to lock. */
+	private final Map<Thread, SingletonLock> singletonLocksWaitedFor = new ConcurrentHashMap<>(16);
+
+	/** Mutex for collaborators with extended singleton creation phases in case of lock striping. */
+	private final Object extendedSingletonMutex = new Object();
 
 	/** Disposable bean instances: bean name to disposable instance. */
 	private final Map<String, Object> disposableBeans = new LinkedHashMap<>();
@@ -112,6 +139,38 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
 
+	/**
+	 * Set whether to guard the creation of each singleton with a lock for its
+	 * specific bean name instead of the full singleton mutex, allowing unrelated
+	 * singletons to be created by different threads concurrently.
+	 * <p>Default is "false", serializing all singleton creation. Switch this on
+	 * for factories with many lazily initialized singletons that are requested
+	 * from several threads at the same time.
+	 * <p>Early references to singletons in creation are only exposed to the
+	 * creating thread then; other threads wait for the fully initialized singleton
+	 * instead. A circular reference across threads is resolved through early
+	 * references where possible, otherwise rejected with a
+	 * {@link BeanCurrentlyInCreationException}.
+	 * <p>Needs to be set before any singleton gets created. Note that collaborators
+	 * synchronizing on the {@link #getSingletonMutex() singleton mutex} do not
+	 * participate in the striped locking but rather coordinate among themselves.
+	 * @since 5.3.3
+	 * @see #getSingleton(String, ObjectFactory)
+	 */
+	public void setSingletonLockStriping(boolean singletonLockStriping) {
+		this.singletonLockStriping = singletonLockStriping;
+	}
+
+	/**
+	 * Return whether the creation of each singleton is guarded with a lock
+	 * for its specific bean name instead of the full singleton mutex.
+	 * @since 5.3.3
+	 */
+	public boolean isSingletonLockStriping() {
+		return this.singletonLockStriping;
+	}
+
+
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		Assert.notNull(beanName, "Bean name must not be null");
@@ -181,6 +240,10 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		Object singletonObject = this.singletonObjects.get(beanName);
 		// 如果一级缓存没有获取到，并且判断当前 bean 是否正在被创建
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
+			if (this.singletonLockStriping && !isSingletonLockHeldByCurrentThread(beanName)) {
+				// Created by another thread: wait for the fully initialized instance instead
+				return null;
+			}
 			// 尝试从二级缓存先获取（二级缓存是一个早期对象）
 			// 所谓的早期对象就是刚刚完成了实例化，并没有进行初始化
 			singletonObject = this.earlySingletonObjects.get(beanName);
@@ -188,37 +251,52 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			if (singletonObject == null && allowEarlyReference) {
 				// ❌ 在这里加锁已经晚了，因为已经尝试从二级缓存中获取了对象，应该在获取二级缓存之前，就加锁
 				// 🌍 参考：https://github.com/spring-projects/spring-framework/pull/26376
-				synchronized (this.singletonObjects) {
-					// Consistent creation of early reference within full singleton lock
-					// DCL 双重检查
-					singletonObject = this.singletonObjects.get(beanName);
-					if (singletonObject == null) {
-						// 再次从二级缓存中获取
-						singletonObject = this.earlySingletonObjects.get(beanName);
-						if (singletonObject == null) {
-							// 从三级缓存中获取 ObjectFactory，这个对象是用来解决循环依赖的问题
-							ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-							if (singletonFactory != null) {
-								// 执行 lambda 表达式创建
-								singletonObject = singletonFactory.getObject();
-								// 加入到二级缓存中去（也就是二级缓存中的半成品 bean 就是三级缓存 lambda 表达式的执行结果）
-								// 可能是一个原始 bean，也可能是 bean 的代理对象
-								this.earlySingletonObjects.put(beanName, singletonObject);
-								// ❌ 这里如果执行 Thread.sleep(1000 * 10) 的话，多线程获取 bean 就会从二级缓存中获取，结果是：属性没有值
-								// 从三级缓存中删除
-								this.singletonFactories.remove(beanName);
-							}
-						}
+				singletonObject = getEarlySingletonReference(beanName);
+			}
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Obtain an early reference to the specified singleton from its registered
+	 * singleton factory, if any, within full singleton lock.
+	 * @param beanName the name of the bean to look for
+	 * @return the early singleton reference, or {@code null} if none available
+	 */
+	@Nullable
+	private Object getEarlySingletonReference(String beanName) {
+		synchronized (this.singletonObjects) {
+			// Consistent creation of early reference within full singleton lock
+			// DCL 双重检查
+			Object singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				// 再次从二级缓存中获取
+				singletonObject = this.earlySingletonObjects.get(beanName);
+				if (singletonObject == null) {
+					// 从三级缓存中获取 ObjectFactory，这个对象是用来解决循环依赖的问题
+					ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+					if (singletonFactory != null) {
+						// 执行 lambda 表达式创建
+						singletonObject = singletonFactory.getObject();
+						// 加入到二级缓存中去（也就是二级缓存中的半成品 bean 就是三级缓存 lambda 表达式的执行结果）
+						// 可能是一个原始 bean，也可能是 bean 的代理对象
+						this.earlySingletonObjects.put(beanName, singletonObject);
+						// ❌ 这里如果执行 Thread.sleep(1000 * 10) 的话，多线程获取 bean 就会从二级缓存中获取，结果是：属性没有值
+						// 从三级缓存中删除
+						this.singletonFactories.remove(beanName);
 					}
 				}
 			}
+			return singletonObject;
 		}
-		return singletonObject;
 	}
 
 	/**
 	 * Return the (raw) singleton object registered under the given name,
 	 * creating and registering a new one if none registered yet.
+	 * <p>Creation happens within the full singleton mutex by default, or within
+	 * the lock for the given bean name in case of
+	 * {@linkplain #setSingletonLockStriping singleton lock striping}.
 	 * @param beanName the name of the bean
 	 * @param singletonFactory the ObjectFactory to lazily create the singleton
 	 * with, if necessary
@@ -226,67 +304,191 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
-		synchronized (this.singletonObjects) {
-			Object singletonObject = this.singletonObjects.get(beanName);
-			// 单例池中不存在对应的 bean，则开始创建
+		if (!this.singletonLockStriping) {
+			synchronized (this.singletonObjects) {
+				return createSingletonIfNecessary(beanName, singletonFactory);
+			}
+		}
+
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject != null) {
+			return singletonObject;
+		}
+		if (!acquireSingletonLock(beanName)) {
+			// Circular reference across threads: resolve through early reference if possible
+			singletonObject = getEarlySingletonReference(beanName);
 			if (singletonObject == null) {
-				if (this.singletonsCurrentlyInDestruction) {
-					throw new BeanCreationNotAllowedException(beanName,
-							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
-							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
-				}
-				if (logger.isDebugEnabled()) {
-					logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
-				}
-				// ⭐️ 关键代码：这里会将 beanName 放入正在创建 bean 的集合中
-				// this.singletonsCurrentlyInCreation.add(beanName)
-				// 后面在实例化 bean 的过程中，会根据这个集合来进行逻辑判断该 bean 是否正在被创建
-				beforeSingletonCreation(beanName);
+				throw new BeanCurrentlyInCreationException(beanName,
+						"Requested bean is currently in creation by another thread which in turn " +
+						"waits for a bean in creation by the current thread: Is there an unresolvable " +
+						"circular reference?");
+			}
+			return singletonObject;
+		}
+		try {
+			return createSingletonIfNecessary(beanName, singletonFactory);
+		}
+		finally {
+			releaseSingletonLock(beanName);
+		}
+	}
 
-				boolean newSingleton = false;
-				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
-				if (recordSuppressedExceptions) {
-					this.suppressedExceptions = new LinkedHashSet<>();
-				}
-				try {
-					// ⭐️ 关键代码：调用 singletonFactory 的 getObject 方法
-					// 对应前面的一段 lambda 表达式，来开始创建 bean：createBean
-					singletonObject = singletonFactory.getObject();
-					newSingleton = true;
-				}
-				catch (IllegalStateException ex) {
-					// Has the singleton object implicitly appeared in the meantime ->
-					// if yes, proceed with it since the exception indicates that state.
-					singletonObject = this.singletonObjects.get(beanName);
-					if (singletonObject == null) {
-						throw ex;
-					}
-				}
-				catch (BeanCreationException ex) {
-					if (recordSuppressedExceptions) {
-						for (Exception suppressedException : this.suppressedExceptions) {
-							ex.addRelatedCause(suppressedException);
-						}
-					}
+	private Object createSingletonIfNecessary(String beanName, ObjectFactory<?> singletonFactory) {
+		Object singletonObject = this.singletonObjects.get(beanName);
+		// 单例池中不存在对应的 bean，则开始创建
+		if (singletonObject == null) {
+			if (this.singletonsCurrentlyInDestruction) {
+				throw new BeanCreationNotAllowedException(beanName,
+						"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+						"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			}
+			// ⭐️ 关键代码：这里会将 beanName 放入正在创建 bean 的集合中
+			// this.singletonsCurrentlyInCreation.add(beanName)
+			// 后面在实例化 bean 的过程中，会根据这个集合来进行逻辑判断该 bean 是否正在被创建
+			beforeSingletonCreation(beanName);
+
+			boolean newSingleton = false;
+			Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+			boolean recordSuppressedExceptions = (suppressedExceptions == null);
+			if (recordSuppressedExceptions) {
+				suppressedExceptions = new LinkedHashSet<>();
+				this.suppressedExceptions.set(suppressedExceptions);
+			}
+			try {
+				// ⭐️ 关键代码：调用 singletonFactory 的 getObject 方法
+				// 对应前面的一段 lambda 表达式，来开始创建 bean：createBean
+				singletonObject = singletonFactory.getObject();
+				newSingleton = true;
+			}
+			catch (IllegalStateException ex) {
+				// Has the singleton object implicitly appeared in the meantime ->
+				// if yes, proceed with it since the exception indicates that state.
+				singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject == null) {
 					throw ex;
 				}
-				finally {
-					if (recordSuppressedExceptions) {
-						this.suppressedExceptions = null;
+			}
+			catch (BeanCreationException ex) {
+				if (recordSuppressedExceptions) {
+					for (Exception suppressedException : suppressedExceptions) {
+						ex.addRelatedCause(suppressedException);
 					}
-					// ⭐️ 此时标志着 bean 的生命周期已经走完
-					// 从 this.singletonsCurrentlyInCreation.remove(beanName) 删除正在创建的 beanName
-					afterSingletonCreation(beanName);
 				}
+				throw ex;
+			}
+			finally {
+				if (recordSuppressedExceptions) {
+					this.suppressedExceptions.remove();
+				}
+				// ⭐️ 此时标志着 bean 的生命周期已经走完
+				// 从 this.singletonsCurrentlyInCreation.remove(beanName) 删除正在创建的 beanName
+				afterSingletonCreation(beanName);
+			}
+
+			if (newSingleton) {
+				// ⭐️ 得到了一个完整的 bean，加入到一级缓存中（单例池）
+				// 清除二级缓存，三级缓存
+				addSingleton(beanName, singletonObject);
+			}
+		}
+		return singletonObject;
+	}
 
-				if (newSingleton) {
-					// ⭐️ 得到了一个完整的 bean，加入到一级缓存中（单例池）
-					// 清除二级缓存，三级缓存
-					addSingleton(beanName, singletonObject);
+	/**
+	 * Acquire the lock for the creation of the specified singleton in case of
+	 * {@linkplain #setSingletonLockStriping singleton lock striping}, waiting
+	 * for any other thread currently creating the same singleton.
+	 * <p>Subclasses should call this method instead of synchronizing on the
+	 * {@link #getSingletonMutex() singleton mutex} for any sort of extended
+	 * creation phase of a specific singleton when lock striping is active.
+	 * @param beanName the name of the singleton
+	 * @return {@code true} if the lock has been acquired (to be released through
+	 * {@link #releaseSingletonLock}), or {@code false} if the thread creating the
+	 * singleton in turn waits for a singleton in creation by the current thread
+	 * @since 5.3.3
+	 * @see #isSingletonLockStriping()
+	 */
+	protected boolean acquireSingletonLock(String beanName) {
+		SingletonLock lock = this.singletonLocks.computeIfAbsent(beanName, name -> new SingletonLock());
+		if (lock.tryLock()) {
+			return true;
+		}
+		Thread currentThread = Thread.currentThread();
+		this.singletonLocksWaitedFor.put(currentThread, lock);
+		try {
+			int deadlockChecks = 0;
+			while (!lock.tryLock(SINGLETON_LOCK_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+				if (!isWaitingForCurrentThread(lock, currentThread)) {
+					deadlockChecks = 0;
+				}
+				// Require the cycle to be stable across two checks before acting upon it
+				else if (++deadlockChecks > 1 && (deadlockChecks >= SINGLETON_LOCK_DEADLOCK_CHECKS_LIMIT ||
+						hasEarlySingletonReference(beanName))) {
+					return false;
 				}
 			}
-			return singletonObject;
+			return true;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BeanCreationNotAllowedException(beanName,
+					"Interrupted while waiting for singleton bean creation in another thread");
 		}
+		finally {
+			this.singletonLocksWaitedFor.remove(currentThread);
+		}
+	}
+
+	/**
+	 * Release the lock for the creation of the specified singleton,
+	 * as previously acquired through {@link #acquireSingletonLock}.
+	 * @param beanName the name of the singleton
+	 * @since 5.3.3
+	 */
+	protected void releaseSingletonLock(String beanName) {
+		SingletonLock lock = this.singletonLocks.get(beanName);
+		Assert.state(lock != null && lock.isHeldByCurrentThread(),
+				() -> "Singleton lock for '" + beanName + "' not held by current thread");
+		lock.unlock();
+	}
+
+	/**
+	 * Determine whether an early reference to the specified singleton is available.
+	 */
+	private boolean hasEarlySingletonReference(String beanName) {
+		synchronized (this.singletonObjects) {
+			return (this.earlySingletonObjects.containsKey(beanName) || this.singletonFactories.containsKey(beanName));
+		}
+	}
+
+	/**
+	 * Determine whether the current thread holds the creation lock for
+	 * the specified singleton, i.e. whether it is the creating thread.
+	 */
+	private boolean isSingletonLockHeldByCurrentThread(String beanName) {
+		SingletonLock lock = this.singletonLocks.get(beanName);
+		return (lock != null && lock.isHeldByCurrentThread());
+	}
+
+	/**
+	 * Determine whether the owner of the given lock - transitively through
+	 * the singleton locks that the involved threads wait for - is waiting for
+	 * a singleton lock held by the current thread.
+	 */
+	private boolean isWaitingForCurrentThread(SingletonLock lock, Thread currentThread) {
+		Set<Thread> seen = new HashSet<>();
+		Thread owner = lock.getOwner();
+		while (owner != null && seen.add(owner)) {
+			if (owner == currentThread) {
+				return true;
+			}
+			SingletonLock waitedFor = this.singletonLocksWaitedFor.get(owner);
+			owner = (waitedFor != null ? waitedFor.getOwner() : null);
+		}
+		return false;
 	}
 
 	/**
@@ -299,10 +501,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see BeanCreationException#getRelatedCauses()
 	 */
 	protected void onSuppressedException(Exception ex) {
-		synchronized (this.singletonObjects) {
-			if (this.suppressedExceptions != null && this.suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
-				this.suppressedExceptions.add(ex);
-			}
+		Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+		if (suppressedExceptions != null && suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
+			suppressedExceptions.add(ex);
 		}
 	}
 
@@ -570,6 +771,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			this.registeredSingletons.clear();
 			this.singletonsCurrentlyInDestruction = false;
 		}
+		this.singletonLocks.values().removeIf(lock -> !lock.isLocked());
 	}
 
 	/**
@@ -667,10 +869,29 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * any sort of extended singleton creation phase. In particular, subclasses
 	 * should <i>not</i> have their own mutexes involved in singleton creation,
 	 * to avoid the potential for deadlocks in lazy-init situations.
+	 * <p>In case of {@linkplain #setSingletonLockStriping singleton lock striping},
+	 * the returned mutex is decoupled from the registry's internal state, so that
+	 * holding it does not block singleton creation in other threads. Subclasses
+	 * should rather use {@link #acquireSingletonLock} in that case.
 	 */
 	@Override
 	public final Object getSingletonMutex() {
-		return this.singletonObjects;
+		return (this.singletonLockStriping ? this.extendedSingletonMutex : this.singletonObjects);
+	}
+
+
+	/**
+	 * Reentrant lock for the creation of a specific singleton,
+	 * exposing its owner for the detection of cross-thread cycles.
+	 */
+	@SuppressWarnings("serial")
+	private static class SingletonLock extends ReentrantLock {
+
+		@Override
+		@Nullable
+		protected Thread getOwner() {
+			return super.getOwner();
+		}
 	}
 
 }
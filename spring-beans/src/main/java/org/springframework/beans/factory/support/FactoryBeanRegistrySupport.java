@@ -93,46 +93,21 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 	 */
 	protected Object getObjectFromFactoryBean(FactoryBean<?> factory, String beanName, boolean shouldPostProcess) {
 		if (factory.isSingleton() && containsSingleton(beanName)) {
-			synchronized (getSingletonMutex()) {
-				// 从 factoryBeanObjectCache 缓存中拿
-				Object object = this.factoryBeanObjectCache.get(beanName);
-				if (object == null) {
-					// ⭐️ 调用 factoryBean 的 getObject 方法
-					object = doGetObjectFromFactoryBean(factory, beanName);
-
-					// Only post-process and store if not put there already during getObject() call above
-					// (e.g. because of circular reference processing triggered by custom getBean calls)
-					Object alreadyThere = this.factoryBeanObjectCache.get(beanName);
-					if (alreadyThere != null) {
-						object = alreadyThere;
-					}
-					else {
-						if (shouldPostProcess) {
-							if (isSingletonCurrentlyInCreation(beanName)) {
-								// Temporarily return non-post-processed object, not storing it yet..
-								return object;
-							}
-							beforeSingletonCreation(beanName);
-							try {
-								object = postProcessObjectFromFactoryBean(object, beanName);
-							}
-							catch (Throwable ex) {
-								throw new BeanCreationException(beanName,
-										"Post-processing of FactoryBean's singleton object failed", ex);
-							}
-							finally {
-								afterSingletonCreation(beanName);
-							}
-						}
-						if (containsSingleton(beanName)) {
-							// ⭐️ 加入 factoryBeanObjectCache 缓存
-							// 也就是 FactoryBean 的 getObject 方法返回的对象，都会存在 factoryBeanObjectCache 中
-							// 而不是 singletonObjects 中
-							this.factoryBeanObjectCache.put(beanName, object);
-						}
+			if (isSingletonLockStriping()) {
+				// Lock for the specific singleton only, or leniently proceed without lock
+				// in case of a cross-thread cycle (keeping the first object stored)
+				boolean locked = acquireSingletonLock(beanName);
+				try {
+					return getSingletonObjectFromFactoryBean(factory, beanName, shouldPostProcess);
+				}
+				finally {
+					if (locked) {
+						releaseSingletonLock(beanName);
 					}
 				}
-				return object;
+			}
+			synchronized (getSingletonMutex()) {
+				return getSingletonObjectFromFactoryBean(factory, beanName, shouldPostProcess);
 			}
 		}
 		else {
@@ -149,6 +124,60 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 		}
 	}
 
+	/**
+	 * Obtain a singleton object to expose from the given FactoryBean,
+	 * caching it in the FactoryBean object cache. To be called within
+	 * the singleton mutex or the lock for the specific singleton.
+	 * @param factory the FactoryBean instance
+	 * @param beanName the name of the bean
+	 * @param shouldPostProcess whether the bean is subject to post-processing
+	 * @return the object obtained from the FactoryBean
+	 */
+	private Object getSingletonObjectFromFactoryBean(FactoryBean<?> factory, String beanName, boolean shouldPostProcess) {
+		// 从 factoryBeanObjectCache 缓存中拿
+		Object object = this.factoryBeanObjectCache.get(beanName);
+		if (object == null) {
+			// ⭐️ 调用 factoryBean 的 getObject 方法
+			object = doGetObjectFromFactoryBean(factory, beanName);
+
+			// Only post-process and store if not put there already during getObject() call above
+			// (e.g. because of circular reference processing triggered by custom getBean calls)
+			Object alreadyThere = this.factoryBeanObjectCache.get(beanName);
+			if (alreadyThere != null) {
+				object = alreadyThere;
+			}
+			else {
+				if (shouldPostProcess) {
+					if (isSingletonCurrentlyInCreation(beanName)) {
+						// Temporarily return non-post-processed object, not storing it yet..
+						return object;
+					}
+					beforeSingletonCreation(beanName);
+					try {
+						object = postProcessObjectFromFactoryBean(object, beanName);
+					}
+					catch (Throwable ex) {
+						throw new BeanCreationException(beanName,
+								"Post-processing of FactoryBean's singleton object failed", ex);
+					}
+					finally {
+						afterSingletonCreation(beanName);
+					}
+				}
+				if (containsSingleton(beanName)) {
+					// ⭐️ 加入 factoryBeanObjectCache 缓存
+					// 也就是 FactoryBean 的 getObject 方法返回的对象，都会存在 factoryBeanObjectCache 中
+					// 而不是 singletonObjects 中
+					Object existing = this.factoryBeanObjectCache.putIfAbsent(beanName, object);
+					if (existing != null) {
+						object = existing;
+					}
+				}
+			}
+		}
+		return object;
+	}
+
 	/**
 	 * Obtain an object to expose from the given FactoryBean.
 	 * @param factory the FactoryBean instance
@@ -390,6 +390,16 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 		this.isFactoryMethodUnique = false;
 	}
 
+	/**
+	 * Return whether the factory method name has been specified as referring
+	 * to a non-overloaded method.
+	 * @since 5.3.3
+	 * @see #setUniqueFactoryMethodName
+	 */
+	public boolean isFactoryMethodUnique() {
+		return this.isFactoryMethodUnique;
+	}
+
 	/**
 	 * Check whether the given candidate qualifies as a factory method.
 	 */
@@ -431,6 +441,18 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 		}
 	}
 
+	/**
+	 * Return whether any externally managed config members (e.g. annotated
+	 * injection points) have been registered for this bean definition.
+	 * @since 5.3.3
+	 * @see #registerExternallyManagedConfigMember
+	 */
+	boolean hasExternallyManagedConfigMembers() {
+		synchronized (this.postProcessingLock) {
+			return (this.externallyManagedConfigMembers != null && !this.externallyManagedConfigMembers.isEmpty());
+		}
+	}
+
 	public void registerExternallyManagedInitMethod(String initMethod) {
 		synchronized (this.postProcessingLock) {
 			if (this.externallyManagedInitMethods == null) {
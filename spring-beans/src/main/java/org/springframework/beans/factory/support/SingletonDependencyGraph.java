@@ -0,0 +1,322 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.BeanMetadataElement;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.lang.Nullable;
+
+/**
+ * Dependency graph for the pre-instantiation of non-lazy singletons,
+ * derived from bean definition metadata only: "depends-on" declarations,
+ * factory bean references as well as bean references in constructor
+ * arguments and property values.
+ *
+ * <p>Singletons connected through such declared dependencies end up in the
+ * same group, to be created sequentially in registration order, whereas
+ * different groups are independent from each other and may be created in
+ * parallel. Only singletons whose full set of dependencies is known get
+ * assigned to a group; all others are recommended for sequential creation:
+ * <ul>
+ * <li>singletons without any explicit dependency declarations, e.g. scanned
+ * components or other {@link AnnotatedBeanDefinition AnnotatedBeanDefinitions},
+ * <li>singletons with annotation-driven injection points, as detected by the
+ * factory's {@link MergedBeanDefinitionPostProcessor MergedBeanDefinitionPostProcessors},
+ * or with constructors determined by post-processors,
+ * <li>singletons autowired by constructor/name/type, with instance suppliers,
+ * inner beans or bean expressions, as well as FactoryBeans,
+ * <li>singletons in the same group as any singleton referring to one of the above.
+ * </ul>
+ *
+ * @since 5.3.3
+ * @see DefaultListableBeanFactory#setPreInstantiationExecutor
+ */
+final class SingletonDependencyGraph {
+
+	private final DefaultListableBeanFactory beanFactory;
+
+	/** Union-find structure: bean name to parent bean name. */
+	private final Map<String, String> parents = new HashMap<>();
+
+	/** Bean name to names of declared dependencies, for singletons with determinable dependencies. */
+	private final Map<String, List<String>> dependencies = new HashMap<>();
+
+	private final List<String> groupedBeanNames = new ArrayList<>();
+
+	private final List<String> sequentialBeanNames = new ArrayList<>();
+
+
+	/**
+	 * Build the dependency graph for the given bean names.
+	 * @param beanFactory the bean factory to introspect
+	 * @param beanNames the names of the beans to consider, in registration order
+	 * (non-singleton, abstract and lazy-init beans will be ignored)
+	 */
+	SingletonDependencyGraph(DefaultListableBeanFactory beanFactory, List<String> beanNames) {
+		this.beanFactory = beanFactory;
+		List<String> candidateNames = new ArrayList<>(beanNames.size());
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = beanFactory.getMergedLocalBeanDefinition(beanName);
+			if (bd.isAbstract() || !bd.isSingleton() || bd.isLazyInit()) {
+				continue;
+			}
+			candidateNames.add(beanName);
+			List<String> beanDependencies = determineDependencies(beanName, bd);
+			if (beanDependencies != null) {
+				this.dependencies.put(beanName, beanDependencies);
+				for (String dependency : beanDependencies) {
+					union(beanName, dependency);
+				}
+				find(beanName);
+			}
+		}
+
+		// A group referring to a bean with undeterminable dependencies is undeterminable as well
+		Set<String> undeterminableRoots = new HashSet<>();
+		this.dependencies.forEach((beanName, beanDependencies) -> {
+			for (String dependency : beanDependencies) {
+				if (!this.dependencies.containsKey(dependency) && beanFactory.containsBeanDefinition(dependency)) {
+					undeterminableRoots.add(find(beanName));
+				}
+			}
+		});
+		for (String beanName : candidateNames) {
+			if (this.dependencies.containsKey(beanName) && !undeterminableRoots.contains(find(beanName))) {
+				this.groupedBeanNames.add(beanName);
+			}
+			else {
+				this.sequentialBeanNames.add(beanName);
+			}
+		}
+	}
+
+
+	/**
+	 * Return groups of singletons which are independent from each other,
+	 * each group ordered by registration order.
+	 */
+	List<List<String>> getIndependentGroups() {
+		Map<String, List<String>> groups = new LinkedHashMap<>();
+		for (String beanName : this.groupedBeanNames) {
+			groups.computeIfAbsent(find(beanName), root -> new ArrayList<>()).add(beanName);
+		}
+		return new ArrayList<>(groups.values());
+	}
+
+	/**
+	 * Return the singletons with undeterminable dependencies,
+	 * in registration order.
+	 */
+	List<String> getSequentialBeanNames() {
+		return this.sequentialBeanNames;
+	}
+
+
+	/**
+	 * Determine the dependencies of the given singleton from its bean definition.
+	 * @return the canonical names of the declared dependencies, or {@code null}
+	 * if the full set of dependencies cannot be determined upfront
+	 */
+	@Nullable
+	private List<String> determineDependencies(String beanName, RootBeanDefinition bd) {
+		int autowireMode = bd.getResolvedAutowireMode();
+		if (autowireMode != AutowireCapableBeanFactory.AUTOWIRE_NO || bd.getInstanceSupplier() != null ||
+				this.beanFactory.isFactoryBean(beanName) ||
+				this.beanFactory.getBeanDefinition(beanName) instanceof AnnotatedBeanDefinition) {
+			return null;
+		}
+		if (bd.getDependsOn() == null && bd.getFactoryBeanName() == null && bd.getFactoryMethodName() == null &&
+				!bd.hasConstructorArgumentValues() && !bd.hasPropertyValues()) {
+			// No explicit declarations: dependencies are presumably annotation-driven
+			return null;
+		}
+		if (hasInjectionMetadata(beanName, bd)) {
+			return null;
+		}
+		List<String> references = new ArrayList<>();
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			Collections.addAll(references, dependsOn);
+		}
+		if (bd.getFactoryBeanName() != null) {
+			references.add(bd.getFactoryBeanName());
+		}
+		if (bd.hasConstructorArgumentValues()) {
+			for (ValueHolder valueHolder : bd.getConstructorArgumentValues().getIndexedArgumentValues().values()) {
+				if (!collectReferences(valueHolder.getValue(), references)) {
+					return null;
+				}
+			}
+			for (ValueHolder valueHolder : bd.getConstructorArgumentValues().getGenericArgumentValues()) {
+				if (!collectReferences(valueHolder.getValue(), references)) {
+					return null;
+				}
+			}
+		}
+		if (bd.hasPropertyValues()) {
+			for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+				if (!collectReferences(pv.getValue(), references)) {
+					return null;
+				}
+			}
+		}
+		List<String> dependencies = new ArrayList<>(references.size());
+		for (String dependency : references) {
+			if (dependency.startsWith(BeanFactory.FACTORY_BEAN_PREFIX)) {
+				dependency = dependency.substring(BeanFactory.FACTORY_BEAN_PREFIX.length());
+			}
+			dependencies.add(this.beanFactory.canonicalName(dependency));
+		}
+		return dependencies;
+	}
+
+	/**
+	 * Determine whether the given singleton might get further dependencies
+	 * injected through post-processors, e.g. for annotated fields and methods.
+	 * <p>Applies the factory's {@link MergedBeanDefinitionPostProcessor
+	 * MergedBeanDefinitionPostProcessors} upfront, just like bean creation would,
+	 * and checks for registered {@linkplain RootBeanDefinition#registerExternallyManagedConfigMember
+	 * externally managed config members} as well as for candidate constructors.
+	 */
+	private boolean hasInjectionMetadata(String beanName, RootBeanDefinition bd) {
+		if (!this.beanFactory.hasInstantiationAwareBeanPostProcessors()) {
+			return false;
+		}
+		if (bd.getFactoryMethodName() != null) {
+			// Actual bean type only known after invoking the factory method
+			return true;
+		}
+		try {
+			Class<?> beanClass = this.beanFactory.resolveBeanClass(bd, beanName);
+			if (beanClass == null ||
+					this.beanFactory.determineConstructorsFromBeanPostProcessors(beanClass, beanName) != null) {
+				return true;
+			}
+			synchronized (bd.postProcessingLock) {
+				if (!bd.postProcessed) {
+					this.beanFactory.applyMergedBeanDefinitionPostProcessors(bd, beanClass, beanName);
+					bd.postProcessed = true;
+				}
+			}
+		}
+		catch (BeansException | IllegalStateException ex) {
+			// Let bean creation report the problem later on
+			return true;
+		}
+		return bd.hasExternallyManagedConfigMembers();
+	}
+
+	/**
+	 * Collect bean references from the given bean definition value.
+	 * @return {@code false} if the value might imply dependencies that
+	 * cannot be determined from the value itself
+	 */
+	private boolean collectReferences(@Nullable Object value, List<String> references) {
+		if (value instanceof RuntimeBeanReference) {
+			RuntimeBeanReference ref = (RuntimeBeanReference) value;
+			if (ref.getBeanType() != null || ref.isToParent()) {
+				// Type-based or parent reference: not determinable in this factory
+				return false;
+			}
+			references.add(ref.getBeanName());
+			return true;
+		}
+		else if (value instanceof RuntimeBeanNameReference) {
+			// Only injecting the name, not the bean itself
+			return true;
+		}
+		else if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value) {
+				if (!collectReferences(element, references)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		else if (value instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (!collectReferences(entry.getKey(), references) || !collectReferences(entry.getValue(), references)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		else if (value instanceof Object[]) {
+			for (Object element : (Object[]) value) {
+				if (!collectReferences(element, references)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		else if (value instanceof TypedStringValue) {
+			return !containsExpression(((TypedStringValue) value).getValue());
+		}
+		else if (value instanceof String) {
+			return !containsExpression((String) value);
+		}
+		// Any other metadata element (e.g. an inner bean definition) might refer to further beans
+		return !(value instanceof BeanMetadataElement);
+	}
+
+	private static boolean containsExpression(@Nullable String value) {
+		// Bean expressions may refer to any other bean
+		return (value != null && value.contains("#{"));
+	}
+
+	private String find(String beanName) {
+		String root = beanName;
+		String parent = this.parents.putIfAbsent(root, root);
+		while (parent != null && !parent.equals(root)) {
+			root = parent;
+			parent = this.parents.get(root);
+		}
+		// Path compression
+		String current = beanName;
+		while (!current.equals(root)) {
+			current = this.parents.put(current, root);
+		}
+		return root;
+	}
+
+	private void union(String beanName, String otherBeanName) {
+		String root = find(beanName);
+		String otherRoot = find(otherBeanName);
+		if (!root.equals(otherRoot)) {
+			this.parents.put(otherRoot, root);
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * {@link BeanWrapperImpl} tests with compiled property access enabled,
+ * running all {@link BeanWrapperTests} against compiled accessors.
+ *
+ * @since 5.3.3
+ */
+public class CompiledBeanWrapperTests extends BeanWrapperTests {
+
+	@Override
+	protected BeanWrapperImpl createAccessor(Object target) {
+		BeanWrapperImpl accessor = new BeanWrapperImpl(target);
+		accessor.setCompiledPropertyAccess(true);
+		return accessor;
+	}
+
+
+	@Test
+	public void compiledPropertyForPublicClass() {
+		PropertyDescriptor pd = CachedIntrospectionResults.forClass(TestBean.class).getPropertyDescriptor("age");
+		CompiledBeanProperty property = CompiledBeanProperty.forPropertyDescriptor(pd);
+		assertThat(property.canRead()).isTrue();
+		assertThat(property.canWrite()).isTrue();
+	}
+
+	@Test
+	public void compiledPropertyForNonPublicClass() {
+		PropertyDescriptor pd = CachedIntrospectionResults.forClass(NonPublicBean.class).getPropertyDescriptor("name");
+		CompiledBeanProperty property = CompiledBeanProperty.forPropertyDescriptor(pd);
+		assertThat(property.canRead()).isFalse();
+		assertThat(property.canWrite()).isFalse();
+	}
+
+	@Test
+	public void compiledPropertyIsCachedPerClass() {
+		CachedIntrospectionResults results = CachedIntrospectionResults.forClass(TestBean.class);
+		PropertyDescriptor pd = results.getPropertyDescriptor("name");
+		assertThat(results.getCompiledProperty(pd)).isSameAs(results.getCompiledProperty(pd));
+	}
+
+	@Test
+	public void compiledAccessWithPrimitiveProperty() {
+		TestBean target = new TestBean();
+		BeanWrapperImpl accessor = createAccessor(target);
+		accessor.setPropertyValue("age", "42");
+		assertThat(target.getAge()).isEqualTo(42);
+		assertThat(accessor.getPropertyValue("age")).isEqualTo(42);
+	}
+
+	@Test
+	public void compiledAccessWithNestedPath() {
+		TestBean target = new TestBean();
+		target.setSpouse(new TestBean());
+		BeanWrapperImpl accessor = createAccessor(target);
+		accessor.setPropertyValue("spouse.name", "kerry");
+		assertThat(target.getSpouse().getName()).isEqualTo("kerry");
+		assertThat(accessor.getPropertyValue("spouse.name")).isEqualTo("kerry");
+	}
+
+	@Test
+	public void compiledPropertyWithIncompatibleValue() {
+		PropertyDescriptor pd = CachedIntrospectionResults.forClass(TestBean.class).getPropertyDescriptor("age");
+		CompiledBeanProperty property = CompiledBeanProperty.forPropertyDescriptor(pd);
+		assertThatIllegalArgumentException().isThrownBy(() -> property.setValue(new TestBean(), null));
+		assertThatIllegalArgumentException().isThrownBy(() -> property.setValue(new TestBean(), "42"));
+	}
+
+	@Test
+	public void compiledAccessWithSetterException() {
+		BeanWrapperImpl accessor = createAccessor(new ThrowingBean());
+		assertThatExceptionOfType(MethodInvocationException.class).isThrownBy(() ->
+				accessor.setPropertyValue("name", "value"))
+				.satisfies(ex -> assertThat(ex.getCause()).isInstanceOf(UnsupportedOperationException.class));
+		assertThatExceptionOfType(InvalidPropertyException.class).isThrownBy(() ->
+				accessor.getPropertyValue("name"))
+				.withMessageContaining("Getter for property 'name' threw exception");
+	}
+
+
+	static class NonPublicBean {
+
+		private String name;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+
+	public static class ThrowingBean {
+
+		public String getName() {
+			throw new UnsupportedOperationException();
+		}
+
+		public void setName(String name) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.core.OverridingClassLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PersistentIntrospectionCache}.
+ *
+ * @since 5.3.3
+ */
+public class PersistentIntrospectionCacheTests {
+
+	@TempDir
+	Path tempDir;
+
+
+	@Test
+	public void recordAndRestoreAfterReload() throws IOException {
+		Path file = this.tempDir.resolve("introspection.cache");
+		PersistentIntrospectionCache cache = PersistentIntrospectionCache.load(file);
+		PropertyDescriptor[] pds = CachedIntrospectionResults.forClass(TestBean.class).getPropertyDescriptors();
+		cache.record(TestBean.class, Arrays.asList(pds));
+		cache.save();
+
+		PersistentIntrospectionCache reloaded = PersistentIntrospectionCache.load(file);
+		assertThat(reloaded.size()).isEqualTo(1);
+		List<PropertyDescriptor> restored = reloaded.restore(TestBean.class);
+		assertThat(restored).hasSize(pds.length);
+		for (int i = 0; i < pds.length; i++) {
+			assertThat(restored.get(i)).isInstanceOf(GenericTypeAwarePropertyDescriptor.class);
+			assertThat(restored.get(i).getName()).isEqualTo(pds[i].getName());
+			assertThat(restored.get(i).getPropertyType()).isEqualTo(pds[i].getPropertyType());
+			assertThat(restored.get(i).getReadMethod()).isEqualTo(pds[i].getReadMethod());
+			assertThat(restored.get(i).getWriteMethod()).isEqualTo(pds[i].getWriteMethod());
+		}
+	}
+
+	@Test
+	public void staleEntryIsDiscarded() throws IOException {
+		Path file = this.tempDir.resolve("introspection.cache");
+		PersistentIntrospectionCache cache = PersistentIntrospectionCache.load(file);
+		cache.record(TestBean.class,
+				Arrays.asList(CachedIntrospectionResults.forClass(TestBean.class).getPropertyDescriptors()));
+		cache.save();
+
+		// Simulate a changed class by tampering with the recorded hash
+		String content = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+		String tampered = content.replaceFirst("[0-9a-f]{32}", "00000000000000000000000000000000");
+		assertThat(tampered).isNotEqualTo(content);
+		Files.write(file, tampered.getBytes(StandardCharsets.ISO_8859_1));
+
+		PersistentIntrospectionCache reloaded = PersistentIntrospectionCache.load(file);
+		assertThat(reloaded.size()).isEqualTo(1);
+		assertThat(reloaded.restore(TestBean.class)).isNull();
+		assertThat(reloaded.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void unreadableFileIsIgnored() throws IOException {
+		Path file = this.tempDir.resolve("introspection.cache");
+		Files.write(file, "garbage".getBytes(StandardCharsets.UTF_8));
+		PersistentIntrospectionCache cache = PersistentIntrospectionCache.load(file);
+		assertThat(cache.size()).isEqualTo(0);
+		assertThat(cache.restore(TestBean.class)).isNull();
+	}
+
+	@Test
+	public void cachedIntrospectionResultsWithPersistentCache() throws Exception {
+		PersistentIntrospectionCache cache = PersistentIntrospectionCache.load(this.tempDir.resolve("cache"));
+		CachedIntrospectionResults.setPersistentCache(cache);
+		try {
+			ClassLoader child = new OverridingClassLoader(getClass().getClassLoader());
+			Class<?> tbClass = child.loadClass(TestBean.class.getName());
+			CachedIntrospectionResults.acceptClassLoader(child);
+			assertThat(new BeanWrapperImpl(tbClass).isWritableProperty("name")).isTrue();
+			assertThat(cache.size()).isEqualTo(1);
+			CachedIntrospectionResults.clearClassLoader(child);
+
+			// Reloaded class: restored from the persistent cache instead of introspected
+			ClassLoader otherChild = new OverridingClassLoader(getClass().getClassLoader());
+			Class<?> otherTbClass = otherChild.loadClass(TestBean.class.getName());
+			CachedIntrospectionResults.acceptClassLoader(otherChild);
+			CachedIntrospectionResults results = CachedIntrospectionResults.forClass(otherTbClass);
+			assertThat(results.getBeanInfo().getClass().getEnclosingClass()).isEqualTo(CachedIntrospectionResults.class);
+			assertThat(results.getBeanClass()).isEqualTo(otherTbClass);
+			assertThat(results.getPropertyDescriptor("name").getReadMethod().getDeclaringClass()).isEqualTo(otherTbClass);
+			BeanWrapper bw = new BeanWrapperImpl(otherTbClass);
+			bw.setPropertyValue("age", "42");
+			assertThat(bw.getPropertyValue("age")).isEqualTo(42);
+			CachedIntrospectionResults.clearClassLoader(otherChild);
+		}
+		finally {
+			CachedIntrospectionResults.setPersistentCache(null);
+		}
+	}
+
+	@Test
+	public void nonCacheSafeClassIsNotRecorded() throws Exception {
+		PersistentIntrospectionCache cache = PersistentIntrospectionCache.load(this.tempDir.resolve("cache"));
+		CachedIntrospectionResults.setPersistentCache(cache);
+		try {
+			ClassLoader child = new OverridingClassLoader(getClass().getClassLoader());
+			Class<?> tbClass = child.loadClass(TestBean.class.getName());
+			assertThat(new BeanWrapperImpl(tbClass).isWritableProperty("name")).isTrue();
+			assertThat(cache.size()).isEqualTo(0);
+		}
+		finally {
+			CachedIntrospectionResults.setPersistentCache(null);
+		}
+	}
+
+}
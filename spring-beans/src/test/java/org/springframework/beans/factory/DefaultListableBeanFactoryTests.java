@@ -37,6 +37,8 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -53,6 +55,8 @@ import org.springframework.beans.PropertyEditorRegistry;
 import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.AutowiredPropertyMarker;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -1413,6 +1417,112 @@ class DefaultListableBeanFactoryTests {
 			.withMessageContaining("'tb1'");
 	}
 
+	@Test
+	void parallelPreInstantiation() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			lbf.setPreInstantiationExecutor(executor);
+			assertThat(lbf.isSingletonLockStriping()).isTrue();
+			for (int i = 0; i < 50; i++) {
+				RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+				bd.getPropertyValues().add("name", "tb" + i);
+				if (i % 5 != 0) {
+					bd.getPropertyValues().add("spouse", new RuntimeBeanReference("tb" + (i - 1)));
+				}
+				lbf.registerBeanDefinition("tb" + i, bd);
+			}
+			RootBeanDefinition autowired = new RootBeanDefinition(DependenciesBean.class);
+			autowired.setAutowireMode(AutowireCapableBeanFactory.AUTOWIRE_BY_NAME);
+			lbf.registerBeanDefinition("autowired", autowired);
+			RootBeanDefinition lazy = new RootBeanDefinition(TestBean.class);
+			lazy.setLazyInit(true);
+			lbf.registerBeanDefinition("lazy", lazy);
+
+			lbf.preInstantiateSingletons();
+			for (int i = 0; i < 50; i++) {
+				assertThat(lbf.containsSingleton("tb" + i)).isTrue();
+				if (i % 5 != 0) {
+					assertThat(lbf.getBean("tb" + i, TestBean.class).getSpouse()).isSameAs(lbf.getBean("tb" + (i - 1)));
+				}
+			}
+			assertThat(lbf.containsSingleton("autowired")).isTrue();
+			assertThat(lbf.containsSingleton("lazy")).isFalse();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void parallelPreInstantiationWithFieldInjection() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			lbf.setPreInstantiationExecutor(executor);
+			AutowiredAnnotationBeanPostProcessor bpp = new AutowiredAnnotationBeanPostProcessor();
+			bpp.setBeanFactory(lbf);
+			lbf.addBeanPostProcessor(bpp);
+			RootBeanDefinition bd1 = new RootBeanDefinition(FieldInjectedBean1.class);
+			bd1.getPropertyValues().add("name", "bean1");
+			lbf.registerBeanDefinition("bean1", bd1);
+			lbf.registerBeanDefinition("bean2", new RootBeanDefinition(FieldInjectedBean2.class));
+			RootBeanDefinition tb = new RootBeanDefinition(TestBean.class);
+			tb.getPropertyValues().add("name", "tb");
+			lbf.registerBeanDefinition("tb", tb);
+
+			lbf.preInstantiateSingletons();
+			FieldInjectedBean1 bean1 = lbf.getBean(FieldInjectedBean1.class);
+			FieldInjectedBean2 bean2 = lbf.getBean(FieldInjectedBean2.class);
+			assertThat(bean1.other).isSameAs(bean2);
+			assertThat(bean2.other).isSameAs(bean1);
+			// Ambiguous dependencies: created sequentially on the calling thread
+			assertThat(bean1.creationThread).isSameAs(Thread.currentThread());
+			assertThat(bean2.creationThread).isSameAs(Thread.currentThread());
+			assertThat(lbf.containsSingleton("tb")).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void parallelPreInstantiationWithFailure() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			lbf.setPreInstantiationExecutor(executor);
+			lbf.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class));
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			bd.getPropertyValues().add("age", "notANumber");
+			lbf.registerBeanDefinition("tb2", bd);
+			assertThatExceptionOfType(BeanCreationException.class).isThrownBy(
+					lbf::preInstantiateSingletons)
+				.satisfies(ex -> assertThat(ex.getBeanName()).isEqualTo("tb2"));
+			assertThat(lbf.containsSingleton("tb1")).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void parallelPreInstantiationWithDependsOnCycle() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			lbf.setPreInstantiationExecutor(executor);
+			RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+			bd1.setDependsOn("tb2");
+			lbf.registerBeanDefinition("tb1", bd1);
+			RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+			bd2.setDependsOn("tb1");
+			lbf.registerBeanDefinition("tb2", bd2);
+			assertThatExceptionOfType(BeanCreationException.class).isThrownBy(
+					lbf::preInstantiateSingletons)
+				.withMessageContaining("Circular");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	void getBeanByTypeWithNoneFound() {
 		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
@@ -2999,6 +3109,27 @@ class DefaultListableBeanFactoryTests {
 	}
 
 
+	static class FieldInjectedBean1 {
+
+		final Thread creationThread = Thread.currentThread();
+
+		@Autowired
+		FieldInjectedBean2 other;
+
+		public void setName(String name) {
+		}
+	}
+
+
+	static class FieldInjectedBean2 {
+
+		final Thread creationThread = Thread.currentThread();
+
+		@Autowired
+		FieldInjectedBean1 other;
+	}
+
+
 	/**
 	 * Bean with a dependency on a {@link FactoryBean}.
 	 */
@@ -16,6 +16,13 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.BeansException;
@@ -101,4 +108,98 @@ public class DefaultSingletonBeanRegistryTests {
 		assertThat(beanRegistry.isDependent("c", "c")).isTrue();
 	}
 
+	@Test
+	public void testSingletonLockStripingWithConcurrentCreation() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setSingletonLockStriping(true);
+		CountDownLatch bothInCreation = new CountDownLatch(2);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> tb1 = executor.submit(() -> beanRegistry.getSingleton("tb1", () -> {
+				bothInCreation.countDown();
+				return awaitAndCreate(bothInCreation);
+			}));
+			Object tb2 = beanRegistry.getSingleton("tb2", () -> {
+				bothInCreation.countDown();
+				return awaitAndCreate(bothInCreation);
+			});
+			assertThat(tb1.get(5, TimeUnit.SECONDS)).isInstanceOf(TestBean.class);
+			assertThat(tb2).isInstanceOf(TestBean.class);
+			assertThat(beanRegistry.getSingletonCount()).isEqualTo(2);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testSingletonLockStripingWithSameSingleton() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setSingletonLockStriping(true);
+		AtomicInteger creationCount = new AtomicInteger();
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch secondRequest = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> tb1 = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				creationCount.incrementAndGet();
+				inCreation.countDown();
+				return awaitAndCreate(secondRequest);
+			}));
+			assertThat(inCreation.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(beanRegistry.getSingleton("tb")).isNull();
+			secondRequest.countDown();
+			Object tb2 = beanRegistry.getSingleton("tb", () -> {
+				creationCount.incrementAndGet();
+				return new TestBean();
+			});
+			assertThat(tb1.get(5, TimeUnit.SECONDS)).isSameAs(tb2);
+			assertThat(creationCount.get()).isEqualTo(1);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testSingletonLockStripingWithCircularReferenceAcrossThreads() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setSingletonLockStriping(true);
+		CountDownLatch bothExposed = new CountDownLatch(2);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> tb1 = executor.submit(() -> createWithEarlyReference(beanRegistry, "tb1", "tb2", bothExposed));
+			TestBean tb2 = createWithEarlyReference(beanRegistry, "tb2", "tb1", bothExposed);
+			assertThat(tb2.getSpouse()).isSameAs(tb1.get(5, TimeUnit.SECONDS));
+			assertThat(((TestBean) tb1.get()).getSpouse()).isSameAs(tb2);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+
+	private static TestBean awaitAndCreate(CountDownLatch latch) {
+		try {
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+		return new TestBean();
+	}
+
+	private static TestBean createWithEarlyReference(DefaultSingletonBeanRegistry beanRegistry,
+			String beanName, String spouseName, CountDownLatch bothExposed) {
+
+		return (TestBean) beanRegistry.getSingleton(beanName, () -> {
+			TestBean tb = new TestBean();
+			beanRegistry.addSingletonFactory(beanName, () -> tb);
+			bothExposed.countDown();
+			awaitAndCreate(bothExposed);
+			tb.setSpouse((TestBean) beanRegistry.getSingleton(spouseName, TestBean::new));
+			return tb;
+		});
+	}
+
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Marshaller to write {@link CandidateComponentsMetadata} in a compact binary
+ * format that can be memory-mapped and queried without materializing its entries.
+ *
+ * <p>All values are big-endian {@code int}s, laid out as follows:
+ * <ol>
+ * <li>header: magic number, format version, string count, stereotype count
+ * and total posting count</li>
+ * <li>string offsets: {@code stringCount + 1} offsets into the string data</li>
+ * <li>stereotype directory: for each stereotype, the string index of its name,
+ * the start of its posting list and the posting list length</li>
+ * <li>posting lists: string indexes of the candidate types per stereotype</li>
+ * <li>string data: UTF-8 encoded strings</li>
+ * </ol>
+ * <p>Strings are sorted by their UTF-8 bytes (unsigned), so stereotype directory
+ * and posting lists are sorted as well, allowing for binary search by stereotype
+ * and by package prefix.
+ *
+ * @since 5.3.3
+ * @see MetadataStore#BINARY_METADATA_PATH
+ */
+abstract class BinaryMarshaller {
+
+	static final int MAGIC = 0x53434958;
+
+	static final int VERSION = 1;
+
+
+	public static void write(CandidateComponentsMetadata metadata, OutputStream out) throws IOException {
+		Map<String, Set<String>> typesByStereotype = new HashMap<>();
+		TreeSet<byte[]> strings = new TreeSet<>(BinaryMarshaller::compare);
+		for (ItemMetadata item : metadata.getItems()) {
+			strings.add(utf8(item.getType()));
+			for (String stereotype : item.getStereotypes()) {
+				strings.add(utf8(stereotype));
+				typesByStereotype.computeIfAbsent(stereotype, key -> new LinkedHashSet<>()).add(item.getType());
+			}
+		}
+		Map<String, Integer> stringIndexes = new HashMap<>();
+		for (byte[] string : strings) {
+			stringIndexes.put(new String(string, StandardCharsets.UTF_8), stringIndexes.size());
+		}
+		Map<Integer, List<Integer>> postings = new TreeMap<>();
+		int postingCount = 0;
+		for (Map.Entry<String, Set<String>> entry : typesByStereotype.entrySet()) {
+			List<Integer> types = new ArrayList<>();
+			for (String type : entry.getValue()) {
+				types.add(stringIndexes.get(type));
+			}
+			types.sort(null);
+			postings.put(stringIndexes.get(entry.getKey()), types);
+			postingCount += types.size();
+		}
+
+		DataOutputStream output = new DataOutputStream(out);
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeInt(strings.size());
+		output.writeInt(postings.size());
+		output.writeInt(postingCount);
+		int offset = 0;
+		for (byte[] string : strings) {
+			output.writeInt(offset);
+			offset += string.length;
+		}
+		output.writeInt(offset);
+		int postingStart = 0;
+		for (Map.Entry<Integer, List<Integer>> entry : postings.entrySet()) {
+			output.writeInt(entry.getKey());
+			output.writeInt(postingStart);
+			output.writeInt(entry.getValue().size());
+			postingStart += entry.getValue().size();
+		}
+		for (List<Integer> types : postings.values()) {
+			for (int type : types) {
+				output.writeInt(type);
+			}
+		}
+		for (byte[] string : strings) {
+			output.write(string);
+		}
+		output.flush();
+	}
+
+	public static CandidateComponentsMetadata read(InputStream in) throws IOException {
+		DataInputStream input = new DataInputStream(in);
+		if (input.readInt() != MAGIC) {
+			throw new IOException("Not a binary candidate components index");
+		}
+		int version = input.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported binary candidate components index version " + version);
+		}
+		int stringCount = input.readInt();
+		int stereotypeCount = input.readInt();
+		int postingCount = input.readInt();
+		int[] offsets = new int[stringCount + 1];
+		for (int i = 0; i < offsets.length; i++) {
+			offsets[i] = input.readInt();
+		}
+		int[] stereotypes = new int[stereotypeCount];
+		int[] postingStarts = new int[stereotypeCount];
+		int[] postingLengths = new int[stereotypeCount];
+		for (int i = 0; i < stereotypeCount; i++) {
+			stereotypes[i] = input.readInt();
+			postingStarts[i] = input.readInt();
+			postingLengths[i] = input.readInt();
+		}
+		int[] postings = new int[postingCount];
+		for (int i = 0; i < postingCount; i++) {
+			postings[i] = input.readInt();
+		}
+		byte[] data = new byte[offsets[stringCount]];
+		input.readFully(data);
+		String[] strings = new String[stringCount];
+		for (int i = 0; i < stringCount; i++) {
+			strings[i] = new String(data, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+		}
+
+		Map<String, Set<String>> stereotypesByType = new LinkedHashMap<>();
+		for (int i = 0; i < stereotypeCount; i++) {
+			for (int j = postingStarts[i]; j < postingStarts[i] + postingLengths[i]; j++) {
+				stereotypesByType.computeIfAbsent(strings[postings[j]], key -> new LinkedHashSet<>())
+						.add(strings[stereotypes[i]]);
+			}
+		}
+		CandidateComponentsMetadata result = new CandidateComponentsMetadata();
+		stereotypesByType.forEach((type, candidates) -> result.add(new ItemMetadata(type, candidates)));
+		return result;
+	}
+
+	private static byte[] utf8(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static int compare(byte[] a, byte[] b) {
+		int length = Math.min(a.length, b.length);
+		for (int i = 0; i < length; i++) {
+			int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return a.length - b.length;
+	}
+
+}
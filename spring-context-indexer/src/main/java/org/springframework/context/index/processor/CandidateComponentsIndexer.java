@@ -46,6 +46,15 @@ import javax.lang.model.element.TypeElement;
  */
 public class CandidateComponentsIndexer implements Processor {
 
+	/**
+	 * Processor option to write the index in the compact binary format
+	 * ({@code META-INF/spring.components.idx}) instead of the properties
+	 * format ({@code META-INF/spring.components}), e.g.
+	 * {@code -Aspring.components.binary=true}.
+	 * @since 5.3.3
+	 */
+	public static final String BINARY_FORMAT_OPTION = "spring.components.binary";
+
 	private static final Set<ElementKind> TYPE_KINDS =
 			Collections.unmodifiableSet(EnumSet.of(ElementKind.CLASS, ElementKind.INTERFACE));
 
@@ -60,7 +69,7 @@ public class CandidateComponentsIndexer implements Processor {
 
 	@Override
 	public Set<String> getSupportedOptions() {
-		return Collections.emptySet();
+		return Collections.singleton(BINARY_FORMAT_OPTION);
 	}
 
 	@Override
@@ -77,7 +86,7 @@ public class CandidateComponentsIndexer implements Processor {
 	public synchronized void init(ProcessingEnvironment env) {
 		this.stereotypesProviders = getStereotypesProviders(env);
 		this.typeHelper = new TypeHelper(env);
-		this.metadataStore = new MetadataStore(env);
+		this.metadataStore = new MetadataStore(env, Boolean.parseBoolean(env.getOptions().get(BINARY_FORMAT_OPTION)));
 		this.metadataCollector = new MetadataCollector(env, this.metadataStore.readMetadata());
 	}
 
@@ -34,11 +34,27 @@ class MetadataStore {
 
 	static final String METADATA_PATH = "META-INF/spring.components";
 
+	static final String BINARY_METADATA_PATH = "META-INF/spring.components.idx";
+
 	private final ProcessingEnvironment environment;
 
+	private final boolean binary;
+
 
 	public MetadataStore(ProcessingEnvironment environment) {
+		this(environment, false);
+	}
+
+	/**
+	 * Create a new {@code MetadataStore} instance.
+	 * @param environment the processing environment of the build
+	 * @param binary whether to store metadata in the binary format
+	 * @since 5.3.3
+	 * @see BinaryMarshaller
+	 */
+	public MetadataStore(ProcessingEnvironment environment, boolean binary) {
 		this.environment = environment;
+		this.binary = binary;
 	}
 
 
@@ -55,7 +71,12 @@ class MetadataStore {
 	public void writeMetadata(CandidateComponentsMetadata metadata) throws IOException {
 		if (!metadata.getItems().isEmpty()) {
 			try (OutputStream outputStream = createMetadataResource().openOutputStream()) {
-				PropertiesMarshaller.write(metadata, outputStream);
+				if (this.binary) {
+					BinaryMarshaller.write(metadata, outputStream);
+				}
+				else {
+					PropertiesMarshaller.write(metadata, outputStream);
+				}
 			}
 		}
 	}
@@ -63,7 +84,7 @@ class MetadataStore {
 
 	private CandidateComponentsMetadata readMetadata(InputStream in) throws IOException {
 		try {
-			return PropertiesMarshaller.read(in);
+			return (this.binary ? BinaryMarshaller.read(in) : PropertiesMarshaller.read(in));
 		}
 		finally {
 			in.close();
@@ -71,11 +92,15 @@ class MetadataStore {
 	}
 
 	private FileObject getMetadataResource() throws IOException {
-		return this.environment.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+		return this.environment.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", getMetadataPath());
 	}
 
 	private FileObject createMetadataResource() throws IOException {
-		return this.environment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+		return this.environment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", getMetadataPath());
+	}
+
+	private String getMetadataPath() {
+		return (this.binary ? BINARY_METADATA_PATH : METADATA_PATH);
 	}
 
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+/**
+ * Tests for {@link BinaryMarshaller}.
+ */
+public class BinaryMarshallerTests {
+
+	@Test
+	public void readWrite() throws IOException {
+		CandidateComponentsMetadata metadata = new CandidateComponentsMetadata();
+		metadata.add(createItem("com.foo", "first", "second"));
+		metadata.add(createItem("com.bar", "first"));
+		metadata.add(createItem("com.bäz", "third"));
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		BinaryMarshaller.write(metadata, outputStream);
+		CandidateComponentsMetadata readMetadata = BinaryMarshaller.read(
+				new ByteArrayInputStream(outputStream.toByteArray()));
+		assertThat(readMetadata).has(Metadata.of("com.foo", "first", "second"));
+		assertThat(readMetadata).has(Metadata.of("com.bar", "first"));
+		assertThat(readMetadata).has(Metadata.of("com.bäz", "third"));
+		assertThat(readMetadata.getItems()).hasSize(3);
+	}
+
+	@Test
+	public void metadataIsWrittenDeterministically() throws IOException {
+		CandidateComponentsMetadata metadata = new CandidateComponentsMetadata();
+		metadata.add(createItem("com.b", "type"));
+		metadata.add(createItem("com.c", "type"));
+		metadata.add(createItem("com.a", "type"));
+		CandidateComponentsMetadata reversed = new CandidateComponentsMetadata();
+		reversed.add(createItem("com.a", "type"));
+		reversed.add(createItem("com.c", "type"));
+		reversed.add(createItem("com.b", "type"));
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		BinaryMarshaller.write(metadata, outputStream);
+		ByteArrayOutputStream reversedOutputStream = new ByteArrayOutputStream();
+		BinaryMarshaller.write(reversed, reversedOutputStream);
+		assertThat(outputStream.toByteArray()).isEqualTo(reversedOutputStream.toByteArray());
+	}
+
+	@Test
+	public void readInvalidContent() {
+		assertThatIOException().isThrownBy(() -> BinaryMarshaller.read(
+				new ByteArrayInputStream("com.foo=first".getBytes())))
+				.withMessageContaining("Not a binary candidate components index");
+	}
+
+	private static ItemMetadata createItem(String type, String... stereotypes) {
+		return new ItemMetadata(type, new HashSet<>(Arrays.asList(stereotypes)));
+	}
+
+}
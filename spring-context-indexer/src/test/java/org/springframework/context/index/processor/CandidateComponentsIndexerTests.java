@@ -20,6 +20,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collections;
 
 import javax.annotation.ManagedBean;
 import javax.inject.Named;
@@ -218,6 +219,22 @@ class CandidateComponentsIndexerTests {
 		assertThat(metadata.getItems()).hasSize(0);
 	}
 
+	@Test
+	void binaryFormat() throws IOException {
+		CandidateComponentsIndexer processor = new CandidateComponentsIndexer();
+		this.compiler.getTask(Collections.singletonList("-A" + CandidateComponentsIndexer.BINARY_FORMAT_OPTION + "=true"),
+				SampleComponent.class, SampleRepository.class).call(processor);
+		File outputLocation = this.compiler.getOutputLocation();
+		assertThat(new File(outputLocation, MetadataStore.METADATA_PATH)).doesNotExist();
+		try (FileInputStream fileInputStream = new FileInputStream(
+				new File(outputLocation, MetadataStore.BINARY_METADATA_PATH))) {
+			CandidateComponentsMetadata metadata = BinaryMarshaller.read(fileInputStream);
+			assertThat(metadata).has(Metadata.of(SampleComponent.class, Component.class));
+			assertThat(metadata).has(Metadata.of(SampleRepository.class, Component.class));
+			assertThat(metadata.getItems()).hasSize(2);
+		}
+	}
+
 	private void testComponent(Class<?>... classes) {
 		CandidateComponentsMetadata metadata = compile(classes);
 		for (Class<?> c : classes) {
@@ -16,6 +16,7 @@
 
 package org.springframework.cache.caffeine;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.CaffeineSpec;
@@ -211,4 +212,34 @@ public class CaffeineCacheManagerTests {
 		assertThat(cm.getCache("c2") == cache2).isTrue();
 	}
 
+	@Test
+	public void asyncCacheMode() throws Exception {
+		CaffeineCacheManager cm = new CaffeineCacheManager("c1");
+		Cache cache1 = cm.getCache("c1");
+		assertThat(cm.isAsyncCacheMode()).isFalse();
+
+		cm.setAsyncCacheMode(true);
+		assertThat(cm.isAsyncCacheMode()).isTrue();
+		CaffeineCache cache1x = (CaffeineCache) cm.getCache("c1");
+		assertThat(cache1x != cache1).isTrue();
+		assertThat(cache1x.getAsyncCache().synchronous()).isSameAs(cache1x.getNativeCache());
+
+		cache1x.put("key1", "value1");
+		assertThat(cache1x.retrieve("key1").get()).isEqualTo("value1");
+		assertThat(cache1x.retrieve("key2")).isNull();
+	}
+
+	@Test
+	public void customAsyncCacheRegistration() {
+		CaffeineCacheManager cm = new CaffeineCacheManager("c1");
+		AsyncCache<Object, Object> nc = Caffeine.newBuilder().buildAsync();
+		cm.registerCustomCache("c2", nc);
+
+		CaffeineCache cache2 = (CaffeineCache) cm.getCache("c2");
+		assertThat(cache2.getAsyncCache()).isSameAs(nc);
+
+		cm.setAsyncCacheMode(true);
+		assertThat(cm.getCache("c2") == cache2).isTrue();
+	}
+
 }
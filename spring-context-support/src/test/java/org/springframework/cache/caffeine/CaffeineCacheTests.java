@@ -16,6 +16,9 @@
 
 package org.springframework.cache.caffeine;
 
+import java.util.concurrent.CompletableFuture;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -111,4 +114,29 @@ class CaffeineCacheTests extends AbstractValueAdaptingCacheTests<CaffeineCache>
 		assertThat(cache.get(key).get()).isEqualTo(value);
 	}
 
+	@Test
+	void testAsyncCacheRetrieve() throws Exception {
+		AsyncCache<Object, Object> asyncNativeCache = Caffeine.newBuilder().buildAsync();
+		CaffeineCache asyncCache = new CaffeineCache(CACHE_NAME, asyncNativeCache, true);
+		assertThat(asyncCache.getAsyncCache()).isSameAs(asyncNativeCache);
+		assertThat(asyncCache.getNativeCache()).isSameAs(asyncNativeCache.synchronous());
+		assertThat(asyncCache.retrieve("key")).isNull();
+
+		CompletableFuture<String> pending = new CompletableFuture<>();
+		CompletableFuture<String> result = asyncCache.retrieve("key", () -> pending);
+		assertThat(asyncCache.retrieve("key", () -> {
+			throw new IllegalStateException("Should not have been invoked");
+		})).isNotDone();
+		assertThat(asyncCache.retrieve("key")).isNotNull().isNotDone();
+		pending.complete(null);
+		assertThat(result.get()).isNull();
+		assertThat(asyncCache.retrieve("key").get()).isNull();
+		assertThat(asyncCache.get("key")).isNotNull();
+	}
+
+	@Test
+	void testAsyncCacheNotAvailable() {
+		assertThatIllegalStateException().isThrownBy(() -> this.cache.getAsyncCache());
+	}
+
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Benchmark for {@code publishEvent} latency with many listeners and a mix
+ * of {@link PayloadApplicationEvent} types.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApplicationEventMulticasterBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"500"})
+		public int listenerCount;
+
+		public GenericApplicationContext context;
+
+		public ApplicationEventMulticaster multicaster;
+
+		public Object[] payloads = {"test", 42, 42L, 4.2d};
+
+		public int index;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.context = new GenericApplicationContext();
+			this.context.refresh();
+			this.multicaster = this.context.getBean(
+					AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME, ApplicationEventMulticaster.class);
+			for (int i = 0; i < this.listenerCount; i++) {
+				switch (i % 5) {
+					case 0: this.context.addApplicationListener(new StringPayloadListener()); break;
+					case 1: this.context.addApplicationListener(new IntegerPayloadListener()); break;
+					case 2: this.context.addApplicationListener(new LongPayloadListener()); break;
+					case 3: this.context.addApplicationListener(new TestEventListener()); break;
+					default: this.context.addApplicationListener(new AnyEventListener()); break;
+				}
+			}
+		}
+
+		public Object nextPayload() {
+			this.index = (this.index + 1) % this.payloads.length;
+			return this.payloads[this.index];
+		}
+
+		@TearDown(Level.Trial)
+		public void teardown() {
+			this.context.close();
+		}
+	}
+
+	@Benchmark
+	public void publishPayload(BenchmarkState state) {
+		state.context.publishEvent("test");
+	}
+
+	@Benchmark
+	public void publishMixedPayloads(BenchmarkState state) {
+		state.context.publishEvent(state.nextPayload());
+	}
+
+	@Benchmark
+	public void publishApplicationEvent(BenchmarkState state) {
+		state.context.publishEvent(new TestEvent(state));
+	}
+
+	@Benchmark
+	public void publishAfterListenerRegistration(BenchmarkState state, Blackhole bh) {
+		StringPayloadListener listener = new StringPayloadListener();
+		state.multicaster.addApplicationListener(listener);
+		state.context.publishEvent(state.nextPayload());
+		state.multicaster.removeApplicationListener(listener);
+		bh.consume(listener.count);
+	}
+
+
+	@SuppressWarnings("serial")
+	static class TestEvent extends ApplicationEvent {
+
+		TestEvent(Object source) {
+			super(source);
+		}
+	}
+
+
+	static class StringPayloadListener implements ApplicationListener<PayloadApplicationEvent<String>> {
+
+		int count;
+
+		@Override
+		public void onApplicationEvent(PayloadApplicationEvent<String> event) {
+			this.count++;
+		}
+	}
+
+
+	static class IntegerPayloadListener implements ApplicationListener<PayloadApplicationEvent<Integer>> {
+
+		int count;
+
+		@Override
+		public void onApplicationEvent(PayloadApplicationEvent<Integer> event) {
+			this.count++;
+		}
+	}
+
+
+	static class LongPayloadListener implements ApplicationListener<PayloadApplicationEvent<Long>> {
+
+		int count;
+
+		@Override
+		public void onApplicationEvent(PayloadApplicationEvent<Long> event) {
+			this.count++;
+		}
+	}
+
+
+	static class TestEventListener implements ApplicationListener<TestEvent> {
+
+		int count;
+
+		@Override
+		public void onApplicationEvent(TestEvent event) {
+			this.count++;
+		}
+	}
+
+
+	static class AnyEventListener implements ApplicationListener<ApplicationEvent> {
+
+		int count;
+
+		@Override
+		public void onApplicationEvent(ApplicationEvent event) {
+			this.count++;
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.support;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * Benchmark for the startup of an application context with many singletons,
+ * pre-instantiated sequentially or in parallel on a {@link ForkJoinPool}.
+ *
+ * @see GenericApplicationContext#setPreInstantiationExecutor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelPreInstantiationBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"false", "true"})
+		public boolean parallel;
+
+		@Param({"4000"})
+		public int beanCount;
+
+		/** Length of the chains of beans referring to each other. */
+		@Param({"4"})
+		public int chainLength;
+
+		/** CPU work performed by each bean on initialization. */
+		@Param({"10000"})
+		public long initTokens;
+
+		public ForkJoinPool executor;
+
+		public GenericApplicationContext context;
+
+		@Setup(Level.Trial)
+		public void setupExecutor() {
+			this.executor = new ForkJoinPool();
+		}
+
+		@Setup(Level.Invocation)
+		public void setupContext() {
+			this.context = new GenericApplicationContext();
+			if (this.parallel) {
+				this.context.setPreInstantiationExecutor(this.executor);
+			}
+			for (int i = 0; i < this.beanCount; i++) {
+				RootBeanDefinition bd = new RootBeanDefinition(InitializingTestBean.class);
+				bd.getPropertyValues().add("initTokens", this.initTokens);
+				if (i % this.chainLength != 0) {
+					bd.getPropertyValues().add("dependency", new RuntimeBeanReference("bean" + (i - 1)));
+				}
+				this.context.registerBeanDefinition("bean" + i, bd);
+			}
+		}
+
+		@TearDown(Level.Invocation)
+		public void closeContext() {
+			this.context.close();
+		}
+
+		@TearDown(Level.Trial)
+		public void shutdownExecutor() {
+			this.executor.shutdown();
+		}
+	}
+
+
+	@Benchmark
+	public void refresh(BenchmarkState state) {
+		state.context.refresh();
+	}
+
+
+	public static class InitializingTestBean implements InitializingBean {
+
+		private long initTokens;
+
+		private InitializingTestBean dependency;
+
+		public void setInitTokens(long initTokens) {
+			this.initTokens = initTokens;
+		}
+
+		public void setDependency(InitializingTestBean dependency) {
+			this.dependency = dependency;
+		}
+
+		public InitializingTestBean getDependency() {
+			return this.dependency;
+		}
+
+		@Override
+		public void afterPropertiesSet() {
+			Blackhole.consumeCPU(this.initTokens);
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Benchmark for schedule and cancel throughput of {@link TimingWheelTaskScheduler}
+ * compared to {@link ThreadPoolTaskScheduler}, with a large number of outstanding
+ * timeouts as typical for session expiry or retry backoffs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskSchedulerBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"threadPool", "timingWheel"})
+		public String scheduler;
+
+		@Param({"0", "1000000"})
+		public int outstandingTasks;
+
+		public TaskScheduler taskScheduler;
+
+		public Runnable task = () -> { };
+
+		@Setup(Level.Trial)
+		public void setup() {
+			if (this.scheduler.equals("threadPool")) {
+				ThreadPoolTaskScheduler threadPoolScheduler = new ThreadPoolTaskScheduler();
+				threadPoolScheduler.setRemoveOnCancelPolicy(true);
+				threadPoolScheduler.afterPropertiesSet();
+				this.taskScheduler = threadPoolScheduler;
+			}
+			else {
+				TimingWheelTaskScheduler timingWheelScheduler = new TimingWheelTaskScheduler();
+				timingWheelScheduler.afterPropertiesSet();
+				this.taskScheduler = timingWheelScheduler;
+			}
+			long now = System.currentTimeMillis();
+			for (int i = 0; i < this.outstandingTasks; i++) {
+				this.taskScheduler.schedule(this.task, new Date(now + 3600000 + i));
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void teardown() {
+			((ExecutorConfigurationSupport) this.taskScheduler).shutdown();
+		}
+	}
+
+	@Benchmark
+	@Threads(4)
+	public boolean scheduleAndCancel(BenchmarkState state) {
+		ScheduledFuture<?> future = state.taskScheduler.schedule(state.task,
+				new Date(System.currentTimeMillis() + 30000));
+		return future.cancel(false);
+	}
+
+	@Benchmark
+	public int scheduleBatchThenCancel(BenchmarkState state) {
+		List<ScheduledFuture<?>> futures = new ArrayList<>(1000);
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < 1000; i++) {
+			futures.add(state.taskScheduler.schedule(state.task, new Date(now + 30000 + i)));
+		}
+		int cancelled = 0;
+		for (ScheduledFuture<?> future : futures) {
+			if (future.cancel(false)) {
+				cancelled++;
+			}
+		}
+		return cancelled;
+	}
+
+}
@@ -17,6 +17,8 @@
 package org.springframework.cache;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.springframework.lang.Nullable;
 
@@ -100,6 +102,61 @@ public interface Cache {
 	@Nullable
 	<T> T get(Object key, Callable<T> valueLoader);
 
+	/**
+	 * Return the value to which this cache maps the specified key,
+	 * wrapped in a {@link CompletableFuture}. This operation must not block
+	 * but is allowed to return a completed {@link CompletableFuture} if the
+	 * corresponding value is immediately available.
+	 * <p>Returns {@code null} if the cache contains no mapping for this key;
+	 * otherwise, the cached value (which may be {@code null} itself) will
+	 * be returned in a {@link CompletableFuture}.
+	 * <p>The default implementation delegates to {@link #get(Object)},
+	 * returning an already completed future. Cache providers backed by an
+	 * asynchronous store are encouraged to override this method.
+	 * @param key the key whose associated value is to be returned
+	 * @return the value to which this cache maps the specified key, contained
+	 * within a {@link CompletableFuture} which may also complete with a cached
+	 * {@code null} value. A straight {@code null} being returned means that
+	 * the cache contains no mapping for this key.
+	 * @since 5.3.3
+	 * @see #retrieve(Object, Supplier)
+	 */
+	@Nullable
+	default CompletableFuture<?> retrieve(Object key) {
+		ValueWrapper valueWrapper = get(key);
+		return (valueWrapper != null ? CompletableFuture.completedFuture(valueWrapper.get()) : null);
+	}
+
+	/**
+	 * Return the value to which this cache maps the specified key, obtaining
+	 * that value from {@code valueLoader} if necessary, wrapped in a
+	 * {@link CompletableFuture}. This is the asynchronous counterpart of
+	 * {@link #get(Object, Callable)}.
+	 * <p>If possible, implementations should ensure that the loading operation
+	 * is synchronized so that the specified {@code valueLoader} is only called
+	 * once in case of concurrent access on the same key.
+	 * <p>The default implementation delegates to {@link #get(Object)} and
+	 * {@link #put(Object, Object)} in a non-atomic way, storing the value
+	 * once the loaded future completes successfully.
+	 * @param key the key whose associated value is to be returned
+	 * @param valueLoader the supplier of the future that loads the value
+	 * @return the value to which this cache maps the specified key,
+	 * contained within a {@link CompletableFuture}
+	 * @since 5.3.3
+	 * @see #retrieve(Object)
+	 */
+	@SuppressWarnings("unchecked")
+	default <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		ValueWrapper valueWrapper = get(key);
+		if (valueWrapper != null) {
+			return CompletableFuture.completedFuture((T) valueWrapper.get());
+		}
+		return valueLoader.get().thenApply(value -> {
+			put(key, value);
+			return value;
+		});
+	}
+
 	/**
 	 * Associate the specified value with the specified key in this cache.
 	 * <p>If the cache previously contained a mapping for this key, the old
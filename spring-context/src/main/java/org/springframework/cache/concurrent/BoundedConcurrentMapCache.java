@@ -0,0 +1,749 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntBiFunction;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.CacheStatistics;
+import org.springframework.core.serializer.support.SerializationDelegate;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Bounded {@link org.springframework.cache.Cache} implementation based on the
+ * core JDK {@code java.util.concurrent} package, as an alternative to the
+ * unbounded {@link ConcurrentMapCache} for scenarios where no dedicated caching
+ * library is available.
+ *
+ * <p>The cache is bounded by a maximum weight, with each entry weighing 1
+ * unless a custom weigher has been specified (i.e. bounded by entry count by
+ * default). Entries may additionally expire after a fixed duration since their
+ * creation ("time to live") and/or since their last access ("time to idle").
+ *
+ * <p>Eviction follows a segmented LRU policy: new entries enter a probationary
+ * segment and are promoted to a protected segment (80% of the maximum weight)
+ * on subsequent access, so that entries which are only accessed once cannot
+ * flush frequently accessed entries out of the cache. In the style of
+ * {@link org.springframework.util.ConcurrentLruCache}, values are held in a
+ * {@link ConcurrentHashMap}; however, the eviction policy is not updated
+ * under a global lock on every read: accesses are recorded in striped, lossy
+ * buffers and applied in batches by whichever thread acquires the eviction
+ * lock without contention, while writes are queued and applied the same way.
+ * The cache may therefore temporarily exceed its maximum weight slightly.
+ *
+ * <p>Expired entries are never returned; they are removed on access and when
+ * reaching the eviction end of the policy, or through {@link #cleanUp()}.
+ *
+ * <p>Statistics may be recorded and retrieved via {@link #getStatistics()}.
+ *
+ * @since 5.3.3
+ * @see ConcurrentMapCacheManager#setMaximumSize
+ */
+public class BoundedConcurrentMapCache extends AbstractValueAdaptingCache {
+
+	private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+	/** The number of read buffer stripes: a power of two. */
+	private static final int READ_BUFFER_STRIPES = ceilingPowerOfTwo(NCPU);
+
+	/** The number of recorded accesses per read buffer stripe: a power of two. */
+	private static final int READ_BUFFER_SIZE = 32;
+
+	/** The number of pending writes that forces writers to wait for maintenance. */
+	private static final int WRITE_BUFFER_MAX = 128;
+
+	private static final int PROBATION = 1;
+
+	private static final int PROTECTED = 2;
+
+
+	private final String name;
+
+	private final ConcurrentHashMap<Object, Node> store = new ConcurrentHashMap<>(256);
+
+	private final long maximumWeight;
+
+	private final long maximumProtectedWeight;
+
+	@Nullable
+	private final ToIntBiFunction<Object, Object> weigher;
+
+	private final long expireAfterWriteNanos;
+
+	private final long expireAfterAccessNanos;
+
+	@Nullable
+	private final SerializationDelegate serialization;
+
+	@Nullable
+	private final StatsCounter statsCounter;
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private final AtomicReferenceArray<Node>[] readBuffers = new AtomicReferenceArray[READ_BUFFER_STRIPES];
+
+	private final AtomicLong[] readBufferCounters = new AtomicLong[READ_BUFFER_STRIPES];
+
+	private final ConcurrentLinkedQueue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger pendingWrites = new AtomicInteger();
+
+	// Policy state, guarded by evictionLock
+
+	private final Node probationHead = new Node();
+
+	private final Node protectedHead = new Node();
+
+	private long weightedSize;
+
+	private long protectedWeightedSize;
+
+	LongSupplier ticker = System::nanoTime;
+
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name,
+	 * bounded by the given maximum number of entries.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries
+	 */
+	public BoundedConcurrentMapCache(String name, long maximumSize) {
+		this(name, maximumSize, null, null, null, false, true, null);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name and settings.
+	 * @param name the name of the cache
+	 * @param maximumWeight the maximum total weight of all entries
+	 * ({@link Long#MAX_VALUE} for no bound, i.e. with expiration only)
+	 * @param weigher the function determining the weight of an entry, given its key
+	 * and store value (which is the serialized form in store-by-value mode), or
+	 * {@code null} for a weight of 1 per entry
+	 * @param expireAfterWrite the duration after which entries expire since their
+	 * creation or last update, or {@code null} for no such expiration
+	 * @param expireAfterAccess the duration after which entries expire since their
+	 * last access, or {@code null} for no such expiration
+	 * @param recordStatistics whether to record {@link #getStatistics() statistics}
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 * @param serialization the {@link SerializationDelegate} to use
+	 * to serialize cache entry or {@code null} to store the reference
+	 */
+	public BoundedConcurrentMapCache(String name, long maximumWeight,
+			@Nullable ToIntBiFunction<Object, Object> weigher, @Nullable Duration expireAfterWrite,
+			@Nullable Duration expireAfterAccess, boolean recordStatistics, boolean allowNullValues,
+			@Nullable SerializationDelegate serialization) {
+
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.isTrue(maximumWeight >= 0, "Maximum weight must not be negative");
+		Assert.isTrue(expireAfterWrite == null || !expireAfterWrite.isNegative(),
+				"Expire-after-write duration must not be negative");
+		Assert.isTrue(expireAfterAccess == null || !expireAfterAccess.isNegative(),
+				"Expire-after-access duration must not be negative");
+		this.name = name;
+		this.maximumWeight = maximumWeight;
+		this.maximumProtectedWeight = (long) (maximumWeight * 0.8);
+		this.weigher = weigher;
+		this.expireAfterWriteNanos = (expireAfterWrite != null ? saturatedNanos(expireAfterWrite) : 0);
+		this.expireAfterAccessNanos = (expireAfterAccess != null ? saturatedNanos(expireAfterAccess) : 0);
+		this.statsCounter = (recordStatistics ? new StatsCounter() : null);
+		this.serialization = serialization;
+		for (int i = 0; i < READ_BUFFER_STRIPES; i++) {
+			this.readBuffers[i] = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+			this.readBufferCounters[i] = new AtomicLong();
+		}
+		this.probationHead.prev = this.probationHead.next = this.probationHead;
+		this.protectedHead.prev = this.protectedHead.next = this.protectedHead;
+	}
+
+
+	/**
+	 * Return whether this cache stores a copy of each entry ({@code true}) or
+	 * a reference ({@code false}, default).
+	 */
+	public final boolean isStoreByValue() {
+		return (this.serialization != null);
+	}
+
+	/**
+	 * Return the maximum total weight of all entries.
+	 */
+	public final long getMaximumWeight() {
+		return this.maximumWeight;
+	}
+
+	/**
+	 * Return the approximate number of entries in this cache, possibly
+	 * including expired entries that have not been cleaned up yet.
+	 */
+	public long estimatedSize() {
+		return this.store.size();
+	}
+
+	/**
+	 * Return a snapshot of the statistics of this cache.
+	 * @throws IllegalStateException if statistics recording is not enabled
+	 */
+	public CacheStatistics getStatistics() {
+		Assert.state(this.statsCounter != null, "Statistics recording not enabled for cache '" + this.name + "'");
+		return this.statsCounter.snapshot();
+	}
+
+	/**
+	 * Apply all pending policy updates and remove all expired entries.
+	 */
+	public void cleanUp() {
+		this.evictionLock.lock();
+		try {
+			maintenance();
+			if (isExpiring()) {
+				long now = this.ticker.getAsLong();
+				expireAll(this.probationHead, now);
+				expireAll(this.protectedHead, now);
+			}
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	/**
+	 * This implementation returns the cache itself, as there is no
+	 * separate native cache.
+	 */
+	@Override
+	public final Object getNativeCache() {
+		return this;
+	}
+
+	@Override
+	@Nullable
+	protected Object lookup(Object key) {
+		Node node = this.store.get(key);
+		long now = (node != null ? this.ticker.getAsLong() : 0);
+		if (node == null || isExpired(node, now)) {
+			if (node != null) {
+				expire(node);
+			}
+			recordMisses(1);
+			return null;
+		}
+		onRead(node, now);
+		recordHits(1);
+		return node.value;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		Node node = this.store.get(key);
+		long now = (node != null ? this.ticker.getAsLong() : 0);
+		if (node != null && !isExpired(node, now)) {
+			onRead(node, now);
+			recordHits(1);
+			return (T) fromStoreValue(node.value);
+		}
+		Node[] replaced = new Node[1];
+		boolean[] loaded = new boolean[1];
+		Node result = this.store.compute(key, (k, existing) -> {
+			if (existing != null && !isExpired(existing, this.ticker.getAsLong())) {
+				return existing;
+			}
+			replaced[0] = existing;
+			loaded[0] = true;
+			long startTime = this.ticker.getAsLong();
+			Object value;
+			try {
+				value = toStoreValue(valueLoader.call());
+			}
+			catch (Throwable ex) {
+				recordLoadFailure(this.ticker.getAsLong() - startTime);
+				recordMisses(1);
+				throw new ValueRetrievalException(key, valueLoader, ex);
+			}
+			long loadTime = this.ticker.getAsLong();
+			recordLoadSuccess(loadTime - startTime);
+			return new Node(k, value, weigh(k, value), loadTime);
+		});
+		if (loaded[0]) {
+			recordMisses(1);
+			afterWrite(result, replaced[0], replaced[0] != null);
+		}
+		else {
+			onRead(result, this.ticker.getAsLong());
+			recordHits(1);
+		}
+		return (T) fromStoreValue(result.value);
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		Object storeValue = toStoreValue(value);
+		Node node = new Node(key, storeValue, weigh(key, storeValue), this.ticker.getAsLong());
+		Node existing = this.store.put(key, node);
+		afterWrite(node, existing, false);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		Object storeValue = toStoreValue(value);
+		Node node = new Node(key, storeValue, weigh(key, storeValue), this.ticker.getAsLong());
+		while (true) {
+			Node existing = this.store.putIfAbsent(key, node);
+			if (existing == null) {
+				afterWrite(node, null, false);
+				return null;
+			}
+			long now = this.ticker.getAsLong();
+			if (!isExpired(existing, now)) {
+				onRead(existing, now);
+				return toValueWrapper(existing.value);
+			}
+			expire(existing);
+		}
+	}
+
+	@Override
+	public void evict(Object key) {
+		evictIfPresent(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		Node node = this.store.remove(key);
+		if (node == null) {
+			return false;
+		}
+		afterWrite(null, node, false);
+		return !isExpired(node, this.ticker.getAsLong());
+	}
+
+	@Override
+	public void clear() {
+		invalidate();
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean notEmpty = false;
+		for (Object key : this.store.keySet()) {
+			Node node = this.store.remove(key);
+			if (node != null) {
+				notEmpty = true;
+				afterWrite(null, node, false);
+			}
+		}
+		return notEmpty;
+	}
+
+	@Override
+	protected Object toStoreValue(@Nullable Object userValue) {
+		Object storeValue = super.toStoreValue(userValue);
+		if (this.serialization != null) {
+			try {
+				return this.serialization.serializeToByteArray(storeValue);
+			}
+			catch (Throwable ex) {
+				throw new IllegalArgumentException("Failed to serialize cache value '" + userValue +
+						"'. Does it implement Serializable?", ex);
+			}
+		}
+		else {
+			return storeValue;
+		}
+	}
+
+	@Override
+	protected Object fromStoreValue(@Nullable Object storeValue) {
+		if (storeValue != null && this.serialization != null) {
+			try {
+				return super.fromStoreValue(this.serialization.deserializeFromByteArray((byte[]) storeValue));
+			}
+			catch (Throwable ex) {
+				throw new IllegalArgumentException("Failed to deserialize cache value '" + storeValue + "'", ex);
+			}
+		}
+		else {
+			return super.fromStoreValue(storeValue);
+		}
+	}
+
+
+	// Expiration and weighing
+
+	private boolean isExpiring() {
+		return (this.expireAfterWriteNanos > 0 || this.expireAfterAccessNanos > 0);
+	}
+
+	private boolean isExpired(Node node, long now) {
+		return ((this.expireAfterWriteNanos > 0 && now - node.writeTime >= this.expireAfterWriteNanos) ||
+				(this.expireAfterAccessNanos > 0 && now - node.accessTime >= this.expireAfterAccessNanos));
+	}
+
+	private void expire(Node node) {
+		if (this.store.remove(node.key, node)) {
+			afterWrite(null, node, true);
+		}
+	}
+
+	private int weigh(Object key, Object storeValue) {
+		if (this.weigher == null) {
+			return 1;
+		}
+		int weight = this.weigher.applyAsInt(key, storeValue);
+		Assert.state(weight >= 0, "Weigher must not return a negative weight");
+		return weight;
+	}
+
+
+	// Read and write buffers
+
+	private void onRead(Node node, long now) {
+		if (this.expireAfterAccessNanos > 0) {
+			node.accessTime = now;
+		}
+		int stripe = (int) Thread.currentThread().getId() & (READ_BUFFER_STRIPES - 1);
+		long count = this.readBufferCounters[stripe].getAndIncrement();
+		this.readBuffers[stripe].lazySet((int) count & (READ_BUFFER_SIZE - 1), node);
+		if ((count & (READ_BUFFER_SIZE - 1)) == READ_BUFFER_SIZE - 1) {
+			tryMaintenance();
+		}
+	}
+
+	/**
+	 * Queue the policy update for a write: adding the given node and/or removing
+	 * the replaced node.
+	 */
+	private void afterWrite(@Nullable Node added, @Nullable Node removed, boolean expired) {
+		if (removed != null) {
+			removed.alive = false;
+		}
+		this.writeBuffer.add(() -> {
+			if (removed != null) {
+				onRemove(removed, expired);
+			}
+			if (added != null) {
+				onAdd(added);
+			}
+		});
+		if (this.pendingWrites.incrementAndGet() >= WRITE_BUFFER_MAX) {
+			// Back-pressure for writers: wait for pending writes to be applied
+			this.evictionLock.lock();
+			try {
+				maintenance();
+			}
+			finally {
+				this.evictionLock.unlock();
+			}
+		}
+		else {
+			tryMaintenance();
+		}
+	}
+
+	private void tryMaintenance() {
+		if (this.evictionLock.tryLock()) {
+			try {
+				maintenance();
+			}
+			finally {
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+
+	// Policy, guarded by evictionLock
+
+	private void maintenance() {
+		for (int i = 0; i < READ_BUFFER_STRIPES; i++) {
+			AtomicReferenceArray<Node> buffer = this.readBuffers[i];
+			for (int j = 0; j < READ_BUFFER_SIZE; j++) {
+				Node node = buffer.getAndSet(j, null);
+				if (node != null) {
+					onAccess(node);
+				}
+			}
+		}
+		Runnable task;
+		while ((task = this.writeBuffer.poll()) != null) {
+			this.pendingWrites.decrementAndGet();
+			task.run();
+		}
+		evict();
+	}
+
+	private void onAdd(Node node) {
+		if (node.alive && node.queue == 0) {
+			node.policyWeight = node.weight;
+			this.weightedSize += node.policyWeight;
+			link(this.probationHead, node, PROBATION);
+		}
+	}
+
+	private void onRemove(Node node, boolean expired) {
+		if (node.queue > 0) {
+			if (expired) {
+				recordEviction(node.policyWeight);
+			}
+			unlink(node);
+		}
+		else {
+			// Removed before its addition has been applied (skip the addition),
+			// or already evicted by the policy in the meantime
+			node.queue = -1;
+		}
+	}
+
+	private void onAccess(Node node) {
+		if (!node.alive || node.queue <= 0) {
+			return;
+		}
+		if (node.queue == PROBATION) {
+			unlink(node);
+			this.weightedSize += node.policyWeight;
+			link(this.protectedHead, node, PROTECTED);
+			this.protectedWeightedSize += node.policyWeight;
+			while (this.protectedWeightedSize > this.maximumProtectedWeight &&
+					this.protectedHead.next != this.protectedHead) {
+				Node demoted = this.protectedHead.next;
+				unlink(demoted);
+				this.weightedSize += demoted.policyWeight;
+				link(this.probationHead, demoted, PROBATION);
+			}
+		}
+		else {
+			moveToTail(this.protectedHead, node);
+		}
+	}
+
+	private void evict() {
+		if (isExpiring()) {
+			long now = this.ticker.getAsLong();
+			expireHead(this.probationHead, now);
+			expireHead(this.protectedHead, now);
+		}
+		while (this.weightedSize > this.maximumWeight) {
+			Node victim = (this.probationHead.next != this.probationHead ?
+					this.probationHead.next : this.protectedHead.next);
+			if (victim == this.protectedHead) {
+				break;
+			}
+			evictNode(victim);
+		}
+	}
+
+	private void expireHead(Node head, long now) {
+		while (head.next != head && isExpired(head.next, now)) {
+			evictNode(head.next);
+		}
+	}
+
+	private void expireAll(Node head, long now) {
+		Node node = head.next;
+		while (node != head) {
+			Node next = node.next;
+			if (isExpired(node, now)) {
+				evictNode(node);
+			}
+			node = next;
+		}
+	}
+
+	private void evictNode(Node node) {
+		node.alive = false;
+		if (this.store.remove(node.key, node)) {
+			recordEviction(node.policyWeight);
+		}
+		unlink(node);
+	}
+
+	private void link(Node head, Node node, int queue) {
+		node.prev = head.prev;
+		node.next = head;
+		head.prev.next = node;
+		head.prev = node;
+		node.queue = queue;
+	}
+
+	private void unlink(Node node) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+		node.prev = null;
+		node.next = null;
+		this.weightedSize -= node.policyWeight;
+		if (node.queue == PROTECTED) {
+			this.protectedWeightedSize -= node.policyWeight;
+		}
+		node.queue = -1;
+	}
+
+	private void moveToTail(Node head, Node node) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+		node.prev = head.prev;
+		node.next = head;
+		head.prev.next = node;
+		head.prev = node;
+	}
+
+
+	// Statistics
+
+	private void recordHits(int count) {
+		if (this.statsCounter != null) {
+			this.statsCounter.hitCount.add(count);
+		}
+	}
+
+	private void recordMisses(int count) {
+		if (this.statsCounter != null) {
+			this.statsCounter.missCount.add(count);
+		}
+	}
+
+	private void recordLoadSuccess(long loadTime) {
+		if (this.statsCounter != null) {
+			this.statsCounter.loadSuccessCount.increment();
+			this.statsCounter.totalLoadTime.add(loadTime);
+		}
+	}
+
+	private void recordLoadFailure(long loadTime) {
+		if (this.statsCounter != null) {
+			this.statsCounter.loadFailureCount.increment();
+			this.statsCounter.totalLoadTime.add(loadTime);
+		}
+	}
+
+	private void recordEviction(int weight) {
+		if (this.statsCounter != null) {
+			this.statsCounter.evictionCount.increment();
+			this.statsCounter.evictionWeight.add(weight);
+		}
+	}
+
+
+	private static long saturatedNanos(Duration duration) {
+		try {
+			return duration.toNanos();
+		}
+		catch (ArithmeticException ex) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	private static int ceilingPowerOfTwo(int value) {
+		return (value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1);
+	}
+
+
+	/**
+	 * A cache entry, also serving as a node in the policy's linked lists.
+	 */
+	private static final class Node {
+
+		final Object key;
+
+		final Object value;
+
+		final int weight;
+
+		final long writeTime;
+
+		volatile long accessTime;
+
+		volatile boolean alive = true;
+
+		// Guarded by evictionLock: 0 for not linked yet, -1 for removed
+
+		int queue;
+
+		int policyWeight;
+
+		@Nullable
+		Node prev;
+
+		@Nullable
+		Node next;
+
+		Node() {
+			this.key = this;
+			this.value = this;
+			this.weight = 0;
+			this.writeTime = 0;
+		}
+
+		Node(Object key, Object value, int weight, long now) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.writeTime = now;
+			this.accessTime = now;
+		}
+	}
+
+
+	/**
+	 * Statistics counters for a cache.
+	 */
+	private static final class StatsCounter {
+
+		final LongAdder hitCount = new LongAdder();
+
+		final LongAdder missCount = new LongAdder();
+
+		final LongAdder loadSuccessCount = new LongAdder();
+
+		final LongAdder loadFailureCount = new LongAdder();
+
+		final LongAdder totalLoadTime = new LongAdder();
+
+		final LongAdder evictionCount = new LongAdder();
+
+		final LongAdder evictionWeight = new LongAdder();
+
+		CacheStatistics snapshot() {
+			return new CacheStatistics(this.hitCount.sum(), this.missCount.sum(), this.loadSuccessCount.sum(),
+					this.loadFailureCount.sum(), this.totalLoadTime.sum(), this.evictionCount.sum(),
+					this.evictionWeight.sum());
+		}
+	}
+
+}
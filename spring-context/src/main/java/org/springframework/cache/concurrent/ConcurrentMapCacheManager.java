@@ -16,18 +16,21 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToIntBiFunction;
 
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * {@link CacheManager} implementation that lazily builds {@link ConcurrentMapCache}
@@ -35,9 +38,11 @@ import org.springframework.lang.Nullable;
  * the set of cache names is pre-defined through {@link #setCacheNames}, with no
  * dynamic creation of further cache regions at runtime.
  *
- * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
- * cache configuration options. However, it may be useful for testing or simple
- * caching scenarios. For advanced local caching needs, consider
+ * <p>Note: This is by no means a sophisticated CacheManager; by default, it comes
+ * with unbounded caches. As of 5.3.3, bounds, expiration and statistics can be
+ * configured, building {@link BoundedConcurrentMapCache} instances instead.
+ * This may be useful for testing or simple caching scenarios. For advanced
+ * local caching needs, consider
  * {@link org.springframework.cache.jcache.JCacheCacheManager},
  * {@link org.springframework.cache.ehcache.EhCacheCacheManager},
  * {@link org.springframework.cache.caffeine.CaffeineCacheManager}.
@@ -45,6 +50,7 @@ import org.springframework.lang.Nullable;
  * @author Juergen Hoeller
  * @since 3.1
  * @see ConcurrentMapCache
+ * @see BoundedConcurrentMapCache
  */
 public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderAware {
 
@@ -59,6 +65,19 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	@Nullable
 	private SerializationDelegate serialization;
 
+	private long maximumWeight = -1;
+
+	@Nullable
+	private ToIntBiFunction<Object, Object> weigher;
+
+	@Nullable
+	private Duration expireAfterWrite;
+
+	@Nullable
+	private Duration expireAfterAccess;
+
+	private boolean recordStatistics = false;
+
 
 	/**
 	 * Construct a dynamic ConcurrentMapCacheManager,
@@ -146,6 +165,87 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Specify the maximum number of entries for each cache, building bounded
+	 * caches instead of unbounded ones.
+	 * <p>Default is none, i.e. unbounded caches (unless a {@link #setMaximumWeight
+	 * maximum weight} has been specified).
+	 * <p>Note: A change of this setting will reset all existing caches,
+	 * if any, to reconfigure them with the new bound.
+	 * @since 5.3.3
+	 * @see BoundedConcurrentMapCache
+	 */
+	public void setMaximumSize(long maximumSize) {
+		setMaximumWeight(maximumSize, null);
+	}
+
+	/**
+	 * Specify the maximum total weight of the entries of each cache, along with
+	 * the function determining the weight of an entry from its key and store value.
+	 * <p>Note: A change of this setting will reset all existing caches,
+	 * if any, to reconfigure them with the new bound.
+	 * @param maximumWeight the maximum weight per cache
+	 * @param weigher the weigher to use, or {@code null} for a weight of 1 per entry
+	 * @since 5.3.3
+	 * @see BoundedConcurrentMapCache
+	 */
+	public void setMaximumWeight(long maximumWeight, @Nullable ToIntBiFunction<Object, Object> weigher) {
+		Assert.isTrue(maximumWeight >= 0, "Maximum weight must not be negative");
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+		recreateCaches();
+	}
+
+	/**
+	 * Specify the duration after which entries expire since their creation or
+	 * last update, building expiring caches.
+	 * <p>Note: A change of this setting will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 5.3.3
+	 * @see BoundedConcurrentMapCache
+	 */
+	public void setExpireAfterWrite(@Nullable Duration expireAfterWrite) {
+		this.expireAfterWrite = expireAfterWrite;
+		recreateCaches();
+	}
+
+	/**
+	 * Specify the duration after which entries expire since their last access,
+	 * building expiring caches.
+	 * <p>Note: A change of this setting will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 5.3.3
+	 * @see BoundedConcurrentMapCache
+	 */
+	public void setExpireAfterAccess(@Nullable Duration expireAfterAccess) {
+		this.expireAfterAccess = expireAfterAccess;
+		recreateCaches();
+	}
+
+	/**
+	 * Specify whether to record hit, miss, load and eviction statistics for each
+	 * cache, to be retrieved via {@link BoundedConcurrentMapCache#getStatistics()}.
+	 * <p>Default is "false". Enabling statistics builds {@link BoundedConcurrentMapCache}
+	 * instances, unbounded unless a maximum size or weight has been specified.
+	 * <p>Note: A change of this setting will reset all existing caches,
+	 * if any, to reconfigure them.
+	 * @since 5.3.3
+	 */
+	public void setRecordStatistics(boolean recordStatistics) {
+		if (recordStatistics != this.recordStatistics) {
+			this.recordStatistics = recordStatistics;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return whether statistics are recorded for each cache.
+	 * @since 5.3.3
+	 */
+	public boolean isRecordStatistics() {
+		return this.recordStatistics;
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -185,11 +285,20 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 
 	/**
 	 * Create a new ConcurrentMapCache instance for the specified cache name.
+	 * <p>As of 5.3.3, this creates a {@link BoundedConcurrentMapCache} if any
+	 * bound, expiration or statistics recording has been configured.
 	 * @param name the name of the cache
 	 * @return the ConcurrentMapCache (or a decorator thereof)
 	 */
 	protected Cache createConcurrentMapCache(String name) {
 		SerializationDelegate actualSerialization = (isStoreByValue() ? this.serialization : null);
+		if (this.maximumWeight >= 0 || this.expireAfterWrite != null || this.expireAfterAccess != null ||
+				this.recordStatistics) {
+			return new BoundedConcurrentMapCache(name,
+					(this.maximumWeight >= 0 ? this.maximumWeight : Long.MAX_VALUE), this.weigher,
+					this.expireAfterWrite, this.expireAfterAccess, this.recordStatistics,
+					isAllowNullValues(), actualSerialization);
+		}
 		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256), isAllowNullValues(), actualSerialization);
 	}
 
@@ -18,17 +18,25 @@ package org.springframework.cache.interceptor;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
@@ -69,6 +77,14 @@ import org.springframework.util.function.SupplierUtils;
  * used for determining caching operations, a {@link KeyGenerator} will build the
  * cache keys, and a {@link CacheResolver} will resolve the actual cache(s) to use.
  *
+ * <p>As of 5.3.3, methods returning a {@link CompletableFuture} or a Reactor
+ * {@code Mono} or {@code Flux} have the value produced by the returned object
+ * cached (rather than the object itself), through {@link Cache#retrieve} and
+ * without blocking. The value of a {@code Flux} is cached as a {@link List}.
+ *
+ * <p>Concurrent cache misses for the same key(s) can be coalesced into a single
+ * invocation of the underlying method through {@link #setCoalesceConcurrentMisses}.
+ *
  * <p>Note: A cache aspect is serializable but does not perform any actual caching
  * after deserialization.
  *
@@ -83,6 +99,10 @@ import org.springframework.util.function.SupplierUtils;
 public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		implements BeanFactoryAware, InitializingBean, SmartInitializingSingleton {
 
+	private static final boolean reactorPresent = ClassUtils.isPresent(
+			"reactor.core.publisher.Mono", CacheAspectSupport.class.getClassLoader());
+
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Map<CacheOperationCacheKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(1024);
@@ -100,6 +120,12 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private BeanFactory beanFactory;
 
+	private boolean coalesceConcurrentMisses = false;
+
+	private final Map<Object, InFlightInvocation> inFlightInvocations = new ConcurrentHashMap<>(64);
+
+	private final LongAdder coalescedInvocationCount = new LongAdder();
+
 	private boolean initialized = false;
 
 
@@ -194,6 +220,45 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		this.cacheResolver = SingletonSupplier.of(new SimpleCacheResolver(cacheManager));
 	}
 
+	/**
+	 * Specify whether concurrent cache misses for the same key(s) should be
+	 * coalesced into a single invocation of the underlying method ("single flight").
+	 * <p>Default is "false". If enabled, callers of a {@code @Cacheable} method
+	 * that miss the cache while another invocation for the same caches and key
+	 * is in progress wait for that invocation and share its result (or exception),
+	 * so that a cold key triggers exactly one load within this JVM. In contrast to
+	 * {@link org.springframework.cache.annotation.Cacheable#sync()}, this does not
+	 * rely on {@link Cache#get(Object, java.util.concurrent.Callable)} and supports
+	 * several caches as well as {@code unless} and other cache operations.
+	 * <p>Asynchronous results are shared until their value has been cached:
+	 * a {@link CompletableFuture} as-is, and a Reactor {@link Mono} or
+	 * {@link Flux} through a single subscription to the underlying publisher
+	 * whose value is replayed to all subscribers (not retaining errors).
+	 * @since 5.3.3
+	 * @see #getCoalescedInvocationCount()
+	 */
+	public void setCoalesceConcurrentMisses(boolean coalesceConcurrentMisses) {
+		this.coalesceConcurrentMisses = coalesceConcurrentMisses;
+	}
+
+	/**
+	 * Return whether concurrent cache misses for the same key(s) are coalesced.
+	 * @since 5.3.3
+	 */
+	public boolean isCoalesceConcurrentMisses() {
+		return this.coalesceConcurrentMisses;
+	}
+
+	/**
+	 * Return the number of callers that shared the result of a concurrent
+	 * invocation instead of invoking the underlying method themselves.
+	 * @since 5.3.3
+	 * @see #setCoalesceConcurrentMisses
+	 */
+	public long getCoalescedInvocationCount() {
+		return this.coalescedInvocationCount.sum();
+	}
+
 	/**
 	 * Set the containing {@link BeanFactory} for {@link CacheManager} and other
 	 * service lookups.
@@ -378,6 +443,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			if (isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
 				Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
 				Cache cache = context.getCaches().iterator().next();
+				if (isAsyncReturnType(method.getReturnType())) {
+					return handleSynchronizedRetrieve(invoker, method.getReturnType(), key, cache);
+				}
 				try {
 					return wrapCacheValue(method, handleSynchronizedGet(invoker, key, cache));
 				}
@@ -393,6 +461,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			}
 		}
 
+		// Special handling of asynchronous return values
+		if (isAsyncReturnType(method.getReturnType())) {
+			return executeAsync(invoker, method.getReturnType(), contexts);
+		}
 
 		// Process any early evictions
 		processCacheEvicts(contexts.get(CacheEvictOperation.class), true,
@@ -416,6 +488,12 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			cacheValue = cacheHit.get();
 			returnValue = wrapCacheValue(method, cacheValue);
 		}
+		else if (cacheHit == null && this.coalesceConcurrentMisses && !cachePutRequests.isEmpty()) {
+			// Share a concurrent invocation for the same key(s), which also applies the puts
+			returnValue = invokeCoalesced(invoker, method, cachePutRequests);
+			cacheValue = unwrapReturnValue(returnValue);
+			cachePutRequests.clear();
+		}
 		else {
 			// Invoke the method if we don't have a cache hit
 			returnValue = invokeOperation(invoker);
@@ -452,6 +530,252 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return result;
 	}
 
+	@Nullable
+	private Object handleSynchronizedRetrieve(CacheOperationInvoker invoker, Class<?> returnType, Object key, Cache cache) {
+		if (returnType == CompletableFuture.class) {
+			return doRetrieve(cache, key, () -> invokeAsync(invoker, CompletableFuture.class::cast));
+		}
+		return ReactorDelegate.fromFuture(returnType, () ->
+				doRetrieve(cache, key, () -> invokeAsync(invoker, ReactorDelegate::toFuture)));
+	}
+
+	/**
+	 * Invoke the underlying operation and convert its asynchronous result to
+	 * a {@link CompletableFuture}, exposing an exception from the invoker as a
+	 * failed future.
+	 */
+	@SuppressWarnings("unchecked")
+	private CompletableFuture<Object> invokeAsync(
+			CacheOperationInvoker invoker, Function<Object, CompletableFuture<?>> futureConverter) {
+
+		try {
+			Object returnValue = invokeOperation(invoker);
+			Assert.state(returnValue != null, "Asynchronous cacheable method must not return null");
+			return (CompletableFuture<Object>) futureConverter.apply(returnValue);
+		}
+		catch (CacheOperationInvoker.ThrowableWrapper ex) {
+			CompletableFuture<Object> future = new CompletableFuture<>();
+			future.completeExceptionally(ex.getOriginal());
+			return future;
+		}
+	}
+
+	@Nullable
+	private Object executeAsync(CacheOperationInvoker invoker, Class<?> returnType, CacheOperationContexts contexts) {
+		// Process any early evictions
+		processCacheEvicts(contexts.get(CacheEvictOperation.class), true,
+				CacheOperationExpressionEvaluator.NO_RESULT);
+
+		// Check if we have a cached value matching the conditions
+		CompletableFuture<?> cacheHit = findCachedFuture(contexts.get(CacheableOperation.class));
+
+		// Collect puts from any @Cacheable miss, if no cached value is found
+		List<CachePutRequest> cachePutRequests = new ArrayList<>();
+		if (cacheHit == null) {
+			collectPutRequests(contexts.get(CacheableOperation.class),
+					CacheOperationExpressionEvaluator.NO_RESULT, cachePutRequests);
+		}
+
+		if (cacheHit != null && !hasCachePut(contexts)) {
+			// If there are no put requests, just use the cache hit
+			Collection<CacheOperationContext> evictContexts = contexts.get(CacheEvictOperation.class);
+			if (!evictContexts.isEmpty()) {
+				cacheHit = cacheHit.thenApply(value -> {
+					processCacheEvicts(evictContexts, false, value);
+					return value;
+				});
+			}
+			return adaptCachedFuture(returnType, cacheHit);
+		}
+
+		// Apply puts and late evictions once the asynchronous result provides its value
+		Consumer<Object> valueCallback = value -> {
+			List<CachePutRequest> putRequests = new ArrayList<>(cachePutRequests);
+			collectPutRequests(contexts.get(CachePutOperation.class), value, putRequests);
+			for (CachePutRequest putRequest : putRequests) {
+				putRequest.apply(value);
+			}
+			processCacheEvicts(contexts.get(CacheEvictOperation.class), false, value);
+		};
+
+		if (cacheHit == null && this.coalesceConcurrentMisses && !cachePutRequests.isEmpty()) {
+			return invokeCoalescedAsync(invoker, returnType, cachePutRequests, valueCallback);
+		}
+		Object returnValue = invokeOperation(invoker);
+		return (returnValue != null ? decorateAsyncResult(returnValue, valueCallback, null) : null);
+	}
+
+	@Nullable
+	private Object invokeCoalesced(CacheOperationInvoker invoker, Method method, List<CachePutRequest> cachePutRequests) {
+		Object flightKey = createFlightKey(null, cachePutRequests);
+		InFlightInvocation flight = new InFlightInvocation();
+		InFlightInvocation existingFlight = this.inFlightInvocations.putIfAbsent(flightKey, flight);
+		if (existingFlight != null) {
+			if (!existingFlight.isLedByCurrentThread()) {
+				return wrapCacheValue(method, joinFlight(flightKey, existingFlight));
+			}
+			// Nested invocation for the same key(s) by the leading thread itself,
+			// e.g. through a delegating method: joining would never complete
+			Object returnValue = invokeOperation(invoker);
+			Object cacheValue = unwrapReturnValue(returnValue);
+			for (CachePutRequest cachePutRequest : cachePutRequests) {
+				cachePutRequest.apply(cacheValue);
+			}
+			return returnValue;
+		}
+
+		try {
+			Object cacheValue;
+			// Re-check the caches: a previous invocation may have completed in the meantime
+			Cache.ValueWrapper cacheHit = null;
+			for (CachePutRequest cachePutRequest : cachePutRequests) {
+				cacheHit = findInCaches(cachePutRequest.context, cachePutRequest.key);
+				if (cacheHit != null) {
+					break;
+				}
+			}
+			if (cacheHit != null) {
+				cacheValue = cacheHit.get();
+			}
+			else {
+				cacheValue = unwrapReturnValue(invokeOperation(invoker));
+				for (CachePutRequest cachePutRequest : cachePutRequests) {
+					cachePutRequest.apply(cacheValue);
+				}
+			}
+			flight.complete(cacheValue);
+			return wrapCacheValue(method, cacheValue);
+		}
+		catch (Throwable ex) {
+			flight.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inFlightInvocations.remove(flightKey, flight);
+		}
+	}
+
+	@Nullable
+	private Object invokeCoalescedAsync(CacheOperationInvoker invoker, Class<?> returnType,
+			List<CachePutRequest> cachePutRequests, Consumer<Object> valueCallback) {
+
+		Object flightKey = createFlightKey(returnType, cachePutRequests);
+		InFlightInvocation flight = new InFlightInvocation();
+		InFlightInvocation existingFlight = this.inFlightInvocations.putIfAbsent(flightKey, flight);
+		if (existingFlight != null) {
+			if (!existingFlight.isLedByCurrentThread()) {
+				return joinFlight(flightKey, existingFlight);
+			}
+			// Nested invocation for the same key(s) by the leading thread itself
+			Object returnValue = invokeOperation(invoker);
+			return (returnValue != null ? decorateAsyncResult(returnValue, valueCallback, null) : null);
+		}
+
+		// The flight ends once the value has been cached, not with the invocation
+		Runnable completion = () -> this.inFlightInvocations.remove(flightKey, flight);
+		try {
+			Object returnValue;
+			// Re-check the caches: a previous invocation may have completed in the meantime
+			CompletableFuture<?> cacheHit = null;
+			for (CachePutRequest cachePutRequest : cachePutRequests) {
+				cacheHit = findInCachesAsync(cachePutRequest.context, cachePutRequest.key);
+				if (cacheHit != null) {
+					break;
+				}
+			}
+			if (cacheHit != null) {
+				returnValue = adaptCachedFuture(returnType, cacheHit);
+				completion.run();
+			}
+			else {
+				returnValue = invokeOperation(invoker);
+				if (returnValue != null) {
+					returnValue = decorateAsyncResult(returnValue, valueCallback, completion);
+				}
+				else {
+					completion.run();
+				}
+			}
+			flight.complete(returnValue);
+			return returnValue;
+		}
+		catch (Throwable ex) {
+			flight.completeExceptionally(ex);
+			completion.run();
+			throw ex;
+		}
+	}
+
+	private Object createFlightKey(@Nullable Class<?> asyncReturnType, List<CachePutRequest> cachePutRequests) {
+		List<Object> flightKey = new ArrayList<>(cachePutRequests.size() * 2 + 1);
+		if (asyncReturnType != null) {
+			flightKey.add(asyncReturnType);
+		}
+		for (CachePutRequest cachePutRequest : cachePutRequests) {
+			flightKey.add(cachePutRequest.context.getCacheNames());
+			flightKey.add(cachePutRequest.key);
+		}
+		return flightKey;
+	}
+
+	@Nullable
+	private Object joinFlight(Object flightKey, CompletableFuture<Object> flight) {
+		this.coalescedInvocationCount.increment();
+		if (logger.isTraceEnabled()) {
+			logger.trace("Joining in-flight invocation for cache key(s) " + flightKey);
+		}
+		try {
+			return flight.join();
+		}
+		catch (CompletionException ex) {
+			// Directly propagate ThrowableWrapper from the invoker
+			ReflectionUtils.rethrowRuntimeException(ex.getCause());
+			return null;
+		}
+	}
+
+	/**
+	 * Return whether the given return type indicates an asynchronous result
+	 * whose value (rather than the result object itself) is to be cached.
+	 */
+	private static boolean isAsyncReturnType(Class<?> returnType) {
+		return (returnType == CompletableFuture.class ||
+				(reactorPresent && ReactorDelegate.isReactiveType(returnType)));
+	}
+
+	/**
+	 * Adapt the given future for a cached value to the given asynchronous return type.
+	 */
+	private Object adaptCachedFuture(Class<?> returnType, CompletableFuture<?> cachedFuture) {
+		if (returnType == CompletableFuture.class) {
+			return cachedFuture;
+		}
+		return ReactorDelegate.fromFuture(returnType, () -> cachedFuture);
+	}
+
+	/**
+	 * Decorate the given asynchronous result to call back with its value once
+	 * available, and to notify the given completion callback (if any) once
+	 * terminated. In the latter case, the result is shared between subscribers.
+	 */
+	@SuppressWarnings("unchecked")
+	private Object decorateAsyncResult(Object returnValue, Consumer<Object> valueCallback, @Nullable Runnable completion) {
+		if (returnValue instanceof CompletableFuture) {
+			CompletableFuture<Object> future = ((CompletableFuture<Object>) returnValue).thenApply(value -> {
+				valueCallback.accept(value);
+				return value;
+			});
+			if (completion != null) {
+				future.whenComplete((value, ex) -> completion.run());
+			}
+			return future;
+		}
+		if (reactorPresent) {
+			return ReactorDelegate.decorate(returnValue, valueCallback, completion);
+		}
+		return returnValue;
+	}
+
 	@Nullable
 	private Object wrapCacheValue(Method method, @Nullable Object cacheValue) {
 		if (method.getReturnType() == Optional.class &&
@@ -547,6 +871,34 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return null;
 	}
 
+	/**
+	 * Find a future for a cached value only for {@link CacheableOperation}
+	 * that passes the condition.
+	 * @param contexts the cacheable operations
+	 * @return a {@link CompletableFuture} for the cached value,
+	 * or {@code null} if none is found
+	 * @see Cache#retrieve(Object)
+	 */
+	@Nullable
+	private CompletableFuture<?> findCachedFuture(Collection<CacheOperationContext> contexts) {
+		Object result = CacheOperationExpressionEvaluator.NO_RESULT;
+		for (CacheOperationContext context : contexts) {
+			if (isConditionPassing(context, result)) {
+				Object key = generateKey(context, result);
+				CompletableFuture<?> cached = findInCachesAsync(context, key);
+				if (cached != null) {
+					return cached;
+				}
+				else {
+					if (logger.isTraceEnabled()) {
+						logger.trace("No cache entry for key '" + key + "' in cache(s) " + context.getCacheNames());
+					}
+				}
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Collect the {@link CachePutRequest} for all {@link CacheOperation} using
 	 * the specified result item.
@@ -579,6 +931,20 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return null;
 	}
 
+	@Nullable
+	private CompletableFuture<?> findInCachesAsync(CacheOperationContext context, Object key) {
+		for (Cache cache : context.getCaches()) {
+			CompletableFuture<?> future = doRetrieve(cache, key);
+			if (future != null) {
+				if (logger.isTraceEnabled()) {
+					logger.trace("Cache entry for key '" + key + "' found in cache '" + cache.getName() + "'");
+				}
+				return future;
+			}
+		}
+		return null;
+	}
+
 	private boolean isConditionPassing(CacheOperationContext context, @Nullable Object result) {
 		boolean passing = context.isConditionPassing(result);
 		if (!passing && logger.isTraceEnabled()) {
@@ -885,6 +1251,68 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		}
 	}
 
+	/**
+	 * Inner class to avoid a hard dependency on Project Reactor at runtime.
+	 */
+	private static class ReactorDelegate {
+
+		private static final Duration INFINITE = Duration.ofMillis(Long.MAX_VALUE);
+
+		public static boolean isReactiveType(Class<?> returnType) {
+			return (returnType == Mono.class || returnType == Flux.class);
+		}
+
+		public static Object fromFuture(Class<?> returnType, Supplier<CompletableFuture<?>> futureSupplier) {
+			Mono<?> mono = Mono.defer(() -> Mono.fromFuture(futureSupplier.get()));
+			return (returnType == Flux.class ? mono.flatMapIterable(value -> (Iterable<?>) value) : mono);
+		}
+
+		public static CompletableFuture<?> toFuture(Object returnValue) {
+			if (returnValue instanceof Flux) {
+				return ((Flux<?>) returnValue).collectList().toFuture();
+			}
+			return ((Mono<?>) returnValue).toFuture();
+		}
+
+		@SuppressWarnings("unchecked")
+		public static Object decorate(Object returnValue, Consumer<Object> valueCallback, @Nullable Runnable completion) {
+			if (returnValue instanceof Flux) {
+				Mono<List<Object>> values = ((Flux<Object>) returnValue).collectList().doOnNext(valueCallback);
+				return share(values, completion).flatMapIterable(Function.identity());
+			}
+			if (returnValue instanceof Mono) {
+				return share(((Mono<?>) returnValue).doOnSuccess(valueCallback), completion);
+			}
+			return returnValue;
+		}
+
+		private static <T> Mono<T> share(Mono<T> mono, @Nullable Runnable completion) {
+			if (completion == null) {
+				return mono;
+			}
+			return mono.doFinally(signal -> completion.run()).cache(value -> INFINITE, ex -> Duration.ZERO, () -> INFINITE);
+		}
+	}
+
+
+	/**
+	 * An invocation shared by concurrent cache misses for the same key(s),
+	 * led by the thread that invokes the underlying method.
+	 */
+	private static final class InFlightInvocation extends CompletableFuture<Object> {
+
+		private final Thread leader = Thread.currentThread();
+
+		/**
+		 * Whether this invocation is still in progress on the current thread,
+		 * i.e. cannot be joined by it.
+		 */
+		boolean isLedByCurrentThread() {
+			return (!isDone() && this.leader == Thread.currentThread());
+		}
+	}
+
+
 	/**
 	 * Internal holder class for recording that a cache method was invoked.
 	 */
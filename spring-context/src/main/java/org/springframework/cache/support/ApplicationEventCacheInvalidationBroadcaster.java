@@ -0,0 +1,69 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import org.springframework.cache.Cache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheInvalidationBroadcaster} that publishes a {@link CacheInvalidationEvent}
+ * through the {@link ApplicationEventPublisher} of the containing application context.
+ *
+ * <p>This only reaches {@link TwoLevelCacheManager} instances within the same
+ * application context (or its descendants), which makes it useful for testing
+ * or as a bridge to a messaging infrastructure that forwards such events to
+ * other nodes.
+ *
+ * @since 5.3.3
+ */
+public class ApplicationEventCacheInvalidationBroadcaster
+		implements CacheInvalidationBroadcaster, ApplicationEventPublisherAware {
+
+	@Nullable
+	private ApplicationEventPublisher applicationEventPublisher;
+
+
+	/**
+	 * Create a new broadcaster, with the {@link ApplicationEventPublisher}
+	 * to be provided through {@link #setApplicationEventPublisher}.
+	 */
+	public ApplicationEventCacheInvalidationBroadcaster() {
+	}
+
+	/**
+	 * Create a new broadcaster for the given {@link ApplicationEventPublisher}.
+	 */
+	public ApplicationEventCacheInvalidationBroadcaster(ApplicationEventPublisher applicationEventPublisher) {
+		this.applicationEventPublisher = applicationEventPublisher;
+	}
+
+
+	@Override
+	public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+		this.applicationEventPublisher = applicationEventPublisher;
+	}
+
+	@Override
+	public void broadcastInvalidation(Cache cache, @Nullable Object key) {
+		Assert.state(this.applicationEventPublisher != null, "No ApplicationEventPublisher set");
+		this.applicationEventPublisher.publishEvent(new CacheInvalidationEvent(cache, key));
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+/**
+ * Strategy for broadcasting the invalidation of local cache entries to other
+ * nodes, typically over a messaging infrastructure shared by all nodes.
+ *
+ * <p>Receiving nodes are expected to apply the invalidation to their local
+ * caches through {@link TwoLevelCacheManager#invalidateLocal}.
+ *
+ * @since 5.3.3
+ * @see TwoLevelCacheManager#setInvalidationBroadcaster
+ * @see ApplicationEventCacheInvalidationBroadcaster
+ */
+@FunctionalInterface
+public interface CacheInvalidationBroadcaster {
+
+	/**
+	 * Broadcast the invalidation of the given key in the given cache.
+	 * @param cache the cache that originates the invalidation
+	 * @param key the key to invalidate, or {@code null} to invalidate
+	 * all entries of the cache
+	 */
+	void broadcastInvalidation(Cache cache, @Nullable Object key);
+
+}
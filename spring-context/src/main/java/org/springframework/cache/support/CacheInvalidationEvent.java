@@ -0,0 +1,68 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import org.springframework.cache.Cache;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.lang.Nullable;
+
+/**
+ * Event raised for the invalidation of cache entries, as published by an
+ * {@link ApplicationEventCacheInvalidationBroadcaster}.
+ *
+ * @since 5.3.3
+ * @see TwoLevelCacheManager#onApplicationEvent
+ */
+@SuppressWarnings("serial")
+public class CacheInvalidationEvent extends ApplicationEvent {
+
+	private final String cacheName;
+
+	@Nullable
+	private final transient Object key;
+
+
+	/**
+	 * Create a new {@code CacheInvalidationEvent}.
+	 * @param cache the cache that originates the invalidation
+	 * @param key the key to invalidate, or {@code null} to invalidate
+	 * all entries of the cache
+	 */
+	public CacheInvalidationEvent(Cache cache, @Nullable Object key) {
+		super(cache);
+		this.cacheName = cache.getName();
+		this.key = key;
+	}
+
+
+	/**
+	 * Return the name of the cache to invalidate.
+	 */
+	public String getCacheName() {
+		return this.cacheName;
+	}
+
+	/**
+	 * Return the key to invalidate, or {@code null} if all entries of
+	 * the cache are to be invalidated.
+	 */
+	@Nullable
+	public Object getKey() {
+		return this.key;
+	}
+
+}
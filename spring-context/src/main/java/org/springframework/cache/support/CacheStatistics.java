@@ -0,0 +1,182 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Immutable snapshot of the statistics of a {@link org.springframework.cache.Cache}.
+ *
+ * <p>All counts are cumulative since the creation of the cache; rates are
+ * derived from the counts of this snapshot.
+ *
+ * @since 5.3.3
+ * @see org.springframework.cache.concurrent.BoundedConcurrentMapCache#getStatistics()
+ */
+public final class CacheStatistics {
+
+	private final long hitCount;
+
+	private final long missCount;
+
+	private final long loadSuccessCount;
+
+	private final long loadFailureCount;
+
+	private final long totalLoadTime;
+
+	private final long evictionCount;
+
+	private final long evictionWeight;
+
+
+	/**
+	 * Create a new statistics snapshot.
+	 * @param hitCount the number of cache lookups that returned a cached value
+	 * @param missCount the number of cache lookups that did not find a cached value
+	 * @param loadSuccessCount the number of successful value loads
+	 * @param loadFailureCount the number of value loads that threw an exception
+	 * @param totalLoadTime the total time spent loading values, in nanoseconds
+	 * @param evictionCount the number of entries evicted due to size or expiration
+	 * @param evictionWeight the total weight of the evicted entries
+	 */
+	public CacheStatistics(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+			long totalLoadTime, long evictionCount, long evictionWeight) {
+
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.loadSuccessCount = loadSuccessCount;
+		this.loadFailureCount = loadFailureCount;
+		this.totalLoadTime = totalLoadTime;
+		this.evictionCount = evictionCount;
+		this.evictionWeight = evictionWeight;
+	}
+
+
+	/**
+	 * Return the number of cache lookups, i.e. the sum of hits and misses.
+	 */
+	public long getRequestCount() {
+		return this.hitCount + this.missCount;
+	}
+
+	/**
+	 * Return the number of cache lookups that returned a cached value.
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Return the ratio of cache lookups that returned a cached value,
+	 * or {@code 1.0} if there were no lookups.
+	 */
+	public double getHitRate() {
+		long requestCount = getRequestCount();
+		return (requestCount == 0 ? 1.0 : (double) this.hitCount / requestCount);
+	}
+
+	/**
+	 * Return the number of cache lookups that did not find a cached value.
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Return the ratio of cache lookups that did not find a cached value,
+	 * or {@code 0.0} if there were no lookups.
+	 */
+	public double getMissRate() {
+		long requestCount = getRequestCount();
+		return (requestCount == 0 ? 0.0 : (double) this.missCount / requestCount);
+	}
+
+	/**
+	 * Return the number of successful value loads.
+	 */
+	public long getLoadSuccessCount() {
+		return this.loadSuccessCount;
+	}
+
+	/**
+	 * Return the number of value loads that threw an exception.
+	 */
+	public long getLoadFailureCount() {
+		return this.loadFailureCount;
+	}
+
+	/**
+	 * Return the total time spent loading values, in nanoseconds.
+	 */
+	public long getTotalLoadTime() {
+		return this.totalLoadTime;
+	}
+
+	/**
+	 * Return the average time spent loading a value, in nanoseconds.
+	 */
+	public double getAverageLoadPenalty() {
+		long loadCount = this.loadSuccessCount + this.loadFailureCount;
+		return (loadCount == 0 ? 0.0 : (double) this.totalLoadTime / loadCount);
+	}
+
+	/**
+	 * Return the number of entries evicted due to size or expiration.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount;
+	}
+
+	/**
+	 * Return the total weight of the entries evicted due to size or expiration.
+	 */
+	public long getEvictionWeight() {
+		return this.evictionWeight;
+	}
+
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof CacheStatistics)) {
+			return false;
+		}
+		CacheStatistics otherStats = (CacheStatistics) other;
+		return (this.hitCount == otherStats.hitCount && this.missCount == otherStats.missCount &&
+				this.loadSuccessCount == otherStats.loadSuccessCount &&
+				this.loadFailureCount == otherStats.loadFailureCount &&
+				this.totalLoadTime == otherStats.totalLoadTime && this.evictionCount == otherStats.evictionCount &&
+				this.evictionWeight == otherStats.evictionWeight);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(this.hitCount) * 31 + Long.hashCode(this.missCount);
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStatistics [hits=" + this.hitCount + ", misses=" + this.missCount +
+				", loadSuccesses=" + this.loadSuccessCount + ", loadFailures=" + this.loadFailureCount +
+				", totalLoadTime=" + this.totalLoadTime + "ns, evictions=" + this.evictionCount +
+				", evictionWeight=" + this.evictionWeight + "]";
+	}
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Cache} implementation that composes a local (L1) cache in front of
+ * a shared remote (L2) cache.
+ *
+ * <p>Lookups are served from the local cache if possible, reading through to
+ * the remote cache otherwise and populating the local cache with the value
+ * found (or loaded). Writes are applied to the remote cache first and then
+ * to the local cache; writes and evictions are also broadcast through the
+ * configured {@link CacheInvalidationBroadcaster}, if any, for other nodes
+ * to invalidate their local copies.
+ *
+ * <p>The local cache is expected to be bounded, e.g. through a maximum size
+ * and/or an expiration policy, since it only holds copies of remote entries.
+ *
+ * @since 5.3.3
+ * @see TwoLevelCacheManager
+ */
+public class TwoLevelCache implements Cache {
+
+	private final Cache localCache;
+
+	private final Cache remoteCache;
+
+	@Nullable
+	private final CacheInvalidationBroadcaster invalidationBroadcaster;
+
+
+	/**
+	 * Create a new {@code TwoLevelCache} for the given local and remote caches.
+	 * @param localCache the local (L1) cache
+	 * @param remoteCache the remote (L2) cache, also determining the name of this cache
+	 * @param invalidationBroadcaster the broadcaster for invalidations, if any
+	 */
+	public TwoLevelCache(Cache localCache, Cache remoteCache,
+			@Nullable CacheInvalidationBroadcaster invalidationBroadcaster) {
+
+		Assert.notNull(localCache, "Local Cache must not be null");
+		Assert.notNull(remoteCache, "Remote Cache must not be null");
+		this.localCache = localCache;
+		this.remoteCache = remoteCache;
+		this.invalidationBroadcaster = invalidationBroadcaster;
+	}
+
+
+	/**
+	 * Return the local (L1) cache.
+	 */
+	public Cache getLocalCache() {
+		return this.localCache;
+	}
+
+	/**
+	 * Return the remote (L2) cache.
+	 */
+	public Cache getRemoteCache() {
+		return this.remoteCache;
+	}
+
+	@Override
+	public String getName() {
+		return this.remoteCache.getName();
+	}
+
+	/**
+	 * This implementation exposes the native cache of the remote cache.
+	 */
+	@Override
+	public Object getNativeCache() {
+		return this.remoteCache.getNativeCache();
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		ValueWrapper valueWrapper = this.localCache.get(key);
+		if (valueWrapper == null) {
+			valueWrapper = this.remoteCache.get(key);
+			if (valueWrapper != null) {
+				this.localCache.put(key, valueWrapper.get());
+			}
+		}
+		return valueWrapper;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		ValueWrapper valueWrapper = get(key);
+		Object value = (valueWrapper != null ? valueWrapper.get() : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper valueWrapper = this.localCache.get(key);
+		if (valueWrapper != null) {
+			return (T) valueWrapper.get();
+		}
+		T value = this.remoteCache.get(key, valueLoader);
+		this.localCache.put(key, value);
+		return value;
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		CompletableFuture<?> result = this.localCache.retrieve(key);
+		if (result == null) {
+			result = this.remoteCache.retrieve(key);
+			if (result != null) {
+				result = result.thenApply(value -> {
+					this.localCache.put(key, value);
+					return value;
+				});
+			}
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		CompletableFuture<?> result = this.localCache.retrieve(key);
+		if (result != null) {
+			return (CompletableFuture<T>) result;
+		}
+		return this.remoteCache.retrieve(key, valueLoader).thenApply(value -> {
+			this.localCache.put(key, value);
+			return value;
+		});
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		this.remoteCache.put(key, value);
+		this.localCache.put(key, value);
+		broadcastInvalidation(key);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		ValueWrapper existingValue = this.remoteCache.putIfAbsent(key, value);
+		if (existingValue == null) {
+			this.localCache.put(key, value);
+			broadcastInvalidation(key);
+		}
+		else {
+			this.localCache.put(key, existingValue.get());
+		}
+		return existingValue;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.remoteCache.evict(key);
+		this.localCache.evict(key);
+		broadcastInvalidation(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		boolean remotePresent = this.remoteCache.evictIfPresent(key);
+		boolean localPresent = this.localCache.evictIfPresent(key);
+		broadcastInvalidation(key);
+		return (remotePresent || localPresent);
+	}
+
+	@Override
+	public void clear() {
+		this.remoteCache.clear();
+		this.localCache.clear();
+		broadcastInvalidation(null);
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean remoteNotEmpty = this.remoteCache.invalidate();
+		boolean localNotEmpty = this.localCache.invalidate();
+		broadcastInvalidation(null);
+		return (remoteNotEmpty || localNotEmpty);
+	}
+
+	private void broadcastInvalidation(@Nullable Object key) {
+		if (this.invalidationBroadcaster != null) {
+			this.invalidationBroadcaster.broadcastInvalidation(this, key);
+		}
+	}
+
+}
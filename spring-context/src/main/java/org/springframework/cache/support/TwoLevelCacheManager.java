@@ -0,0 +1,152 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationListener;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} implementation that composes the caches of a local
+ * (L1) {@link CacheManager} in front of the caches of a remote (L2)
+ * {@link CacheManager}, exposing them as {@link TwoLevelCache} instances.
+ *
+ * <p>The remote cache manager determines the available caches: a cache that is
+ * unknown to the remote cache manager is not exposed, and a cache that is unknown
+ * to the local cache manager is exposed without local layer. The local cache
+ * manager is expected to build bounded caches, e.g. a
+ * {@link org.springframework.cache.concurrent.ConcurrentMapCacheManager} with a
+ * {@link org.springframework.cache.concurrent.ConcurrentMapCacheManager#setMaximumSize
+ * maximum size} or a {@code CaffeineCacheManager} with a corresponding specification.
+ *
+ * <p>Writes and evictions are broadcast through a {@link CacheInvalidationBroadcaster},
+ * if configured, and received invalidations are to be applied through
+ * {@link #invalidateLocal}. Within an application context, this cache manager also
+ * receives the {@link CacheInvalidationEvent CacheInvalidationEvents} published by
+ * an {@link ApplicationEventCacheInvalidationBroadcaster}.
+ *
+ * @since 5.3.3
+ * @see TwoLevelCache
+ */
+public class TwoLevelCacheManager implements CacheManager, ApplicationListener<CacheInvalidationEvent> {
+
+	private final CacheManager localCacheManager;
+
+	private final CacheManager remoteCacheManager;
+
+	@Nullable
+	private CacheInvalidationBroadcaster invalidationBroadcaster;
+
+	private final Map<String, TwoLevelCache> cacheMap = new ConcurrentHashMap<>(16);
+
+
+	/**
+	 * Create a new {@code TwoLevelCacheManager} for the given cache managers.
+	 * @param localCacheManager the cache manager for the local (L1) caches
+	 * @param remoteCacheManager the cache manager for the remote (L2) caches
+	 */
+	public TwoLevelCacheManager(CacheManager localCacheManager, CacheManager remoteCacheManager) {
+		Assert.notNull(localCacheManager, "Local CacheManager must not be null");
+		Assert.notNull(remoteCacheManager, "Remote CacheManager must not be null");
+		this.localCacheManager = localCacheManager;
+		this.remoteCacheManager = remoteCacheManager;
+	}
+
+
+	/**
+	 * Set the {@link CacheInvalidationBroadcaster} for notifying other nodes of
+	 * writes and evictions, so that they can invalidate their local caches.
+	 * <p>Default is none, which is only appropriate for a single node or for
+	 * local caches with a short expiration.
+	 * <p>Note: This only affects caches created after this call.
+	 */
+	public void setInvalidationBroadcaster(@Nullable CacheInvalidationBroadcaster invalidationBroadcaster) {
+		this.invalidationBroadcaster = invalidationBroadcaster;
+	}
+
+	/**
+	 * Return the {@link CacheInvalidationBroadcaster} for notifying other nodes, if any.
+	 */
+	@Nullable
+	public CacheInvalidationBroadcaster getInvalidationBroadcaster() {
+		return this.invalidationBroadcaster;
+	}
+
+
+	@Override
+	@Nullable
+	public Cache getCache(String name) {
+		Cache cache = this.cacheMap.get(name);
+		if (cache != null) {
+			return cache;
+		}
+		Cache remoteCache = this.remoteCacheManager.getCache(name);
+		if (remoteCache == null) {
+			return null;
+		}
+		Cache localCache = this.localCacheManager.getCache(name);
+		if (localCache == null) {
+			return remoteCache;
+		}
+		return this.cacheMap.computeIfAbsent(name, cacheName ->
+				new TwoLevelCache(localCache, remoteCache, this.invalidationBroadcaster));
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.remoteCacheManager.getCacheNames();
+	}
+
+	/**
+	 * Invalidate the given key in the local cache of the given name,
+	 * typically on receipt of an invalidation broadcast by another node.
+	 * @param cacheName the name of the cache
+	 * @param key the key to invalidate, or {@code null} to invalidate
+	 * all entries of the local cache
+	 * @see CacheInvalidationBroadcaster
+	 */
+	public void invalidateLocal(String cacheName, @Nullable Object key) {
+		TwoLevelCache cache = this.cacheMap.get(cacheName);
+		if (cache != null) {
+			if (key != null) {
+				cache.getLocalCache().evictIfPresent(key);
+			}
+			else {
+				cache.getLocalCache().invalidate();
+			}
+		}
+	}
+
+	/**
+	 * Apply a {@link CacheInvalidationEvent} to the local caches,
+	 * unless the event originates from a cache of this cache manager.
+	 * @see #invalidateLocal
+	 */
+	@Override
+	public void onApplicationEvent(CacheInvalidationEvent event) {
+		if (event.getSource() != this.cacheMap.get(event.getCacheName())) {
+			invalidateLocal(event.getCacheName(), event.getKey());
+		}
+	}
+
+}
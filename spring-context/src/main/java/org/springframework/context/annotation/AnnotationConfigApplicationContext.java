@@ -174,6 +174,20 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 				AnnotationConfigUtils.CONFIGURATION_BEAN_NAME_GENERATOR, beanNameGenerator);
 	}
 
+	/**
+	 * Provide a {@link BeanDefinitionSnapshot} generated at build time, to be registered
+	 * instead of parsing the registered component classes on {@link #refresh()}.
+	 * <p>The snapshot is only applied if it has been generated from the same component
+	 * classes as registered with this context; otherwise it is ignored.
+	 * @since 5.3.3
+	 * @see BeanDefinitionSnapshotGenerator
+	 * @see ConfigurationClassPostProcessor#setBeanDefinitionSnapshot
+	 */
+	public void setBeanDefinitionSnapshot(BeanDefinitionSnapshot beanDefinitionSnapshot) {
+		getBeanFactory().registerSingleton(
+				AnnotationConfigUtils.CONFIGURATION_BEAN_DEFINITION_SNAPSHOT, beanDefinitionSnapshot);
+	}
+
 	/**
 	 * Set the {@link ScopeMetadataResolver} to use for registered component classes.
 	 * <p>The default is an {@link AnnotationScopeMetadataResolver}.
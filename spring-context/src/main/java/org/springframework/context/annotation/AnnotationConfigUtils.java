@@ -76,6 +76,16 @@ public abstract class AnnotationConfigUtils {
 	public static final String CONFIGURATION_BEAN_NAME_GENERATOR =
 			"org.springframework.context.annotation.internalConfigurationBeanNameGenerator";
 
+	/**
+	 * The bean name of the internally managed {@link BeanDefinitionSnapshot} for use
+	 * instead of parsing {@link Configuration} classes. Set by
+	 * {@link AnnotationConfigApplicationContext} in order to make the snapshot
+	 * available to the underlying {@link ConfigurationClassPostProcessor}.
+	 * @since 5.3.3
+	 */
+	public static final String CONFIGURATION_BEAN_DEFINITION_SNAPSHOT =
+			"org.springframework.context.annotation.internalConfigurationBeanDefinitionSnapshot";
+
 	/**
 	 * The bean name of the internally managed Autowired annotation processor.
 	 */
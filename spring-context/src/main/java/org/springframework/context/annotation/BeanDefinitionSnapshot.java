@@ -0,0 +1,1080 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.annotation.AnnotatedGenericBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.ConfigurationClassBeanDefinitionReader.ConfigurationClassBeanDefinition;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotation.Adapt;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+import org.springframework.core.annotation.RepeatableContainers;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.StandardMethodMetadata;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Binary snapshot of the bean definitions resolved from a given set of
+ * component classes by {@link ConfigurationClassPostProcessor}, generated at
+ * build time through a {@link BeanDefinitionSnapshotGenerator}.
+ *
+ * <p>When {@linkplain AnnotationConfigApplicationContext#setBeanDefinitionSnapshot
+ * applied to an application context}, the snapshot replaces the parsing of
+ * configuration classes, {@code @Import} declarations, {@code @Bean} methods and
+ * component scanning at startup: its bean definitions are registered as-is, with
+ * only the conditions flagged as runtime-dependent at generation time (e.g.
+ * {@link Profile @Profile}) being re-evaluated against the actual environment.
+ * Annotated bean definitions (e.g. for scanned components and {@code @Bean}
+ * methods) are restored with their annotation metadata. Where a bean definition
+ * got overridden during generation, only the final definition is retained.
+ *
+ * <p>A snapshot is only applied if the configuration candidates in the target
+ * registry correspond to the component classes that it has been generated from;
+ * otherwise, configuration classes are parsed as usual. Note that the snapshot
+ * needs to be regenerated whenever the configuration classes change.
+ *
+ * @since 5.3.3
+ * @see BeanDefinitionSnapshotGenerator
+ * @see ConfigurationClassPostProcessor#setBeanDefinitionSnapshot
+ */
+public final class BeanDefinitionSnapshot {
+
+	private static final int MAGIC = 0x53424453;
+
+	private static final int VERSION = 2;
+
+	private static final byte GENERIC_DEFINITION = 0;
+
+	private static final byte ANNOTATED_DEFINITION = 1;
+
+	private static final byte SCANNED_DEFINITION = 2;
+
+	private static final byte BEAN_METHOD_DEFINITION = 3;
+
+	private static final int ABSTRACT_FLAG = 1;
+
+	private static final int LAZY_INIT_SET_FLAG = 1 << 1;
+
+	private static final int LAZY_INIT_FLAG = 1 << 2;
+
+	private static final int PRIMARY_FLAG = 1 << 3;
+
+	private static final int AUTOWIRE_CANDIDATE_FLAG = 1 << 4;
+
+	private static final int UNIQUE_FACTORY_METHOD_FLAG = 1 << 5;
+
+	private static final int NON_PUBLIC_ACCESS_ALLOWED_FLAG = 1 << 6;
+
+	private static final int LENIENT_CONSTRUCTOR_RESOLUTION_FLAG = 1 << 7;
+
+	private static final int ENFORCE_INIT_METHOD_FLAG = 1 << 8;
+
+	private static final int ENFORCE_DESTROY_METHOD_FLAG = 1 << 9;
+
+	private static final int SYNTHETIC_FLAG = 1 << 10;
+
+	private static final byte NULL_VALUE = 0;
+
+	private static final byte STRING_VALUE = 1;
+
+	private static final byte BOOLEAN_VALUE = 2;
+
+	private static final byte INTEGER_VALUE = 3;
+
+	private static final byte LONG_VALUE = 4;
+
+	private static final byte CLASS_VALUE = 5;
+
+	private static final byte BEAN_REFERENCE_VALUE = 6;
+
+	private static final byte BEAN_NAME_REFERENCE_VALUE = 7;
+
+	private static final byte TYPED_STRING_VALUE = 8;
+
+
+	private final List<String> rootClassNames;
+
+	private final List<Entry> entries;
+
+	/** Alias to bean name, in registration order. */
+	private final Map<String, String> aliases;
+
+	/** Imported class name to importing class name. */
+	private final Map<String, String> importingClasses;
+
+
+	BeanDefinitionSnapshot(List<String> rootClassNames, List<Entry> entries,
+			Map<String, String> aliases, Map<String, String> importingClasses) {
+
+		this.rootClassNames = rootClassNames;
+		this.entries = entries;
+		this.aliases = aliases;
+		this.importingClasses = importingClasses;
+	}
+
+
+	/**
+	 * Return the names of the component classes that this snapshot has been
+	 * generated from, i.e. the configuration candidates it applies to.
+	 */
+	public List<String> getRootClassNames() {
+		return Collections.unmodifiableList(this.rootClassNames);
+	}
+
+	/**
+	 * Return the number of bean definitions in this snapshot,
+	 * including definitions subject to runtime conditions.
+	 */
+	public int getBeanDefinitionCount() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Determine whether this snapshot applies to the given configuration candidates.
+	 * @param candidateClassNames the class names of the configuration candidates
+	 * in the target registry
+	 */
+	public boolean isApplicableTo(Collection<String> candidateClassNames) {
+		return (candidateClassNames.size() == this.rootClassNames.size() &&
+				new HashSet<>(this.rootClassNames).containsAll(candidateClassNames));
+	}
+
+	/**
+	 * Register the bean definitions in this snapshot with the given registry,
+	 * re-evaluating their runtime-dependent conditions (if any).
+	 * @param registry the registry to register the bean definitions with
+	 * @param environment the environment to evaluate conditions against
+	 * @param resourceLoader the resource loader to evaluate conditions with
+	 * @return the number of bean definitions registered
+	 */
+	public int registerBeanDefinitions(BeanDefinitionRegistry registry,
+			@Nullable Environment environment, @Nullable ResourceLoader resourceLoader) {
+
+		ConditionEvaluator conditionEvaluator = new ConditionEvaluator(registry, environment, resourceLoader);
+		ClassLoader classLoader = conditionEvaluator.getClassLoader();
+		MetadataReaderFactory metadataReaderFactory = new CachingMetadataReaderFactory(
+				resourceLoader != null ? resourceLoader : new DefaultResourceLoader(classLoader));
+		Map<ConditionCheck, Boolean> conditionMatches = new HashMap<>();
+		int count = 0;
+		for (Entry entry : this.entries) {
+			if (entry.matches(conditionEvaluator, conditionMatches)) {
+				registry.registerBeanDefinition(entry.beanName,
+						entry.createBeanDefinition(metadataReaderFactory, classLoader));
+				count++;
+			}
+		}
+		this.aliases.forEach((alias, beanName) -> {
+			if (registry.containsBeanDefinition(beanName) && !registry.isAlias(alias)) {
+				registry.registerAlias(beanName, alias);
+			}
+		});
+		return count;
+	}
+
+	/**
+	 * Return an {@link ImportRegistry} for {@link ImportAware} configuration
+	 * classes, as captured when generating this snapshot.
+	 */
+	ImportRegistry getImportRegistry(@Nullable ClassLoader classLoader) {
+		return new SnapshotImportRegistry(this.importingClasses, classLoader);
+	}
+
+
+	/**
+	 * Write this snapshot in its binary format to the given stream.
+	 * @param outputStream the stream to write to (not closed by this method)
+	 * @throws IOException in case of I/O errors
+	 */
+	public void writeTo(OutputStream outputStream) throws IOException {
+		SnapshotWriter writer = new SnapshotWriter();
+		writer.writeStrings(this.rootClassNames);
+		writer.writeVarInt(this.entries.size());
+		for (Entry entry : this.entries) {
+			writer.writeEntry(entry);
+		}
+		writer.writeStringMap(this.aliases);
+		writer.writeStringMap(this.importingClasses);
+		writer.writeTo(outputStream);
+	}
+
+	/**
+	 * Read a snapshot in its binary format from the given stream.
+	 * @param inputStream the stream to read from (not closed by this method)
+	 * @return the snapshot
+	 * @throws IOException in case of I/O errors or an invalid snapshot format
+	 */
+	public static BeanDefinitionSnapshot readFrom(InputStream inputStream) throws IOException {
+		SnapshotReader reader = new SnapshotReader(new DataInputStream(inputStream));
+		List<String> rootClassNames = reader.readStrings();
+		if (rootClassNames == null) {
+			throw new IOException("Corrupt bean definition snapshot: no root classes");
+		}
+		int entryCount = reader.readVarInt();
+		List<Entry> entries = new ArrayList<>(entryCount);
+		for (int i = 0; i < entryCount; i++) {
+			entries.add(reader.readEntry());
+		}
+		Map<String, String> aliases = reader.readStringMap();
+		Map<String, String> importingClasses = reader.readStringMap();
+		return new BeanDefinitionSnapshot(rootClassNames, entries, aliases, importingClasses);
+	}
+
+
+	/**
+	 * Capture the given bean definition for a snapshot.
+	 * @param classLoader the ClassLoader to resolve {@code @Bean} methods with
+	 * @throws IllegalStateException if the bean definition cannot be represented
+	 * in a snapshot, e.g. due to an instance supplier or inner bean definitions
+	 */
+	static Entry capture(String beanName, BeanDefinition beanDefinition, List<ConditionCheck> conditionChecks,
+			@Nullable ClassLoader classLoader) {
+
+		if (!(beanDefinition instanceof AbstractBeanDefinition)) {
+			throw unsupported(beanName, "unsupported bean definition type " + beanDefinition.getClass().getName());
+		}
+		AbstractBeanDefinition bd = (AbstractBeanDefinition) beanDefinition;
+		if (bd.getInstanceSupplier() != null) {
+			throw unsupported(beanName, "instance supplier");
+		}
+		if (bd.hasMethodOverrides()) {
+			throw unsupported(beanName, "method overrides");
+		}
+		if (!bd.getQualifiers().isEmpty()) {
+			throw unsupported(beanName, "qualifiers");
+		}
+		if (bd instanceof RootBeanDefinition && ((RootBeanDefinition) bd).getDecoratedDefinition() != null) {
+			throw unsupported(beanName, "decorated bean definition (e.g. scoped proxy)");
+		}
+		for (String attributeName : bd.attributeNames()) {
+			if (!isSupportedValue(bd.getAttribute(attributeName), false)) {
+				throw unsupported(beanName, "value of attribute '" + attributeName + "'");
+			}
+		}
+		ConstructorArgumentValues args = bd.getConstructorArgumentValues();
+		for (ValueHolder valueHolder : args.getIndexedArgumentValues().values()) {
+			if (!isSupportedValue(valueHolder.getValue(), true)) {
+				throw unsupported(beanName, "constructor argument value " + valueHolder.getValue());
+			}
+		}
+		for (ValueHolder valueHolder : args.getGenericArgumentValues()) {
+			if (!isSupportedValue(valueHolder.getValue(), true)) {
+				throw unsupported(beanName, "constructor argument value " + valueHolder.getValue());
+			}
+		}
+		for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+			if (!isSupportedValue(pv.getValue(), true)) {
+				throw unsupported(beanName, "value of property '" + pv.getName() + "'");
+			}
+		}
+		boolean uniqueFactoryMethod = (bd instanceof RootBeanDefinition &&
+				((RootBeanDefinition) bd).isFactoryMethodUnique());
+		if (bd instanceof ConfigurationClassBeanDefinition) {
+			ConfigurationClassBeanDefinition ccbd = (ConfigurationClassBeanDefinition) bd;
+			return new Entry(beanName, bd.cloneBeanDefinition(), uniqueFactoryMethod, BEAN_METHOD_DEFINITION,
+					ccbd.getMetadata().getClassName(), MethodReference.of(ccbd.getFactoryMethodMetadata(), classLoader),
+					ccbd.getDerivedBeanName(), conditionChecks);
+		}
+		byte definitionType;
+		if (bd instanceof ScannedGenericBeanDefinition) {
+			definitionType = SCANNED_DEFINITION;
+		}
+		else if (bd instanceof AnnotatedGenericBeanDefinition &&
+				((AnnotatedGenericBeanDefinition) bd).getFactoryMethodMetadata() == null) {
+			definitionType = ANNOTATED_DEFINITION;
+		}
+		else if (bd instanceof AnnotatedBeanDefinition) {
+			throw unsupported(beanName, "unsupported annotated bean definition type " + bd.getClass().getName());
+		}
+		else {
+			definitionType = GENERIC_DEFINITION;
+		}
+		return new Entry(beanName, bd.cloneBeanDefinition(), uniqueFactoryMethod, definitionType,
+				null, null, null, conditionChecks);
+	}
+
+	private static boolean isSupportedValue(@Nullable Object value, boolean allowReferences) {
+		if (value == null || value instanceof String || value instanceof Boolean ||
+				value instanceof Integer || value instanceof Long || value instanceof Class) {
+			return true;
+		}
+		if (!allowReferences) {
+			return false;
+		}
+		if (value instanceof RuntimeBeanReference) {
+			return (((RuntimeBeanReference) value).getBeanType() == null);
+		}
+		if (value instanceof TypedStringValue) {
+			TypedStringValue typedValue = (TypedStringValue) value;
+			return (!typedValue.isDynamic() && typedValue.getSpecifiedTypeName() == null);
+		}
+		return (value instanceof RuntimeBeanNameReference);
+	}
+
+	private static IllegalStateException unsupported(String beanName, String feature) {
+		return new IllegalStateException("Bean definition '" + beanName +
+				"' cannot be captured in a bean definition snapshot: " + feature);
+	}
+
+
+	/**
+	 * A bean definition in a snapshot, along with the runtime conditions
+	 * that it is subject to.
+	 */
+	static final class Entry {
+
+		final String beanName;
+
+		final AbstractBeanDefinition beanDefinition;
+
+		final boolean uniqueFactoryMethod;
+
+		final byte definitionType;
+
+		@Nullable
+		final String configClassName;
+
+		@Nullable
+		final MethodReference beanMethod;
+
+		@Nullable
+		final String derivedBeanName;
+
+		final List<ConditionCheck> conditionChecks;
+
+		Entry(String beanName, AbstractBeanDefinition beanDefinition, boolean uniqueFactoryMethod,
+				byte definitionType, @Nullable String configClassName, @Nullable MethodReference beanMethod,
+				@Nullable String derivedBeanName, List<ConditionCheck> conditionChecks) {
+
+			this.beanName = beanName;
+			this.beanDefinition = beanDefinition;
+			this.uniqueFactoryMethod = uniqueFactoryMethod;
+			this.definitionType = definitionType;
+			this.configClassName = configClassName;
+			this.beanMethod = beanMethod;
+			this.derivedBeanName = derivedBeanName;
+			this.conditionChecks = conditionChecks;
+		}
+
+		/**
+		 * Create the bean definition to register, restoring the annotation metadata
+		 * of annotated bean definitions as on regular configuration class parsing.
+		 */
+		AbstractBeanDefinition createBeanDefinition(
+				MetadataReaderFactory metadataReaderFactory, @Nullable ClassLoader classLoader) {
+
+			AbstractBeanDefinition bd;
+			switch (this.definitionType) {
+				case ANNOTATED_DEFINITION:
+					bd = new AnnotatedGenericBeanDefinition(getMetadataReader(
+							metadataReaderFactory, this.beanDefinition.getBeanClassName()).getAnnotationMetadata());
+					break;
+				case SCANNED_DEFINITION:
+					MetadataReader metadataReader = getMetadataReader(
+							metadataReaderFactory, this.beanDefinition.getBeanClassName());
+					bd = new ScannedGenericBeanDefinition(metadataReader);
+					bd.setSource(metadataReader.getResource());
+					break;
+				case BEAN_METHOD_DEFINITION:
+					Assert.state(this.beanMethod != null && this.derivedBeanName != null, "No bean method");
+					MethodMetadata beanMethodMetadata = this.beanMethod.resolve(Bean.class, classLoader);
+					bd = new ConfigurationClassBeanDefinition(getMetadataReader(metadataReaderFactory,
+							this.configClassName), beanMethodMetadata, this.derivedBeanName);
+					bd.setSource(beanMethodMetadata);
+					break;
+				default:
+					return this.beanDefinition.cloneBeanDefinition();
+			}
+			Resource resource = bd.getResource();
+			Object source = bd.getSource();
+			bd.overrideFrom(this.beanDefinition);
+			bd.setResource(resource);
+			bd.setSource(source);
+			bd.setDescription(this.beanDefinition.getDescription());
+			if (this.uniqueFactoryMethod && bd instanceof RootBeanDefinition) {
+				((RootBeanDefinition) bd).setUniqueFactoryMethodName(this.beanDefinition.getFactoryMethodName());
+			}
+			return bd;
+		}
+
+		private MetadataReader getMetadataReader(MetadataReaderFactory metadataReaderFactory,
+				@Nullable String className) {
+
+			Assert.state(className != null, "No class name");
+			try {
+				return metadataReaderFactory.getMetadataReader(className);
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException("Failed to read metadata of class [" + className +
+						"] for bean '" + this.beanName + "' - bean definition snapshot out of date?", ex);
+			}
+		}
+
+		boolean matches(ConditionEvaluator conditionEvaluator, Map<ConditionCheck, Boolean> conditionMatches) {
+			for (ConditionCheck check : this.conditionChecks) {
+				Boolean match = conditionMatches.get(check);
+				if (match == null) {
+					match = check.matches(conditionEvaluator);
+					conditionMatches.put(check, match);
+				}
+				if (!match) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+
+	/**
+	 * Runtime-dependent conditions declared on a class or on a method.
+	 */
+	static final class ConditionCheck {
+
+		final String className;
+
+		@Nullable
+		final MethodReference method;
+
+		final String[] conditionClassNames;
+
+		ConditionCheck(String className, @Nullable MethodReference method, String[] conditionClassNames) {
+			this.className = className;
+			this.method = method;
+			this.conditionClassNames = conditionClassNames;
+		}
+
+		boolean matches(ConditionEvaluator conditionEvaluator) {
+			AnnotatedTypeMetadata metadata;
+			if (this.method != null) {
+				metadata = this.method.resolve(Conditional.class, conditionEvaluator.getClassLoader());
+			}
+			else {
+				metadata = AnnotationMetadata.introspect(
+						ClassUtils.resolveClassName(this.className, conditionEvaluator.getClassLoader()));
+			}
+			return !conditionEvaluator.shouldSkipForConditions(metadata, Arrays.asList(this.conditionClassNames));
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ConditionCheck)) {
+				return false;
+			}
+			ConditionCheck otherCheck = (ConditionCheck) other;
+			return (this.className.equals(otherCheck.className) &&
+					Objects.equals(this.method, otherCheck.method) &&
+					Arrays.equals(this.conditionClassNames, otherCheck.conditionClassNames));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.className.hashCode() * 31 + Objects.hashCode(this.method);
+		}
+	}
+
+
+	/**
+	 * Reference to a method by declaring class, name and parameter types,
+	 * telling overloaded {@code @Bean} methods apart.
+	 */
+	static final class MethodReference {
+
+		final String className;
+
+		final String methodName;
+
+		final List<String> parameterTypeNames;
+
+		MethodReference(String className, String methodName, List<String> parameterTypeNames) {
+			this.className = className;
+			this.methodName = methodName;
+			this.parameterTypeNames = parameterTypeNames;
+		}
+
+		/**
+		 * Create a reference to the method that the given metadata has been read from.
+		 * @throws IllegalStateException if the method cannot be resolved
+		 */
+		static MethodReference of(MethodMetadata metadata, @Nullable ClassLoader classLoader) {
+			Method method = (metadata instanceof StandardMethodMetadata ?
+					((StandardMethodMetadata) metadata).getIntrospectedMethod() : findMethod(metadata, classLoader));
+			return new MethodReference(metadata.getDeclaringClassName(), metadata.getMethodName(),
+					getParameterTypeNames(method));
+		}
+
+		private static Method findMethod(MethodMetadata metadata, @Nullable ClassLoader classLoader) {
+			Class<?> clazz = ClassUtils.resolveClassName(metadata.getDeclaringClassName(), classLoader);
+			List<Method> candidates = new ArrayList<>();
+			for (Method candidate : clazz.getDeclaredMethods()) {
+				if (!candidate.isBridge() && candidate.getName().equals(metadata.getMethodName()) &&
+						candidate.getReturnType().getTypeName().equals(metadata.getReturnTypeName()) &&
+						Modifier.isStatic(candidate.getModifiers()) == metadata.isStatic()) {
+					candidates.add(candidate);
+				}
+			}
+			if (candidates.size() > 1) {
+				// Overloaded methods: the one with the same annotations (e.g. conditions) as the metadata
+				List<String> annotations = describeAnnotations(metadata.getAnnotations());
+				candidates.removeIf(candidate -> !annotations.equals(describeAnnotations(
+						MergedAnnotations.from(candidate, SearchStrategy.DIRECT, RepeatableContainers.none()))));
+			}
+			if (candidates.isEmpty()) {
+				throw new IllegalStateException("Cannot resolve method '" + metadata.getMethodName() +
+						"' on " + metadata.getDeclaringClassName() + " for bean definition snapshot");
+			}
+			return candidates.get(0);
+		}
+
+		private static List<String> describeAnnotations(MergedAnnotations annotations) {
+			return annotations.stream()
+					.filter(MergedAnnotation::isDirectlyPresent)
+					.map(annotation -> annotation.getType().getName() +
+							annotation.asAnnotationAttributes(Adapt.CLASS_TO_STRING, Adapt.ANNOTATION_TO_MAP))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+
+		private static List<String> getParameterTypeNames(Method method) {
+			return Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(Collectors.toList());
+		}
+
+		/**
+		 * Resolve the metadata of the referenced method at runtime.
+		 * @param annotationType the annotation type that the method is annotated
+		 * or meta-annotated with
+		 * @param classLoader the ClassLoader to load the declaring class with
+		 * @throws IllegalStateException if the method does not exist (anymore)
+		 */
+		MethodMetadata resolve(Class<?> annotationType, @Nullable ClassLoader classLoader) {
+			AnnotationMetadata classMetadata =
+					AnnotationMetadata.introspect(ClassUtils.resolveClassName(this.className, classLoader));
+			for (MethodMetadata metadata : classMetadata.getAnnotatedMethods(annotationType.getName())) {
+				if (metadata.getMethodName().equals(this.methodName) && metadata instanceof StandardMethodMetadata &&
+						this.parameterTypeNames.equals(getParameterTypeNames(
+								((StandardMethodMetadata) metadata).getIntrospectedMethod()))) {
+					return metadata;
+				}
+			}
+			throw new IllegalStateException("No @" + annotationType.getSimpleName() + " method " + this +
+					" found - bean definition snapshot out of date?");
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof MethodReference)) {
+				return false;
+			}
+			MethodReference otherRef = (MethodReference) other;
+			return (this.className.equals(otherRef.className) && this.methodName.equals(otherRef.methodName) &&
+					this.parameterTypeNames.equals(otherRef.parameterTypeNames));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.className.hashCode() * 31 + this.methodName.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return this.className + '.' + this.methodName + '(' + String.join(",", this.parameterTypeNames) + ')';
+		}
+	}
+
+
+	/**
+	 * {@link ImportRegistry} backed by the importing classes captured in a snapshot.
+	 */
+	private static class SnapshotImportRegistry implements ImportRegistry {
+
+		private final Map<String, String> importingClasses;
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		SnapshotImportRegistry(Map<String, String> importingClasses, @Nullable ClassLoader classLoader) {
+			this.importingClasses = new HashMap<>(importingClasses);
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		@Nullable
+		public AnnotationMetadata getImportingClassFor(String importedClass) {
+			String importingClass = this.importingClasses.get(importedClass);
+			return (importingClass != null ?
+					AnnotationMetadata.introspect(ClassUtils.resolveClassName(importingClass, this.classLoader)) : null);
+		}
+
+		@Override
+		public void removeImportingClass(String importingClass) {
+			this.importingClasses.values().removeIf(importingClass::equals);
+		}
+	}
+
+
+	/**
+	 * Writer for the binary snapshot format: a header followed by a table of
+	 * all distinct strings and the snapshot content, referring to strings by index.
+	 */
+	private static class SnapshotWriter {
+
+		private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+		private final ByteArrayOutputStream content = new ByteArrayOutputStream(4096);
+
+		private final DataOutputStream out = new DataOutputStream(this.content);
+
+		void writeEntry(Entry entry) throws IOException {
+			AbstractBeanDefinition bd = entry.beanDefinition;
+			writeString(entry.beanName);
+			this.out.writeByte(entry.definitionType);
+			if (entry.definitionType == BEAN_METHOD_DEFINITION) {
+				writeString(entry.configClassName);
+				writeMethodReference(entry.beanMethod);
+				writeString(entry.derivedBeanName);
+			}
+			writeString(bd.getParentName());
+			writeString(bd.getBeanClassName());
+			writeString(bd.getScope());
+			writeString(bd.getFactoryBeanName());
+			writeString(bd.getFactoryMethodName());
+			writeString(bd.getInitMethodName());
+			writeString(bd.getDestroyMethodName());
+			writeString(bd.getDescription());
+			writeString(bd.getResourceDescription());
+			Boolean lazyInit = bd.getLazyInit();
+			int flags = (bd.isAbstract() ? ABSTRACT_FLAG : 0) |
+					(lazyInit != null ? LAZY_INIT_SET_FLAG : 0) |
+					(Boolean.TRUE.equals(lazyInit) ? LAZY_INIT_FLAG : 0) |
+					(bd.isPrimary() ? PRIMARY_FLAG : 0) |
+					(bd.isAutowireCandidate() ? AUTOWIRE_CANDIDATE_FLAG : 0) |
+					(entry.uniqueFactoryMethod ? UNIQUE_FACTORY_METHOD_FLAG : 0) |
+					(bd.isNonPublicAccessAllowed() ? NON_PUBLIC_ACCESS_ALLOWED_FLAG : 0) |
+					(bd.isLenientConstructorResolution() ? LENIENT_CONSTRUCTOR_RESOLUTION_FLAG : 0) |
+					(bd.isEnforceInitMethod() ? ENFORCE_INIT_METHOD_FLAG : 0) |
+					(bd.isEnforceDestroyMethod() ? ENFORCE_DESTROY_METHOD_FLAG : 0) |
+					(bd.isSynthetic() ? SYNTHETIC_FLAG : 0);
+			writeVarInt(flags);
+			writeVarInt(bd.getAutowireMode());
+			writeVarInt(bd.getDependencyCheck());
+			writeVarInt(bd.getRole());
+			writeStrings(bd.getDependsOn() != null ? Arrays.asList(bd.getDependsOn()) : null);
+
+			String[] attributeNames = bd.attributeNames();
+			writeVarInt(attributeNames.length);
+			for (String attributeName : attributeNames) {
+				writeString(attributeName);
+				writeValue(bd.getAttribute(attributeName));
+			}
+			ConstructorArgumentValues args = bd.getConstructorArgumentValues();
+			writeVarInt(args.getIndexedArgumentValues().size());
+			for (Map.Entry<Integer, ValueHolder> indexedArg : args.getIndexedArgumentValues().entrySet()) {
+				writeVarInt(indexedArg.getKey());
+				writeValueHolder(indexedArg.getValue());
+			}
+			writeVarInt(args.getGenericArgumentValues().size());
+			for (ValueHolder valueHolder : args.getGenericArgumentValues()) {
+				writeValueHolder(valueHolder);
+			}
+			PropertyValue[] pvs = bd.getPropertyValues().getPropertyValues();
+			writeVarInt(pvs.length);
+			for (PropertyValue pv : pvs) {
+				writeString(pv.getName());
+				writeValue(pv.getValue());
+			}
+
+			writeVarInt(entry.conditionChecks.size());
+			for (ConditionCheck check : entry.conditionChecks) {
+				writeString(check.className);
+				writeMethodReference(check.method);
+				writeStrings(Arrays.asList(check.conditionClassNames));
+			}
+		}
+
+		private void writeMethodReference(@Nullable MethodReference method) throws IOException {
+			if (method == null) {
+				writeString(null);
+				return;
+			}
+			writeString(method.methodName);
+			writeString(method.className);
+			writeStrings(method.parameterTypeNames);
+		}
+
+		private void writeValueHolder(ValueHolder valueHolder) throws IOException {
+			writeValue(valueHolder.getValue());
+			writeString(valueHolder.getType());
+			writeString(valueHolder.getName());
+		}
+
+		private void writeValue(@Nullable Object value) throws IOException {
+			if (value == null) {
+				this.out.writeByte(NULL_VALUE);
+			}
+			else if (value instanceof String) {
+				this.out.writeByte(STRING_VALUE);
+				writeString((String) value);
+			}
+			else if (value instanceof Boolean) {
+				this.out.writeByte(BOOLEAN_VALUE);
+				this.out.writeBoolean((Boolean) value);
+			}
+			else if (value instanceof Integer) {
+				this.out.writeByte(INTEGER_VALUE);
+				this.out.writeInt((Integer) value);
+			}
+			else if (value instanceof Long) {
+				this.out.writeByte(LONG_VALUE);
+				this.out.writeLong((Long) value);
+			}
+			else if (value instanceof Class) {
+				this.out.writeByte(CLASS_VALUE);
+				writeString(((Class<?>) value).getName());
+			}
+			else if (value instanceof RuntimeBeanReference) {
+				RuntimeBeanReference reference = (RuntimeBeanReference) value;
+				this.out.writeByte(BEAN_REFERENCE_VALUE);
+				writeString(reference.getBeanName());
+				this.out.writeBoolean(reference.isToParent());
+			}
+			else if (value instanceof RuntimeBeanNameReference) {
+				this.out.writeByte(BEAN_NAME_REFERENCE_VALUE);
+				writeString(((RuntimeBeanNameReference) value).getBeanName());
+			}
+			else if (value instanceof TypedStringValue) {
+				TypedStringValue typedValue = (TypedStringValue) value;
+				this.out.writeByte(TYPED_STRING_VALUE);
+				writeString(typedValue.getValue());
+				writeString(typedValue.getTargetTypeName());
+			}
+			else {
+				throw new IllegalStateException("Unsupported value in bean definition snapshot: " + value);
+			}
+		}
+
+		void writeStringMap(Map<String, String> map) throws IOException {
+			writeVarInt(map.size());
+			for (Map.Entry<String, String> entry : map.entrySet()) {
+				writeString(entry.getKey());
+				writeString(entry.getValue());
+			}
+		}
+
+		void writeStrings(@Nullable List<String> values) throws IOException {
+			if (values == null) {
+				writeVarInt(0);
+				return;
+			}
+			writeVarInt(values.size() + 1);
+			for (String value : values) {
+				writeString(value);
+			}
+		}
+
+		void writeString(@Nullable String value) throws IOException {
+			writeVarInt(value != null ? this.strings.computeIfAbsent(value, key -> this.strings.size() + 1) : 0);
+		}
+
+		void writeVarInt(int value) throws IOException {
+			SnapshotWriter.writeVarInt(this.out, value);
+		}
+
+		void writeTo(OutputStream outputStream) throws IOException {
+			DataOutputStream target = new DataOutputStream(outputStream);
+			target.writeInt(MAGIC);
+			target.writeByte(VERSION);
+			writeVarInt(target, this.strings.size());
+			for (String value : this.strings.keySet()) {
+				target.writeUTF(value);
+			}
+			this.content.writeTo(target);
+			target.flush();
+		}
+
+		private static void writeVarInt(DataOutput out, int value) throws IOException {
+			while ((value & ~0x7F) != 0) {
+				out.writeByte((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			out.writeByte(value);
+		}
+	}
+
+
+	/**
+	 * Reader for the binary snapshot format.
+	 * @see SnapshotWriter
+	 */
+	private static class SnapshotReader {
+
+		private final DataInput in;
+
+		private final String[] strings;
+
+		SnapshotReader(DataInput in) throws IOException {
+			this.in = in;
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Not a bean definition snapshot");
+			}
+			int version = in.readByte();
+			if (version != VERSION) {
+				throw new IOException("Unsupported bean definition snapshot version " + version);
+			}
+			this.strings = new String[readVarInt()];
+			for (int i = 0; i < this.strings.length; i++) {
+				this.strings[i] = in.readUTF();
+			}
+		}
+
+		Entry readEntry() throws IOException {
+			String beanName = readRequiredString();
+			byte definitionType = this.in.readByte();
+			String configClassName = null;
+			MethodReference beanMethod = null;
+			String derivedBeanName = null;
+			if (definitionType == BEAN_METHOD_DEFINITION) {
+				configClassName = readRequiredString();
+				beanMethod = readMethodReference();
+				derivedBeanName = readRequiredString();
+			}
+			else if (definitionType != GENERIC_DEFINITION && definitionType != ANNOTATED_DEFINITION &&
+					definitionType != SCANNED_DEFINITION) {
+				throw new IOException("Unknown bean definition type in bean definition snapshot: " + definitionType);
+			}
+			String parentName = readString();
+			AbstractBeanDefinition bd;
+			if (parentName != null) {
+				bd = new GenericBeanDefinition();
+				bd.setParentName(parentName);
+			}
+			else {
+				bd = new RootBeanDefinition();
+			}
+			bd.setBeanClassName(readString());
+			bd.setScope(readString());
+			bd.setFactoryBeanName(readString());
+			String factoryMethodName = readString();
+			bd.setInitMethodName(readString());
+			bd.setDestroyMethodName(readString());
+			bd.setDescription(readString());
+			bd.setResourceDescription(readString());
+			int flags = readVarInt();
+			bd.setAbstract((flags & ABSTRACT_FLAG) != 0);
+			if ((flags & LAZY_INIT_SET_FLAG) != 0) {
+				bd.setLazyInit((flags & LAZY_INIT_FLAG) != 0);
+			}
+			bd.setPrimary((flags & PRIMARY_FLAG) != 0);
+			bd.setAutowireCandidate((flags & AUTOWIRE_CANDIDATE_FLAG) != 0);
+			boolean uniqueFactoryMethod = (flags & UNIQUE_FACTORY_METHOD_FLAG) != 0;
+			if (uniqueFactoryMethod && factoryMethodName != null && bd instanceof RootBeanDefinition) {
+				((RootBeanDefinition) bd).setUniqueFactoryMethodName(factoryMethodName);
+			}
+			else {
+				bd.setFactoryMethodName(factoryMethodName);
+			}
+			bd.setNonPublicAccessAllowed((flags & NON_PUBLIC_ACCESS_ALLOWED_FLAG) != 0);
+			bd.setLenientConstructorResolution((flags & LENIENT_CONSTRUCTOR_RESOLUTION_FLAG) != 0);
+			bd.setEnforceInitMethod((flags & ENFORCE_INIT_METHOD_FLAG) != 0);
+			bd.setEnforceDestroyMethod((flags & ENFORCE_DESTROY_METHOD_FLAG) != 0);
+			bd.setSynthetic((flags & SYNTHETIC_FLAG) != 0);
+			bd.setAutowireMode(readVarInt());
+			bd.setDependencyCheck(readVarInt());
+			bd.setRole(readVarInt());
+			List<String> dependsOn = readStrings();
+			if (dependsOn != null) {
+				bd.setDependsOn(dependsOn.toArray(new String[0]));
+			}
+
+			int attributeCount = readVarInt();
+			for (int i = 0; i < attributeCount; i++) {
+				bd.setAttribute(readRequiredString(), readValue());
+			}
+			ConstructorArgumentValues args = bd.getConstructorArgumentValues();
+			int indexedArgCount = readVarInt();
+			for (int i = 0; i < indexedArgCount; i++) {
+				args.addIndexedArgumentValue(readVarInt(), readValueHolder());
+			}
+			int genericArgCount = readVarInt();
+			for (int i = 0; i < genericArgCount; i++) {
+				args.addGenericArgumentValue(readValueHolder());
+			}
+			int propertyCount = readVarInt();
+			for (int i = 0; i < propertyCount; i++) {
+				bd.getPropertyValues().add(readRequiredString(), readValue());
+			}
+
+			int checkCount = readVarInt();
+			List<ConditionCheck> checks = new ArrayList<>(checkCount);
+			for (int i = 0; i < checkCount; i++) {
+				String className = readRequiredString();
+				MethodReference method = readMethodReference();
+				List<String> conditionClassNames = readStrings();
+				checks.add(new ConditionCheck(className, method, (conditionClassNames != null ?
+						conditionClassNames.toArray(new String[0]) : new String[0])));
+			}
+			return new Entry(beanName, bd, uniqueFactoryMethod, definitionType,
+					configClassName, beanMethod, derivedBeanName, checks);
+		}
+
+		@Nullable
+		private MethodReference readMethodReference() throws IOException {
+			String methodName = readString();
+			if (methodName == null) {
+				return null;
+			}
+			String className = readRequiredString();
+			List<String> parameterTypeNames = readStrings();
+			return new MethodReference(className, methodName,
+					(parameterTypeNames != null ? parameterTypeNames : Collections.emptyList()));
+		}
+
+		private ValueHolder readValueHolder() throws IOException {
+			Object value = readValue();
+			return new ValueHolder(value, readString(), readString());
+		}
+
+		@Nullable
+		private Object readValue() throws IOException {
+			byte type = this.in.readByte();
+			switch (type) {
+				case NULL_VALUE:
+					return null;
+				case STRING_VALUE:
+					return readString();
+				case BOOLEAN_VALUE:
+					return this.in.readBoolean();
+				case INTEGER_VALUE:
+					return this.in.readInt();
+				case LONG_VALUE:
+					return this.in.readLong();
+				case CLASS_VALUE:
+					return ClassUtils.resolveClassName(readRequiredString(), null);
+				case BEAN_REFERENCE_VALUE:
+					return new RuntimeBeanReference(readRequiredString(), this.in.readBoolean());
+				case BEAN_NAME_REFERENCE_VALUE:
+					return new RuntimeBeanNameReference(readRequiredString());
+				case TYPED_STRING_VALUE:
+					String value = readString();
+					String targetTypeName = readString();
+					return (targetTypeName != null ?
+							new TypedStringValue(value, targetTypeName) : new TypedStringValue(value));
+				default:
+					throw new IOException("Unknown value type in bean definition snapshot: " + type);
+			}
+		}
+
+		Map<String, String> readStringMap() throws IOException {
+			int size = readVarInt();
+			Map<String, String> map = new LinkedHashMap<>(size);
+			for (int i = 0; i < size; i++) {
+				map.put(readRequiredString(), readRequiredString());
+			}
+			return map;
+		}
+
+		@Nullable
+		List<String> readStrings() throws IOException {
+			int size = readVarInt() - 1;
+			if (size < 0) {
+				return null;
+			}
+			List<String> values = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				values.add(readRequiredString());
+			}
+			return values;
+		}
+
+		@Nullable
+		String readString() throws IOException {
+			int index = readVarInt();
+			return (index != 0 ? this.strings[index - 1] : null);
+		}
+
+		private String readRequiredString() throws IOException {
+			String value = readString();
+			if (value == null) {
+				throw new IOException("Corrupt bean definition snapshot: unexpected null value");
+			}
+			return value;
+		}
+
+		int readVarInt() throws IOException {
+			int value = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = this.in.readByte();
+				value |= (b & 0x7F) << shift;
+				shift += 7;
+			}
+			while ((b & 0x80) != 0);
+			return value;
+		}
+	}
+
+}
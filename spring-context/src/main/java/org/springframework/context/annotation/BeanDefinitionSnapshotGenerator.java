@@ -0,0 +1,285 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Build-time generator for a {@link BeanDefinitionSnapshot}: processes the given
+ * component classes like a {@link ConfigurationClassPostProcessor} at startup
+ * would, capturing the resulting bean definitions.
+ *
+ * <p>Conditions of the {@linkplain #setRuntimeConditionTypes runtime condition
+ * types} (by default {@link ProfileCondition}, i.e. {@link Profile @Profile}) are
+ * assumed to match at build time and recorded for re-evaluation when the snapshot
+ * is applied, whereas all other conditions are evaluated against the
+ * {@linkplain #setEnvironment build-time environment} once and for all.
+ *
+ * <p>May be run as a command-line application, e.g. from a Gradle {@code JavaExec}
+ * task with the application's runtime classpath:
+ * <pre class="code">
+ * java org.springframework.context.annotation.BeanDefinitionSnapshotGenerator \
+ *     [--runtime-condition=com.example.MyCondition] output-file com.example.AppConfig ...
+ * </pre>
+ *
+ * @since 5.3.3
+ * @see BeanDefinitionSnapshot
+ */
+public class BeanDefinitionSnapshotGenerator {
+
+	private static final String RUNTIME_CONDITION_OPTION = "--runtime-condition=";
+
+
+	private Environment environment = new StandardEnvironment();
+
+	@Nullable
+	private ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+	private final Set<Class<?>> runtimeConditionTypes = new LinkedHashSet<>();
+
+
+	public BeanDefinitionSnapshotGenerator() {
+		this.runtimeConditionTypes.add(ProfileCondition.class);
+	}
+
+
+	/**
+	 * Set the build-time environment to evaluate conditions against that are
+	 * not runtime-dependent.
+	 * <p>Default is a {@link StandardEnvironment}.
+	 */
+	public void setEnvironment(Environment environment) {
+		Assert.notNull(environment, "Environment must not be null");
+		this.environment = environment;
+	}
+
+	/**
+	 * Set the ClassLoader to load component classes and conditions with.
+	 */
+	public void setClassLoader(@Nullable ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * Set the types of conditions to consider as runtime-dependent, replacing
+	 * the default {@link ProfileCondition}. Conditions which are an instance of
+	 * any of the given types are re-evaluated when the snapshot is applied.
+	 */
+	public void setRuntimeConditionTypes(Class<?>... runtimeConditionTypes) {
+		this.runtimeConditionTypes.clear();
+		this.runtimeConditionTypes.addAll(Arrays.asList(runtimeConditionTypes));
+	}
+
+	/**
+	 * Add a type of conditions to consider as runtime-dependent,
+	 * in addition to the default {@link ProfileCondition}.
+	 */
+	public void addRuntimeConditionType(Class<?> runtimeConditionType) {
+		this.runtimeConditionTypes.add(runtimeConditionType);
+	}
+
+
+	/**
+	 * Generate a snapshot of the bean definitions resolved from the given
+	 * component classes.
+	 * @param componentClasses the component classes, as to be registered with
+	 * the application context at runtime
+	 * @return the snapshot
+	 * @throws IllegalStateException if a resolved bean definition cannot be
+	 * represented in a snapshot
+	 */
+	public BeanDefinitionSnapshot generate(Class<?>... componentClasses) {
+		Assert.notEmpty(componentClasses, "At least one component class must be specified");
+		BeanDefinitionSnapshotRecorder recorder = new BeanDefinitionSnapshotRecorder(
+				this.runtimeConditionTypes, this.classLoader);
+		CapturingBeanFactory beanFactory = new CapturingBeanFactory(recorder);
+		beanFactory.setBeanClassLoader(this.classLoader);
+		recorder.bindToThread();
+		try {
+			AnnotatedBeanDefinitionReader reader = new AnnotatedBeanDefinitionReader(beanFactory, this.environment);
+			reader.register(componentClasses);
+			List<String> rootBeanNames = Arrays.asList(beanFactory.getBeanDefinitionNames());
+
+			ConfigurationClassPostProcessor postProcessor = new ConfigurationClassPostProcessor();
+			postProcessor.setEnvironment(this.environment);
+			postProcessor.setResourceLoader(new DefaultResourceLoader(this.classLoader));
+			if (this.classLoader != null) {
+				postProcessor.setBeanClassLoader(this.classLoader);
+			}
+			beanFactory.startCapture();
+			postProcessor.processConfigBeanDefinitions(beanFactory);
+			beanFactory.stopCapture();
+
+			List<String> rootClassNames = new ArrayList<>();
+			for (String beanName : rootBeanNames) {
+				BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
+				if (bd.getAttribute(ConfigurationClassUtils.CONFIGURATION_CLASS_ATTRIBUTE) != null) {
+					rootClassNames.add(bd.getBeanClassName());
+				}
+			}
+			List<BeanDefinitionSnapshot.Entry> entries = new ArrayList<>(beanFactory.capturedBeanDefinitions.size());
+			beanFactory.capturedBeanDefinitions.forEach((beanName, bd) -> entries.add(BeanDefinitionSnapshot.capture(
+					beanName, bd, recorder.getConditionChecks(beanName, bd), this.classLoader)));
+			Map<String, String> importingClasses = new LinkedHashMap<>();
+			ImportRegistry importRegistry = (ImportRegistry) beanFactory.getSingleton(
+					ConfigurationClassPostProcessor.IMPORT_REGISTRY_BEAN_NAME);
+			if (importRegistry != null) {
+				for (String className : recorder.getConfigurationClassNames()) {
+					AnnotationMetadata importingClass = importRegistry.getImportingClassFor(className);
+					if (importingClass != null) {
+						importingClasses.put(className, importingClass.getClassName());
+					}
+				}
+			}
+			return new BeanDefinitionSnapshot(rootClassNames, entries, beanFactory.capturedAliases, importingClasses);
+		}
+		finally {
+			recorder.unbindFromThread();
+		}
+	}
+
+	/**
+	 * Generate a snapshot of the bean definitions resolved from the given
+	 * component classes and write it to the given file.
+	 * @param outputFile the file to write the snapshot to
+	 * @param componentClasses the component classes
+	 * @throws IOException in case of I/O errors
+	 * @see #generate(Class[])
+	 */
+	public void generate(Path outputFile, Class<?>... componentClasses) throws IOException {
+		BeanDefinitionSnapshot snapshot = generate(componentClasses);
+		Path parent = outputFile.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		try (OutputStream out = Files.newOutputStream(outputFile)) {
+			snapshot.writeTo(out);
+		}
+	}
+
+
+	/**
+	 * Command-line entry point: {@code [--runtime-condition=<class>]* <output-file>
+	 * <component-class>+}, with runtime condition types in addition to the default
+	 * {@link ProfileCondition}.
+	 */
+	public static void main(String[] args) throws IOException {
+		BeanDefinitionSnapshotGenerator generator = new BeanDefinitionSnapshotGenerator();
+		List<String> arguments = new ArrayList<>(Arrays.asList(args));
+		for (Iterator<String> it = arguments.iterator(); it.hasNext();) {
+			String argument = it.next();
+			if (argument.startsWith(RUNTIME_CONDITION_OPTION)) {
+				generator.addRuntimeConditionType(ClassUtils.resolveClassName(
+						argument.substring(RUNTIME_CONDITION_OPTION.length()), generator.classLoader));
+				it.remove();
+			}
+		}
+		if (arguments.size() < 2) {
+			throw new IllegalArgumentException(
+					"Usage: BeanDefinitionSnapshotGenerator [--runtime-condition=<class>]* <output-file> <component-class>+");
+		}
+		Class<?>[] componentClasses = new Class<?>[arguments.size() - 1];
+		for (int i = 1; i < arguments.size(); i++) {
+			componentClasses[i - 1] = ClassUtils.resolveClassName(arguments.get(i), generator.classLoader);
+		}
+		generator.generate(Paths.get(arguments.get(0)), componentClasses);
+	}
+
+
+	/**
+	 * Bean factory which keeps track of the bean definitions and aliases
+	 * registered while capturing, in registration order. Like the bean factory
+	 * itself, it only retains the final definition for an overridden bean name.
+	 */
+	@SuppressWarnings("serial")
+	private static class CapturingBeanFactory extends DefaultListableBeanFactory {
+
+		private final BeanDefinitionSnapshotRecorder recorder;
+
+		final Map<String, BeanDefinition> capturedBeanDefinitions = new LinkedHashMap<>();
+
+		final Map<String, String> capturedAliases = new LinkedHashMap<>();
+
+		private boolean capturing;
+
+		CapturingBeanFactory(BeanDefinitionSnapshotRecorder recorder) {
+			this.recorder = recorder;
+		}
+
+		void startCapture() {
+			this.capturing = true;
+		}
+
+		void stopCapture() {
+			this.capturing = false;
+		}
+
+		@Override
+		public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition)
+				throws BeanDefinitionStoreException {
+
+			super.registerBeanDefinition(beanName, beanDefinition);
+			if (this.capturing) {
+				// An overriding definition keeps the position of the overridden one,
+				// which is not retained: replaying both would fail at runtime when
+				// bean definition overriding is not allowed.
+				this.capturedBeanDefinitions.put(beanName, beanDefinition);
+				this.recorder.recordBeanDefinition(beanName);
+			}
+		}
+
+		@Override
+		public void removeBeanDefinition(String beanName) {
+			super.removeBeanDefinition(beanName);
+			if (this.capturing) {
+				this.capturedBeanDefinitions.remove(beanName);
+			}
+		}
+
+		@Override
+		public void registerAlias(String name, String alias) {
+			super.registerAlias(name, alias);
+			if (this.capturing) {
+				this.capturedAliases.put(alias, name);
+			}
+		}
+	}
+
+}
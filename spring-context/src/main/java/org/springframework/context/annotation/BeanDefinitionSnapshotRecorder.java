@@ -0,0 +1,220 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.context.annotation.BeanDefinitionSnapshot.ConditionCheck;
+import org.springframework.context.annotation.BeanDefinitionSnapshot.MethodReference;
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Thread-bound recorder for the generation of a {@link BeanDefinitionSnapshot}:
+ * tracks the runtime-dependent conditions encountered while processing
+ * configuration classes (assuming them to match), as well as the configuration
+ * classes that each bean definition originates from, in order to determine the
+ * conditions to re-evaluate for each bean definition at runtime.
+ *
+ * @since 5.3.3
+ * @see BeanDefinitionSnapshotGenerator
+ */
+final class BeanDefinitionSnapshotRecorder {
+
+	private static final ThreadLocal<BeanDefinitionSnapshotRecorder> currentRecorder =
+			new NamedThreadLocal<>("Current bean definition snapshot recorder");
+
+
+	private final Collection<Class<?>> runtimeConditionTypes;
+
+	@Nullable
+	private final ClassLoader classLoader;
+
+	/** Class name to runtime condition class names. */
+	private final Map<String, Set<String>> runtimeConditions = new HashMap<>();
+
+	/** Method (distinguishing overloaded methods) to runtime condition class names. */
+	private final Map<MethodReference, Set<String>> runtimeMethodConditions = new HashMap<>();
+
+	/** Bean name to names of the classes that the bean definition originates from. */
+	private final Map<String, Set<String>> beanOrigins = new HashMap<>();
+
+	/** Class name to names of the classes that import or scan the class. */
+	private final Map<String, Set<String>> classOrigins = new HashMap<>();
+
+	private final Set<String> configurationClassNames = new LinkedHashSet<>();
+
+	@Nullable
+	private String currentConfigurationClassName;
+
+
+	BeanDefinitionSnapshotRecorder(Collection<Class<?>> runtimeConditionTypes, @Nullable ClassLoader classLoader) {
+		this.runtimeConditionTypes = runtimeConditionTypes;
+		this.classLoader = classLoader;
+	}
+
+
+	/**
+	 * Return the recorder bound to the current thread, if any.
+	 */
+	@Nullable
+	static BeanDefinitionSnapshotRecorder current() {
+		return currentRecorder.get();
+	}
+
+	void bindToThread() {
+		currentRecorder.set(this);
+	}
+
+	void unbindFromThread() {
+		currentRecorder.remove();
+	}
+
+
+	/**
+	 * Determine whether the given condition depends on the runtime environment,
+	 * i.e. has to be assumed to match and re-evaluated when loading the snapshot.
+	 */
+	boolean isRuntimeCondition(Condition condition) {
+		for (Class<?> runtimeConditionType : this.runtimeConditionTypes) {
+			if (runtimeConditionType.isInstance(condition)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	void recordRuntimeCondition(AnnotatedTypeMetadata metadata, Condition condition) {
+		Set<String> conditions;
+		if (metadata instanceof MethodMetadata) {
+			MethodReference method = MethodReference.of((MethodMetadata) metadata, this.classLoader);
+			conditions = this.runtimeMethodConditions.computeIfAbsent(method, k -> new LinkedHashSet<>());
+		}
+		else if (metadata instanceof ClassMetadata) {
+			String className = ((ClassMetadata) metadata).getClassName();
+			conditions = this.runtimeConditions.computeIfAbsent(className, k -> new LinkedHashSet<>());
+		}
+		else {
+			throw new IllegalStateException("Cannot record runtime condition [" + condition.getClass().getName() +
+					"] for unsupported metadata type: " + metadata.getClass().getName());
+		}
+		conditions.add(condition.getClass().getName());
+	}
+
+	void recordScannedBeanDefinitions(String scanningClassName, Collection<BeanDefinitionHolder> holders) {
+		for (BeanDefinitionHolder holder : holders) {
+			addOrigin(this.beanOrigins, holder.getBeanName(), scanningClassName);
+			String beanClassName = holder.getBeanDefinition().getBeanClassName();
+			if (beanClassName != null) {
+				addOrigin(this.classOrigins, beanClassName, scanningClassName);
+			}
+		}
+	}
+
+	void beginConfigurationClass(ConfigurationClass configClass) {
+		String className = configClass.getMetadata().getClassName();
+		this.configurationClassNames.add(className);
+		for (ConfigurationClass importedBy : configClass.getImportedBy()) {
+			addOrigin(this.classOrigins, className, importedBy.getMetadata().getClassName());
+		}
+		this.currentConfigurationClassName = className;
+	}
+
+	void endConfigurationClass() {
+		this.currentConfigurationClassName = null;
+	}
+
+	/**
+	 * Record the registration of the given bean definition, originating from
+	 * the configuration class currently being loaded (if any). Replaces the
+	 * origins of any bean definition that got overridden.
+	 */
+	void recordBeanDefinition(String beanName) {
+		this.beanOrigins.remove(beanName);
+		if (this.currentConfigurationClassName != null) {
+			addOrigin(this.beanOrigins, beanName, this.currentConfigurationClassName);
+		}
+	}
+
+	Set<String> getConfigurationClassNames() {
+		return this.configurationClassNames;
+	}
+
+	/**
+	 * Determine the runtime conditions to re-evaluate for the given bean definition:
+	 * conditions on its own class or factory method as well as conditions on all
+	 * configuration classes that it originates from, transitively.
+	 */
+	List<ConditionCheck> getConditionChecks(String beanName, BeanDefinition beanDefinition) {
+		if (this.runtimeConditions.isEmpty() && this.runtimeMethodConditions.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<ConditionCheck> checks = new ArrayList<>();
+		if (beanDefinition instanceof AnnotatedBeanDefinition && !this.runtimeMethodConditions.isEmpty()) {
+			MethodMetadata factoryMethodMetadata = ((AnnotatedBeanDefinition) beanDefinition).getFactoryMethodMetadata();
+			if (factoryMethodMetadata != null) {
+				MethodReference method = MethodReference.of(factoryMethodMetadata, this.classLoader);
+				Set<String> conditions = this.runtimeMethodConditions.get(method);
+				if (conditions != null) {
+					checks.add(new ConditionCheck(method.className, method, StringUtils.toStringArray(conditions)));
+				}
+			}
+		}
+		Set<String> classNames = new LinkedHashSet<>();
+		Deque<String> toVisit = new ArrayDeque<>(this.beanOrigins.getOrDefault(beanName, Collections.emptySet()));
+		if (beanDefinition.getBeanClassName() != null) {
+			toVisit.addFirst(beanDefinition.getBeanClassName());
+		}
+		while (!toVisit.isEmpty()) {
+			String className = toVisit.removeFirst();
+			if (classNames.add(className)) {
+				toVisit.addAll(this.classOrigins.getOrDefault(className, Collections.emptySet()));
+			}
+		}
+		for (String className : classNames) {
+			Set<String> conditions = this.runtimeConditions.get(className);
+			if (conditions != null) {
+				checks.add(new ConditionCheck(className, null, StringUtils.toStringArray(conditions)));
+			}
+		}
+		return checks;
+	}
+
+
+	private static void addOrigin(Map<String, Set<String>> origins, String name, String originClassName) {
+		if (!name.equals(originClassName)) {
+			origins.computeIfAbsent(name, k -> new LinkedHashSet<>()).add(originClassName);
+		}
+	}
+
+}
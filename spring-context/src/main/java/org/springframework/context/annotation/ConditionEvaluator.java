@@ -35,6 +35,7 @@ import org.springframework.util.ClassUtils;
 import org.springframework.util.MultiValueMap;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -102,13 +103,22 @@ class ConditionEvaluator {
 
 		AnnotationAwareOrderComparator.sort(conditions);
 
+		BeanDefinitionSnapshotRecorder snapshotRecorder = BeanDefinitionSnapshotRecorder.current();
 		for (Condition condition : conditions) {
 			ConfigurationPhase requiredPhase = null;
 			if (condition instanceof ConfigurationCondition) {
 				requiredPhase = ((ConfigurationCondition) condition).getConfigurationPhase();
 			}
+			if (requiredPhase != null && requiredPhase != phase) {
+				continue;
+			}
+			if (snapshotRecorder != null && snapshotRecorder.isRuntimeCondition(condition)) {
+				// Generating a snapshot: assume a match, to be re-evaluated at runtime
+				snapshotRecorder.recordRuntimeCondition(metadata, condition);
+				continue;
+			}
 			// ⭐️ 调用 Condition 的 matches 方法
-			if ((requiredPhase == null || requiredPhase == phase) && !condition.matches(this.context, metadata)) {
+			if (!condition.matches(this.context, metadata)) {
 				return true;
 			}
 		}
@@ -116,6 +126,39 @@ class ConditionEvaluator {
 		return false;
 	}
 
+	/**
+	 * Determine if an item should be skipped based on the given conditions only,
+	 * regardless of their {@link ConfigurationPhase}. Used for re-evaluating the
+	 * runtime-dependent conditions recorded in a {@link BeanDefinitionSnapshot}.
+	 * @param metadata the meta data
+	 * @param conditionClassNames the names of the condition classes to evaluate
+	 * @return if the item should be skipped
+	 * @since 5.3.3
+	 */
+	boolean shouldSkipForConditions(AnnotatedTypeMetadata metadata, Collection<String> conditionClassNames) {
+		List<Condition> conditions = new ArrayList<>(conditionClassNames.size());
+		for (String conditionClass : conditionClassNames) {
+			conditions.add(getCondition(conditionClass, this.context.getClassLoader()));
+		}
+		AnnotationAwareOrderComparator.sort(conditions);
+		for (Condition condition : conditions) {
+			if (!condition.matches(this.context, metadata)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return the ClassLoader to load condition classes and conditional
+	 * components with.
+	 * @since 5.3.3
+	 */
+	@Nullable
+	ClassLoader getClassLoader() {
+		return this.context.getClassLoader();
+	}
+
 	@SuppressWarnings("unchecked")
 	private List<String[]> getConditionClasses(AnnotatedTypeMetadata metadata) {
 		MultiValueMap<String, Object> attributes = metadata.getAllAnnotationAttributes(Conditional.class.getName(), true);
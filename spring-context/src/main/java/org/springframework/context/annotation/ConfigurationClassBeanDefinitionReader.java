@@ -38,6 +38,7 @@ import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.MethodMetadata;
 import org.springframework.core.type.StandardAnnotationMetadata;
 import org.springframework.core.type.StandardMethodMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.lang.NonNull;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -113,9 +114,20 @@ class ConfigurationClassBeanDefinitionReader {
 	 */
 	public void loadBeanDefinitions(Set<ConfigurationClass> configurationModel) {
 		TrackedConditionEvaluator trackedConditionEvaluator = new TrackedConditionEvaluator();
+		BeanDefinitionSnapshotRecorder snapshotRecorder = BeanDefinitionSnapshotRecorder.current();
 		for (ConfigurationClass configClass : configurationModel) {
-			// 将配置类都解析成 BeanDefinition
-			loadBeanDefinitionsForConfigurationClass(configClass, trackedConditionEvaluator);
+			if (snapshotRecorder != null) {
+				snapshotRecorder.beginConfigurationClass(configClass);
+			}
+			try {
+				// 将配置类都解析成 BeanDefinition
+				loadBeanDefinitionsForConfigurationClass(configClass, trackedConditionEvaluator);
+			}
+			finally {
+				if (snapshotRecorder != null) {
+					snapshotRecorder.endConfigurationClass();
+				}
+			}
 		}
 	}
 
@@ -421,7 +433,7 @@ class ConfigurationClassBeanDefinitionReader {
 	 * definition was created externally.
 	 */
 	@SuppressWarnings("serial")
-	private static class ConfigurationClassBeanDefinition extends RootBeanDefinition implements AnnotatedBeanDefinition {
+	static class ConfigurationClassBeanDefinition extends RootBeanDefinition implements AnnotatedBeanDefinition {
 
 		private final AnnotationMetadata annotationMetadata;
 
@@ -439,6 +451,16 @@ class ConfigurationClassBeanDefinitionReader {
 			setLenientConstructorResolution(false);
 		}
 
+		ConfigurationClassBeanDefinition(
+				MetadataReader configClassReader, MethodMetadata beanMethodMetadata, String derivedBeanName) {
+
+			this.annotationMetadata = configClassReader.getAnnotationMetadata();
+			this.factoryMethodMetadata = beanMethodMetadata;
+			this.derivedBeanName = derivedBeanName;
+			setResource(configClassReader.getResource());
+			setLenientConstructorResolution(false);
+		}
+
 		public ConfigurationClassBeanDefinition(RootBeanDefinition original,
 				ConfigurationClass configClass, MethodMetadata beanMethodMetadata, String derivedBeanName) {
 			super(original);
@@ -465,6 +487,10 @@ class ConfigurationClassBeanDefinitionReader {
 			return this.factoryMethodMetadata;
 		}
 
+		String getDerivedBeanName() {
+			return this.derivedBeanName;
+		}
+
 		@Override
 		public boolean isFactoryMethod(Method candidate) {
 			return (super.isFactoryMethod(candidate) && BeanAnnotationHelper.isBeanAnnotated(candidate) &&
@@ -297,6 +297,11 @@ class ConfigurationClassParser {
 				// ⭐️ 开始真正的扫描，调用 scanner.doScan 方法，最终得到所有的 BeanDefinitionHolder
 				Set<BeanDefinitionHolder> scannedBeanDefinitions =
 						this.componentScanParser.parse(componentScan, sourceClass.getMetadata().getClassName());
+				BeanDefinitionSnapshotRecorder snapshotRecorder = BeanDefinitionSnapshotRecorder.current();
+				if (snapshotRecorder != null) {
+					snapshotRecorder.recordScannedBeanDefinitions(
+							sourceClass.getMetadata().getClassName(), scannedBeanDefinitions);
+				}
 
 				// Check the set of scanned definitions for any further config classes and parse recursively if needed
 				// ♻️ 遍历扫描之后得到的所有 BeanDefinitionHolder
@@ -88,7 +88,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	public static final AnnotationBeanNameGenerator IMPORT_BEAN_NAME_GENERATOR =
 			FullyQualifiedAnnotationBeanNameGenerator.INSTANCE;
 
-	private static final String IMPORT_REGISTRY_BEAN_NAME =
+	static final String IMPORT_REGISTRY_BEAN_NAME =
 			ConfigurationClassPostProcessor.class.getName() + ".importRegistry";
 
 	/**
@@ -134,6 +134,9 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 
 	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
 
+	@Nullable
+	private BeanDefinitionSnapshot beanDefinitionSnapshot;
+
 
 	@Override
 	public int getOrder() {
@@ -192,6 +195,20 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		this.importBeanNameGenerator = beanNameGenerator;
 	}
 
+	/**
+	 * Set a {@link BeanDefinitionSnapshot} generated at build time, to be registered
+	 * instead of parsing configuration classes if applicable to the configuration
+	 * candidates found in the registry.
+	 * <p>A snapshot specified against the application context will take precedence
+	 * over any set here.
+	 * @since 5.3.3
+	 * @see AnnotationConfigApplicationContext#setBeanDefinitionSnapshot
+	 * @see AnnotationConfigUtils#CONFIGURATION_BEAN_DEFINITION_SNAPSHOT
+	 */
+	public void setBeanDefinitionSnapshot(@Nullable BeanDefinitionSnapshot beanDefinitionSnapshot) {
+		this.beanDefinitionSnapshot = beanDefinitionSnapshot;
+	}
+
 	@Override
 	public void setEnvironment(Environment environment) {
 		Assert.notNull(environment, "Environment must not be null");
@@ -330,6 +347,10 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 			this.environment = new StandardEnvironment();
 		}
 
+		if (registerBeanDefinitionSnapshot(registry, configCandidates, sbr)) {
+			return;
+		}
+
 		// Parse each @Configuration class
 		// ⭐️ 创建一个配置类解析对象
 		ConfigurationClassParser parser = new ConfigurationClassParser(
@@ -415,6 +436,48 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		}
 	}
 
+	/**
+	 * Register the bean definitions from an applicable {@link BeanDefinitionSnapshot},
+	 * if any, instead of parsing the given configuration candidates.
+	 * @return {@code true} if a snapshot has been applied
+	 */
+	private boolean registerBeanDefinitionSnapshot(BeanDefinitionRegistry registry,
+			List<BeanDefinitionHolder> configCandidates, @Nullable SingletonBeanRegistry sbr) {
+
+		BeanDefinitionSnapshot snapshot = null;
+		if (sbr != null) {
+			snapshot = (BeanDefinitionSnapshot) sbr.getSingleton(AnnotationConfigUtils.CONFIGURATION_BEAN_DEFINITION_SNAPSHOT);
+		}
+		if (snapshot == null) {
+			snapshot = this.beanDefinitionSnapshot;
+		}
+		if (snapshot == null) {
+			return false;
+		}
+		List<String> candidateClassNames = new ArrayList<>(configCandidates.size());
+		for (BeanDefinitionHolder holder : configCandidates) {
+			candidateClassNames.add(holder.getBeanDefinition().getBeanClassName());
+		}
+		if (!snapshot.isApplicableTo(candidateClassNames)) {
+			if (logger.isInfoEnabled()) {
+				logger.info("Bean definition snapshot for " + snapshot.getRootClassNames() +
+						" not applicable to configuration candidates " + candidateClassNames +
+						" - parsing configuration classes instead");
+			}
+			return false;
+		}
+		StartupStep registerSnapshot = this.applicationStartup.start("spring.context.config-classes.snapshot");
+		int count = snapshot.registerBeanDefinitions(registry, this.environment, this.resourceLoader);
+		registerSnapshot.tag("beanDefinitionCount", () -> String.valueOf(count)).end();
+		if (sbr != null && !sbr.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)) {
+			sbr.registerSingleton(IMPORT_REGISTRY_BEAN_NAME, snapshot.getImportRegistry(this.beanClassLoader));
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Registered " + count + " bean definitions from snapshot for " + snapshot.getRootClassNames());
+		}
+		return true;
+	}
+
 	/**
 	 * Post-processes a BeanFactory in search of Configuration class BeanDefinitions;
 	 * any candidates are then enhanced by a {@link ConfigurationClassEnhancer}.
@@ -25,6 +25,7 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.lang.Nullable;
@@ -32,6 +33,8 @@ import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -49,6 +52,12 @@ import java.util.concurrent.ConcurrentHashMap;
  * all events to all registered listeners, invoking them in the calling thread.
  * Alternative implementations could be more sophisticated in those respects.
  *
+ * <p>Matching listeners are cached per event type and source type. Entries for
+ * plain event classes and for payload events with a plain payload class are
+ * indexed by raw class, avoiding {@link ResolvableType} comparisons on the
+ * publishing path. Registering or removing a listener instance updates the
+ * cached entries in place rather than discarding them.
+ *
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @since 1.2.3
@@ -60,7 +69,7 @@ public abstract class AbstractApplicationEventMulticaster
 
 	private final DefaultListenerRetriever defaultRetriever = new DefaultListenerRetriever();
 
-	final Map<ListenerCacheKey, CachedListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
+	final Map<Object, CachedListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
 
 	@Nullable
 	private ClassLoader beanClassLoader;
@@ -103,8 +112,19 @@ public abstract class AbstractApplicationEventMulticaster
 			if (singletonTarget instanceof ApplicationListener) {
 				this.defaultRetriever.applicationListeners.remove(singletonTarget);
 			}
+			else {
+				singletonTarget = null;
+			}
 			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
+			if (listener instanceof GenericApplicationListener || listener instanceof SmartApplicationListener ||
+					this.defaultRetriever.applicationListenerBeans.isEmpty()) {
+				updateCachedRetrievers(listener, singletonTarget);
+			}
+			else {
+				// Bean definition metadata may narrow the events that a plain
+				// listener bean receives: re-resolve on next multicast
+				this.retrieverCache.clear();
+			}
 		}
 	}
 
@@ -120,7 +140,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+			updateCachedRetrievers(null, listener);
 		}
 	}
 
@@ -142,6 +162,30 @@ public abstract class AbstractApplicationEventMulticaster
 	}
 
 
+	/**
+	 * Update all cached retrievers for a listener registration change,
+	 * dropping the ones that are still being populated.
+	 * <p>To be called while holding the {@code defaultRetriever} lock.
+	 * @param addedListener the listener to add where it supports the event type
+	 * @param removedListener the listener to remove, if any
+	 */
+	private void updateCachedRetrievers(
+			@Nullable ApplicationListener<?> addedListener, @Nullable Object removedListener) {
+
+		for (Iterator<CachedListenerRetriever> it = this.retrieverCache.values().iterator(); it.hasNext();) {
+			CachedListenerRetriever retriever = it.next();
+			if (!retriever.isPopulated()) {
+				it.remove();
+				continue;
+			}
+			boolean add = (addedListener != null &&
+					supportsEvent(addedListener, retriever.eventType, retriever.sourceType));
+			if (add || (removedListener != null && retriever.contains(removedListener))) {
+				retriever.update(add ? addedListener : null, removedListener);
+			}
+		}
+	}
+
 	/**
 	 * Return a Collection containing all ApplicationListeners.
 	 * @return a Collection of ApplicationListeners
@@ -159,7 +203,7 @@ public abstract class AbstractApplicationEventMulticaster
 	 * @param event the event to be propagated. Allows for excluding
 	 * non-matching listeners early, based on cached matching information.
 	 * @param eventType the event type
-	 * @return a Collection of ApplicationListeners
+	 * @return a Collection of ApplicationListeners, not to be modified
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners(
@@ -167,7 +211,7 @@ public abstract class AbstractApplicationEventMulticaster
 
 		Object source = event.getSource();
 		Class<?> sourceType = (source != null ? source.getClass() : null);
-		ListenerCacheKey cacheKey = new ListenerCacheKey(eventType, sourceType);
+		Object cacheKey = createCacheKey(event, eventType, sourceType);
 
 		// Potential new retriever to populate
 		CachedListenerRetriever newRetriever = null;
@@ -178,8 +222,9 @@ public abstract class AbstractApplicationEventMulticaster
 			// Caching a new ListenerRetriever if possible
 			if (this.beanClassLoader == null ||
 					(ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
-							(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)))) {
-				newRetriever = new CachedListenerRetriever();
+							(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)) &&
+							(!(cacheKey instanceof EventClassKey) || ((EventClassKey) cacheKey).isCacheSafe(this.beanClassLoader)))) {
+				newRetriever = new CachedListenerRetriever(eventType, sourceType);
 				existingRetriever = this.retrieverCache.putIfAbsent(cacheKey, newRetriever);
 				if (existingRetriever != null) {
 					newRetriever = null;  // no need to populate it in retrieveApplicationListeners
@@ -199,6 +244,28 @@ public abstract class AbstractApplicationEventMulticaster
 		return retrieveApplicationListeners(eventType, sourceType, newRetriever);
 	}
 
+	/**
+	 * Create the cache key for the given event: an {@link EventClassKey} if the
+	 * event type is fully described by the raw event class (or the raw payload
+	 * class of a {@link PayloadApplicationEvent}), a {@link ListenerCacheKey} otherwise.
+	 */
+	private static Object createCacheKey(ApplicationEvent event, ResolvableType eventType, @Nullable Class<?> sourceType) {
+		Class<?> eventClass = event.getClass();
+		Type type = eventType.getType();
+		if (type == eventClass) {
+			return new EventClassKey(eventClass, null, sourceType);
+		}
+		if (event instanceof PayloadApplicationEvent && type instanceof ParameterizedType &&
+				((ParameterizedType) type).getRawType() == eventClass) {
+			Object payload = ((PayloadApplicationEvent<?>) event).getPayload();
+			Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+			if (typeArguments.length == 1 && typeArguments[0] == payload.getClass()) {
+				return new EventClassKey(eventClass, payload.getClass(), sourceType);
+			}
+		}
+		return new ListenerCacheKey(eventType, sourceType);
+	}
+
 	/**
 	 * Actually retrieve the application listeners for the given event and source type.
 	 * @param eventType the event type
@@ -276,12 +343,10 @@ public abstract class AbstractApplicationEventMulticaster
 		AnnotationAwareOrderComparator.sort(allListeners);
 		if (retriever != null) {
 			if (filteredListenerBeans.isEmpty()) {
-				retriever.applicationListeners = new LinkedHashSet<>(allListeners);
-				retriever.applicationListenerBeans = filteredListenerBeans;
+				retriever.populate(new LinkedHashSet<>(allListeners), filteredListenerBeans);
 			}
 			else {
-				retriever.applicationListeners = filteredListeners;
-				retriever.applicationListenerBeans = filteredListenerBeans;
+				retriever.populate(filteredListeners, filteredListenerBeans);
 			}
 		}
 		return allListeners;
@@ -416,21 +481,133 @@ public abstract class AbstractApplicationEventMulticaster
 	}
 
 
+	/**
+	 * Cache key for ListenerRetrievers, based on the raw event class, the raw
+	 * payload class for a {@link PayloadApplicationEvent}, and the source type.
+	 * Cheaper to hash and compare than a {@link ListenerCacheKey}.
+	 */
+	private static final class EventClassKey {
+
+		private final Class<?> eventClass;
+
+		@Nullable
+		private final Class<?> payloadClass;
+
+		@Nullable
+		private final Class<?> sourceType;
+
+		private final int hashCode;
+
+		EventClassKey(Class<?> eventClass, @Nullable Class<?> payloadClass, @Nullable Class<?> sourceType) {
+			this.eventClass = eventClass;
+			this.payloadClass = payloadClass;
+			this.sourceType = sourceType;
+			this.hashCode = (eventClass.hashCode() * 29 + ObjectUtils.nullSafeHashCode(payloadClass)) * 29 +
+					ObjectUtils.nullSafeHashCode(sourceType);
+		}
+
+		boolean isCacheSafe(ClassLoader classLoader) {
+			return (this.payloadClass == null || ClassUtils.isCacheSafe(this.payloadClass, classLoader));
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof EventClassKey)) {
+				return false;
+			}
+			EventClassKey otherKey = (EventClassKey) other;
+			return (this.eventClass == otherKey.eventClass && this.payloadClass == otherKey.payloadClass &&
+					this.sourceType == otherKey.sourceType);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public String toString() {
+			return "EventClassKey [eventClass = " + this.eventClass.getName() +
+					(this.payloadClass != null ? ", payloadClass = " + this.payloadClass.getName() : "") +
+					", sourceType = " + this.sourceType + "]";
+		}
+	}
+
+
 	/**
 	 * Helper class that encapsulates a specific set of target listeners,
 	 * allowing for efficient retrieval of pre-filtered listeners.
 	 * <p>An instance of this helper gets cached per event type and source type.
+	 * Without prototype listener beans, the sorted listeners are precomputed
+	 * and shared between all multicasts.
 	 */
 	private class CachedListenerRetriever {
 
+		final ResolvableType eventType;
+
+		@Nullable
+		final Class<?> sourceType;
+
 		@Nullable
 		public volatile Set<ApplicationListener<?>> applicationListeners;
 
 		@Nullable
 		public volatile Set<String> applicationListenerBeans;
 
+		@Nullable
+		private volatile List<ApplicationListener<?>> sortedListeners;
+
+		CachedListenerRetriever(ResolvableType eventType, @Nullable Class<?> sourceType) {
+			this.eventType = eventType;
+			this.sourceType = sourceType;
+		}
+
+		void populate(Set<ApplicationListener<?>> applicationListeners, Set<String> applicationListenerBeans) {
+			this.sortedListeners = (applicationListenerBeans.isEmpty() ?
+					Collections.unmodifiableList(new ArrayList<>(applicationListeners)) : null);
+			this.applicationListeners = applicationListeners;
+			this.applicationListenerBeans = applicationListenerBeans;
+		}
+
+		boolean isPopulated() {
+			return (this.applicationListeners != null && this.applicationListenerBeans != null);
+		}
+
+		boolean contains(Object listener) {
+			Set<ApplicationListener<?>> applicationListeners = this.applicationListeners;
+			return (applicationListeners != null && applicationListeners.contains(listener));
+		}
+
+		/**
+		 * Replace the listeners of this populated retriever with a copy that
+		 * reflects the given registration change.
+		 */
+		void update(@Nullable ApplicationListener<?> addedListener, @Nullable Object removedListener) {
+			Set<ApplicationListener<?>> applicationListeners = this.applicationListeners;
+			Set<String> applicationListenerBeans = this.applicationListenerBeans;
+			Assert.state(applicationListeners != null && applicationListenerBeans != null, "Not populated");
+			List<ApplicationListener<?>> listeners = new ArrayList<>(applicationListeners.size() + 1);
+			for (ApplicationListener<?> listener : applicationListeners) {
+				if (!listener.equals(removedListener) && !listener.equals(addedListener)) {
+					listeners.add(listener);
+				}
+			}
+			if (addedListener != null) {
+				listeners.add(addedListener);
+				AnnotationAwareOrderComparator.sort(listeners);
+			}
+			populate(new LinkedHashSet<>(listeners), applicationListenerBeans);
+		}
+
 		@Nullable
 		public Collection<ApplicationListener<?>> getApplicationListeners() {
+			List<ApplicationListener<?>> sortedListeners = this.sortedListeners;
+			if (sortedListeners != null) {
+				return sortedListeners;
+			}
 			Set<ApplicationListener<?>> applicationListeners = this.applicationListeners;
 			Set<String> applicationListenerBeans = this.applicationListenerBeans;
 			if (applicationListeners == null || applicationListenerBeans == null) {
@@ -80,6 +80,19 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	private final int order;
 
+	private final ListenerDispatchMode dispatchMode;
+
+	@Nullable
+	private final String executorName;
+
+	private final boolean ordered;
+
+	private final int queueCapacity;
+
+	private final int batchSize;
+
+	private final long batchTimeout;
+
 	@Nullable
 	private ApplicationContext applicationContext;
 
@@ -101,9 +114,18 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
 
 		EventListener ann = AnnotatedElementUtils.findMergedAnnotation(this.targetMethod, EventListener.class);
+		this.dispatchMode = (ann != null ? ann.dispatch() : ListenerDispatchMode.DEFAULT);
 		this.declaredEventTypes = resolveDeclaredEventTypes(method, ann);
 		this.condition = (ann != null ? ann.condition() : null);
 		this.order = resolveOrder(this.targetMethod);
+		this.executorName = (ann != null && StringUtils.hasText(ann.executor()) ? ann.executor() : null);
+		this.ordered = (ann != null && ann.ordered());
+		this.queueCapacity = (ann != null ? ann.queueCapacity() : 0);
+		this.batchSize = (ann != null ? ann.batchSize() : 1);
+		this.batchTimeout = (ann != null ? ann.batchTimeout() : 0);
+		if (this.queueCapacity < 0 || this.batchSize <= 0 || this.batchTimeout < 0) {
+			throw new IllegalStateException("Invalid dispatch settings for event listener method: " + method);
+		}
 	}
 
 	private static List<ResolvableType> resolveDeclaredEventTypes(Method method, @Nullable EventListener ann) {
@@ -113,6 +135,18 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 					"Maximum one parameter is allowed for event listener method: " + method);
 		}
 
+		if (ann != null && ann.dispatch() == ListenerDispatchMode.BATCH) {
+			if (count == 0 || method.getParameterTypes()[0] != List.class) {
+				throw new IllegalStateException(
+						"Batch event listener method must declare a single List parameter: " + method);
+			}
+			if (ann.classes().length == 0) {
+				ResolvableType elementType = ResolvableType.forMethodParameter(method, 0).asCollection().getGeneric();
+				return Collections.singletonList(elementType.resolve() != null ? elementType :
+						ResolvableType.forClass(Object.class));
+			}
+		}
+
 		if (ann != null) {
 			Class<?>[] classes = ann.classes();
 			if (classes.length > 0) {
@@ -177,12 +211,72 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		return this.order;
 	}
 
+	/**
+	 * Return the execution policy requested for this listener.
+	 * @since 5.3.3
+	 * @see EventListener#dispatch()
+	 */
+	public ListenerDispatchMode getDispatchMode() {
+		return this.dispatchMode;
+	}
+
+	/**
+	 * Return the name of the executor bean to dispatch events on, if any.
+	 * @since 5.3.3
+	 * @see EventListener#executor()
+	 */
+	@Nullable
+	public String getExecutorName() {
+		return this.executorName;
+	}
+
+	/**
+	 * Return whether asynchronously dispatched events have to be processed
+	 * in publication order.
+	 * @since 5.3.3
+	 * @see EventListener#ordered()
+	 */
+	public boolean isOrdered() {
+		return this.ordered;
+	}
+
+	/**
+	 * Return the maximum number of pending events, or {@code 0} if unbounded.
+	 * @since 5.3.3
+	 * @see EventListener#queueCapacity()
+	 */
+	public int getQueueCapacity() {
+		return this.queueCapacity;
+	}
+
+	/**
+	 * Return the maximum number of events to deliver at once to a batch listener.
+	 * @since 5.3.3
+	 * @see EventListener#batchSize()
+	 */
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Return the maximum time in milliseconds to wait for a batch to fill up.
+	 * @since 5.3.3
+	 * @see EventListener#batchTimeout()
+	 */
+	public long getBatchTimeout() {
+		return this.batchTimeout;
+	}
+
 
 	/**
 	 * Process the specified {@link ApplicationEvent}, checking if the condition
 	 * matches and handling a non-null result, if any.
 	 */
 	public void processEvent(ApplicationEvent event) {
+		if (this.dispatchMode == ListenerDispatchMode.BATCH) {
+			processEvents(Collections.singletonList(event));
+			return;
+		}
 		Object[] args = resolveArguments(event);
 		if (shouldHandle(event, args)) {
 			// ⭐️ 采用反射的方式进行调用
@@ -196,11 +290,38 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		}
 	}
 
+	/**
+	 * Process the specified batch of {@link ApplicationEvent ApplicationEvents},
+	 * invoking a {@linkplain ListenerDispatchMode#BATCH batch listener} method
+	 * once with all the events that match its condition.
+	 * @since 5.3.3
+	 */
+	public void processEvents(List<ApplicationEvent> events) {
+		List<Object> batch = new ArrayList<>(events.size());
+		for (ApplicationEvent event : events) {
+			Object[] args = resolveArguments(event);
+			if (shouldHandle(event, args)) {
+				batch.add(args[0]);
+			}
+		}
+		if (!batch.isEmpty()) {
+			Object result = doInvoke(batch);
+			if (result != null) {
+				handleResult(result);
+			}
+			else {
+				logger.trace("No result object given - no result to handle");
+			}
+		}
+	}
+
 	/**
 	 * Resolve the method arguments to use for the specified {@link ApplicationEvent}.
 	 * <p>These arguments will be used to invoke the method handled by this instance.
 	 * Can return {@code null} to indicate that no suitable arguments could be resolved
 	 * and therefore the method should not be invoked at all for the specified event.
+	 * <p>For a {@linkplain ListenerDispatchMode#BATCH batch listener}, the single
+	 * argument is the batch element to collect for the specified event.
 	 */
 	@Nullable
 	protected Object[] resolveArguments(ApplicationEvent event) {
@@ -79,6 +79,16 @@ import org.springframework.core.annotation.AliasFor;
  * {@link org.springframework.core.annotation.Order @Order} annotation
  * alongside this event listener annotation.
  *
+ * <h3>Dispatch Policies</h3>
+ * <p>The {@link #dispatch} attribute isolates an individual listener from the
+ * publisher: a listener may be invoked {@linkplain ListenerDispatchMode#ASYNC
+ * asynchronously} on a named executor, behind a {@linkplain ListenerDispatchMode#QUEUED
+ * bounded queue} that exerts backpressure on the publisher, or in
+ * {@linkplain ListenerDispatchMode#BATCH micro-batches} delivered as a
+ * {@link java.util.List} of events. Such policies are applied by the
+ * {@link SimpleApplicationEventMulticaster}, independent of its own
+ * task executor.
+ *
  * @author Stephane Nicoll
  * @author Sam Brannen
  * @since 4.2
@@ -128,4 +138,58 @@ public @interface EventListener {
 	 */
 	String condition() default "";
 
+	/**
+	 * The execution policy to apply to this listener.
+	 * <p>The default is {@link ListenerDispatchMode#DEFAULT}, following the
+	 * policy of the multicaster.
+	 * @since 5.3.3
+	 */
+	ListenerDispatchMode dispatch() default ListenerDispatchMode.DEFAULT;
+
+	/**
+	 * The name of the {@link java.util.concurrent.Executor} bean to invoke
+	 * this listener on, if it is not dispatched synchronously.
+	 * <p>By default, the task executor of the multicaster is used if set,
+	 * otherwise a new thread is created for each asynchronous hand-off.
+	 * @since 5.3.3
+	 */
+	String executor() default "";
+
+	/**
+	 * Whether events handed off {@linkplain ListenerDispatchMode#ASYNC
+	 * asynchronously} have to be processed one at a time in publication order.
+	 * <p>Queued and batched listeners always preserve publication order.
+	 * @since 5.3.3
+	 */
+	boolean ordered() default false;
+
+	/**
+	 * The maximum number of pending events for a {@linkplain ListenerDispatchMode#QUEUED
+	 * queued} or {@linkplain ListenerDispatchMode#BATCH batched} listener, beyond
+	 * which the publisher blocks until the listener has caught up.
+	 * <p>Events published by the listener itself that route back to it are not
+	 * blocked, since the listener could never catch up: they are rejected with an
+	 * {@link IllegalStateException} if the queue is full.
+	 * <p>The default is {@code 0}, meaning an unbounded queue.
+	 * @since 5.3.3
+	 */
+	int queueCapacity() default 0;
+
+	/**
+	 * The maximum number of events to deliver at once to a
+	 * {@linkplain ListenerDispatchMode#BATCH batched} listener.
+	 * <p>The default is {@code 100}.
+	 * @since 5.3.3
+	 */
+	int batchSize() default 100;
+
+	/**
+	 * The maximum time in milliseconds that a {@linkplain ListenerDispatchMode#BATCH
+	 * batched} listener waits for a batch to fill up before delivering the
+	 * events received so far.
+	 * <p>The default is {@code 0}, delivering whatever is pending immediately.
+	 * @since 5.3.3
+	 */
+	long batchTimeout() default 0;
+
 }
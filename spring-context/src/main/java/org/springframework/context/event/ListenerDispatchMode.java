@@ -0,0 +1,63 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+/**
+ * Enumerates the execution policies that an {@link EventListener} method
+ * may request from the {@link SimpleApplicationEventMulticaster}.
+ *
+ * @since 5.3.3
+ * @see EventListener#dispatch()
+ * @see ApplicationListenerMethodAdapter#getDispatchMode()
+ */
+public enum ListenerDispatchMode {
+
+	/**
+	 * Follow the multicaster-wide policy: synchronous unless a
+	 * {@linkplain SimpleApplicationEventMulticaster#setTaskExecutor task executor}
+	 * has been configured.
+	 */
+	DEFAULT,
+
+	/**
+	 * Always invoke the listener in the publishing thread, even if the
+	 * multicaster has been configured with a task executor.
+	 */
+	SYNC,
+
+	/**
+	 * Invoke the listener on an executor, handing off each event as a
+	 * separate task. Events are delivered in publication order only if
+	 * {@link EventListener#ordered()} is set.
+	 */
+	ASYNC,
+
+	/**
+	 * Append each event to a bounded per-listener queue that is drained
+	 * in publication order on an executor. A publisher blocks once the
+	 * queue has reached its {@linkplain EventListener#queueCapacity() capacity}.
+	 */
+	QUEUED,
+
+	/**
+	 * Like {@link #QUEUED}, but deliver the events in micro-batches of up
+	 * to {@linkplain EventListener#batchSize() batch size} elements to a
+	 * listener method declaring a {@link java.util.List} parameter.
+	 */
+	BATCH
+
+}
@@ -22,10 +22,20 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ErrorHandler;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Simple implementation of the {@link ApplicationEventMulticaster} interface.
@@ -40,6 +50,13 @@ import java.util.concurrent.Executor;
  * but adds minimal overhead. Specify an alternative task executor to have
  * listeners executed in different threads, for example from a thread pool.
  *
+ * <p>Individual {@link EventListener @EventListener} methods may request their
+ * own {@linkplain ListenerDispatchMode dispatch policy}, which takes precedence
+ * over the multicaster-wide task executor: synchronous, asynchronous on a named
+ * executor, behind a bounded queue, or in micro-batches. Queued and batched
+ * listeners are served by a single drain task at a time, preserving the order
+ * in which the events have been published.
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @author Stephane Nicoll
@@ -54,6 +71,14 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 	@Nullable
 	private ErrorHandler errorHandler;
 
+	@Nullable
+	private BeanFactory beanFactory;
+
+	@Nullable
+	private volatile Executor defaultListenerExecutor;
+
+	private final Map<ApplicationListener<?>, ListenerDispatcher> listenerDispatchers = new ConcurrentHashMap<>(16);
+
 
 	/**
 	 * Create a new SimpleApplicationEventMulticaster.
@@ -69,6 +94,12 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 	}
 
 
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+		super.setBeanFactory(beanFactory);
+		this.beanFactory = beanFactory;
+	}
+
 	/**
 	 * Set a custom executor (typically a {@link org.springframework.core.task.TaskExecutor})
 	 * to invoke each listener with.
@@ -121,6 +152,18 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return this.errorHandler;
 	}
 
+	@Override
+	public void removeApplicationListener(ApplicationListener<?> listener) {
+		super.removeApplicationListener(listener);
+		this.listenerDispatchers.remove(listener);
+	}
+
+	@Override
+	public void removeAllListeners() {
+		super.removeAllListeners();
+		this.listenerDispatchers.clear();
+	}
+
 	@Override
 	public void multicastEvent(ApplicationEvent event) {
 		multicastEvent(event, resolveDefaultEventType(event));
@@ -133,8 +176,13 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		Executor executor = getTaskExecutor();
 		// 获取多播器中所有的监听器
 		for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+			ListenerDispatcher dispatcher = getListenerDispatcher(listener);
+			if (dispatcher != null) {
+				// 监听器自定义的分发策略
+				dispatcher.dispatch(event);
+			}
 			// 判断当前多播器是否为异步多播器
-			if (executor != null) {
+			else if (executor != null) {
 				// 异步发送
 				executor.execute(() -> invokeListener(listener, event));
 			}
@@ -149,6 +197,97 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return ResolvableType.forInstance(event);
 	}
 
+	/**
+	 * Return the dispatcher for a listener that requested its own
+	 * {@linkplain ListenerDispatchMode dispatch policy}, creating it on first use.
+	 * @return the dispatcher, or {@code null} to follow the multicaster-wide policy
+	 */
+	@Nullable
+	private ListenerDispatcher getListenerDispatcher(ApplicationListener<?> listener) {
+		if (!(listener instanceof ApplicationListenerMethodAdapter) ||
+				((ApplicationListenerMethodAdapter) listener).getDispatchMode() == ListenerDispatchMode.DEFAULT) {
+			return null;
+		}
+		ListenerDispatcher dispatcher = this.listenerDispatchers.get(listener);
+		if (dispatcher == null) {
+			dispatcher = this.listenerDispatchers.computeIfAbsent(listener,
+					key -> createListenerDispatcher((ApplicationListenerMethodAdapter) key));
+		}
+		return dispatcher;
+	}
+
+	private ListenerDispatcher createListenerDispatcher(ApplicationListenerMethodAdapter listener) {
+		ListenerDispatchMode mode = listener.getDispatchMode();
+		if (mode == ListenerDispatchMode.SYNC) {
+			return event -> invokeListener(listener, event);
+		}
+		Executor executor = resolveListenerExecutor(listener);
+		if (mode == ListenerDispatchMode.ASYNC && !listener.isOrdered()) {
+			return event -> executor.execute(() -> invokeListener(listener, event));
+		}
+		int capacity = (mode != ListenerDispatchMode.ASYNC ? listener.getQueueCapacity() : 0);
+		int batchSize = (mode == ListenerDispatchMode.BATCH ? listener.getBatchSize() : 1);
+		long batchTimeout = (mode == ListenerDispatchMode.BATCH ? listener.getBatchTimeout() : 0);
+		return new SerialListenerDispatcher(listener, executor, capacity, batchSize, batchTimeout);
+	}
+
+	/**
+	 * Determine the executor to hand off events to for the given listener:
+	 * the {@linkplain EventListener#executor() named executor bean}, if any,
+	 * otherwise the multicaster's {@linkplain #setTaskExecutor task executor},
+	 * otherwise a shared {@link SimpleAsyncTaskExecutor}.
+	 * @param listener the listener to dispatch events to
+	 * @return the executor to use (never {@code null})
+	 * @since 5.3.3
+	 */
+	protected Executor resolveListenerExecutor(ApplicationListenerMethodAdapter listener) {
+		String executorName = listener.getExecutorName();
+		if (executorName != null) {
+			if (this.beanFactory == null) {
+				throw new IllegalStateException("BeanFactory must be set to resolve executor '" +
+						executorName + "' for event listener " + listener);
+			}
+			return this.beanFactory.getBean(executorName, Executor.class);
+		}
+		Executor executor = getTaskExecutor();
+		if (executor != null) {
+			return executor;
+		}
+		executor = this.defaultListenerExecutor;
+		if (executor == null) {
+			synchronized (this.listenerDispatchers) {
+				executor = this.defaultListenerExecutor;
+				if (executor == null) {
+					executor = new SimpleAsyncTaskExecutor("event-listener-");
+					this.defaultListenerExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * Invoke the given listener with the given batch of events.
+	 * @param listener the batch listener to invoke
+	 * @param events the current events to propagate
+	 * @since 5.3.3
+	 * @see ApplicationListenerMethodAdapter#processEvents(List)
+	 */
+	protected void invokeBatchListener(ApplicationListenerMethodAdapter listener, List<ApplicationEvent> events) {
+		ErrorHandler errorHandler = getErrorHandler();
+		if (errorHandler != null) {
+			try {
+				listener.processEvents(events);
+			}
+			catch (Throwable err) {
+				errorHandler.handleError(err);
+			}
+		}
+		else {
+			listener.processEvents(events);
+		}
+	}
+
 	/**
 	 * Invoke the given listener with the given event.
 	 * @param listener the ApplicationListener to invoke
@@ -211,4 +350,150 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return false;
 	}
 
+
+	/**
+	 * Strategy for handing off an event to a listener with its own dispatch policy.
+	 */
+	@FunctionalInterface
+	private interface ListenerDispatcher {
+
+		void dispatch(ApplicationEvent event);
+	}
+
+
+	/**
+	 * {@link ListenerDispatcher} that appends events to a per-listener queue,
+	 * drained by at most one task at a time in order to preserve publication order.
+	 * A bounded queue blocks the publisher once full; events published from the
+	 * listener's own delivery are rejected instead.
+	 */
+	private class SerialListenerDispatcher implements ListenerDispatcher {
+
+		private final ApplicationListenerMethodAdapter listener;
+
+		private final Executor executor;
+
+		private final BlockingQueue<ApplicationEvent> queue;
+
+		private final int batchSize;
+
+		private final long batchTimeout;
+
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		@Nullable
+		private volatile Thread drainThread;
+
+		SerialListenerDispatcher(ApplicationListenerMethodAdapter listener, Executor executor,
+				int capacity, int batchSize, long batchTimeout) {
+
+			this.listener = listener;
+			this.executor = executor;
+			this.queue = (capacity > 0 ? new LinkedBlockingQueue<>(capacity) : new LinkedBlockingQueue<>());
+			this.batchSize = batchSize;
+			this.batchTimeout = TimeUnit.MILLISECONDS.toNanos(batchTimeout);
+		}
+
+		@Override
+		public void dispatch(ApplicationEvent event) {
+			if (Thread.currentThread() == this.drainThread) {
+				// Published from within the listener: waiting for capacity would never end
+				if (!this.queue.offer(event)) {
+					throw new IllegalStateException("Queue capacity of event listener " + this.listener +
+							" exceeded by an event published from its own delivery: " + event);
+				}
+				scheduleDrain();
+				return;
+			}
+			try {
+				this.queue.put(event);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for queue capacity of event listener " +
+						this.listener, ex);
+			}
+			scheduleDrain();
+		}
+
+		private void scheduleDrain() {
+			if (this.draining.compareAndSet(false, true)) {
+				try {
+					this.executor.execute(this::drain);
+				}
+				catch (RuntimeException ex) {
+					this.draining.set(false);
+					throw ex;
+				}
+			}
+		}
+
+		private void drain() {
+			this.drainThread = Thread.currentThread();
+			try {
+				List<ApplicationEvent> batch = nextBatch();
+				while (batch != null) {
+					deliver(batch);
+					batch = nextBatch();
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			finally {
+				this.drainThread = null;
+				this.draining.set(false);
+				// Pick up events enqueued after the last poll
+				if (!this.queue.isEmpty()) {
+					scheduleDrain();
+				}
+			}
+		}
+
+		@Nullable
+		private List<ApplicationEvent> nextBatch() throws InterruptedException {
+			ApplicationEvent first = this.queue.poll();
+			if (first == null) {
+				return null;
+			}
+			if (this.batchSize == 1) {
+				return Collections.singletonList(first);
+			}
+			List<ApplicationEvent> batch = new ArrayList<>(Math.min(this.batchSize, 64));
+			batch.add(first);
+			this.queue.drainTo(batch, this.batchSize - 1);
+			if (this.batchTimeout > 0) {
+				long deadline = System.nanoTime() + this.batchTimeout;
+				while (batch.size() < this.batchSize) {
+					long remaining = deadline - System.nanoTime();
+					ApplicationEvent next = (remaining > 0 ? this.queue.poll(remaining, TimeUnit.NANOSECONDS) : null);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+					this.queue.drainTo(batch, this.batchSize - batch.size());
+				}
+			}
+			return batch;
+		}
+
+		private void deliver(List<ApplicationEvent> batch) {
+			try {
+				if (this.listener.getDispatchMode() == ListenerDispatchMode.BATCH) {
+					invokeBatchListener(this.listener, batch);
+				}
+				else {
+					for (ApplicationEvent event : batch) {
+						invokeListener(this.listener, event);
+					}
+				}
+			}
+			catch (Throwable ex) {
+				// Keep draining: there is no publisher left to propagate the exception to
+				LogFactory.getLog(SimpleApplicationEventMulticaster.class).error(
+						"Unexpected error occurred in event listener " + this.listener, ex);
+			}
+		}
+	}
+
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Read-only view on a binary {@code META-INF/spring.components.idx} index, as
+ * written by the {@code spring-context-indexer} annotation processor when the
+ * {@code spring.components.binary} option is enabled.
+ *
+ * <p>The index is queried in place, typically on a memory-mapped buffer: the
+ * stereotype is located through binary search in the sorted stereotype directory,
+ * and candidate types within a base package through binary search in the sorted
+ * posting list of the stereotype. Only the matching type names are decoded.
+ *
+ * <p>Layout (big-endian {@code int}s): header (magic, version, string count,
+ * stereotype count, posting count), {@code stringCount + 1} string offsets,
+ * stereotype directory (name index, posting start, posting length), posting
+ * lists (type name indexes) and UTF-8 string data, with strings sorted by
+ * their unsigned UTF-8 bytes.
+ *
+ * @since 5.3.3
+ * @see CandidateComponentsIndexLoader#COMPONENTS_BINARY_RESOURCE_LOCATION
+ */
+final class CandidateComponentsBinaryIndex {
+
+	private static final int MAGIC = 0x53434958;
+
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = 20;
+
+	private static final int DIRECTORY_ENTRY_SIZE = 12;
+
+	private static final AntPathMatcher pathMatcher = new AntPathMatcher(".");
+
+
+	private final ByteBuffer buffer;
+
+	private final int stereotypeCount;
+
+	private final int postingCount;
+
+	private final int offsetsPosition;
+
+	private final int directoryPosition;
+
+	private final int postingsPosition;
+
+	private final int stringsPosition;
+
+
+	/**
+	 * Create a view on the given binary index.
+	 * @param buffer the buffer holding the index (not modified)
+	 * @throws IllegalArgumentException if the buffer does not hold a supported index
+	 */
+	CandidateComponentsBinaryIndex(ByteBuffer buffer) {
+		if (buffer.remaining() < HEADER_SIZE || buffer.getInt(buffer.position()) != MAGIC) {
+			throw new IllegalArgumentException("Not a binary candidate components index");
+		}
+		this.buffer = buffer.slice();
+		int version = this.buffer.getInt(4);
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported binary candidate components index version " + version);
+		}
+		int stringCount = this.buffer.getInt(8);
+		this.stereotypeCount = this.buffer.getInt(12);
+		this.postingCount = this.buffer.getInt(16);
+		this.offsetsPosition = HEADER_SIZE;
+		this.directoryPosition = this.offsetsPosition + (stringCount + 1) * 4;
+		this.postingsPosition = this.directoryPosition + this.stereotypeCount * DIRECTORY_ENTRY_SIZE;
+		this.stringsPosition = this.postingsPosition + this.postingCount * 4;
+		if (this.stringsPosition + this.buffer.getInt(this.offsetsPosition + stringCount * 4) > this.buffer.limit()) {
+			throw new IllegalArgumentException("Truncated binary candidate components index");
+		}
+	}
+
+
+	/**
+	 * Return the number of (type, stereotype) entries in this index.
+	 */
+	int size() {
+		return this.postingCount;
+	}
+
+	/**
+	 * Add the candidate types that are associated with the specified stereotype
+	 * in the given base package to the given result.
+	 * @see CandidateComponentsIndex#getCandidateTypes
+	 */
+	void collectCandidateTypes(String basePackage, String stereotype, Set<String> result) {
+		int directoryIndex = findStereotype(utf8(stereotype));
+		if (directoryIndex < 0) {
+			return;
+		}
+		int entry = this.directoryPosition + directoryIndex * DIRECTORY_ENTRY_SIZE;
+		int start = this.buffer.getInt(entry + 4);
+		int end = start + this.buffer.getInt(entry + 8);
+		if (pathMatcher.isPattern(basePackage)) {
+			for (int i = start; i < end; i++) {
+				String type = getString(getPosting(i));
+				if (pathMatcher.match(basePackage, ClassUtils.getPackageName(type))) {
+					result.add(type);
+				}
+			}
+		}
+		else {
+			// Same semantics as for the properties format: plain prefix match
+			byte[] prefix = utf8(basePackage);
+			for (int i = lowerBound(start, end, prefix); i < end && startsWith(getPosting(i), prefix); i++) {
+				result.add(getString(getPosting(i)));
+			}
+		}
+	}
+
+
+	private int findStereotype(byte[] name) {
+		int low = 0;
+		int high = this.stereotypeCount - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = compare(this.buffer.getInt(this.directoryPosition + mid * DIRECTORY_ENTRY_SIZE), name);
+			if (cmp < 0) {
+				low = mid + 1;
+			}
+			else if (cmp > 0) {
+				high = mid - 1;
+			}
+			else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return the first posting in the given range whose type name is not
+	 * smaller than the given key.
+	 */
+	private int lowerBound(int start, int end, byte[] key) {
+		int low = start;
+		int high = end;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (compare(getPosting(mid), key) < 0) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private int getPosting(int index) {
+		return this.buffer.getInt(this.postingsPosition + index * 4);
+	}
+
+	private int compare(int stringIndex, byte[] key) {
+		int offset = this.stringsPosition + this.buffer.getInt(this.offsetsPosition + stringIndex * 4);
+		int length = this.stringsPosition + this.buffer.getInt(this.offsetsPosition + (stringIndex + 1) * 4) - offset;
+		int common = Math.min(length, key.length);
+		for (int i = 0; i < common; i++) {
+			int diff = (this.buffer.get(offset + i) & 0xFF) - (key[i] & 0xFF);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return length - key.length;
+	}
+
+	private boolean startsWith(int stringIndex, byte[] prefix) {
+		int offset = this.stringsPosition + this.buffer.getInt(this.offsetsPosition + stringIndex * 4);
+		int length = this.stringsPosition + this.buffer.getInt(this.offsetsPosition + (stringIndex + 1) * 4) - offset;
+		if (length < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (this.buffer.get(offset + i) != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String getString(int stringIndex) {
+		int offset = this.stringsPosition + this.buffer.getInt(this.offsetsPosition + stringIndex * 4);
+		int length = this.stringsPosition + this.buffer.getInt(this.offsetsPosition + (stringIndex + 1) * 4) - offset;
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = this.buffer.get(offset + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static byte[] utf8(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.context.index;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
@@ -28,7 +29,8 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 /**
- * Provide access to the candidates that are defined in {@code META-INF/spring.components}.
+ * Provide access to the candidates that are defined in {@code META-INF/spring.components}
+ * (or in its binary counterpart {@code META-INF/spring.components.idx}).
  *
  * <p>An arbitrary number of stereotypes can be registered (and queried) on the index: a
  * typical example is the fully qualified name of an annotation that flags the class for
@@ -52,9 +54,16 @@ public class CandidateComponentsIndex {
 
 	private final MultiValueMap<String, Entry> index;
 
+	private final List<CandidateComponentsBinaryIndex> binaryIndexes;
+
 
 	CandidateComponentsIndex(List<Properties> content) {
+		this(content, Collections.emptyList());
+	}
+
+	CandidateComponentsIndex(List<Properties> content, List<CandidateComponentsBinaryIndex> binaryIndexes) {
 		this.index = parseIndex(content);
+		this.binaryIndexes = binaryIndexes;
 	}
 
 	private static MultiValueMap<String, Entry> parseIndex(List<Properties> content) {
@@ -80,13 +89,27 @@ public class CandidateComponentsIndex {
 	 */
 	public Set<String> getCandidateTypes(String basePackage, String stereotype) {
 		List<Entry> candidates = this.index.get(stereotype);
+		if (this.binaryIndexes.isEmpty()) {
+			if (candidates != null) {
+				return candidates.parallelStream()
+						.filter(t -> t.match(basePackage))
+						.map(t -> t.type)
+						.collect(Collectors.toSet());
+			}
+			return Collections.emptySet();
+		}
+		Set<String> result = new HashSet<>();
 		if (candidates != null) {
-			return candidates.parallelStream()
-					.filter(t -> t.match(basePackage))
-					.map(t -> t.type)
-					.collect(Collectors.toSet());
+			for (Entry candidate : candidates) {
+				if (candidate.match(basePackage)) {
+					result.add(candidate.type);
+				}
+			}
+		}
+		for (CandidateComponentsBinaryIndex binaryIndex : this.binaryIndexes) {
+			binaryIndex.collectCandidateTypes(basePackage, stereotype, result);
 		}
-		return Collections.emptySet();
+		return result;
 	}
 
 
@@ -23,9 +23,15 @@ import org.springframework.core.io.UrlResource;
 import org.springframework.core.io.support.PropertiesLoaderUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.ResourceUtils;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
@@ -46,6 +52,17 @@ public final class CandidateComponentsIndexLoader {
 	 */
 	public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
 
+	/**
+	 * The location to look for components in the binary index format, as written
+	 * by the {@code spring-context-indexer} with the {@code spring.components.binary}
+	 * option enabled.
+	 * <p>Can be present in multiple JAR files, alongside or instead of
+	 * {@value #COMPONENTS_RESOURCE_LOCATION}. Indexes in the file system are
+	 * memory-mapped and queried in place.
+	 * @since 5.3.3
+	 */
+	public static final String COMPONENTS_BINARY_RESOURCE_LOCATION = "META-INF/spring.components.idx";
+
 	/**
 	 * System property that instructs Spring to ignore the index, i.e.
 	 * to always return {@code null} from {@link #loadIndex(ClassLoader)}.
@@ -72,8 +89,8 @@ public final class CandidateComponentsIndexLoader {
 
 	/**
 	 * Load and instantiate the {@link CandidateComponentsIndex} from
-	 * {@value #COMPONENTS_RESOURCE_LOCATION}, using the given class loader. If no
-	 * index is available, return {@code null}.
+	 * {@value #COMPONENTS_RESOURCE_LOCATION} and {@value #COMPONENTS_BINARY_RESOURCE_LOCATION},
+	 * using the given class loader. If no index is available, return {@code null}.
 	 * @param classLoader the ClassLoader to use for loading (can be {@code null} to use the default)
 	 * @return the index to use or {@code null} if no index was found
 	 * @throws IllegalArgumentException if any module index cannot
@@ -97,7 +114,8 @@ public final class CandidateComponentsIndexLoader {
 		try {
 			// 查找是否有: META-INF/spring.components 文件
 			Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
-			if (!urls.hasMoreElements()) {
+			Enumeration<URL> binaryUrls = classLoader.getResources(COMPONENTS_BINARY_RESOURCE_LOCATION);
+			if (!urls.hasMoreElements() && !binaryUrls.hasMoreElements()) {
 				return null;
 			}
 			List<Properties> result = new ArrayList<>();
@@ -108,11 +126,17 @@ public final class CandidateComponentsIndexLoader {
 				Properties properties = PropertiesLoaderUtils.loadProperties(new UrlResource(url));
 				result.add(properties);
 			}
+			// 二进制索引: 文件系统中的直接 mmap，jar 中的读入堆内存
+			List<CandidateComponentsBinaryIndex> binaryResult = new ArrayList<>();
+			while (binaryUrls.hasMoreElements()) {
+				binaryResult.add(loadBinaryIndex(binaryUrls.nextElement()));
+			}
 			if (logger.isDebugEnabled()) {
-				logger.debug("Loaded " + result.size() + "] index(es)");
+				logger.debug("Loaded " + (result.size() + binaryResult.size()) + "] index(es)");
 			}
-			int totalCount = result.stream().mapToInt(Properties::size).sum();
-			return (totalCount > 0 ? new CandidateComponentsIndex(result) : null);
+			int totalCount = result.stream().mapToInt(Properties::size).sum() +
+					binaryResult.stream().mapToInt(CandidateComponentsBinaryIndex::size).sum();
+			return (totalCount > 0 ? new CandidateComponentsIndex(result, binaryResult) : null);
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException("Unable to load indexes from location [" +
@@ -120,4 +144,24 @@ public final class CandidateComponentsIndexLoader {
 		}
 	}
 
+	private static CandidateComponentsBinaryIndex loadBinaryIndex(URL url) throws IOException {
+		ByteBuffer buffer;
+		if (ResourceUtils.URL_PROTOCOL_FILE.equals(url.getProtocol())) {
+			File file = ResourceUtils.getFile(url);
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				// The mapping remains valid after the channel has been closed
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+		}
+		else {
+			buffer = ByteBuffer.wrap(FileCopyUtils.copyToByteArray(url.openStream()));
+		}
+		try {
+			return new CandidateComponentsBinaryIndex(buffer);
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IllegalStateException("Invalid index at [" + url + "]", ex);
+		}
+	}
+
 }
@@ -18,6 +18,7 @@ package org.springframework.context.support;
 
 import java.io.IOException;
 import java.lang.reflect.Constructor;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
@@ -190,6 +191,18 @@ public class GenericApplicationContext extends AbstractApplicationContext implem
 		this.beanFactory.setAllowCircularReferences(allowCircularReferences);
 	}
 
+	/**
+	 * Specify an {@link Executor} for pre-instantiating independent non-lazy
+	 * singletons in parallel during {@link #refresh()}.
+	 * <p>Default is none, creating all singletons one by one. Needs to be
+	 * specified before the context gets refreshed.
+	 * @since 5.3.3
+	 * @see org.springframework.beans.factory.support.DefaultListableBeanFactory#setPreInstantiationExecutor
+	 */
+	public void setPreInstantiationExecutor(@Nullable Executor preInstantiationExecutor) {
+		this.beanFactory.setPreInstantiationExecutor(preInstantiationExecutor);
+	}
+
 	/**
 	 * Set a ResourceLoader to use for this context. If set, the context will
 	 * delegate all {@code getResource} calls to the given ResourceLoader.
@@ -17,12 +17,20 @@
 package org.springframework.scheduling.annotation;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 
 import org.springframework.aop.interceptor.AsyncExecutionInterceptor;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.BulkheadTaskExecutor;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * Specialization of {@link AsyncExecutionInterceptor} that delegates method execution to
@@ -31,6 +39,9 @@ import org.springframework.lang.Nullable;
  * Spring 3.1.2. Supports detecting qualifier metadata via {@code @Async} at the method or
  * declaring class level. See {@link #getExecutorQualifier(Method)} for details.
  *
+ * <p>As of 5.3.3, also isolates methods annotated with {@link AsyncBulkhead} in
+ * a {@link BulkheadTaskExecutor} on top of their executor.
+ *
  * @author Chris Beams
  * @author Stephane Nicoll
  * @since 3.1.2
@@ -39,6 +50,11 @@ import org.springframework.lang.Nullable;
  */
 public class AnnotationAsyncExecutionInterceptor extends AsyncExecutionInterceptor {
 
+	private final Map<Method, AsyncTaskExecutor> bulkheadExecutors = new ConcurrentHashMap<>(16);
+
+	private final Map<String, BulkheadTaskExecutor> bulkheads = new ConcurrentHashMap<>(16);
+
+
 	/**
 	 * Create a new {@code AnnotationAsyncExecutionInterceptor} with the given executor
 	 * and a simple {@link AsyncUncaughtExceptionHandler}.
@@ -87,4 +103,70 @@ public class AnnotationAsyncExecutionInterceptor extends AsyncExecutionIntercept
 		return (async != null ? async.value() : null);
 	}
 
+	/**
+	 * Return the bulkheads created for {@link AsyncBulkhead} declarations so far,
+	 * keyed by bulkhead name, e.g. for monitoring their rejection statistics.
+	 * @since 5.3.3
+	 */
+	public Map<String, BulkheadTaskExecutor> getBulkheads() {
+		return Collections.unmodifiableMap(this.bulkheads);
+	}
+
+	/**
+	 * This implementation wraps the executor for the given method in a
+	 * {@link BulkheadTaskExecutor} if the method or its declaring class
+	 * is annotated with {@link AsyncBulkhead}.
+	 * @since 5.3.3
+	 */
+	@Override
+	@Nullable
+	protected AsyncTaskExecutor determineAsyncExecutor(Method method) {
+		AsyncTaskExecutor executor = this.bulkheadExecutors.get(method);
+		if (executor == null) {
+			executor = super.determineAsyncExecutor(method);
+			if (executor == null) {
+				return null;
+			}
+			AsyncBulkhead bulkhead = AnnotatedElementUtils.findMergedAnnotation(method, AsyncBulkhead.class);
+			String defaultName = getDefaultBulkheadName(method);
+			if (bulkhead == null) {
+				bulkhead = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), AsyncBulkhead.class);
+				defaultName = method.getDeclaringClass().getName();
+			}
+			if (bulkhead != null) {
+				String name = (StringUtils.hasLength(bulkhead.value()) ? bulkhead.value() : defaultName);
+				executor = getBulkhead(name, bulkhead, executor);
+			}
+			this.bulkheadExecutors.put(method, executor);
+		}
+		return executor;
+	}
+
+	/**
+	 * Build the default name for a method-level bulkhead: the qualified method
+	 * name including its parameter types, isolating overloaded methods.
+	 */
+	private static String getDefaultBulkheadName(Method method) {
+		StringJoiner parameterTypes = new StringJoiner(",", "(", ")");
+		for (Class<?> parameterType : method.getParameterTypes()) {
+			parameterTypes.add(parameterType.getTypeName());
+		}
+		return ClassUtils.getQualifiedMethodName(method) + parameterTypes;
+	}
+
+	private BulkheadTaskExecutor getBulkhead(String name, AsyncBulkhead declaration, AsyncTaskExecutor executor) {
+		BulkheadTaskExecutor bulkhead = this.bulkheads.computeIfAbsent(name, key -> new BulkheadTaskExecutor(
+				key, executor, declaration.maxConcurrency(), declaration.queueCapacity()));
+		if (bulkhead.getMaxConcurrency() != declaration.maxConcurrency() ||
+				bulkhead.getQueueCapacity() != declaration.queueCapacity()) {
+			throw new IllegalStateException("Conflicting @AsyncBulkhead declarations for bulkhead '" + name +
+					"': " + declaration + " does not match existing " + bulkhead);
+		}
+		if (bulkhead.getTargetExecutor() != executor) {
+			throw new IllegalStateException("Methods sharing bulkhead '" + name + "' need to use the same " +
+					"executor: [" + executor + "] does not match [" + bulkhead.getTargetExecutor() + "]");
+		}
+		return bulkhead;
+	}
+
 }
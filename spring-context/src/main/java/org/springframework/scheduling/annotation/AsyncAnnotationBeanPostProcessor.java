@@ -24,8 +24,10 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.interceptor.AsyncExecutionInterceptor;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -62,7 +64,8 @@ import org.springframework.util.function.SingletonSupplier;
  * @see ScheduledAnnotationBeanPostProcessor
  */
 @SuppressWarnings("serial")
-public class AsyncAnnotationBeanPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+public class AsyncAnnotationBeanPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor
+		implements DisposableBean {
 
 	/**
 	 * The default name of the {@link TaskExecutor} bean to pick up: "taskExecutor".
@@ -86,6 +89,8 @@ public class AsyncAnnotationBeanPostProcessor extends AbstractBeanFactoryAwareAd
 	@Nullable
 	private Class<? extends Annotation> asyncAnnotationType;
 
+	private boolean virtualThreads;
+
 
 
 	public AsyncAnnotationBeanPostProcessor() {
@@ -142,6 +147,19 @@ public class AsyncAnnotationBeanPostProcessor extends AbstractBeanFactoryAwareAd
 	}
 
 
+	/**
+	 * Specify whether the local default executor, created if no executor is
+	 * configured and no executor bean could be found, is supposed to run
+	 * tasks on virtual threads if supported by the JVM.
+	 * <p>Default is "false".
+	 * @since 5.3.3
+	 * @see AsyncExecutionInterceptor#setVirtualThreads
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
+
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) {
 		super.setBeanFactory(beanFactory);
@@ -150,8 +168,24 @@ public class AsyncAnnotationBeanPostProcessor extends AbstractBeanFactoryAwareAd
 		if (this.asyncAnnotationType != null) {
 			advisor.setAsyncAnnotationType(this.asyncAnnotationType);
 		}
+		if (this.virtualThreads && advisor.getAdvice() instanceof AsyncExecutionInterceptor) {
+			((AsyncExecutionInterceptor) advisor.getAdvice()).setVirtualThreads(true);
+		}
 		advisor.setBeanFactory(beanFactory);
 		this.advisor = advisor;
 	}
 
+	/**
+	 * Shut down the default executor created by the async advice for
+	 * {@linkplain #setVirtualThreads virtual threads}, if any.
+	 * @since 5.3.3
+	 * @see AsyncExecutionInterceptor#destroy()
+	 */
+	@Override
+	public void destroy() throws Exception {
+		if (this.advisor != null && this.advisor.getAdvice() instanceof DisposableBean) {
+			((DisposableBean) this.advisor.getAdvice()).destroy();
+		}
+	}
+
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation that isolates {@link Async @Async} methods in a bulkhead with its
+ * own concurrency limit and queue on top of the executor that the methods would
+ * run on otherwise, so that a single hot method cannot starve other async methods
+ * sharing the same executor.
+ *
+ * <p>Can be used at the method level, for a bulkhead per method, or at the type
+ * level, for a bulkhead shared by all async methods of the type. Bulkheads with
+ * the same {@linkplain #value() name} are shared across all methods declaring
+ * them, and need to be declared with the same limits and used with the same
+ * executor. Method-level declarations override type-level declarations.
+ *
+ * <p>Invocations beyond the queue capacity are rejected with a
+ * {@link org.springframework.core.task.TaskRejectedException}. Consider a
+ * work-stealing {@link java.util.concurrent.ForkJoinPool}, e.g. as set up through
+ * {@link org.springframework.scheduling.concurrent.ForkJoinPoolFactoryBean}, as
+ * the executor shared by the bulkheads.
+ *
+ * @since 5.3.3
+ * @see Async
+ * @see AnnotationAsyncExecutionInterceptor#getBulkheads()
+ * @see org.springframework.core.task.BulkheadTaskExecutor
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AsyncBulkhead {
+
+	/**
+	 * The name of the bulkhead, allowing for sharing it between methods.
+	 * <p>Defaults to the qualified name of the annotated type, or of the annotated
+	 * method including its parameter types, e.g. {@code com.example.Orders.place(java.lang.String)},
+	 * so that overloaded methods get separate bulkheads.
+	 */
+	String value() default "";
+
+	/**
+	 * The maximum number of concurrently running invocations.
+	 */
+	int maxConcurrency();
+
+	/**
+	 * The maximum number of invocations waiting for execution.
+	 * <p>Default is unbounded; use 0 for rejecting invocations as soon as
+	 * {@link #maxConcurrency()} invocations are running.
+	 */
+	int queueCapacity() default Integer.MAX_VALUE;
+
+}
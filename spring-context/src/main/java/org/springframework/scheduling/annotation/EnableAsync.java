@@ -199,6 +199,19 @@ public @interface EnableAsync {
 	 */
 	AdviceMode mode() default AdviceMode.PROXY;
 
+	/**
+	 * Indicate whether the default executor, used if no {@link AsyncConfigurer}
+	 * provides one and no unique {@link org.springframework.core.task.TaskExecutor}
+	 * bean or "taskExecutor" bean is found, runs {@code @Async} methods on virtual
+	 * threads, as far as supported by the JVM.
+	 * <p><strong>Applicable only if the {@link #mode} is set to {@link AdviceMode#PROXY}</strong>.
+	 * <p>The default is {@code false}, using a
+	 * {@link org.springframework.core.task.SimpleAsyncTaskExecutor}.
+	 * @since 5.3.3
+	 * @see org.springframework.core.task.VirtualThreadTaskExecutor
+	 */
+	boolean virtualThreads() default false;
+
 	/**
 	 * Indicate the order in which the {@link AsyncAnnotationBeanPostProcessor}
 	 * should be applied.
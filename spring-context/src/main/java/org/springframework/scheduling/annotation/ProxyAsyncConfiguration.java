@@ -52,6 +52,7 @@ public class ProxyAsyncConfiguration extends AbstractAsyncConfiguration {
 			bpp.setAsyncAnnotationType(customAsyncAnnotation);
 		}
 		bpp.setProxyTargetClass(this.enableAsync.getBoolean("proxyTargetClass"));
+		bpp.setVirtualThreads(this.enableAsync.getBoolean("virtualThreads"));
 		bpp.setOrder(this.enableAsync.<Integer>getNumber("order"));
 		return bpp;
 	}
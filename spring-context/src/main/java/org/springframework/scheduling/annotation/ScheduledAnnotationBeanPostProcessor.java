@@ -69,6 +69,7 @@ import org.springframework.scheduling.config.FixedDelayTask;
 import org.springframework.scheduling.config.FixedRateTask;
 import org.springframework.scheduling.config.ScheduledTask;
 import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.scheduling.config.ScheduledTaskListener;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.scheduling.support.CronTrigger;
 import org.springframework.scheduling.support.ScheduledMethodRunnable;
@@ -90,6 +91,10 @@ import org.springframework.util.StringValueResolver;
  * control over task registration (e.g. registration of {@link Trigger} tasks.
  * See the @{@link EnableScheduling} javadocs for complete usage details.
  *
+ * <p>Also autodetects any {@link ScheduledTaskListener} instances in the container,
+ * e.g. a {@link org.springframework.scheduling.config.ScheduledTaskMetricsRegistry},
+ * notifying them of each execution of the scheduled tasks.
+ *
  * @author Mark Fisher
  * @author Juergen Hoeller
  * @author Chris Beams
@@ -240,6 +245,11 @@ public class ScheduledAnnotationBeanPostProcessor
 		}
 
 		if (this.beanFactory instanceof ListableBeanFactory) {
+			List<ScheduledTaskListener> listeners = new ArrayList<>(
+					((ListableBeanFactory) this.beanFactory).getBeansOfType(ScheduledTaskListener.class).values());
+			AnnotationAwareOrderComparator.sort(listeners);
+			listeners.forEach(this.registrar::addTaskListener);
+
 			Map<String, SchedulingConfigurer> beans =
 					((ListableBeanFactory) this.beanFactory).getBeansOfType(SchedulingConfigurer.class);
 			List<SchedulingConfigurer> configurers = new ArrayList<>(beans.values());
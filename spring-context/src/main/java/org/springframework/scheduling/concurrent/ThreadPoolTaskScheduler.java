@@ -33,6 +33,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.springframework.core.task.AsyncListenableTaskExecutor;
 import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.VirtualThreadFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.SchedulingTaskExecutor;
 import org.springframework.scheduling.TaskScheduler;
@@ -64,6 +65,8 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 
 	private volatile boolean removeOnCancelPolicy;
 
+	private boolean virtualThreads;
+
 	@Nullable
 	private volatile ErrorHandler errorHandler;
 
@@ -106,6 +109,19 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 		}
 	}
 
+	/**
+	 * Specify whether to run scheduled tasks on virtual threads if supported
+	 * by the JVM, in which case the pool size caps the number of concurrently
+	 * running tasks rather than the number of platform threads.
+	 * <p>Default is "false". Not applicable if an external
+	 * {@linkplain #setThreadFactory thread factory} has been specified.
+	 * @since 5.3.3
+	 * @see VirtualThreadFactory#isSupported()
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
 	/**
 	 * Set a custom {@link ErrorHandler} strategy.
 	 */
@@ -133,6 +149,9 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 	protected ExecutorService initializeExecutor(
 			ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
 
+		if (this.virtualThreads && threadFactory == this && VirtualThreadFactory.isSupported()) {
+			threadFactory = new VirtualThreadFactory(getThreadNamePrefix());
+		}
 		this.scheduledExecutor = createExecutor(this.poolSize, threadFactory, rejectedExecutionHandler);
 
 		if (this.removeOnCancelPolicy) {
@@ -0,0 +1,749 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * Implementation of Spring's {@link TaskScheduler} interface based on a
+ * hierarchical timing wheel, suitable for very large numbers of scheduled
+ * tasks that are frequently cancelled before they are due, e.g. session
+ * expiry or retry backoff timeouts.
+ *
+ * <p>In contrast to {@link ThreadPoolTaskScheduler}, which keeps its tasks in
+ * the binary heap of a {@link java.util.concurrent.ScheduledThreadPoolExecutor}
+ * behind a global lock, scheduling and cancelling a task are constant-time
+ * operations that merely enqueue the task for a dedicated timer thread.
+ * The timer thread advances the wheel once per {@linkplain #setTickMillis tick},
+ * cascading tasks from coarser to finer wheels as their deadline approaches,
+ * and hands due tasks over to a separate pool of
+ * {@linkplain #setPoolSize worker threads} for execution.
+ *
+ * <p>Tasks never execute before their scheduled time but may execute up to
+ * one tick late, so the tick duration should match the precision that the
+ * application actually requires. Tasks that are not yet due when this
+ * scheduler shuts down get cancelled.
+ *
+ * @since 5.3.3
+ * @see #setTickMillis
+ * @see #setWheelSize
+ * @see #setPoolSize
+ * @see #setErrorHandler
+ */
+@SuppressWarnings("serial")
+public class TimingWheelTaskScheduler extends ExecutorConfigurationSupport implements TaskScheduler {
+
+	/**
+	 * Maximum number of newly scheduled tasks to transfer into the wheel per tick,
+	 * avoiding to stall the expiration of due tasks under heavy scheduling load.
+	 */
+	private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+	private static final int WAITING = 0;
+
+	private static final int RUNNING = 1;
+
+	private static final int DONE = 2;
+
+	private static final int CANCELLED = 3;
+
+	private static final AtomicIntegerFieldUpdater<WheelTask> stateUpdater =
+			AtomicIntegerFieldUpdater.newUpdater(WheelTask.class, "state");
+
+
+	private long tickMillis = 10;
+
+	private int wheelSize = 512;
+
+	private int poolSize = 1;
+
+	@Nullable
+	private volatile ErrorHandler errorHandler;
+
+	private Clock clock = Clock.systemDefaultZone();
+
+	@Nullable
+	private ExecutorService workerExecutor;
+
+	@Nullable
+	private Thread timerThread;
+
+	private volatile boolean running;
+
+	private long startTime;
+
+	private long tickNanos;
+
+	private final Queue<WheelTask> scheduledTasks = new ConcurrentLinkedQueue<>();
+
+	private final Queue<WheelTask> cancelledTasks = new ConcurrentLinkedQueue<>();
+
+	// Wheel state below is only accessed by the timer thread
+
+	private final List<Bucket[]> wheels = new ArrayList<>();
+
+	private long currentTick;
+
+
+	/**
+	 * Set the duration of a single tick of the timing wheel, in milliseconds,
+	 * i.e. the resolution at which scheduled tasks are triggered.
+	 * <p>Default is 10 milliseconds.
+	 */
+	public void setTickMillis(long tickMillis) {
+		Assert.isTrue(tickMillis > 0, "'tickMillis' must be 1 or higher");
+		this.tickMillis = tickMillis;
+	}
+
+	/**
+	 * Set the number of buckets per wheel. Tasks due within
+	 * {@code tickMillis * wheelSize} are kept in the finest wheel, with further
+	 * wheels covering correspondingly larger time spans getting added on demand.
+	 * <p>Default is 512.
+	 */
+	public void setWheelSize(int wheelSize) {
+		Assert.isTrue(wheelSize > 1, "'wheelSize' must be 2 or higher");
+		this.wheelSize = wheelSize;
+	}
+
+	/**
+	 * Set the number of worker threads executing due tasks.
+	 * Default is 1.
+	 */
+	public void setPoolSize(int poolSize) {
+		Assert.isTrue(poolSize > 0, "'poolSize' must be 1 or higher");
+		this.poolSize = poolSize;
+	}
+
+	/**
+	 * Set a custom {@link ErrorHandler} strategy.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Set the clock to use for scheduling purposes.
+	 * <p>The default clock is the system clock for the default time zone.
+	 * @see Clock#systemDefaultZone()
+	 */
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
+	@Override
+	public Clock getClock() {
+		return this.clock;
+	}
+
+
+	@Override
+	protected ExecutorService initializeExecutor(
+			ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+
+		this.workerExecutor = new ThreadPoolExecutor(this.poolSize, this.poolSize, 0, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(), threadFactory, rejectedExecutionHandler);
+
+		this.tickNanos = TimeUnit.MILLISECONDS.toNanos(this.tickMillis);
+		this.wheels.clear();
+		this.wheels.add(newWheel());
+		this.currentTick = 0;
+		this.startTime = System.nanoTime();
+		this.running = true;
+		this.timerThread = threadFactory.newThread(this::runTimer);
+		this.timerThread.start();
+
+		return this.workerExecutor;
+	}
+
+	/**
+	 * Stop the timer thread, cancel all tasks that are not due yet,
+	 * and shut down the worker threads.
+	 * @see #setWaitForTasksToCompleteOnShutdown
+	 * @see #setAwaitTerminationMillis
+	 */
+	@Override
+	public void shutdown() {
+		Thread timerThread = this.timerThread;
+		this.running = false;
+		if (timerThread != null) {
+			LockSupport.unpark(timerThread);
+			try {
+				timerThread.join();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			for (Bucket[] wheel : this.wheels) {
+				for (Bucket bucket : wheel) {
+					cancelAll(bucket.clear());
+				}
+			}
+			WheelTask task;
+			while ((task = this.scheduledTasks.poll()) != null) {
+				task.cancel(false);
+			}
+			this.cancelledTasks.clear();
+		}
+		super.shutdown();
+	}
+
+	/**
+	 * Return the number of currently active worker threads.
+	 * @throws IllegalStateException if this scheduler has not been initialized yet
+	 */
+	public int getActiveCount() {
+		return ((ThreadPoolExecutor) getWorkerExecutor()).getActiveCount();
+	}
+
+	private ExecutorService getWorkerExecutor() {
+		Assert.state(this.workerExecutor != null, "TimingWheelTaskScheduler not initialized");
+		return this.workerExecutor;
+	}
+
+	private void assertRunning() {
+		getWorkerExecutor();
+		if (!this.running) {
+			throw new TaskRejectedException("Scheduler [" + this + "] has been shut down and does not accept tasks");
+		}
+	}
+
+
+	// TaskScheduler implementation
+
+	@Override
+	@Nullable
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		assertRunning();
+		ErrorHandler errorHandler = this.errorHandler;
+		if (errorHandler == null) {
+			errorHandler = TaskUtils.getDefaultErrorHandler(true);
+		}
+		WheelTask wheelTask = new WheelTask(
+				TaskUtils.decorateTaskWithErrorHandler(task, errorHandler, true), 0, trigger);
+		return (wheelTask.scheduleNextExecution() ? wheelTask : null);
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+		return schedule(errorHandlingTask(task, false), startTime.getTime() - this.clock.millis(), 0);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+		Assert.isTrue(period > 0, "'period' must be positive");
+		return schedule(errorHandlingTask(task, true), startTime.getTime() - this.clock.millis(), period);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+		Assert.isTrue(period > 0, "'period' must be positive");
+		return schedule(errorHandlingTask(task, true), 0, period);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+		Assert.isTrue(delay > 0, "'delay' must be positive");
+		return schedule(errorHandlingTask(task, true), startTime.getTime() - this.clock.millis(), -delay);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+		Assert.isTrue(delay > 0, "'delay' must be positive");
+		return schedule(errorHandlingTask(task, true), 0, -delay);
+	}
+
+	/**
+	 * Schedule the given task after the given delay.
+	 * @param period positive for fixed-rate execution, negative for
+	 * fixed-delay execution, or zero for a one-time task
+	 */
+	private ScheduledFuture<?> schedule(Runnable task, long initialDelay, long period) {
+		assertRunning();
+		WheelTask wheelTask = new WheelTask(task, TimeUnit.MILLISECONDS.toNanos(period), null);
+		wheelTask.setDeadline(System.nanoTime(), initialDelay);
+		enqueue(wheelTask);
+		return wheelTask;
+	}
+
+	private Runnable errorHandlingTask(Runnable task, boolean isRepeatingTask) {
+		return TaskUtils.decorateTaskWithErrorHandler(task, this.errorHandler, isRepeatingTask);
+	}
+
+	private void enqueue(WheelTask task) {
+		assertRunning();
+		this.scheduledTasks.add(task);
+		if (!this.running && this.scheduledTasks.remove(task)) {
+			task.cancel(false);
+		}
+	}
+
+
+	// Timer thread
+
+	private void runTimer() {
+		while (this.running) {
+			long tickTime = this.startTime + (this.currentTick + 1) * this.tickNanos;
+			long sleepNanos = tickTime - System.nanoTime();
+			if (sleepNanos > 0) {
+				LockSupport.parkNanos(this, sleepNanos);
+				continue;
+			}
+			this.currentTick++;
+			removeCancelledTasks();
+			transferScheduledTasks();
+			advance();
+		}
+	}
+
+	private void removeCancelledTasks() {
+		WheelTask task;
+		while ((task = this.cancelledTasks.poll()) != null) {
+			if (task.bucket != null) {
+				task.bucket.remove(task);
+			}
+		}
+	}
+
+	private void transferScheduledTasks() {
+		for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+			WheelTask task = this.scheduledTasks.poll();
+			if (task == null) {
+				break;
+			}
+			task.inWheel = true;
+			if (task.state == WAITING) {
+				insert(task);
+			}
+		}
+	}
+
+	/**
+	 * Cascade the buckets of the coarser wheels that have become current,
+	 * then expire the current bucket of the finest wheel.
+	 */
+	private void advance() {
+		long interval = 1;
+		for (int i = 1; i < this.wheels.size(); i++) {
+			interval *= this.wheelSize;
+			if (this.currentTick % interval != 0) {
+				break;
+			}
+			Bucket bucket = this.wheels.get(i)[(int) ((this.currentTick / interval) % this.wheelSize)];
+			WheelTask task = bucket.clear();
+			while (task != null) {
+				WheelTask next = task.next;
+				task.next = null;
+				insert(task);
+				task = next;
+			}
+		}
+		Bucket bucket = this.wheels.get(0)[(int) (this.currentTick % this.wheelSize)];
+		WheelTask task = bucket.clear();
+		while (task != null) {
+			WheelTask next = task.next;
+			task.next = null;
+			execute(task);
+			task = next;
+		}
+	}
+
+	/**
+	 * Insert the given task into the finest wheel covering its deadline,
+	 * adding a coarser wheel if necessary, or execute it right away if due.
+	 */
+	private void insert(WheelTask task) {
+		long deadlineTick = task.deadlineTick;
+		if (deadlineTick <= this.currentTick) {
+			execute(task);
+			return;
+		}
+		long interval = 1;
+		int level = 0;
+		while (deadlineTick >= this.currentTick - (this.currentTick % interval) + interval * this.wheelSize &&
+				interval <= Long.MAX_VALUE / this.wheelSize / this.wheelSize) {
+			interval *= this.wheelSize;
+			level++;
+			if (level == this.wheels.size()) {
+				this.wheels.add(newWheel());
+			}
+		}
+		this.wheels.get(level)[(int) ((deadlineTick / interval) % this.wheelSize)].add(task);
+	}
+
+	private void execute(WheelTask task) {
+		task.inWheel = false;
+		if (task.state != WAITING) {
+			return;
+		}
+		try {
+			getWorkerExecutor().execute(task);
+		}
+		catch (RejectedExecutionException ex) {
+			task.reject(new TaskRejectedException("Executor [" + this.workerExecutor +
+					"] did not accept task: " + task.task, ex));
+		}
+	}
+
+	private Bucket[] newWheel() {
+		Bucket[] wheel = new Bucket[this.wheelSize];
+		for (int i = 0; i < wheel.length; i++) {
+			wheel[i] = new Bucket();
+		}
+		return wheel;
+	}
+
+	private static void cancelAll(@Nullable WheelTask task) {
+		while (task != null) {
+			WheelTask next = task.next;
+			task.next = null;
+			task.cancel(false);
+			task = next;
+		}
+	}
+
+
+	/**
+	 * Doubly-linked list of the tasks in a single wheel slot,
+	 * allowing for constant-time removal of cancelled tasks.
+	 */
+	private static final class Bucket {
+
+		@Nullable
+		private WheelTask head;
+
+		@Nullable
+		private WheelTask tail;
+
+		void add(WheelTask task) {
+			task.bucket = this;
+			task.prev = this.tail;
+			if (this.tail == null) {
+				this.head = task;
+			}
+			else {
+				this.tail.next = task;
+			}
+			this.tail = task;
+		}
+
+		void remove(WheelTask task) {
+			if (task.prev == null) {
+				this.head = task.next;
+			}
+			else {
+				task.prev.next = task.next;
+			}
+			if (task.next == null) {
+				this.tail = task.prev;
+			}
+			else {
+				task.next.prev = task.prev;
+			}
+			task.bucket = null;
+			task.prev = null;
+			task.next = null;
+		}
+
+		/**
+		 * Detach all tasks from this bucket.
+		 * @return the first task, still linked to the others through
+		 * {@link WheelTask#next}, or {@code null} if the bucket was empty
+		 */
+		@Nullable
+		WheelTask clear() {
+			WheelTask head = this.head;
+			for (WheelTask task = head; task != null; task = task.next) {
+				task.bucket = null;
+				task.prev = null;
+			}
+			this.head = null;
+			this.tail = null;
+			return head;
+		}
+	}
+
+
+	/**
+	 * A task scheduled on the timing wheel, serving as its own
+	 * {@link ScheduledFuture} across repeated executions.
+	 */
+	private final class WheelTask implements ScheduledFuture<Object>, Runnable {
+
+		private final Runnable task;
+
+		private final long period;
+
+		@Nullable
+		private final Trigger trigger;
+
+		@Nullable
+		private final SimpleTriggerContext triggerContext;
+
+		@Nullable
+		private Date scheduledExecutionTime;
+
+		volatile int state = WAITING;
+
+		// Whether the timer thread has picked up this task, requiring removal on cancel
+		private volatile boolean inWheel;
+
+		@Nullable
+		private volatile Throwable failure;
+
+		private volatile boolean awaited;
+
+		private volatile long deadline;
+
+		private volatile long deadlineTick;
+
+		@Nullable
+		private volatile Thread runner;
+
+		// Linkage below is only accessed by the timer thread
+
+		@Nullable
+		private Bucket bucket;
+
+		@Nullable
+		private WheelTask prev;
+
+		@Nullable
+		private WheelTask next;
+
+		WheelTask(Runnable task, long period, @Nullable Trigger trigger) {
+			this.task = task;
+			this.period = period;
+			this.trigger = trigger;
+			this.triggerContext = (trigger != null ? new SimpleTriggerContext(clock) : null);
+		}
+
+		boolean compareAndSetState(int expect, int update) {
+			return stateUpdater.compareAndSet(this, expect, update);
+		}
+
+		void setDeadline(long now, long delayMillis) {
+			long delay = TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0));
+			setDeadline(delay < Long.MAX_VALUE - (now - startTime) ? now + delay : Long.MAX_VALUE + startTime);
+		}
+
+		void setDeadline(long deadline) {
+			long elapsed = deadline - startTime;
+			this.deadline = deadline;
+			this.deadlineTick = elapsed / tickNanos + (elapsed % tickNanos != 0 ? 1 : 0);
+		}
+
+		/**
+		 * Determine the next execution time from the trigger and enqueue this task.
+		 * @return {@code true} if scheduled, {@code false} if the trigger is exhausted
+		 */
+		boolean scheduleNextExecution() {
+			Assert.state(this.trigger != null && this.triggerContext != null, "No trigger");
+			this.scheduledExecutionTime = this.trigger.nextExecutionTime(this.triggerContext);
+			if (this.scheduledExecutionTime == null) {
+				return false;
+			}
+			setDeadline(System.nanoTime(), this.scheduledExecutionTime.getTime() - clock.millis());
+			enqueue(this);
+			return true;
+		}
+
+		@Override
+		public void run() {
+			if (!compareAndSetState(WAITING, RUNNING)) {
+				return;
+			}
+			Date actualExecutionTime = (this.triggerContext != null ? new Date(clock.millis()) : null);
+			this.runner = Thread.currentThread();
+			try {
+				this.task.run();
+			}
+			catch (Throwable ex) {
+				this.failure = ex;
+				if (compareAndSetState(RUNNING, DONE)) {
+					signalDone();
+				}
+				return;
+			}
+			finally {
+				this.runner = null;
+			}
+
+			if (this.trigger != null && this.triggerContext != null) {
+				Assert.state(this.scheduledExecutionTime != null, "No scheduled execution");
+				this.triggerContext.update(this.scheduledExecutionTime, actualExecutionTime, new Date(clock.millis()));
+				if (compareAndSetState(RUNNING, WAITING)) {
+					try {
+						if (!scheduleNextExecution() && compareAndSetState(WAITING, DONE)) {
+							signalDone();
+						}
+					}
+					catch (TaskRejectedException ex) {
+						reject(ex);
+					}
+				}
+			}
+			else if (this.period != 0) {
+				setDeadline(this.period > 0 ? this.deadline + this.period : System.nanoTime() - this.period);
+				if (compareAndSetState(RUNNING, WAITING)) {
+					try {
+						enqueue(this);
+					}
+					catch (TaskRejectedException ex) {
+						reject(ex);
+					}
+				}
+			}
+			else if (compareAndSetState(RUNNING, DONE)) {
+				signalDone();
+			}
+		}
+
+		void reject(TaskRejectedException ex) {
+			this.failure = ex;
+			if (compareAndSetState(WAITING, DONE)) {
+				signalDone();
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			int current;
+			do {
+				current = this.state;
+				if (current == DONE || current == CANCELLED) {
+					return false;
+				}
+			}
+			while (!compareAndSetState(current, CANCELLED));
+
+			if (current == RUNNING && mayInterruptIfRunning) {
+				Thread runner = this.runner;
+				if (runner != null) {
+					runner.interrupt();
+				}
+			}
+			signalDone();
+			if (current == WAITING && this.inWheel && running) {
+				cancelledTasks.add(this);
+			}
+			return true;
+		}
+
+		private void signalDone() {
+			if (this.awaited) {
+				synchronized (this) {
+					notifyAll();
+				}
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return (this.state == CANCELLED);
+		}
+
+		@Override
+		public boolean isDone() {
+			return (this.state >= DONE);
+		}
+
+		@Override
+		@Nullable
+		public Object get() throws InterruptedException, ExecutionException {
+			synchronized (this) {
+				this.awaited = true;
+				while (!isDone()) {
+					wait();
+				}
+			}
+			return report();
+		}
+
+		@Override
+		@Nullable
+		public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			long deadline = System.nanoTime() + unit.toNanos(timeout);
+			synchronized (this) {
+				this.awaited = true;
+				while (!isDone()) {
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) {
+						throw new TimeoutException();
+					}
+					TimeUnit.NANOSECONDS.timedWait(this, remaining);
+				}
+			}
+			return report();
+		}
+
+		@Nullable
+		private Object report() throws ExecutionException {
+			if (isCancelled()) {
+				throw new CancellationException();
+			}
+			Throwable failure = this.failure;
+			if (failure != null) {
+				throw new ExecutionException(failure);
+			}
+			return null;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(this.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (this == other) {
+				return 0;
+			}
+			long diff = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+			return (diff == 0 ? 0 : ((diff < 0) ? -1 : 1));
+		}
+	}
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.config;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+/**
+ * Runnable decorator that reports each execution of a scheduled {@link Task}
+ * to the registered {@link ScheduledTaskListener ScheduledTaskListeners},
+ * keeping track of the planned start time of the next execution.
+ *
+ * @since 5.3.3
+ * @see ScheduledTaskRegistrar#addTaskListener
+ */
+class ObservedTaskRunnable implements Runnable {
+
+	private static final int MAX_SKIPPED_EXECUTIONS = 100000;
+
+	private static final Log logger = LogFactory.getLog(ObservedTaskRunnable.class);
+
+
+	private final Task task;
+
+	private final List<ScheduledTaskListener> listeners;
+
+	private final Clock clock;
+
+	private final long fixedRate;
+
+	private final long fixedDelay;
+
+	@Nullable
+	private final Trigger trigger;
+
+	private final AtomicInteger runningExecutions = new AtomicInteger();
+
+	private volatile long nextScheduledTime;
+
+
+	private ObservedTaskRunnable(Task task, List<ScheduledTaskListener> listeners, Clock clock,
+			long fixedRate, long fixedDelay, @Nullable Trigger trigger, long firstScheduledTime) {
+
+		this.task = task;
+		this.listeners = listeners;
+		this.clock = clock;
+		this.fixedRate = fixedRate;
+		this.fixedDelay = fixedDelay;
+		this.trigger = trigger;
+		this.nextScheduledTime = firstScheduledTime;
+	}
+
+
+	/**
+	 * Create an observed runnable for the given trigger task, to be scheduled
+	 * with the trigger returned from {@link #getTrigger()}.
+	 */
+	static ObservedTaskRunnable forTrigger(TriggerTask task, List<ScheduledTaskListener> listeners, Clock clock) {
+		return new ObservedTaskRunnable(task, listeners, clock, 0, 0, task.getTrigger(), clock.millis());
+	}
+
+	/**
+	 * Create an observed runnable for the given fixed-rate task.
+	 */
+	static ObservedTaskRunnable forFixedRate(IntervalTask task, List<ScheduledTaskListener> listeners, Clock clock) {
+		return new ObservedTaskRunnable(task, listeners, clock, task.getInterval(), 0, null,
+				clock.millis() + Math.max(task.getInitialDelay(), 0));
+	}
+
+	/**
+	 * Create an observed runnable for the given fixed-delay task.
+	 */
+	static ObservedTaskRunnable forFixedDelay(IntervalTask task, List<ScheduledTaskListener> listeners, Clock clock) {
+		return new ObservedTaskRunnable(task, listeners, clock, 0, task.getInterval(), null,
+				clock.millis() + Math.max(task.getInitialDelay(), 0));
+	}
+
+
+	/**
+	 * Return a trigger that delegates to the task's trigger while recording
+	 * the planned time of the next execution.
+	 */
+	Trigger getTrigger() {
+		Trigger trigger = this.trigger;
+		if (trigger == null) {
+			throw new IllegalStateException("Not a trigger task: " + this.task);
+		}
+		return triggerContext -> {
+			Date next = trigger.nextExecutionTime(triggerContext);
+			if (next != null) {
+				this.nextScheduledTime = next.getTime();
+			}
+			return next;
+		};
+	}
+
+	@Override
+	public void run() {
+		long scheduledTime = this.nextScheduledTime;
+		long startTime = this.clock.millis();
+		boolean overlapping = (this.runningExecutions.getAndIncrement() > 0);
+		notifyStarted(new ScheduledTaskExecution(this.task, scheduledTime, startTime, overlapping));
+
+		Throwable failure = null;
+		try {
+			this.task.getRunnable().run();
+		}
+		catch (RuntimeException | Error ex) {
+			failure = ex;
+			throw ex;
+		}
+		finally {
+			long completionTime = this.clock.millis();
+			this.runningExecutions.decrementAndGet();
+			boolean overrun = false;
+			int skippedExecutions = 0;
+			if (this.fixedRate > 0) {
+				this.nextScheduledTime = scheduledTime + this.fixedRate;
+				overrun = (completionTime - startTime > this.fixedRate);
+			}
+			else if (this.fixedDelay > 0) {
+				this.nextScheduledTime = completionTime + this.fixedDelay;
+			}
+			else if (this.trigger instanceof CronTrigger) {
+				skippedExecutions = countSkippedExecutions(this.trigger, scheduledTime, completionTime);
+				overrun = (skippedExecutions > 0);
+			}
+			notifyFinished(new ScheduledTaskExecution(this.task, scheduledTime, startTime, completionTime,
+					overlapping, overrun, skippedExecutions, failure));
+		}
+	}
+
+	/**
+	 * Count the executions of the given trigger that were due after the given
+	 * scheduled time but before the given completion time.
+	 */
+	private static int countSkippedExecutions(Trigger trigger, long scheduledTime, long completionTime) {
+		int skipped = 0;
+		Date last = new Date(scheduledTime);
+		while (skipped < MAX_SKIPPED_EXECUTIONS) {
+			TriggerContext context = new SimpleTriggerContext(last, last, last);
+			Date next = trigger.nextExecutionTime(context);
+			if (next == null || next.getTime() >= completionTime || !next.after(last)) {
+				break;
+			}
+			skipped++;
+			last = next;
+		}
+		return skipped;
+	}
+
+	private void notifyStarted(ScheduledTaskExecution execution) {
+		for (ScheduledTaskListener listener : this.listeners) {
+			try {
+				listener.executionStarted(execution);
+			}
+			catch (Throwable ex) {
+				logger.warn("Failed to notify ScheduledTaskListener [" + listener + "] of " + execution, ex);
+			}
+		}
+	}
+
+	private void notifyFinished(ScheduledTaskExecution execution) {
+		for (ScheduledTaskListener listener : this.listeners) {
+			try {
+				listener.executionFinished(execution);
+			}
+			catch (Throwable ex) {
+				logger.warn("Failed to notify ScheduledTaskListener [" + listener + "] of " + execution, ex);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return this.task.toString();
+	}
+
+}
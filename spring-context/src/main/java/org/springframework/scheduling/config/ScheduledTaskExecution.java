@@ -0,0 +1,186 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.config;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Information about a single execution of a scheduled {@link Task},
+ * as passed to {@link ScheduledTaskListener} callbacks.
+ *
+ * <p>The {@linkplain #getScheduledTime() scheduled time} is the time at which
+ * the execution was planned to start: the trigger's next execution time for
+ * trigger and cron tasks, the initial delay plus a multiple of the interval
+ * for fixed-rate tasks, and the previous completion time plus the delay for
+ * fixed-delay tasks.
+ *
+ * @since 5.3.3
+ * @see ScheduledTaskListener
+ */
+public final class ScheduledTaskExecution {
+
+	private final Task task;
+
+	private final long scheduledTime;
+
+	private final long startTime;
+
+	private final long completionTime;
+
+	private final boolean overlapping;
+
+	private final boolean overrun;
+
+	private final int skippedExecutions;
+
+	@Nullable
+	private final Throwable exception;
+
+
+	ScheduledTaskExecution(Task task, long scheduledTime, long startTime, boolean overlapping) {
+		this(task, scheduledTime, startTime, -1, overlapping, false, 0, null);
+	}
+
+	ScheduledTaskExecution(Task task, long scheduledTime, long startTime, long completionTime,
+			boolean overlapping, boolean overrun, int skippedExecutions, @Nullable Throwable exception) {
+
+		this.task = task;
+		this.scheduledTime = scheduledTime;
+		this.startTime = startTime;
+		this.completionTime = completionTime;
+		this.overlapping = overlapping;
+		this.overrun = overrun;
+		this.skippedExecutions = skippedExecutions;
+		this.exception = exception;
+	}
+
+
+	/**
+	 * Return the task that got executed.
+	 */
+	public Task getTask() {
+		return this.task;
+	}
+
+	/**
+	 * Return the time at which this execution was planned to start.
+	 */
+	public Instant getScheduledTime() {
+		return Instant.ofEpochMilli(this.scheduledTime);
+	}
+
+	/**
+	 * Return the time at which this execution actually started.
+	 */
+	public Instant getStartTime() {
+		return Instant.ofEpochMilli(this.startTime);
+	}
+
+	/**
+	 * Return the time at which this execution finished,
+	 * or {@code null} if still running.
+	 */
+	@Nullable
+	public Instant getCompletionTime() {
+		return (isFinished() ? Instant.ofEpochMilli(this.completionTime) : null);
+	}
+
+	/**
+	 * Return whether this execution has finished.
+	 */
+	public boolean isFinished() {
+		return (this.completionTime >= 0);
+	}
+
+	/**
+	 * Return how late this execution started compared to its scheduled time.
+	 */
+	public Duration getLag() {
+		return Duration.ofMillis(Math.max(this.startTime - this.scheduledTime, 0));
+	}
+
+	/**
+	 * Return how long this execution took, or {@code null} if still running.
+	 */
+	@Nullable
+	public Duration getDuration() {
+		return (isFinished() ? Duration.ofMillis(this.completionTime - this.startTime) : null);
+	}
+
+	/**
+	 * Return whether this execution started while a previous execution
+	 * of the same task was still running.
+	 */
+	public boolean isOverlapping() {
+		return this.overlapping;
+	}
+
+	/**
+	 * Return whether this execution took longer than the interval of its task,
+	 * i.e. ran past the point in time at which the next execution was due.
+	 * <p>Always {@code false} for fixed-delay and custom trigger tasks, which
+	 * do not define such an interval.
+	 */
+	public boolean isOverrun() {
+		return this.overrun;
+	}
+
+	/**
+	 * Return the number of cron executions that got skipped because this
+	 * execution ran past their scheduled times.
+	 * <p>Always 0 for other kinds of tasks: fixed-rate tasks catch up on
+	 * missed executions instead of skipping them.
+	 */
+	public int getSkippedExecutions() {
+		return this.skippedExecutions;
+	}
+
+	/**
+	 * Return the exception thrown by this execution, if any.
+	 */
+	@Nullable
+	public Throwable getException() {
+		return this.exception;
+	}
+
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("Execution of task '").append(this.task).append('\'');
+		sb.append(": scheduled at ").append(getScheduledTime()).append(", lag ").append(getLag().toMillis()).append(" ms");
+		if (isFinished()) {
+			sb.append(", took ").append(this.completionTime - this.startTime).append(" ms");
+		}
+		if (this.overrun) {
+			sb.append(", overrun");
+		}
+		if (this.skippedExecutions > 0) {
+			sb.append(", skipped ").append(this.skippedExecutions).append(" executions");
+		}
+		if (this.overlapping) {
+			sb.append(", overlapping");
+		}
+		if (this.exception != null) {
+			sb.append(", failed with ").append(this.exception);
+		}
+		return sb.toString();
+	}
+
+}
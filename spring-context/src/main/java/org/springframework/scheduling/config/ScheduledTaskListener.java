@@ -0,0 +1,52 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.config;
+
+/**
+ * Callback interface for observing the executions of tasks scheduled through
+ * a {@link ScheduledTaskRegistrar}, e.g. in order to collect metrics or to
+ * detect tasks that overrun their interval.
+ *
+ * <p>Listeners get registered with the registrar through
+ * {@link ScheduledTaskRegistrar#addTaskListener}; with
+ * {@link org.springframework.scheduling.annotation.EnableScheduling @EnableScheduling},
+ * any {@code ScheduledTaskListener} beans in the container are detected automatically.
+ * Callbacks are invoked on the thread that executes the task and should
+ * therefore return quickly.
+ *
+ * @since 5.3.3
+ * @see ScheduledTaskExecution
+ * @see ScheduledTaskMetricsRegistry
+ */
+@FunctionalInterface
+public interface ScheduledTaskListener {
+
+	/**
+	 * Called right before the given execution of a scheduled task starts.
+	 * @param execution the execution, not finished yet
+	 */
+	default void executionStarted(ScheduledTaskExecution execution) {
+	}
+
+	/**
+	 * Called after the given execution of a scheduled task has finished,
+	 * successfully or not.
+	 * @param execution the finished execution
+	 */
+	void executionFinished(ScheduledTaskExecution execution);
+
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Execution statistics of a single scheduled {@link Task}, as collected by
+ * a {@link ScheduledTaskMetricsRegistry}.
+ *
+ * @since 5.3.3
+ * @see ScheduledTaskMetricsRegistry#getMetrics(Task)
+ */
+public class ScheduledTaskMetrics {
+
+	private final Task task;
+
+	private final Clock clock;
+
+	private final LongAdder executions = new LongAdder();
+
+	private final LongAdder failures = new LongAdder();
+
+	private final LongAdder overruns = new LongAdder();
+
+	private final LongAdder skippedExecutions = new LongAdder();
+
+	private final LongAdder overlappingExecutions = new LongAdder();
+
+	private final Histogram duration = new Histogram();
+
+	private final Histogram lag = new Histogram();
+
+	@Nullable
+	private volatile ScheduledTaskExecution currentExecution;
+
+	@Nullable
+	private volatile ScheduledTaskExecution lastExecution;
+
+
+	ScheduledTaskMetrics(Task task, Clock clock) {
+		this.task = task;
+		this.clock = clock;
+	}
+
+
+	void executionStarted(ScheduledTaskExecution execution) {
+		this.currentExecution = execution;
+	}
+
+	void executionFinished(ScheduledTaskExecution execution) {
+		this.executions.increment();
+		if (execution.getException() != null) {
+			this.failures.increment();
+		}
+		if (execution.isOverrun()) {
+			this.overruns.increment();
+		}
+		if (execution.isOverlapping()) {
+			this.overlappingExecutions.increment();
+		}
+		this.skippedExecutions.add(execution.getSkippedExecutions());
+		Duration duration = execution.getDuration();
+		if (duration != null) {
+			this.duration.record(duration.toMillis());
+		}
+		this.lag.record(execution.getLag().toMillis());
+		this.lastExecution = execution;
+		if (this.currentExecution != null && this.currentExecution.getStartTime().equals(execution.getStartTime())) {
+			this.currentExecution = null;
+		}
+	}
+
+
+	/**
+	 * Return the task that these metrics apply to.
+	 */
+	public Task getTask() {
+		return this.task;
+	}
+
+	/**
+	 * Return the number of finished executions.
+	 */
+	public long getExecutionCount() {
+		return this.executions.sum();
+	}
+
+	/**
+	 * Return the number of executions that threw an exception.
+	 */
+	public long getFailureCount() {
+		return this.failures.sum();
+	}
+
+	/**
+	 * Return the number of executions that took longer than the task's interval.
+	 * @see ScheduledTaskExecution#isOverrun()
+	 */
+	public long getOverrunCount() {
+		return this.overruns.sum();
+	}
+
+	/**
+	 * Return the total number of cron executions skipped due to overruns.
+	 * @see ScheduledTaskExecution#getSkippedExecutions()
+	 */
+	public long getSkippedExecutionCount() {
+		return this.skippedExecutions.sum();
+	}
+
+	/**
+	 * Return the number of executions that overlapped with a previous execution.
+	 * @see ScheduledTaskExecution#isOverlapping()
+	 */
+	public long getOverlappingExecutionCount() {
+		return this.overlappingExecutions.sum();
+	}
+
+	/**
+	 * Return the histogram of execution durations, in milliseconds.
+	 */
+	public Histogram getDuration() {
+		return this.duration;
+	}
+
+	/**
+	 * Return the histogram of scheduling lag, i.e. the delay between
+	 * scheduled and actual start time of executions, in milliseconds.
+	 */
+	public Histogram getLag() {
+		return this.lag;
+	}
+
+	/**
+	 * Return the most recently started execution if it is still running,
+	 * or {@code null} otherwise.
+	 */
+	@Nullable
+	public ScheduledTaskExecution getCurrentExecution() {
+		return this.currentExecution;
+	}
+
+	/**
+	 * Return whether the task has been running for longer than the given
+	 * duration, as a sign that it might be stalled.
+	 * @param threshold the maximum expected duration of an execution
+	 * @see ScheduledTaskMetricsRegistry#setClock
+	 */
+	public boolean isRunningLongerThan(Duration threshold) {
+		ScheduledTaskExecution current = this.currentExecution;
+		return (current != null &&
+				Duration.between(current.getStartTime(), this.clock.instant()).compareTo(threshold) > 0);
+	}
+
+	/**
+	 * Return the most recently finished execution, or {@code null} if none.
+	 */
+	@Nullable
+	public ScheduledTaskExecution getLastExecution() {
+		return this.lastExecution;
+	}
+
+	@Override
+	public String toString() {
+		return "Metrics for task '" + this.task + "': executions=" + getExecutionCount() +
+				", failures=" + getFailureCount() + ", overruns=" + getOverrunCount() +
+				", skipped=" + getSkippedExecutionCount() + ", overlapping=" + getOverlappingExecutionCount() +
+				", duration=" + this.duration + ", lag=" + this.lag;
+	}
+
+
+	/**
+	 * Lock-free histogram of millisecond values with exponentially growing
+	 * buckets, i.e. with a relative error of at most a factor of 2 for
+	 * percentile estimates.
+	 */
+	public static final class Histogram {
+
+		private static final int BUCKET_COUNT = 64;
+
+		// Bucket i holds values in [2^(i-1), 2^i), with bucket 0 for zero
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder total = new LongAdder();
+
+		private final AtomicLong max = new AtomicLong();
+
+		Histogram() {
+		}
+
+		void record(long value) {
+			long valueToUse = Math.max(value, 0);
+			this.buckets.incrementAndGet(BUCKET_COUNT - Long.numberOfLeadingZeros(valueToUse));
+			this.count.increment();
+			this.total.add(valueToUse);
+			this.max.accumulateAndGet(valueToUse, Math::max);
+		}
+
+		/**
+		 * Return the number of recorded values.
+		 */
+		public long getCount() {
+			return this.count.sum();
+		}
+
+		/**
+		 * Return the sum of all recorded values.
+		 */
+		public long getTotal() {
+			return this.total.sum();
+		}
+
+		/**
+		 * Return the maximum recorded value.
+		 */
+		public long getMax() {
+			return this.max.get();
+		}
+
+		/**
+		 * Return the mean of all recorded values.
+		 */
+		public double getMean() {
+			long count = getCount();
+			return (count > 0 ? (double) getTotal() / count : 0);
+		}
+
+		/**
+		 * Return an upper bound for the given percentile of the recorded values.
+		 * @param percentile the percentile, between 0 and 1 (e.g. 0.99)
+		 */
+		public long getPercentile(double percentile) {
+			Assert.isTrue(percentile >= 0 && percentile <= 1, "Percentile must be between 0 and 1");
+			long count = 0;
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				count += this.buckets.get(i);
+			}
+			long rank = (long) Math.ceil(percentile * count);
+			long seen = 0;
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				seen += this.buckets.get(i);
+				if (seen >= rank && seen > 0) {
+					long upperBound = (i == 0 ? 0 : (i == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << i) - 1));
+					return Math.min(upperBound, getMax());
+				}
+			}
+			return 0;
+		}
+
+		@Override
+		public String toString() {
+			return "[count=" + getCount() + ", mean=" + Math.round(getMean()) + ", p99=" + getPercentile(0.99) +
+					", max=" + getMax() + "]";
+		}
+	}
+
+}
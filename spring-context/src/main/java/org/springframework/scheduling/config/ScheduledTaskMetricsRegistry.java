@@ -0,0 +1,149 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ScheduledTaskListener} that collects {@link ScheduledTaskMetrics}
+ * per scheduled task: execution counts, latency and lag histograms as well as
+ * overrun, skipped and overlapping executions. Overruns and skipped
+ * executions are also logged at warn level.
+ *
+ * <p>Simply declare this class as a bean for
+ * {@link org.springframework.scheduling.annotation.EnableScheduling @EnableScheduling}
+ * to pick it up, then query it for the metrics of the scheduled tasks:
+ *
+ * <pre class="code">
+ * &#064;Bean
+ * public ScheduledTaskMetricsRegistry scheduledTaskMetrics() {
+ *     return new ScheduledTaskMetricsRegistry();
+ * }</pre>
+ *
+ * @since 5.3.3
+ * @see ScheduledTaskRegistrar#addTaskListener
+ */
+public class ScheduledTaskMetricsRegistry implements ScheduledTaskListener {
+
+	private static final Log logger = LogFactory.getLog(ScheduledTaskMetricsRegistry.class);
+
+	private final Map<Task, ScheduledTaskMetrics> metrics = new ConcurrentHashMap<>(16);
+
+	private Clock clock = Clock.systemDefaultZone();
+
+
+	/**
+	 * Set the clock to measure how long currently running tasks have been
+	 * executing, to be configured before any task gets executed.
+	 * <p>This should be the {@linkplain org.springframework.scheduling.TaskScheduler#getClock()
+	 * clock of the scheduler} that the execution times are recorded with.
+	 * The default clock is the system clock for the default time zone.
+	 * @see #getMetricsRunningLongerThan(Duration)
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "Clock must not be null");
+		this.clock = clock;
+	}
+
+	@Override
+	public void executionStarted(ScheduledTaskExecution execution) {
+		getOrCreateMetrics(execution.getTask()).executionStarted(execution);
+	}
+
+	@Override
+	public void executionFinished(ScheduledTaskExecution execution) {
+		getOrCreateMetrics(execution.getTask()).executionFinished(execution);
+		if ((execution.isOverrun() || execution.getSkippedExecutions() > 0) && logger.isWarnEnabled()) {
+			logger.warn(execution.toString());
+		}
+	}
+
+	private ScheduledTaskMetrics getOrCreateMetrics(Task task) {
+		return this.metrics.computeIfAbsent(task, key -> new ScheduledTaskMetrics(key, this.clock));
+	}
+
+
+	/**
+	 * Return the metrics of all tasks that have been executed so far.
+	 */
+	public Collection<ScheduledTaskMetrics> getMetrics() {
+		return Collections.unmodifiableCollection(this.metrics.values());
+	}
+
+	/**
+	 * Return the metrics of the given task.
+	 * @param task the task, e.g. as obtained from a {@link ScheduledTask}
+	 * @return the metrics, or {@code null} if the task has not been executed yet
+	 */
+	@Nullable
+	public ScheduledTaskMetrics getMetrics(Task task) {
+		return this.metrics.get(task);
+	}
+
+	/**
+	 * Return the metrics of all tasks with the given name, i.e. the
+	 * {@code toString()} representation of the task, which is the
+	 * fully-qualified method name for {@code @Scheduled} methods.
+	 * @param taskName the name of the task
+	 * @return the metrics of the matching tasks (possibly empty)
+	 */
+	public List<ScheduledTaskMetrics> getMetrics(String taskName) {
+		List<ScheduledTaskMetrics> result = new ArrayList<>();
+		for (ScheduledTaskMetrics taskMetrics : this.metrics.values()) {
+			if (taskName.equals(taskMetrics.getTask().toString())) {
+				result.add(taskMetrics);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the metrics of all tasks that are currently running for
+	 * longer than the given duration, as a sign that they might be stalled.
+	 * @param threshold the maximum expected duration of an execution
+	 */
+	public List<ScheduledTaskMetrics> getMetricsRunningLongerThan(Duration threshold) {
+		List<ScheduledTaskMetrics> result = new ArrayList<>();
+		for (ScheduledTaskMetrics taskMetrics : this.metrics.values()) {
+			if (taskMetrics.isRunningLongerThan(threshold)) {
+				result.add(taskMetrics);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Clear all collected metrics.
+	 */
+	public void reset() {
+		this.metrics.clear();
+	}
+
+}
@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
@@ -91,6 +92,8 @@ public class ScheduledTaskRegistrar implements ScheduledTaskHolder, Initializing
 
 	private final Set<ScheduledTask> scheduledTasks = new LinkedHashSet<>(16);
 
+	private final List<ScheduledTaskListener> taskListeners = new ArrayList<>();
+
 
 	/**
 	 * Set the {@link TaskScheduler} to register scheduled tasks with.
@@ -128,6 +131,36 @@ public class ScheduledTaskRegistrar implements ScheduledTaskHolder, Initializing
 		return this.taskScheduler;
 	}
 
+	/**
+	 * Specify the {@link ScheduledTaskListener ScheduledTaskListeners} to be
+	 * notified of each execution of tasks scheduled through this registrar,
+	 * replacing any previously registered listeners.
+	 * @since 5.3.3
+	 */
+	public void setTaskListeners(List<ScheduledTaskListener> taskListeners) {
+		this.taskListeners.clear();
+		this.taskListeners.addAll(taskListeners);
+	}
+
+	/**
+	 * Add a {@link ScheduledTaskListener} to be notified of each execution of
+	 * tasks scheduled through this registrar from now on.
+	 * @since 5.3.3
+	 * @see ScheduledTaskMetricsRegistry
+	 */
+	public void addTaskListener(ScheduledTaskListener taskListener) {
+		Assert.notNull(taskListener, "ScheduledTaskListener must not be null");
+		this.taskListeners.add(taskListener);
+	}
+
+	/**
+	 * Return the registered {@link ScheduledTaskListener ScheduledTaskListeners}.
+	 * @since 5.3.3
+	 */
+	public List<ScheduledTaskListener> getTaskListeners() {
+		return Collections.unmodifiableList(this.taskListeners);
+	}
+
 
 	/**
 	 * Specify triggered tasks as a Map of Runnables (the tasks) and Trigger objects
@@ -403,7 +436,7 @@ public class ScheduledTaskRegistrar implements ScheduledTaskHolder, Initializing
 			newTask = true;
 		}
 		if (this.taskScheduler != null) {
-			scheduledTask.future = this.taskScheduler.schedule(task.getRunnable(), task.getTrigger());
+			scheduledTask.future = scheduleTrigger(this.taskScheduler, task);
 		}
 		else {
 			addTriggerTask(task);
@@ -428,7 +461,7 @@ public class ScheduledTaskRegistrar implements ScheduledTaskHolder, Initializing
 			newTask = true;
 		}
 		if (this.taskScheduler != null) {
-			scheduledTask.future = this.taskScheduler.schedule(task.getRunnable(), task.getTrigger());
+			scheduledTask.future = scheduleTrigger(this.taskScheduler, task);
 		}
 		else {
 			addCronTask(task);
@@ -469,14 +502,16 @@ public class ScheduledTaskRegistrar implements ScheduledTaskHolder, Initializing
 			newTask = true;
 		}
 		if (this.taskScheduler != null) {
+			Runnable runnable = (this.taskListeners.isEmpty() ? task.getRunnable() :
+					ObservedTaskRunnable.forFixedRate(task, new ArrayList<>(this.taskListeners), this.taskScheduler.getClock()));
 			if (task.getInitialDelay() > 0) {
 				Date startTime = new Date(this.taskScheduler.getClock().millis() + task.getInitialDelay());
 				scheduledTask.future =
-						this.taskScheduler.scheduleAtFixedRate(task.getRunnable(), startTime, task.getInterval());
+						this.taskScheduler.scheduleAtFixedRate(runnable, startTime, task.getInterval());
 			}
 			else {
 				scheduledTask.future =
-						this.taskScheduler.scheduleAtFixedRate(task.getRunnable(), task.getInterval());
+						this.taskScheduler.scheduleAtFixedRate(runnable, task.getInterval());
 			}
 		}
 		else {
@@ -518,14 +553,16 @@ public class ScheduledTaskRegistrar implements ScheduledTaskHolder, Initializing
 			newTask = true;
 		}
 		if (this.taskScheduler != null) {
+			Runnable runnable = (this.taskListeners.isEmpty() ? task.getRunnable() :
+					ObservedTaskRunnable.forFixedDelay(task, new ArrayList<>(this.taskListeners), this.taskScheduler.getClock()));
 			if (task.getInitialDelay() > 0) {
 				Date startTime = new Date(this.taskScheduler.getClock().millis() + task.getInitialDelay());
 				scheduledTask.future =
-						this.taskScheduler.scheduleWithFixedDelay(task.getRunnable(), startTime, task.getInterval());
+						this.taskScheduler.scheduleWithFixedDelay(runnable, startTime, task.getInterval());
 			}
 			else {
 				scheduledTask.future =
-						this.taskScheduler.scheduleWithFixedDelay(task.getRunnable(), task.getInterval());
+						this.taskScheduler.scheduleWithFixedDelay(runnable, task.getInterval());
 			}
 		}
 		else {
@@ -535,6 +572,16 @@ public class ScheduledTaskRegistrar implements ScheduledTaskHolder, Initializing
 		return (newTask ? scheduledTask : null);
 	}
 
+	@Nullable
+	private ScheduledFuture<?> scheduleTrigger(TaskScheduler taskScheduler, TriggerTask task) {
+		if (this.taskListeners.isEmpty()) {
+			return taskScheduler.schedule(task.getRunnable(), task.getTrigger());
+		}
+		ObservedTaskRunnable runnable = ObservedTaskRunnable.forTrigger(
+				task, new ArrayList<>(this.taskListeners), taskScheduler.getClock());
+		return taskScheduler.schedule(runnable, runnable.getTrigger());
+	}
+
 
 	/**
 	 * Return all locally registered tasks that have been scheduled by this registrar.
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for caching the values of {@link CompletableFuture} and Reactor
+ * return types with {@link Cacheable @Cacheable} and related annotations.
+ *
+ * @since 5.3.3
+ */
+public class ReactiveCachingTests {
+
+	private ConfigurableApplicationContext context;
+
+	private AsyncService service;
+
+	private Cache cache;
+
+
+	@BeforeEach
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.service = this.context.getBean(AsyncService.class);
+		this.cache = this.context.getBean(CacheManager.class).getCache("testCache");
+	}
+
+	@AfterEach
+	public void close() {
+		this.context.close();
+	}
+
+
+	@Test
+	public void completableFutureValueIsCached() throws Exception {
+		CompletableFuture<Long> first = this.service.completableFuture("key");
+		assertThat(first.get()).isEqualTo(1L);
+		assertThat(this.cache.get("key").get()).isEqualTo(1L);
+		CompletableFuture<Long> second = this.service.completableFuture("key");
+		assertThat(second.get()).isEqualTo(1L);
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void completableFutureValueIsCachedOnCompletion() throws Exception {
+		CompletableFuture<Long> pending = new CompletableFuture<>();
+		this.service.setPendingFuture(pending);
+		CompletableFuture<Long> first = this.service.pendingFuture("key");
+		assertThat(this.cache.get("key")).isNull();
+		pending.complete(42L);
+		assertThat(first.get()).isEqualTo(42L);
+		assertThat(this.cache.get("key").get()).isEqualTo(42L);
+	}
+
+	@Test
+	public void completableFutureFailureIsNotCached() {
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() ->
+				this.service.failingCompletableFuture("key").get())
+			.withCauseInstanceOf(IllegalStateException.class);
+		assertThat(this.cache.get("key")).isNull();
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() ->
+				this.service.failingCompletableFuture("key").get());
+		assertThat(this.service.getInvocationCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void monoValueIsCached() {
+		Mono<Long> first = this.service.mono("key");
+		assertThat(this.cache.get("key")).isNull();
+		assertThat(first.block()).isEqualTo(1L);
+		assertThat(this.cache.get("key").get()).isEqualTo(1L);
+		assertThat(this.service.mono("key").block()).isEqualTo(1L);
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void emptyMonoIsCachedAsNull() {
+		assertThat(this.service.emptyMono("key").block()).isNull();
+		assertThat(this.cache.get("key")).isNotNull();
+		assertThat(this.cache.get("key").get()).isNull();
+		assertThat(this.service.emptyMono("key").block()).isNull();
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void fluxValuesAreCachedAsList() {
+		assertThat(this.service.flux("key").collectList().block()).containsExactly(1L, 2L);
+		assertThat(this.cache.get("key").get()).isEqualTo(Arrays.asList(1L, 2L));
+		assertThat(this.service.flux("key").collectList().block()).containsExactly(1L, 2L);
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void synchronizedCompletableFuture() throws Exception {
+		assertThat(this.service.synchronizedCompletableFuture("key").get()).isEqualTo(1L);
+		assertThat(this.service.synchronizedCompletableFuture("key").get()).isEqualTo(1L);
+		assertThat(this.cache.get("key").get()).isEqualTo(1L);
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void synchronizedMono() {
+		Mono<Long> mono = this.service.synchronizedMono("key");
+		assertThat(this.service.getInvocationCount()).isEqualTo(0);
+		assertThat(mono.block()).isEqualTo(1L);
+		assertThat(this.service.synchronizedMono("key").block()).isEqualTo(1L);
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void synchronizedFlux() {
+		assertThat(this.service.synchronizedFlux("key").collectList().block()).containsExactly(1L, 2L);
+		assertThat(this.service.synchronizedFlux("key").collectList().block()).containsExactly(1L, 2L);
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void cachePutWithResolvedResult() {
+		assertThat(this.service.put(5L).block()).isEqualTo(5L);
+		assertThat(this.cache.get(5L).get()).isEqualTo(5L);
+	}
+
+	@Test
+	public void cacheEvictAfterCompletion() throws Exception {
+		this.cache.put("key", 1L);
+		CompletableFuture<Long> pending = new CompletableFuture<>();
+		this.service.setPendingFuture(pending);
+		CompletableFuture<Long> result = this.service.evict("key");
+		assertThat(this.cache.get("key")).isNotNull();
+		pending.complete(2L);
+		assertThat(result.get()).isEqualTo(2L);
+		assertThat(this.cache.get("key")).isNull();
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager("testCache");
+		}
+
+		@Bean
+		public AsyncService asyncService() {
+			return new AsyncService();
+		}
+	}
+
+
+	static class AsyncService {
+
+		private final AtomicLong counter = new AtomicLong();
+
+		private CompletableFuture<Long> pendingFuture;
+
+		public long getInvocationCount() {
+			return this.counter.get();
+		}
+
+		public void setPendingFuture(CompletableFuture<Long> pendingFuture) {
+			this.pendingFuture = pendingFuture;
+		}
+
+		@Cacheable("testCache")
+		public CompletableFuture<Long> completableFuture(String key) {
+			return CompletableFuture.completedFuture(this.counter.incrementAndGet());
+		}
+
+		@Cacheable("testCache")
+		public CompletableFuture<Long> pendingFuture(String key) {
+			this.counter.incrementAndGet();
+			return this.pendingFuture;
+		}
+
+		@Cacheable("testCache")
+		public CompletableFuture<Long> failingCompletableFuture(String key) {
+			this.counter.incrementAndGet();
+			CompletableFuture<Long> future = new CompletableFuture<>();
+			future.completeExceptionally(new IllegalStateException("Test exception"));
+			return future;
+		}
+
+		@Cacheable("testCache")
+		public Mono<Long> mono(String key) {
+			return Mono.fromCallable(this.counter::incrementAndGet);
+		}
+
+		@Cacheable("testCache")
+		public Mono<Long> emptyMono(String key) {
+			return Mono.fromRunnable(this.counter::incrementAndGet);
+		}
+
+		@Cacheable("testCache")
+		public Flux<Long> flux(String key) {
+			return Mono.fromCallable(this.counter::incrementAndGet).flatMapMany(count -> Flux.just(count, count + 1));
+		}
+
+		@Cacheable(cacheNames = "testCache", sync = true)
+		public CompletableFuture<Long> synchronizedCompletableFuture(String key) {
+			return CompletableFuture.completedFuture(this.counter.incrementAndGet());
+		}
+
+		@Cacheable(cacheNames = "testCache", sync = true)
+		public Mono<Long> synchronizedMono(String key) {
+			return Mono.fromCallable(this.counter::incrementAndGet);
+		}
+
+		@Cacheable(cacheNames = "testCache", sync = true)
+		public Flux<Long> synchronizedFlux(String key) {
+			List<Long> values = Arrays.asList(this.counter.incrementAndGet(), this.counter.get() + 1);
+			return Flux.fromIterable(values);
+		}
+
+		@CachePut(cacheNames = "testCache", key = "#result")
+		public Mono<Long> put(long value) {
+			return Mono.just(value);
+		}
+
+		@CacheEvict("testCache")
+		public CompletableFuture<Long> evict(String key) {
+			return this.pendingFuture;
+		}
+	}
+
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.CacheStatistics;
+import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
+import org.springframework.core.serializer.support.SerializationDelegate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link BoundedConcurrentMapCache}.
+ *
+ * @since 5.3.3
+ */
+public class BoundedConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<BoundedConcurrentMapCache> {
+
+	private BoundedConcurrentMapCache cache;
+
+	private BoundedConcurrentMapCache cacheNoNull;
+
+	private final AtomicLong time = new AtomicLong();
+
+
+	@BeforeEach
+	public void setup() {
+		this.cache = new BoundedConcurrentMapCache(CACHE_NAME, 1000);
+		this.cacheNoNull = new BoundedConcurrentMapCache(CACHE_NAME_NO_NULL, 1000, null, null, null,
+				false, false, null);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache() {
+		return getCache(true);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache(boolean allowNull) {
+		return (allowNull ? this.cache : this.cacheNoNull);
+	}
+
+	@Override
+	protected Object getNativeCache() {
+		return this.cache;
+	}
+
+
+	@Test
+	public void evictsBeyondMaximumSize() {
+		BoundedConcurrentMapCache cache = createCache(100, null, null);
+		for (int i = 0; i < 1000; i++) {
+			cache.put(i, "value" + i);
+		}
+		cache.cleanUp();
+		assertThat(cache.estimatedSize()).isEqualTo(100);
+		assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(900);
+		assertThat(cache.get(999, String.class)).isEqualTo("value999");
+		assertThat(cache.get(0)).isNull();
+	}
+
+	@Test
+	public void frequentlyAccessedEntriesSurviveScan() {
+		BoundedConcurrentMapCache cache = createCache(100, null, null);
+		for (int i = 0; i < 50; i++) {
+			cache.put("hot" + i, i);
+		}
+		// Repeated access promotes the hot entries to the protected segment
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 50; i++) {
+				assertThat(cache.get("hot" + i)).isNotNull();
+			}
+			cache.cleanUp();
+		}
+		for (int i = 0; i < 1000; i++) {
+			cache.put("scan" + i, i);
+		}
+		cache.cleanUp();
+		for (int i = 0; i < 50; i++) {
+			assertThat(cache.get("hot" + i)).as("hot" + i).isNotNull();
+		}
+	}
+
+	@Test
+	public void evictsBeyondMaximumWeight() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache("weighted", 100,
+				(key, value) -> ((String) value).length(), null, null, true, true, null);
+		cache.put("a", "0123456789");
+		for (int i = 0; i < 20; i++) {
+			cache.put(i, "01234");
+		}
+		cache.cleanUp();
+		assertThat(cache.estimatedSize()).isLessThanOrEqualTo(20);
+		assertThat(cache.getStatistics().getEvictionWeight()).isGreaterThanOrEqualTo(10);
+	}
+
+	@Test
+	public void expireAfterWrite() {
+		BoundedConcurrentMapCache cache = createCache(Long.MAX_VALUE, Duration.ofSeconds(10), null);
+		cache.put("key", "value");
+		this.time.addAndGet(TimeUnit.SECONDS.toNanos(5));
+		assertThat(cache.get("key", String.class)).isEqualTo("value");
+		this.time.addAndGet(TimeUnit.SECONDS.toNanos(5));
+		assertThat(cache.get("key")).isNull();
+		assertThat(cache.estimatedSize()).isEqualTo(0);
+		assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void expireAfterAccess() {
+		BoundedConcurrentMapCache cache = createCache(Long.MAX_VALUE, null, Duration.ofSeconds(10));
+		cache.put("key", "value");
+		cache.put("other", "value");
+		for (int i = 0; i < 3; i++) {
+			this.time.addAndGet(TimeUnit.SECONDS.toNanos(6));
+			assertThat(cache.get("key", String.class)).isEqualTo("value");
+		}
+		cache.cleanUp();
+		assertThat(cache.estimatedSize()).isEqualTo(1);
+		this.time.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		assertThat(cache.get("key")).isNull();
+	}
+
+	@Test
+	public void expiredEntryIsReloaded() {
+		BoundedConcurrentMapCache cache = createCache(Long.MAX_VALUE, Duration.ofSeconds(10), null);
+		assertThat(cache.get("key", () -> "first")).isEqualTo("first");
+		assertThat(cache.get("key", () -> "second")).isEqualTo("first");
+		this.time.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		assertThat(cache.get("key", () -> "third")).isEqualTo("third");
+		assertThat(cache.putIfAbsent("key", "fourth").get()).isEqualTo("third");
+	}
+
+	@Test
+	public void statistics() {
+		BoundedConcurrentMapCache cache = createCache(10, null, null);
+		cache.put("key", "value");
+		cache.get("key");
+		cache.get("missing");
+		cache.get("loaded", () -> "value");
+		assertThatExceptionOfType(Cache.ValueRetrievalException.class).isThrownBy(() ->
+				cache.get("failed", () -> {
+					throw new IllegalStateException();
+				}));
+		CacheStatistics statistics = cache.getStatistics();
+		assertThat(statistics.getHitCount()).isEqualTo(1);
+		assertThat(statistics.getMissCount()).isEqualTo(3);
+		assertThat(statistics.getLoadSuccessCount()).isEqualTo(1);
+		assertThat(statistics.getLoadFailureCount()).isEqualTo(1);
+		assertThat(statistics.getHitRate()).isEqualTo(0.25);
+	}
+
+	@Test
+	public void statisticsNotEnabled() {
+		assertThatIllegalStateException().isThrownBy(() -> this.cache.getStatistics());
+	}
+
+	@Test
+	public void storeByValue() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache("serializing", 10, null, null, null,
+				false, true, new SerializationDelegate(getClass().getClassLoader()));
+		List<String> content = new ArrayList<>();
+		content.add("one");
+		cache.put("key", content);
+		content.add("two");
+		assertThat(cache.get("key", List.class)).containsExactly("one");
+	}
+
+	@Test
+	public void concurrentAccess() throws Exception {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache("concurrent", 500);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				futures.add(executor.submit(() -> {
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int i = 0; i < 20000; i++) {
+						int key = random.nextInt(2000);
+						switch (random.nextInt(4)) {
+							case 0:
+								cache.put(key, key);
+								break;
+							case 1:
+								cache.evict(key);
+								break;
+							default:
+								Object value = cache.get(key, () -> key);
+								assertThat(value).isEqualTo(key);
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		cache.cleanUp();
+		assertThat(cache.estimatedSize()).isLessThanOrEqualTo(500);
+	}
+
+
+	private BoundedConcurrentMapCache createCache(long maximumSize, Duration expireAfterWrite,
+			Duration expireAfterAccess) {
+
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache("bounded", maximumSize, null,
+				expireAfterWrite, expireAfterAccess, true, true, null);
+		cache.ticker = this.time::get;
+		return cache;
+	}
+
+}
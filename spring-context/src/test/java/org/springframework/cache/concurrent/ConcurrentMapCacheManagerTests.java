@@ -16,12 +16,15 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 /**
  * @author Juergen Hoeller
@@ -131,4 +134,34 @@ public class ConcurrentMapCacheManagerTests {
 		assertThat(cache1x.get("key")).isNull();
 	}
 
+	@Test
+	public void testBoundedCaches() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		Cache cache1 = cm.getCache("c1");
+		assertThat(cache1 instanceof ConcurrentMapCache).isTrue();
+
+		cm.setMaximumSize(2);
+		cm.setRecordStatistics(true);
+		Cache cache1x = cm.getCache("c1");
+		assertThat(cache1x instanceof BoundedConcurrentMapCache).isTrue();
+		BoundedConcurrentMapCache bounded = (BoundedConcurrentMapCache) cache1x;
+		assertThat(bounded.getMaximumWeight()).isEqualTo(2);
+		for (int i = 0; i < 10; i++) {
+			bounded.put(i, i);
+		}
+		bounded.cleanUp();
+		assertThat(bounded.estimatedSize()).isEqualTo(2);
+		assertThat(bounded.getStatistics().getEvictionCount()).isEqualTo(8);
+	}
+
+	@Test
+	public void testExpiringCaches() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		cm.setExpireAfterWrite(Duration.ofMinutes(5));
+		Cache cache1 = cm.getCache("c1");
+		assertThat(cache1 instanceof BoundedConcurrentMapCache).isTrue();
+		assertThat(((BoundedConcurrentMapCache) cache1).getMaximumWeight()).isEqualTo(Long.MAX_VALUE);
+		assertThatIllegalArgumentException().isThrownBy(() -> cm.setMaximumSize(-1));
+	}
+
 }
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for coalescing concurrent cache misses through
+ * {@link CacheAspectSupport#setCoalesceConcurrentMisses}.
+ *
+ * @since 5.3.3
+ */
+public class CacheCoalescingTests {
+
+	private static final int CALLERS = 8;
+
+
+	private ConfigurableApplicationContext context;
+
+	private CacheInterceptor interceptor;
+
+	private SimpleService service;
+
+	private ExecutorService executor;
+
+
+	@BeforeEach
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.interceptor = this.context.getBean(CacheInterceptor.class);
+		this.interceptor.setCoalesceConcurrentMisses(true);
+		this.service = this.context.getBean(SimpleService.class);
+		this.executor = Executors.newFixedThreadPool(CALLERS + 1);
+	}
+
+	@AfterEach
+	public void close() {
+		this.executor.shutdownNow();
+		this.context.close();
+	}
+
+
+	@Test
+	public void disabledByDefault() {
+		assertThat(new CacheInterceptor().isCoalesceConcurrentMisses()).isFalse();
+	}
+
+	@Test
+	public void concurrentMissesAreCoalesced() throws Exception {
+		List<Future<Object>> results = callConcurrently(() -> this.service.blockingLoad("key"));
+		this.service.release();
+		for (Future<Object> result : results) {
+			assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1L);
+		}
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+		assertThat(this.interceptor.getCoalescedInvocationCount()).isEqualTo(CALLERS - 1);
+		assertThat(this.service.blockingLoad("key")).isEqualTo(1L);
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void differentKeysAreNotCoalesced() throws Exception {
+		this.service.release();
+		assertThat(this.service.blockingLoad("key1")).isEqualTo(1L);
+		assertThat(this.service.blockingLoad("key2")).isEqualTo(2L);
+		assertThat(this.interceptor.getCoalescedInvocationCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void nestedMissForSameKeyIsInvokedDirectly() throws Exception {
+		this.service.setSelf(this.service);
+		Future<Object> result = this.executor.submit(() -> this.service.delegatingLoad("key"));
+		assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1L);
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+		assertThat(this.interceptor.getCoalescedInvocationCount()).isEqualTo(0);
+		assertThat(this.service.delegatingLoad("key")).isEqualTo(1L);
+		assertThat(this.service.directLoad("key")).isEqualTo(1L);
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void coalescedCallersWrapResultForTheirReturnType() throws Exception {
+		List<Future<Object>> results = callConcurrently(() -> this.service.blockingLoad("key"));
+		Future<Optional<Object>> optionalResult = this.executor.submit(() -> this.service.optionalLoad("key"));
+		awaitCoalescedInvocations(CALLERS);
+		this.service.release();
+		for (Future<Object> result : results) {
+			assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1L);
+		}
+		assertThat(optionalResult.get(5, TimeUnit.SECONDS)).contains(1L);
+	}
+
+	@Test
+	public void exceptionIsSharedAndNotCached() throws Exception {
+		List<Future<Object>> results = callConcurrently(() -> this.service.failingLoad("key"));
+		this.service.release();
+		for (Future<Object> result : results) {
+			assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+					.withCauseInstanceOf(IllegalStateException.class);
+		}
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> this.service.failingLoad("key"));
+		assertThat(this.service.getInvocationCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void pendingCompletableFutureIsShared() throws Exception {
+		CompletableFuture<Long> first = this.service.asyncLoad("key");
+		CompletableFuture<Long> second = this.service.asyncLoad("key");
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+		assertThat(this.interceptor.getCoalescedInvocationCount()).isEqualTo(1);
+		this.service.complete(42L);
+		assertThat(first.get()).isEqualTo(42L);
+		assertThat(second.get()).isEqualTo(42L);
+		assertThat(this.service.asyncLoad("key").get()).isEqualTo(42L);
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+		assertThat(this.interceptor.getCoalescedInvocationCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void monoIsSubscribedOnce() {
+		Mono<Long> first = this.service.reactiveLoad("key");
+		Mono<Long> second = this.service.reactiveLoad("key");
+		assertThat(first.block()).isEqualTo(1L);
+		assertThat(second.block()).isEqualTo(1L);
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void monoErrorIsNotRetained() {
+		Mono<Long> mono = this.service.failingReactiveLoad("key");
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(mono::block);
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(mono::block);
+		assertThat(this.service.getInvocationCount()).isEqualTo(2);
+	}
+
+
+	private List<Future<Object>> callConcurrently(Callable<Object> call) throws InterruptedException {
+		List<Future<Object>> results = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			results.add(this.executor.submit(call));
+		}
+		awaitCoalescedInvocations(CALLERS - 1);
+		return results;
+	}
+
+	private void awaitCoalescedInvocations(int count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (this.interceptor.getCoalescedInvocationCount() < count) {
+			assertThat(System.currentTimeMillis()).as("Timeout waiting for coalesced callers").isLessThan(deadline);
+			Thread.sleep(5);
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public SimpleService simpleService() {
+			return new SimpleService();
+		}
+	}
+
+
+	static class SimpleService {
+
+		private final AtomicLong counter = new AtomicLong();
+
+		private final CountDownLatch latch = new CountDownLatch(1);
+
+		private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+		private SimpleService self;
+
+		public void setSelf(SimpleService self) {
+			this.self = self;
+		}
+
+		public long getInvocationCount() {
+			return this.counter.get();
+		}
+
+		public void release() {
+			this.latch.countDown();
+		}
+
+		public void complete(long value) {
+			this.future.complete(value);
+		}
+
+		@Cacheable("testCache")
+		public Object blockingLoad(String key) throws InterruptedException {
+			this.latch.await();
+			return this.counter.incrementAndGet();
+		}
+
+		@Cacheable("testCache")
+		public Object delegatingLoad(String key) {
+			return this.self.directLoad(key);
+		}
+
+		@Cacheable("testCache")
+		public Object directLoad(String key) {
+			return this.counter.incrementAndGet();
+		}
+
+		@Cacheable("testCache")
+		public Optional<Object> optionalLoad(String key) throws InterruptedException {
+			this.latch.await();
+			return Optional.of(this.counter.incrementAndGet());
+		}
+
+		@Cacheable("testCache")
+		public Object failingLoad(String key) throws InterruptedException {
+			this.latch.await();
+			this.counter.incrementAndGet();
+			throw new IllegalStateException("Test exception");
+		}
+
+		@Cacheable("asyncCache")
+		public CompletableFuture<Long> asyncLoad(String key) {
+			this.counter.incrementAndGet();
+			return this.future;
+		}
+
+		@Cacheable("reactiveCache")
+		public Mono<Long> reactiveLoad(String key) {
+			return Mono.fromCallable(this.counter::incrementAndGet);
+		}
+
+		@Cacheable("reactiveCache")
+		public Mono<Long> failingReactiveLoad(String key) {
+			return Mono.fromCallable(() -> {
+				this.counter.incrementAndGet();
+				throw new IllegalStateException("Test exception");
+			});
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.BoundedConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TwoLevelCacheManager}.
+ *
+ * @since 5.3.3
+ */
+public class TwoLevelCacheManagerTests {
+
+	private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager("c1", "c2");
+
+
+	@Test
+	public void cachesAreComposed() {
+		ConcurrentMapCacheManager localCacheManager = new ConcurrentMapCacheManager();
+		localCacheManager.setMaximumSize(100);
+		TwoLevelCacheManager cm = new TwoLevelCacheManager(localCacheManager, this.remoteCacheManager);
+
+		Cache cache = cm.getCache("c1");
+		assertThat(cache).isInstanceOf(TwoLevelCache.class);
+		assertThat(cm.getCache("c1")).isSameAs(cache);
+		assertThat(((TwoLevelCache) cache).getLocalCache()).isInstanceOf(BoundedConcurrentMapCache.class);
+		assertThat(((TwoLevelCache) cache).getRemoteCache()).isSameAs(this.remoteCacheManager.getCache("c1"));
+		assertThat(cm.getCacheNames()).containsExactlyInAnyOrder("c1", "c2");
+	}
+
+	@Test
+	public void unknownRemoteCache() {
+		TwoLevelCacheManager cm = new TwoLevelCacheManager(new ConcurrentMapCacheManager(), this.remoteCacheManager);
+		assertThat(cm.getCache("c3")).isNull();
+	}
+
+	@Test
+	public void unknownLocalCache() {
+		TwoLevelCacheManager cm = new TwoLevelCacheManager(new ConcurrentMapCacheManager("c1"), this.remoteCacheManager);
+		assertThat(cm.getCache("c2")).isSameAs(this.remoteCacheManager.getCache("c2"));
+	}
+
+	@Test
+	public void invalidateLocal() {
+		TwoLevelCacheManager cm = new TwoLevelCacheManager(new ConcurrentMapCacheManager(), this.remoteCacheManager);
+		TwoLevelCache cache = (TwoLevelCache) cm.getCache("c1");
+		cache.put("key1", "value1");
+		cache.put("key2", "value2");
+
+		cm.invalidateLocal("c1", "key1");
+		assertThat(cache.getLocalCache().get("key1")).isNull();
+		assertThat(cache.getLocalCache().get("key2")).isNotNull();
+		assertThat(cache.getRemoteCache().get("key1")).isNotNull();
+
+		cm.invalidateLocal("c1", null);
+		assertThat(cache.getLocalCache().get("key2")).isNull();
+		assertThat(cache.get("key2").get()).isEqualTo("value2");
+	}
+
+	@Test
+	public void invalidationsArePropagatedThroughApplicationEvents() {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBean("broadcaster", ApplicationEventCacheInvalidationBroadcaster.class);
+		context.registerBean("node1", TwoLevelCacheManager.class,
+				() -> createNode(context.getBean(CacheInvalidationBroadcaster.class)));
+		context.registerBean("node2", TwoLevelCacheManager.class,
+				() -> createNode(context.getBean(CacheInvalidationBroadcaster.class)));
+		context.refresh();
+		try {
+			Cache cache1 = context.getBean("node1", CacheManager.class).getCache("c1");
+			Cache cache2 = context.getBean("node2", CacheManager.class).getCache("c1");
+
+			cache1.put("key", "value1");
+			assertThat(cache2.get("key").get()).isEqualTo("value1");
+
+			// Local copy of node 2 invalidated by the write of node 1
+			cache1.put("key", "value2");
+			assertThat(cache2.get("key").get()).isEqualTo("value2");
+			assertThat(cache1.get("key").get()).isEqualTo("value2");
+
+			cache2.evict("key");
+			assertThat(cache1.get("key")).isNull();
+		}
+		finally {
+			context.close();
+		}
+	}
+
+	private TwoLevelCacheManager createNode(CacheInvalidationBroadcaster broadcaster) {
+		TwoLevelCacheManager cm = new TwoLevelCacheManager(new ConcurrentMapCacheManager(), this.remoteCacheManager);
+		cm.setInvalidationBroadcaster(broadcaster);
+		return cm;
+	}
+
+}
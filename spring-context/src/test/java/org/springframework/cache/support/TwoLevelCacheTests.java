@@ -0,0 +1,104 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.testfixture.cache.AbstractCacheTests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TwoLevelCache}.
+ *
+ * @since 5.3.3
+ */
+public class TwoLevelCacheTests extends AbstractCacheTests<TwoLevelCache> {
+
+	private ConcurrentMapCache localCache;
+
+	private ConcurrentMapCache remoteCache;
+
+	private ConcurrentHashMap<Object, Object> remoteNativeCache;
+
+	private TwoLevelCache cache;
+
+
+	@BeforeEach
+	public void setup() {
+		this.localCache = new ConcurrentMapCache(CACHE_NAME);
+		this.remoteNativeCache = new ConcurrentHashMap<>();
+		this.remoteCache = new ConcurrentMapCache(CACHE_NAME, this.remoteNativeCache, true);
+		this.cache = new TwoLevelCache(this.localCache, this.remoteCache, null);
+	}
+
+	@Override
+	protected TwoLevelCache getCache() {
+		return this.cache;
+	}
+
+	@Override
+	protected Object getNativeCache() {
+		return this.remoteNativeCache;
+	}
+
+
+	@Test
+	public void readThroughPopulatesLocalCache() {
+		this.remoteCache.put("key", "value");
+		assertThat(this.localCache.get("key")).isNull();
+		assertThat(this.cache.get("key", String.class)).isEqualTo("value");
+		assertThat(this.localCache.get("key", String.class)).isEqualTo("value");
+
+		// Subsequent reads are served locally
+		this.remoteCache.put("key", "changed");
+		assertThat(this.cache.get("key", String.class)).isEqualTo("value");
+	}
+
+	@Test
+	public void loadedValueIsWrittenToBothLevels() {
+		assertThat(this.cache.get("key", () -> "value")).isEqualTo("value");
+		assertThat(this.localCache.get("key", String.class)).isEqualTo("value");
+		assertThat(this.remoteCache.get("key", String.class)).isEqualTo("value");
+	}
+
+	@Test
+	public void retrieveReadsThroughToRemoteCache() throws Exception {
+		this.remoteCache.put("key", "value");
+		assertThat(this.cache.retrieve("key").get()).isEqualTo("value");
+		assertThat(this.localCache.get("key", String.class)).isEqualTo("value");
+	}
+
+	@Test
+	public void writesAndEvictionsAreBroadcast() {
+		StringBuilder invalidations = new StringBuilder();
+		TwoLevelCache cache = new TwoLevelCache(this.localCache, this.remoteCache,
+				(source, key) -> invalidations.append(source.getName()).append(':').append(key).append(' '));
+		cache.put("key1", "value");
+		cache.putIfAbsent("key1", "other");
+		cache.putIfAbsent("key2", "value");
+		cache.evict("key1");
+		cache.clear();
+		assertThat(invalidations.toString().trim())
+				.isEqualTo("testCache:key1 testCache:key2 testCache:key1 testCache:null");
+	}
+
+}
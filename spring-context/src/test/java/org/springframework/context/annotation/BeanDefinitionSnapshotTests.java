@@ -0,0 +1,344 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.testfixture.beans.ITestBean;
+import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.util.ClassUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link BeanDefinitionSnapshot} and {@link BeanDefinitionSnapshotGenerator}.
+ *
+ * @since 5.3.3
+ */
+public class BeanDefinitionSnapshotTests {
+
+	@Test
+	public void snapshotRegistersBeanDefinitionsWithoutParsing() throws IOException {
+		BeanDefinitionSnapshot snapshot = writeAndRead(new BeanDefinitionSnapshotGenerator().generate(AppConfig.class));
+		assertThat(snapshot.getRootClassNames()).containsExactly(AppConfig.class.getName());
+
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.register(AppConfig.class);
+		ctx.setBeanDefinitionSnapshot(snapshot);
+		ctx.refresh();
+
+		assertThat(ctx.getBean("testBean", TestBean.class).getName()).isEqualTo("app");
+		assertThat(ctx.getBean("testBean")).isSameAs(ctx.getBean("alias"));
+		assertThat(ctx.getBean("importedBean", TestBean.class).getSpouse()).isSameAs(ctx.getBean("testBean"));
+		assertThat(ClassUtils.isCglibProxy(ctx.getBean(AppConfig.class))).isTrue();
+		assertThat(ctx.getBean(AppConfig.class).testBean()).isSameAs(ctx.getBean("testBean"));
+		assertThat(ctx.containsBean("devBean")).isFalse();
+		assertThat(ctx.containsBean("devConfigBean")).isFalse();
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotReevaluatesProfileConditions() throws IOException {
+		BeanDefinitionSnapshot snapshot = writeAndRead(new BeanDefinitionSnapshotGenerator().generate(AppConfig.class));
+
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.getEnvironment().setActiveProfiles("dev");
+		ctx.register(AppConfig.class);
+		ctx.setBeanDefinitionSnapshot(snapshot);
+		ctx.refresh();
+
+		assertThat(ctx.getBean("devBean", TestBean.class).getName()).isEqualTo("dev");
+		assertThat(ctx.getBean("devConfigBean", TestBean.class).getName()).isEqualTo("devConfig");
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotEvaluatesOtherConditionsAtBuildTime() {
+		BeanDefinitionSnapshot snapshot = new BeanDefinitionSnapshotGenerator().generate(AppConfig.class);
+
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.register(AppConfig.class);
+		ctx.setBeanDefinitionSnapshot(snapshot);
+		ctx.refresh();
+
+		assertThat(ctx.containsBean("neverBean")).isFalse();
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotWithCustomRuntimeCondition() {
+		BeanDefinitionSnapshotGenerator generator = new BeanDefinitionSnapshotGenerator();
+		generator.addRuntimeConditionType(NeverCondition.class);
+		BeanDefinitionSnapshot snapshot = generator.generate(AppConfig.class);
+		assertThat(snapshot.getBeanDefinitionCount()).isEqualTo(
+				new BeanDefinitionSnapshotGenerator().generate(AppConfig.class).getBeanDefinitionCount() + 1);
+
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.register(AppConfig.class);
+		ctx.setBeanDefinitionSnapshot(snapshot);
+		ctx.refresh();
+
+		assertThat(ctx.containsBean("neverBean")).isFalse();
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotExposesImportMetadata() throws IOException {
+		BeanDefinitionSnapshot snapshot = writeAndRead(new BeanDefinitionSnapshotGenerator().generate(AppConfig.class));
+
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.register(AppConfig.class);
+		ctx.setBeanDefinitionSnapshot(snapshot);
+		ctx.refresh();
+
+		AnnotationMetadata importMetadata = ctx.getBean(ImportedConfig.class).importMetadata;
+		assertThat(importMetadata).isNotNull();
+		assertThat(importMetadata.getClassName()).isEqualTo(AppConfig.class.getName());
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotRestoresAnnotationMetadata() throws IOException {
+		BeanDefinitionSnapshot snapshot = writeAndRead(new BeanDefinitionSnapshotGenerator().generate(AppConfig.class));
+
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.register(AppConfig.class);
+		ctx.setBeanDefinitionSnapshot(snapshot);
+		ctx.refresh();
+
+		BeanDefinition testBeanDefinition = ctx.getBeanFactory().getBeanDefinition("testBean");
+		assertThat(testBeanDefinition).isInstanceOf(AnnotatedBeanDefinition.class);
+		AnnotatedBeanDefinition annotatedDefinition = (AnnotatedBeanDefinition) testBeanDefinition;
+		assertThat(annotatedDefinition.getMetadata().getClassName()).isEqualTo(AppConfig.class.getName());
+		assertThat(annotatedDefinition.getFactoryMethodMetadata().getMethodName()).isEqualTo("testBean");
+		BeanDefinition importedConfigDefinition = ctx.getBeanFactory().getBeanDefinition(ImportedConfig.class.getName());
+		assertThat(importedConfigDefinition).isInstanceOf(AnnotatedBeanDefinition.class);
+		assertThat(((AnnotatedBeanDefinition) importedConfigDefinition).getMetadata().getClassName())
+				.isEqualTo(ImportedConfig.class.getName());
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotRetainsFinalDefinitionOfOverriddenBean() throws IOException {
+		BeanDefinitionSnapshot snapshot = writeAndRead(
+				new BeanDefinitionSnapshotGenerator().generate(OverridingConfig.class));
+
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.setAllowBeanDefinitionOverriding(false);
+		ctx.register(OverridingConfig.class);
+		ctx.setBeanDefinitionSnapshot(snapshot);
+		ctx.refresh();
+
+		assertThat(ctx.getBean("overriddenBean", TestBean.class).getName()).isEqualTo("overriding");
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotReevaluatesConditionsOfOverloadedBeanMethod() throws IOException {
+		BeanDefinitionSnapshot snapshot = writeAndRead(
+				new BeanDefinitionSnapshotGenerator().generate(OverloadedImportingConfig.class));
+
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.getEnvironment().setActiveProfiles("dev");
+		ctx.register(OverloadedImportingConfig.class);
+		ctx.setBeanDefinitionSnapshot(snapshot);
+		ctx.refresh();
+
+		assertThat(ctx.containsBean("overloadedBean")).isTrue();
+		MethodMetadata factoryMethodMetadata = ((AnnotatedBeanDefinition)
+				ctx.getBeanFactory().getBeanDefinition("overloadedBean")).getFactoryMethodMetadata();
+		assertThat(factoryMethodMetadata.getAnnotationAttributes(Profile.class.getName()))
+				.containsEntry("value", new String[] {"dev"});
+		ctx.close();
+
+		ctx = new AnnotationConfigApplicationContext();
+		ctx.getEnvironment().setActiveProfiles("other");
+		ctx.register(OverloadedImportingConfig.class);
+		ctx.setBeanDefinitionSnapshot(snapshot);
+		ctx.refresh();
+
+		assertThat(ctx.containsBean("overloadedBean")).isFalse();
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotNotApplicableToOtherComponentClasses() {
+		BeanDefinitionSnapshot snapshot = new BeanDefinitionSnapshotGenerator().generate(AppConfig.class);
+
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.register(OtherConfig.class);
+		ctx.setBeanDefinitionSnapshot(snapshot);
+		ctx.refresh();
+
+		assertThat(ctx.getBeanFactory().getBeanDefinition("otherBean")).isInstanceOf(AnnotatedBeanDefinition.class);
+		assertThat(ctx.containsBean("testBean")).isFalse();
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotWithUnsupportedBeanDefinition() {
+		assertThatIllegalStateException().isThrownBy(() ->
+				new BeanDefinitionSnapshotGenerator().generate(ScopedProxyConfig.class))
+				.withMessageContaining("scopedBean");
+	}
+
+
+	private static BeanDefinitionSnapshot writeAndRead(BeanDefinitionSnapshot snapshot) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.writeTo(out);
+		return BeanDefinitionSnapshot.readFrom(new ByteArrayInputStream(out.toByteArray()));
+	}
+
+
+	@Configuration
+	@Import({ImportedConfig.class, DevConfig.class})
+	static class AppConfig {
+
+		@Bean({"testBean", "alias"})
+		public TestBean testBean() {
+			return new TestBean("app");
+		}
+
+		@Bean
+		@Profile("dev")
+		public TestBean devBean() {
+			return new TestBean("dev");
+		}
+
+		@Bean
+		@Conditional(NeverCondition.class)
+		public TestBean neverBean() {
+			return new TestBean("never");
+		}
+	}
+
+
+	@Configuration
+	static class ImportedConfig implements ImportAware {
+
+		AnnotationMetadata importMetadata;
+
+		@Override
+		public void setImportMetadata(AnnotationMetadata importMetadata) {
+			this.importMetadata = importMetadata;
+		}
+
+		@Bean
+		public TestBean importedBean(ITestBean testBean) {
+			TestBean bean = new TestBean("imported");
+			bean.setSpouse(testBean);
+			return bean;
+		}
+	}
+
+
+	@Configuration
+	@Profile("dev")
+	static class DevConfig {
+
+		@Bean
+		public TestBean devConfigBean() {
+			return new TestBean("devConfig");
+		}
+	}
+
+
+	@Configuration
+	static class OtherConfig {
+
+		@Bean
+		public TestBean otherBean() {
+			return new TestBean("other");
+		}
+	}
+
+
+	@Configuration
+	static class OverriddenConfig {
+
+		@Bean
+		public TestBean overriddenBean() {
+			return new TestBean("overridden");
+		}
+	}
+
+
+	@Configuration
+	@Import(OverriddenConfig.class)
+	static class OverridingConfig {
+
+		@Bean
+		public TestBean overriddenBean() {
+			return new TestBean("overriding");
+		}
+	}
+
+
+	@Configuration
+	static class OverloadedConfig {
+
+		@Bean
+		@Profile("dev")
+		public TestBean overloadedBean() {
+			return new TestBean("dev");
+		}
+
+		@Bean
+		@Profile("other")
+		public TestBean overloadedBean(Environment environment) {
+			return new TestBean("other");
+		}
+	}
+
+
+	@Configuration
+	@Import(OverloadedConfig.class)
+	static class OverloadedImportingConfig {
+	}
+
+
+	@Configuration
+	static class ScopedProxyConfig {
+
+		@Bean
+		@Scope(scopeName = "prototype", proxyMode = ScopedProxyMode.TARGET_CLASS)
+		public TestBean scopedBean() {
+			return new TestBean();
+		}
+	}
+
+
+	static class NeverCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			return false;
+		}
+	}
+
+}
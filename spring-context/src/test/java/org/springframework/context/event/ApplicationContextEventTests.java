@@ -17,8 +17,10 @@
 package org.springframework.context.event;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
 
@@ -58,6 +60,7 @@ import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -229,6 +232,55 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertThat(listener1.seenEvents.size()).isEqualTo(2);
 	}
 
+	@Test
+	public void listenerAddedAfterMulticastUpdatesCachedRetrievers() {
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener1);
+		smc.multicastEvent(new MyEvent(this));
+		smc.multicastEvent(new MyOtherEvent(this));
+		Map<Object, ?> retrievers = new HashMap<>(smc.retrieverCache);
+		assertThat(retrievers).hasSize(2);
+
+		// Added ahead of listener1 but ordered after it, verifying the order on invocation
+		smc.addApplicationListener(new MyOrderedListener2(listener1));
+		MyEvent event = new MyEvent(this);
+		smc.multicastEvent(event);
+		smc.multicastEvent(new MyOtherEvent(this));
+		assertThat(listener1.seenEvents).hasSize(4).contains(event);
+		assertThat(smc.retrieverCache).isEqualTo(retrievers);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void listenerRemovedAfterMulticastUpdatesCachedRetrievers() {
+		ApplicationListener<ApplicationEvent> listener = mock(ApplicationListener.class);
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener);
+		MyEvent event1 = new MyEvent(this);
+		smc.multicastEvent(event1);
+
+		smc.removeApplicationListener(listener);
+		MyEvent event2 = new MyEvent(this);
+		smc.multicastEvent(event2);
+		verify(listener).onApplicationEvent(event1);
+		verify(listener, never()).onApplicationEvent(event2);
+		assertThat(smc.retrieverCache).hasSize(1);
+	}
+
+	@Test
+	public void payloadEventsCachedPerPayloadClass() {
+		MyStringPayloadListener listener = new MyStringPayloadListener();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener);
+
+		smc.multicastEvent(new PayloadApplicationEvent<>(this, "event1"));
+		smc.multicastEvent(new PayloadApplicationEvent<>(this, 2));
+		smc.multicastEvent(new PayloadApplicationEvent<>(this, "event3"));
+		assertThat(listener.seenPayloads).containsExactly("event1", "event3");
+		assertThat(smc.retrieverCache).hasSize(2);
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void proxiedListenersMixedWithTargetListeners() {
@@ -637,6 +689,17 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 	}
 
 
+	public static class MyStringPayloadListener implements ApplicationListener<PayloadApplicationEvent<String>> {
+
+		public final List<String> seenPayloads = new ArrayList<>();
+
+		@Override
+		public void onApplicationEvent(PayloadApplicationEvent<String> event) {
+			this.seenPayloads.add(event.getPayload());
+		}
+	}
+
+
 	public static class MyNonSingletonListener implements ApplicationListener<ApplicationEvent> {
 
 		public static final Set<ApplicationEvent> seenEvents = new HashSet<>();
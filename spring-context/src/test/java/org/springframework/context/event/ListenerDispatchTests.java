@@ -0,0 +1,380 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for per-listener {@link ListenerDispatchMode dispatch policies}.
+ *
+ * @since 5.3.3
+ */
+class ListenerDispatchTests {
+
+	private AnnotationConfigApplicationContext context;
+
+
+	@AfterEach
+	void closeContext() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+
+	@Test
+	void syncListenerIgnoresMulticasterExecutor() {
+		load(SyncListener.class, MulticasterConfig.class);
+		SyncListener listener = this.context.getBean(SyncListener.class);
+
+		this.context.publishEvent("test");
+		assertThat(listener.threads).containsExactly(Thread.currentThread().getName());
+	}
+
+	@Test
+	void asyncListenerUsesNamedExecutor() throws InterruptedException {
+		load(AsyncListener.class, ExecutorConfig.class);
+		AsyncListener listener = this.context.getBean(AsyncListener.class);
+
+		this.context.publishEvent("test");
+		assertThat(listener.latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(listener.threads).hasSize(1);
+		assertThat(listener.threads.get(0)).startsWith("listener-pool-");
+	}
+
+	@Test
+	void orderedAsyncListenerPreservesPublicationOrder() throws InterruptedException {
+		load(OrderedListener.class, ExecutorConfig.class);
+		OrderedListener listener = this.context.getBean(OrderedListener.class);
+
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			this.context.publishEvent(i);
+			expected.add(i);
+		}
+		assertThat(listener.latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(listener.received).isEqualTo(expected);
+	}
+
+	@Test
+	void queuedListenerAppliesBackpressure() throws Exception {
+		load(QueuedListener.class, ExecutorConfig.class);
+		QueuedListener listener = this.context.getBean(QueuedListener.class);
+
+		ExecutorService publisher = Executors.newSingleThreadExecutor();
+		CountDownLatch published = new CountDownLatch(1);
+		try {
+			publisher.execute(() -> {
+				for (int i = 0; i < 5; i++) {
+					this.context.publishEvent(i);
+				}
+				published.countDown();
+			});
+			// One event in progress, two queued: the publisher is blocked
+			assertThat(listener.started.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(published.await(200, TimeUnit.MILLISECONDS)).isFalse();
+
+			listener.release.countDown();
+			assertThat(published.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(listener.done.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(listener.received).containsExactly(0, 1, 2, 3, 4);
+		}
+		finally {
+			publisher.shutdownNow();
+		}
+	}
+
+	@Test
+	void queuedListenerRejectsOwnEventsBeyondCapacity() throws InterruptedException {
+		load(ReentrantQueuedListener.class, ExecutorConfig.class);
+		ReentrantQueuedListener listener = this.context.getBean(ReentrantQueuedListener.class);
+
+		this.context.publishEvent(0);
+		assertThat(listener.latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(listener.received).containsExactly(0, 1);
+		assertThat(listener.rejected).hasSize(1);
+		assertThat(listener.rejected.get(0)).isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("exceeded by an event published from its own delivery");
+	}
+
+	@Test
+	void batchListenerReceivesEventsInOrderedBatches() throws InterruptedException {
+		load(BatchListener.class, ExecutorConfig.class);
+		BatchListener listener = this.context.getBean(BatchListener.class);
+
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			this.context.publishEvent("event" + i);
+			expected.add("event" + i);
+		}
+		this.context.publishEvent("skip");
+		assertThat(listener.latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+		List<String> received = new ArrayList<>();
+		for (List<String> batch : listener.batches) {
+			assertThat(batch).isNotEmpty().hasSizeLessThanOrEqualTo(10);
+			received.addAll(batch);
+		}
+		assertThat(received).isEqualTo(expected);
+	}
+
+	@Test
+	void batchListenerWaitsForBatchToFillUp() throws InterruptedException {
+		load(TimedBatchListener.class, ExecutorConfig.class);
+		TimedBatchListener listener = this.context.getBean(TimedBatchListener.class);
+
+		this.context.publishEvent("a");
+		Thread.sleep(100);
+		this.context.publishEvent("b");
+		this.context.publishEvent("c");
+		assertThat(listener.latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(listener.batches).containsExactly(Arrays.asList("a", "b", "c"));
+	}
+
+	@Test
+	void batchListenerExposesDispatchSettings() {
+		Method method = ReflectionUtils.findMethod(BatchListener.class, "onEvents", List.class);
+		ApplicationListenerMethodAdapter adapter = new ApplicationListenerMethodAdapter("batch", BatchListener.class, method);
+		assertThat(adapter.getDispatchMode()).isEqualTo(ListenerDispatchMode.BATCH);
+		assertThat(adapter.getBatchSize()).isEqualTo(10);
+	}
+
+	@Test
+	void batchListenerRequiresListParameter() {
+		Method method = ReflectionUtils.findMethod(InvalidBatchListener.class, "onEvent", String.class);
+		assertThatIllegalStateException().isThrownBy(() ->
+				new ApplicationListenerMethodAdapter("invalid", InvalidBatchListener.class, method));
+	}
+
+	@Test
+	void failingListenerDoesNotStopQueue() throws InterruptedException {
+		load(FailingQueuedListener.class, ExecutorConfig.class);
+		FailingQueuedListener listener = this.context.getBean(FailingQueuedListener.class);
+
+		this.context.publishEvent(1);
+		this.context.publishEvent(2);
+		this.context.publishEvent(3);
+		assertThat(listener.latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(listener.received).containsExactly(1, 2, 3);
+	}
+
+
+	private void load(Class<?>... classes) {
+		this.context = new AnnotationConfigApplicationContext(classes);
+	}
+
+
+	@Configuration
+	static class MulticasterConfig {
+
+		@Bean(name = AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)
+		public SimpleApplicationEventMulticaster applicationEventMulticaster() {
+			SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+			multicaster.setTaskExecutor(new SimpleAsyncTaskExecutor());
+			return multicaster;
+		}
+	}
+
+
+	@Configuration
+	static class ExecutorConfig {
+
+		@Bean
+		public ThreadPoolTaskExecutor listenerPool() {
+			ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+			executor.setCorePoolSize(4);
+			executor.setThreadNamePrefix("listener-pool-");
+			return executor;
+		}
+	}
+
+
+	@Component
+	static class SyncListener {
+
+		final List<String> threads = new CopyOnWriteArrayList<>();
+
+		@EventListener(dispatch = ListenerDispatchMode.SYNC)
+		public void onEvent(String event) {
+			this.threads.add(Thread.currentThread().getName());
+		}
+	}
+
+
+	@Component
+	static class AsyncListener {
+
+		final List<String> threads = new CopyOnWriteArrayList<>();
+
+		final CountDownLatch latch = new CountDownLatch(1);
+
+		@EventListener(dispatch = ListenerDispatchMode.ASYNC, executor = "listenerPool")
+		public void onEvent(String event) {
+			this.threads.add(Thread.currentThread().getName());
+			this.latch.countDown();
+		}
+	}
+
+
+	@Component
+	static class OrderedListener {
+
+		final List<Integer> received = new CopyOnWriteArrayList<>();
+
+		final CountDownLatch latch = new CountDownLatch(1000);
+
+		@EventListener(dispatch = ListenerDispatchMode.ASYNC, executor = "listenerPool", ordered = true)
+		public void onEvent(Integer event) {
+			this.received.add(event);
+			this.latch.countDown();
+		}
+	}
+
+
+	@Component
+	static class QueuedListener {
+
+		final List<Integer> received = new CopyOnWriteArrayList<>();
+
+		final CountDownLatch started = new CountDownLatch(1);
+
+		final CountDownLatch release = new CountDownLatch(1);
+
+		final CountDownLatch done = new CountDownLatch(5);
+
+		@EventListener(dispatch = ListenerDispatchMode.QUEUED, executor = "listenerPool", queueCapacity = 2)
+		public void onEvent(Integer event) throws InterruptedException {
+			this.started.countDown();
+			this.release.await(5, TimeUnit.SECONDS);
+			this.received.add(event);
+			this.done.countDown();
+		}
+	}
+
+
+	@Component
+	static class ReentrantQueuedListener {
+
+		final List<Integer> received = new CopyOnWriteArrayList<>();
+
+		final List<Exception> rejected = new CopyOnWriteArrayList<>();
+
+		final CountDownLatch latch = new CountDownLatch(2);
+
+		@Autowired
+		private ApplicationEventPublisher publisher;
+
+		@EventListener(dispatch = ListenerDispatchMode.QUEUED, executor = "listenerPool", queueCapacity = 1)
+		public void onEvent(Integer event) {
+			this.received.add(event);
+			if (event == 0) {
+				this.publisher.publishEvent(1);
+				try {
+					this.publisher.publishEvent(2);
+				}
+				catch (IllegalStateException ex) {
+					this.rejected.add(ex);
+				}
+			}
+			this.latch.countDown();
+		}
+	}
+
+
+	@Component
+	static class BatchListener {
+
+		final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+		final CountDownLatch latch = new CountDownLatch(100);
+
+		@EventListener(dispatch = ListenerDispatchMode.BATCH, executor = "listenerPool",
+				batchSize = 10, condition = "#root.event.payload != 'skip'")
+		public void onEvents(List<String> events) {
+			this.batches.add(new ArrayList<>(events));
+			events.forEach(event -> this.latch.countDown());
+		}
+	}
+
+
+	@Component
+	static class TimedBatchListener {
+
+		final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+		final CountDownLatch latch = new CountDownLatch(1);
+
+		@EventListener(dispatch = ListenerDispatchMode.BATCH, executor = "listenerPool",
+				batchSize = 3, batchTimeout = 2000)
+		public void onEvents(List<String> events) {
+			this.batches.add(new ArrayList<>(events));
+			this.latch.countDown();
+		}
+	}
+
+
+	static class InvalidBatchListener {
+
+		@EventListener(dispatch = ListenerDispatchMode.BATCH)
+		public void onEvent(String event) {
+		}
+	}
+
+
+	@Component
+	static class FailingQueuedListener {
+
+		final List<Integer> received = new CopyOnWriteArrayList<>();
+
+		final CountDownLatch latch = new CountDownLatch(3);
+
+		@EventListener(dispatch = ListenerDispatchMode.QUEUED, executor = "listenerPool")
+		public void onEvent(Integer event) {
+			this.received.add(event);
+			this.latch.countDown();
+			if (event == 1) {
+				throw new IllegalStateException("Test exception");
+			}
+		}
+	}
+
+}
@@ -16,13 +16,20 @@
 
 package org.springframework.context.index;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.context.testfixture.index.CandidateComponentsTestClassLoader;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.util.FileCopyUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
@@ -94,6 +101,80 @@ public class CandidateComponentsIndexLoaderTests {
 		assertThat(index).isNull();
 	}
 
+	@Test
+	public void loadBinaryIndexSeveralMatches() {
+		CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(
+				CandidateComponentsTestClassLoader.binaryIndex(getClass().getClassLoader(),
+						new ClassPathResource("spring.components.idx", getClass())));
+		Set<String> components = index.getCandidateTypes("org.springframework", "foo");
+		assertThat(components).containsOnly(
+				"org.springframework.context.index.Sample1",
+				"org.springframework.context.index.Sample2");
+	}
+
+	@Test
+	public void loadBinaryIndexSingleMatch() {
+		CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(
+				CandidateComponentsTestClassLoader.binaryIndex(getClass().getClassLoader(),
+						new ClassPathResource("spring.components.idx", getClass())));
+		Set<String> components = index.getCandidateTypes("org.springframework", "biz");
+		assertThat(components).containsOnly(
+				"org.springframework.context.index.Sample3");
+	}
+
+	@Test
+	public void loadBinaryIndexNoMatch() {
+		CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(
+				CandidateComponentsTestClassLoader.binaryIndex(getClass().getClassLoader(),
+						new ClassPathResource("spring.components.idx", getClass())));
+		assertThat(index.getCandidateTypes("org.springframework", "none")).isEmpty();
+		assertThat(index.getCandidateTypes("com.example", "foo")).isEmpty();
+		assertThat(index.getCandidateTypes("org.springframework.context.index.Sample3", "foo")).isEmpty();
+	}
+
+	@Test
+	public void loadBinaryIndexWithPattern() {
+		CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(
+				CandidateComponentsTestClassLoader.binaryIndex(getClass().getClassLoader(),
+						new ClassPathResource("spring.components.idx", getClass())));
+		assertThat(index.getCandidateTypes("org.springframework.**.index", "bar")).containsOnly(
+				"org.springframework.context.index.Sample2");
+		assertThat(index.getCandidateTypes("com.**", "bar")).isEmpty();
+	}
+
+	@Test
+	public void loadBinaryIndexFromNonFileResource() throws IOException {
+		byte[] content = FileCopyUtils.copyToByteArray(
+				new ClassPathResource("spring.components.idx", getClass()).getInputStream());
+		URL url = new URL("test", null, -1, "spring.components.idx", new URLStreamHandler() {
+			@Override
+			protected URLConnection openConnection(URL u) {
+				return new URLConnection(u) {
+					@Override
+					public void connect() {
+					}
+					@Override
+					public InputStream getInputStream() {
+						return new ByteArrayInputStream(content);
+					}
+				};
+			}
+		});
+		CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(
+				CandidateComponentsTestClassLoader.binaryIndex(getClass().getClassLoader(), new UrlResource(url)));
+		assertThat(index.getCandidateTypes("org.springframework", "foo")).containsOnly(
+				"org.springframework.context.index.Sample1",
+				"org.springframework.context.index.Sample2");
+	}
+
+	@Test
+	public void loadBinaryIndexWithInvalidContent() {
+		assertThatIllegalStateException().isThrownBy(() -> CandidateComponentsIndexLoader.loadIndex(
+				CandidateComponentsTestClassLoader.binaryIndex(getClass().getClassLoader(),
+						new ClassPathResource("spring.components", getClass()))))
+				.withMessageContaining("Invalid index");
+	}
+
 	@Test
 	public void loadIndexWithException() {
 		final IOException cause = new IOException("test exception");
@@ -21,7 +21,12 @@ import java.lang.annotation.RetentionPolicy;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.BulkheadTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 
 /**
@@ -58,6 +63,59 @@ public class AnnotationAsyncExecutionInterceptorTests {
 		}
 	}
 
+	@Test
+	@SuppressWarnings("unused")
+	public void testDetermineBulkheadExecutor() throws SecurityException, NoSuchMethodException {
+		SimpleAsyncTaskExecutor defaultExecutor = new SimpleAsyncTaskExecutor();
+		AnnotationAsyncExecutionInterceptor i = new AnnotationAsyncExecutionInterceptor(defaultExecutor);
+		{ // no bulkhead
+			class C { @Async void m() { } }
+			assertThat(i.determineAsyncExecutor(C.class.getDeclaredMethod("m"))).isNotInstanceOf(BulkheadTaskExecutor.class);
+		}
+		{ // method level, default name
+			class C { @Async @AsyncBulkhead(maxConcurrency = 2, queueCapacity = 5) void m() { } }
+			AsyncTaskExecutor executor = i.determineAsyncExecutor(C.class.getDeclaredMethod("m"));
+			assertThat(executor).isInstanceOf(BulkheadTaskExecutor.class);
+			BulkheadTaskExecutor bulkhead = (BulkheadTaskExecutor) executor;
+			assertThat(bulkhead.getName()).endsWith("C.m()");
+			assertThat(bulkhead.getMaxConcurrency()).isEqualTo(2);
+			assertThat(bulkhead.getQueueCapacity()).isEqualTo(5);
+			assertThat(i.determineAsyncExecutor(C.class.getDeclaredMethod("m"))).isSameAs(executor);
+		}
+		{ // overloaded methods with different limits -> separate bulkheads
+			class C {
+				@Async @AsyncBulkhead(maxConcurrency = 1) void m(String s) { }
+				@Async @AsyncBulkhead(maxConcurrency = 2, queueCapacity = 3) void m(String s, int[] i) { }
+			}
+			BulkheadTaskExecutor bulkhead1 = (BulkheadTaskExecutor) i.determineAsyncExecutor(C.class.getDeclaredMethod("m", String.class));
+			BulkheadTaskExecutor bulkhead2 = (BulkheadTaskExecutor) i.determineAsyncExecutor(C.class.getDeclaredMethod("m", String.class, int[].class));
+			assertThat(bulkhead1).isNotSameAs(bulkhead2);
+			assertThat(bulkhead1.getName()).endsWith("C.m(java.lang.String)");
+			assertThat(bulkhead1.getMaxConcurrency()).isEqualTo(1);
+			assertThat(bulkhead2.getName()).endsWith("C.m(java.lang.String,int[])");
+			assertThat(bulkhead2.getMaxConcurrency()).isEqualTo(2);
+			assertThat(bulkhead2.getQueueCapacity()).isEqualTo(3);
+		}
+		{ // class level -> shared by all methods
+			@Async @AsyncBulkhead(maxConcurrency = 3) class C { void m1() { } void m2() { } }
+			AsyncTaskExecutor executor = i.determineAsyncExecutor(C.class.getDeclaredMethod("m1"));
+			assertThat(((BulkheadTaskExecutor) executor).getName()).isEqualTo(C.class.getName());
+			assertThat(i.determineAsyncExecutor(C.class.getDeclaredMethod("m2"))).isSameAs(executor);
+		}
+		{ // shared by name across classes, method level overrides class level
+			@Async @AsyncBulkhead(maxConcurrency = 3) class C1 { @AsyncBulkhead(value = "orders", maxConcurrency = 1) void m() { } }
+			class C2 { @Async @AsyncBulkhead(value = "orders", maxConcurrency = 1) void m() { } }
+			AsyncTaskExecutor executor = i.determineAsyncExecutor(C1.class.getDeclaredMethod("m"));
+			assertThat(i.determineAsyncExecutor(C2.class.getDeclaredMethod("m"))).isSameAs(executor);
+			assertThat(i.getBulkheads()).containsEntry("orders", (BulkheadTaskExecutor) executor);
+			assertThat(((BulkheadTaskExecutor) executor).getTargetExecutor()).isSameAs(defaultExecutor);
+		}
+		{ // conflicting limits
+			class C { @Async @AsyncBulkhead(value = "orders", maxConcurrency = 2) void m() { } }
+			assertThatIllegalStateException().isThrownBy(() -> i.determineAsyncExecutor(C.class.getDeclaredMethod("m")));
+		}
+	}
+
 	@Async("qMeta")
 	@Retention(RetentionPolicy.RUNTIME)
 	@interface MyAsync { }
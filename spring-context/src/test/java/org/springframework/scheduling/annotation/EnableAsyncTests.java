@@ -21,6 +21,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
@@ -48,6 +49,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -204,6 +206,46 @@ public class EnableAsyncTests {
 		ctx.close();
 	}
 
+	@Test
+	public void virtualThreadsDefaultExecutor() {
+		// Arrange
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.register(VirtualThreadsConfig.class);
+		ctx.refresh();
+		AsyncBean asyncBean = ctx.getBean(AsyncBean.class);
+		// Act
+		asyncBean.work();
+		// Assert
+		Awaitility.await()
+					.atMost(500, TimeUnit.MILLISECONDS)
+					.pollInterval(10, TimeUnit.MILLISECONDS)
+					.until(() -> asyncBean.getThreadOfExecution() != null);
+		assertThat(asyncBean.getThreadOfExecution().getName()).startsWith("async-");
+		ctx.close();
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(asyncBean::work);
+	}
+
+	@Test
+	public void bulkheadRejectsBeyondCapacity() throws Exception {
+		// Arrange
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.register(BulkheadConfig.class);
+		ctx.refresh();
+		BulkheadBean bulkheadBean = ctx.getBean(BulkheadBean.class);
+		// Act
+		Future<String> result = bulkheadBean.work();
+		assertThat(bulkheadBean.awaitStarted()).isTrue();
+		// Assert
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(bulkheadBean::work);
+		bulkheadBean.release();
+		assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+		Awaitility.await()
+					.atMost(500, TimeUnit.MILLISECONDS)
+					.pollInterval(10, TimeUnit.MILLISECONDS)
+					.untilAsserted(() -> assertThat(bulkheadBean.work().get(5, TimeUnit.SECONDS)).isEqualTo("done"));
+		ctx.close();
+	}
+
 	@Test
 	public void customExecutorConfig() {
 		// Arrange
@@ -367,6 +409,30 @@ public class EnableAsyncTests {
 	}
 
 
+	static class BulkheadBean {
+
+		private final CountDownLatch started = new CountDownLatch(1);
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		@Async
+		@AsyncBulkhead(maxConcurrency = 1, queueCapacity = 0)
+		public Future<String> work() throws InterruptedException {
+			this.started.countDown();
+			this.release.await();
+			return new AsyncResult<>("done");
+		}
+
+		public boolean awaitStarted() throws InterruptedException {
+			return this.started.await(5, TimeUnit.SECONDS);
+		}
+
+		public void release() {
+			this.release.countDown();
+		}
+	}
+
+
 	@Component("asyncBean")
 	static class AsyncBeanWithInterface extends AsyncBean implements Runnable {
 
@@ -442,6 +508,28 @@ public class EnableAsyncTests {
 	}
 
 
+	@Configuration
+	@EnableAsync(virtualThreads = true)
+	static class VirtualThreadsConfig {
+
+		@Bean
+		public AsyncBean asyncBean() {
+			return new AsyncBean();
+		}
+	}
+
+
+	@Configuration
+	@EnableAsync
+	static class BulkheadConfig {
+
+		@Bean
+		public BulkheadBean bulkheadBean() {
+			return new BulkheadBean();
+		}
+	}
+
+
 	@Configuration
 	@EnableAsync
 	static class AsyncConfigWithMockito {
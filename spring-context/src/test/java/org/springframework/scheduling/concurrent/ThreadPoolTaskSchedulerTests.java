@@ -96,6 +96,25 @@ public class ThreadPoolTaskSchedulerTests extends AbstractSchedulingTaskExecutor
 		assertThreadNamePrefix(task);
 	}
 
+	@Test
+	void scheduleOneTimeTaskWithVirtualThreads() throws Exception {
+		ThreadPoolTaskScheduler virtualScheduler = new ThreadPoolTaskScheduler();
+		virtualScheduler.setThreadNamePrefix(this.threadNamePrefix);
+		virtualScheduler.setVirtualThreads(true);
+		virtualScheduler.afterPropertiesSet();
+		try {
+			TestTask task = new TestTask(this.testName, 1);
+			Future<?> future = virtualScheduler.schedule(task, new Date());
+			Object result = future.get(1000, TimeUnit.MILLISECONDS);
+			assertThat(result).isNull();
+			assertThat(future.isDone()).isTrue();
+			assertThreadNamePrefix(task);
+		}
+		finally {
+			virtualScheduler.destroy();
+		}
+	}
+
 	@Test
 	void scheduleOneTimeFailingTaskWithoutErrorHandler() throws Exception {
 		TestTask task = new TestTask(this.testName, 0);
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.support.PeriodicTrigger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link TimingWheelTaskScheduler}.
+ *
+ * @since 5.3.3
+ */
+class TimingWheelTaskSchedulerTests {
+
+	private final TimingWheelTaskScheduler scheduler = new TimingWheelTaskScheduler();
+
+
+	@BeforeEach
+	void setup() {
+		this.scheduler.setThreadNamePrefix("wheel-");
+		this.scheduler.setTickMillis(1);
+		this.scheduler.setWheelSize(8);
+		this.scheduler.setPoolSize(2);
+		this.scheduler.afterPropertiesSet();
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.scheduler.destroy();
+	}
+
+
+	@Test
+	void scheduleOneTimeTask() throws Exception {
+		AtomicLong executionTime = new AtomicLong();
+		long startTime = System.currentTimeMillis() + 50;
+		ScheduledFuture<?> future = this.scheduler.schedule(
+				() -> executionTime.set(System.currentTimeMillis()), new Date(startTime));
+
+		assertThat(future.get(1, TimeUnit.SECONDS)).isNull();
+		assertThat(future.isDone()).isTrue();
+		assertThat(executionTime.get()).isGreaterThanOrEqualTo(startTime);
+	}
+
+	@Test
+	void scheduleOneTimeTaskInThePast() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future = this.scheduler.schedule(
+				count::incrementAndGet, new Date(System.currentTimeMillis() - 1000));
+
+		future.get(1, TimeUnit.SECONDS);
+		assertThat(count.get()).isEqualTo(1);
+	}
+
+	@Test
+	void scheduleOneTimeTaskRunsOnWorkerThread() throws Exception {
+		List<String> threads = new ArrayList<>();
+		this.scheduler.schedule(() -> threads.add(Thread.currentThread().getName()), new Date()).get(1, TimeUnit.SECONDS);
+		assertThat(threads).hasSize(1);
+		assertThat(threads.get(0)).startsWith("wheel-");
+	}
+
+	@Test
+	void scheduleOneTimeFailingTask() {
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {
+			throw new IllegalStateException("Test exception");
+		}, new Date());
+
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() ->
+				future.get(1, TimeUnit.SECONDS)).withCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void scheduleManyTasksAcrossWheels() throws Exception {
+		// With 1 ms ticks and 8 buckets per wheel, delays up to 600 ms span four wheels
+		int taskCount = 500;
+		Random random = new Random(42);
+		CountDownLatch latch = new CountDownLatch(taskCount);
+		List<Long> lateness = new ArrayList<>();
+		for (int i = 0; i < taskCount; i++) {
+			long startTime = System.currentTimeMillis() + random.nextInt(600);
+			this.scheduler.schedule(() -> {
+				synchronized (lateness) {
+					lateness.add(System.currentTimeMillis() - startTime);
+				}
+				latch.countDown();
+			}, new Date(startTime));
+		}
+
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(lateness).hasSize(taskCount).allMatch(late -> late >= 0);
+	}
+
+	@Test
+	void cancelBeforeExecution() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future = this.scheduler.schedule(
+				count::incrementAndGet, new Date(System.currentTimeMillis() + 100));
+
+		assertThat(future.cancel(false)).isTrue();
+		assertThat(future.isCancelled()).isTrue();
+		assertThat(future.isDone()).isTrue();
+		assertThat(future.cancel(false)).isFalse();
+		assertThatExceptionOfType(CancellationException.class).isThrownBy(future::get);
+
+		Thread.sleep(200);
+		assertThat(count.get()).isEqualTo(0);
+	}
+
+	@Test
+	void scheduleAtFixedRate() throws Exception {
+		CountDownLatch latch = new CountDownLatch(5);
+		ScheduledFuture<?> future = this.scheduler.scheduleAtFixedRate(latch::countDown, 10);
+
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(future.isDone()).isFalse();
+		assertThat(future.cancel(false)).isTrue();
+		assertThat(future.isCancelled()).isTrue();
+	}
+
+	@Test
+	void scheduleWithFixedDelayStopsWhenCancelled() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future = this.scheduler.scheduleWithFixedDelay(count::incrementAndGet, 5);
+
+		Thread.sleep(100);
+		future.cancel(false);
+		int countAfterCancel = count.get();
+		assertThat(countAfterCancel).isGreaterThan(1);
+
+		Thread.sleep(50);
+		assertThat(count.get()).isEqualTo(countAfterCancel);
+	}
+
+	@Test
+	void repeatingTaskSurvivesFailure() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.scheduler.scheduleWithFixedDelay(() -> {
+			latch.countDown();
+			throw new IllegalStateException("Test exception");
+		}, 5);
+
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		future.cancel(false);
+	}
+
+	@Test
+	void scheduleTriggerTask() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		PeriodicTrigger trigger = new PeriodicTrigger(10);
+		ScheduledFuture<?> future = this.scheduler.schedule(latch::countDown, trigger);
+
+		assertThat((Object) future).isNotNull();
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		future.cancel(false);
+	}
+
+	@Test
+	void scheduleExhaustedTriggerTask() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future = this.scheduler.schedule(count::incrementAndGet,
+				triggerContext -> (triggerContext.lastCompletionTime() == null ? new Date() : null));
+
+		assertThat((Object) future).isNotNull();
+		assertThat(future.get(1, TimeUnit.SECONDS)).isNull();
+		assertThat(count.get()).isEqualTo(1);
+		assertThat((Object) this.scheduler.schedule(count::incrementAndGet, triggerContext -> null)).isNull();
+	}
+
+	@Test
+	void shutdownCancelsPendingTasks() {
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {}, new Date(System.currentTimeMillis() + 60000));
+		this.scheduler.shutdown();
+
+		assertThat(future.isCancelled()).isTrue();
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() ->
+				this.scheduler.schedule(() -> {}, new Date()));
+	}
+
+	@Test
+	void notInitialized() {
+		TimingWheelTaskScheduler scheduler = new TimingWheelTaskScheduler();
+		assertThatIllegalStateException().isThrownBy(() -> scheduler.schedule(() -> {}, new Date()));
+	}
+
+}
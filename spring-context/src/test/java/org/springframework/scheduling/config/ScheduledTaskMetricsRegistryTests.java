@@ -0,0 +1,288 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link ScheduledTaskMetricsRegistry} and the observation of
+ * scheduled task executions through {@link ScheduledTaskListener}.
+ *
+ * @since 5.3.3
+ */
+class ScheduledTaskMetricsRegistryTests {
+
+	private final MutableClock clock = new MutableClock(1_000_000);
+
+	private final ScheduledTaskMetricsRegistry registry = new ScheduledTaskMetricsRegistry();
+
+	private final List<ScheduledTaskListener> listeners = Collections.singletonList(this.registry);
+
+
+	@BeforeEach
+	void setup() {
+		this.registry.setClock(this.clock);
+	}
+
+	@Test
+	void fixedRateExecutions() {
+		IntervalTask task = new IntervalTask(() -> this.clock.advance(30), 100, 50);
+		ObservedTaskRunnable runnable = ObservedTaskRunnable.forFixedRate(task, this.listeners, this.clock);
+
+		this.clock.advance(60);
+		runnable.run();
+		this.clock.advance(70);
+		runnable.run();
+
+		ScheduledTaskMetrics metrics = this.registry.getMetrics(task);
+		assertThat(metrics.getExecutionCount()).isEqualTo(2);
+		assertThat(metrics.getOverrunCount()).isEqualTo(0);
+		assertThat(metrics.getDuration().getMax()).isEqualTo(30);
+		// First execution planned after the initial delay, second one a period later
+		assertThat(metrics.getLag().getMax()).isEqualTo(10);
+		assertThat(metrics.getLastExecution().getScheduledTime()).isEqualTo(Instant.ofEpochMilli(1_000_150));
+		assertThat(metrics.getCurrentExecution()).isNull();
+	}
+
+	@Test
+	void fixedRateOverrun() {
+		IntervalTask task = new IntervalTask(() -> this.clock.advance(150), 100);
+		ObservedTaskRunnable runnable = ObservedTaskRunnable.forFixedRate(task, this.listeners, this.clock);
+
+		runnable.run();
+		runnable.run();
+
+		ScheduledTaskMetrics metrics = this.registry.getMetrics(task);
+		assertThat(metrics.getExecutionCount()).isEqualTo(2);
+		assertThat(metrics.getOverrunCount()).isEqualTo(2);
+		assertThat(metrics.getLastExecution().isOverrun()).isTrue();
+		assertThat(metrics.getLastExecution().getLag()).isEqualTo(Duration.ofMillis(50));
+	}
+
+	@Test
+	void fixedDelayExecutions() {
+		IntervalTask task = new IntervalTask(() -> this.clock.advance(150), 100);
+		ObservedTaskRunnable runnable = ObservedTaskRunnable.forFixedDelay(task, this.listeners, this.clock);
+
+		runnable.run();
+		this.clock.advance(120);
+		runnable.run();
+
+		ScheduledTaskMetrics metrics = this.registry.getMetrics(task);
+		assertThat(metrics.getExecutionCount()).isEqualTo(2);
+		assertThat(metrics.getOverrunCount()).isEqualTo(0);
+		assertThat(metrics.getLastExecution().getLag()).isEqualTo(Duration.ofMillis(20));
+	}
+
+	@Test
+	void cronOverrunSkipsExecutions() {
+		CronTrigger cronTrigger = new CronTrigger("*/10 * * * * *", ZoneOffset.UTC);
+		CronTask task = new CronTask(() -> this.clock.advance(25_000), cronTrigger);
+		ObservedTaskRunnable runnable = ObservedTaskRunnable.forTrigger(task, this.listeners, this.clock);
+
+		Date next = runnable.getTrigger().nextExecutionTime(new SimpleTriggerContext(this.clock));
+		this.clock.set(next.getTime() + 5);
+		runnable.run();
+
+		ScheduledTaskExecution execution = this.registry.getMetrics(task).getLastExecution();
+		assertThat(execution.getScheduledTime()).isEqualTo(next.toInstant());
+		assertThat(execution.getLag()).isEqualTo(Duration.ofMillis(5));
+		assertThat(execution.isOverrun()).isTrue();
+		assertThat(execution.getSkippedExecutions()).isEqualTo(2);
+		assertThat(this.registry.getMetrics(task).getSkippedExecutionCount()).isEqualTo(2);
+	}
+
+	@Test
+	void cronWithinInterval() {
+		CronTrigger cronTrigger = new CronTrigger("*/10 * * * * *", ZoneOffset.UTC);
+		CronTask task = new CronTask(() -> this.clock.advance(5_000), cronTrigger);
+		ObservedTaskRunnable runnable = ObservedTaskRunnable.forTrigger(task, this.listeners, this.clock);
+
+		Date next = runnable.getTrigger().nextExecutionTime(new SimpleTriggerContext(this.clock));
+		this.clock.set(next.getTime());
+		runnable.run();
+
+		ScheduledTaskExecution execution = this.registry.getMetrics(task).getLastExecution();
+		assertThat(execution.isOverrun()).isFalse();
+		assertThat(execution.getSkippedExecutions()).isEqualTo(0);
+	}
+
+	@Test
+	void failedExecution() {
+		IntervalTask task = new IntervalTask(() -> {
+			throw new IllegalStateException("Test exception");
+		}, 100);
+		ObservedTaskRunnable runnable = ObservedTaskRunnable.forFixedDelay(task, this.listeners, this.clock);
+
+		assertThatIllegalStateException().isThrownBy(runnable::run);
+
+		ScheduledTaskMetrics metrics = this.registry.getMetrics(task);
+		assertThat(metrics.getExecutionCount()).isEqualTo(1);
+		assertThat(metrics.getFailureCount()).isEqualTo(1);
+		assertThat(metrics.getLastExecution().getException()).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void overlappingExecutions() {
+		AtomicLong depth = new AtomicLong();
+		ObservedTaskRunnable[] holder = new ObservedTaskRunnable[1];
+		IntervalTask task = new IntervalTask(() -> {
+			if (depth.incrementAndGet() == 1) {
+				holder[0].run();
+			}
+		}, 100);
+		holder[0] = ObservedTaskRunnable.forFixedRate(task, this.listeners, this.clock);
+
+		holder[0].run();
+
+		ScheduledTaskMetrics metrics = this.registry.getMetrics(task);
+		assertThat(metrics.getExecutionCount()).isEqualTo(2);
+		assertThat(metrics.getOverlappingExecutionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void currentExecutionWhileRunning() {
+		List<ScheduledTaskMetrics> runningLongerThan40 = new ArrayList<>();
+		List<ScheduledTaskMetrics> runningLongerThan60 = new ArrayList<>();
+		IntervalTask task = new IntervalTask(() -> {
+			this.clock.advance(50);
+			runningLongerThan40.addAll(this.registry.getMetricsRunningLongerThan(Duration.ofMillis(40)));
+			runningLongerThan60.addAll(this.registry.getMetricsRunningLongerThan(Duration.ofMillis(60)));
+		}, 100);
+		ObservedTaskRunnable.forFixedDelay(task, this.listeners, this.clock).run();
+
+		assertThat(runningLongerThan40).hasSize(1);
+		assertThat(runningLongerThan40.get(0).getTask()).isSameAs(task);
+		assertThat(runningLongerThan60).isEmpty();
+		assertThat(this.registry.getMetrics(task).getCurrentExecution()).isNull();
+		assertThat(this.registry.getMetricsRunningLongerThan(Duration.ofMillis(-1))).isEmpty();
+	}
+
+	@Test
+	void histogramPercentiles() {
+		ScheduledTaskMetrics.Histogram histogram = new ScheduledTaskMetrics.Histogram();
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+		assertThat(histogram.getCount()).isEqualTo(100);
+		assertThat(histogram.getMax()).isEqualTo(100);
+		assertThat(histogram.getMean()).isEqualTo(50.5);
+		assertThat(histogram.getPercentile(0.5)).isEqualTo(63);
+		assertThat(histogram.getPercentile(0.99)).isEqualTo(100);
+		assertThat(histogram.getPercentile(0)).isEqualTo(1);
+	}
+
+	@Test
+	void scheduledMethodsObservedWithEnableScheduling() throws InterruptedException {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(MetricsConfig.class);
+		try {
+			MetricsConfig config = context.getBean(MetricsConfig.class);
+			assertThat(config.latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+			ScheduledTaskMetricsRegistry registry = context.getBean(ScheduledTaskMetricsRegistry.class);
+			List<ScheduledTaskMetrics> metrics = registry.getMetrics(MetricsConfig.class.getName() + ".task");
+			assertThat(metrics).hasSize(1);
+			assertThat(metrics.get(0).getExecutionCount()).isGreaterThanOrEqualTo(1);
+		}
+		finally {
+			context.close();
+		}
+	}
+
+
+	@Configuration
+	@EnableScheduling
+	static class MetricsConfig {
+
+		final CountDownLatch latch = new CountDownLatch(3);
+
+		@Bean
+		public ScheduledTaskMetricsRegistry scheduledTaskMetrics() {
+			return new ScheduledTaskMetricsRegistry();
+		}
+
+		@Scheduled(fixedRate = 10)
+		public void task() {
+			this.latch.countDown();
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	private static class MutableClock extends Clock {
+
+		private final AtomicLong millis;
+
+		MutableClock(long millis) {
+			this.millis = new AtomicLong(millis);
+		}
+
+		void advance(long delta) {
+			this.millis.addAndGet(delta);
+		}
+
+		void set(long millis) {
+			this.millis.set(millis);
+		}
+
+		@Override
+		public long millis() {
+			return this.millis.get();
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(millis());
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+	}
+
+}
@@ -18,8 +18,10 @@ package org.springframework.context.testfixture.cache;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
@@ -27,6 +29,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.cache.Cache;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * @author Stephane Nicoll
@@ -208,6 +211,49 @@ public abstract class AbstractCacheTests<T extends Cache> {
 		results.forEach(r -> assertThat(r).isEqualTo(1)); // Only one method got invoked
 	}
 
+	@Test
+	public void testCacheRetrieve() throws Exception {
+		T cache = getCache();
+
+		String key = createRandomKey();
+		assertThat(cache.retrieve(key)).isNull();
+
+		cache.put(key, "george");
+		assertThat(cache.retrieve(key).get()).isEqualTo("george");
+
+		cache.put(key, null);
+		assertThat(cache.retrieve(key)).isNotNull();
+		assertThat(cache.retrieve(key).get()).isNull();
+	}
+
+	@Test
+	public void testCacheRetrieveWithLoader() throws Exception {
+		T cache = getCache();
+
+		String key = createRandomKey();
+		CompletableFuture<String> future = cache.retrieve(key, () -> CompletableFuture.completedFuture("george"));
+		assertThat(future.get()).isEqualTo("george");
+		assertThat(cache.get(key, String.class)).isEqualTo("george");
+
+		future = cache.retrieve(key, () -> {
+			throw new IllegalStateException("Should not have been invoked");
+		});
+		assertThat(future.get()).isEqualTo("george");
+	}
+
+	@Test
+	public void testCacheRetrieveWithLoaderFail() {
+		T cache = getCache();
+
+		String key = createRandomKey();
+		CompletableFuture<Object> failed = new CompletableFuture<>();
+		failed.completeExceptionally(new UnsupportedOperationException("Expected exception"));
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() ->
+				cache.retrieve(key, () -> failed).get())
+			.withCauseInstanceOf(UnsupportedOperationException.class);
+		assertThat(cache.get(key)).isNull();
+	}
+
 	protected String createRandomKey() {
 		return UUID.randomUUID().toString();
 	}
@@ -28,7 +28,7 @@ import org.springframework.core.io.Resource;
 
 /**
  * A test {@link ClassLoader} that can be used in a testing context to control the
- * {@code spring.components} resource that should be loaded. Can also simulate a failure
+ * {@code spring.components} (or {@code spring.components.idx}) resource that should be loaded. Can also simulate a failure
  * by throwing a configurable {@link IOException}.
  *
  * @author Stephane Nicoll
@@ -55,42 +55,73 @@ public class CandidateComponentsTestClassLoader extends ClassLoader {
 	 * specified resources.
 	 */
 	public static ClassLoader index(ClassLoader classLoader, Resource... resources) {
+		return new CandidateComponentsTestClassLoader(classLoader, toUrls(resources));
+	}
+
+	/**
+	 * Create a test {@link ClassLoader} that creates an index with the
+	 * specified binary {@link Resource} instances
+	 * @param classLoader the classloader to use for all other operations
+	 * @return a test {@link ClassLoader} with an index built based on the
+	 * specified binary resources.
+	 * @since 5.3.3
+	 * @see CandidateComponentsIndexLoader#COMPONENTS_BINARY_RESOURCE_LOCATION
+	 */
+	public static ClassLoader binaryIndex(ClassLoader classLoader, Resource... resources) {
 		return new CandidateComponentsTestClassLoader(classLoader,
-				Collections.enumeration(Stream.of(resources).map(r -> {
-					try {
-						return r.getURL();
-					}
-					catch (Exception ex) {
-						throw new IllegalArgumentException("Invalid resource " + r, ex);
-					}
-				}).collect(Collectors.toList())));
+				CandidateComponentsIndexLoader.COMPONENTS_BINARY_RESOURCE_LOCATION, toUrls(resources));
+	}
+
+	private static Enumeration<URL> toUrls(Resource... resources) {
+		return Collections.enumeration(Stream.of(resources).map(r -> {
+			try {
+				return r.getURL();
+			}
+			catch (Exception ex) {
+				throw new IllegalArgumentException("Invalid resource " + r, ex);
+			}
+		}).collect(Collectors.toList()));
 	}
 
 
+	private final String resourceLocation;
+
 	private final Enumeration<URL> resourceUrls;
 
 	private final IOException cause;
 
 	public CandidateComponentsTestClassLoader(ClassLoader classLoader, Enumeration<URL> resourceUrls) {
+		this(classLoader, CandidateComponentsIndexLoader.COMPONENTS_RESOURCE_LOCATION, resourceUrls);
+	}
+
+	private CandidateComponentsTestClassLoader(ClassLoader classLoader, String resourceLocation,
+			Enumeration<URL> resourceUrls) {
+
 		super(classLoader);
+		this.resourceLocation = resourceLocation;
 		this.resourceUrls = resourceUrls;
 		this.cause = null;
 	}
 
 	public CandidateComponentsTestClassLoader(ClassLoader parent, IOException cause) {
 		super(parent);
+		this.resourceLocation = CandidateComponentsIndexLoader.COMPONENTS_RESOURCE_LOCATION;
 		this.resourceUrls = null;
 		this.cause = cause;
 	}
 
 	@Override
 	public Enumeration<URL> getResources(String name) throws IOException {
-		if (CandidateComponentsIndexLoader.COMPONENTS_RESOURCE_LOCATION.equals(name)) {
+		if (this.resourceLocation.equals(name)) {
 			if (this.resourceUrls != null) {
 				return this.resourceUrls;
 			}
 			throw this.cause;
 		}
+		if (CandidateComponentsIndexLoader.COMPONENTS_RESOURCE_LOCATION.equals(name) ||
+				CandidateComponentsIndexLoader.COMPONENTS_BINARY_RESOURCE_LOCATION.equals(name)) {
+			return Collections.emptyEnumeration();
+		}
 		return super.getResources(name);
 	}
 
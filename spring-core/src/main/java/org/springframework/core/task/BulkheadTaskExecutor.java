@@ -0,0 +1,311 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+/**
+ * {@link TaskExecutor} decorator that isolates a group of tasks in a bulkhead
+ * on top of a shared target executor: at most {@code maxConcurrency} tasks of
+ * the bulkhead run on the target executor at any time, further tasks wait in
+ * a bulkhead-local queue of limited capacity, and tasks beyond that capacity
+ * are rejected with a {@link TaskRejectedException}.
+ *
+ * <p>This prevents a single hot group of tasks from saturating a target executor
+ * that is shared with other groups, without having to set up a dedicated
+ * thread pool per group. Waiting tasks are never handed to the target executor,
+ * so its own queue never holds more than {@code maxConcurrency} tasks per
+ * bulkhead. A work-stealing {@link java.util.concurrent.ForkJoinPool} is
+ * a good fit for the shared target executor, since a task being released
+ * from a bulkhead queue is handed over from the worker thread that just
+ * completed the previous task of the same bulkhead.
+ *
+ * <p>Exposes statistics about submitted, rejected and completed tasks
+ * for monitoring purposes.
+ *
+ * @since 5.3.3
+ * @see org.springframework.scheduling.annotation.AsyncBulkhead
+ */
+public class BulkheadTaskExecutor implements AsyncListenableTaskExecutor {
+
+	private static final Log logger = LogFactory.getLog(BulkheadTaskExecutor.class);
+
+
+	private final String name;
+
+	private final Executor targetExecutor;
+
+	private final int maxConcurrency;
+
+	private final int queueCapacity;
+
+	private final Deque<Runnable> queue = new ArrayDeque<>();
+
+	private final Object monitor = new Object();
+
+	private int activeCount;
+
+	private final LongAdder submittedCount = new LongAdder();
+
+	private final LongAdder rejectedCount = new LongAdder();
+
+	private final LongAdder completedCount = new LongAdder();
+
+
+	/**
+	 * Create a new BulkheadTaskExecutor with an unbounded queue.
+	 * @param targetExecutor the executor to run the tasks on
+	 * @param maxConcurrency the maximum number of concurrently running tasks
+	 */
+	public BulkheadTaskExecutor(Executor targetExecutor, int maxConcurrency) {
+		this("bulkhead", targetExecutor, maxConcurrency, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Create a new BulkheadTaskExecutor.
+	 * @param name the name of the bulkhead, for logging and monitoring purposes
+	 * @param targetExecutor the executor to run the tasks on
+	 * @param maxConcurrency the maximum number of concurrently running tasks
+	 * @param queueCapacity the maximum number of tasks waiting for execution
+	 * (0 for rejecting tasks as soon as {@code maxConcurrency} tasks are running)
+	 */
+	public BulkheadTaskExecutor(String name, Executor targetExecutor, int maxConcurrency, int queueCapacity) {
+		Assert.hasLength(name, "Name must not be empty");
+		Assert.notNull(targetExecutor, "Target Executor must not be null");
+		Assert.isTrue(maxConcurrency > 0, "'maxConcurrency' must be positive");
+		Assert.isTrue(queueCapacity >= 0, "'queueCapacity' must not be negative");
+		this.name = name;
+		this.targetExecutor = targetExecutor;
+		this.maxConcurrency = maxConcurrency;
+		this.queueCapacity = queueCapacity;
+	}
+
+
+	/**
+	 * Return the name of this bulkhead.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the executor that the tasks of this bulkhead run on.
+	 */
+	public Executor getTargetExecutor() {
+		return this.targetExecutor;
+	}
+
+	/**
+	 * Return the maximum number of concurrently running tasks.
+	 */
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	/**
+	 * Return the maximum number of tasks waiting for execution.
+	 */
+	public int getQueueCapacity() {
+		return this.queueCapacity;
+	}
+
+	/**
+	 * Return the number of tasks currently running on (or handed over to)
+	 * the target executor.
+	 */
+	public int getActiveCount() {
+		synchronized (this.monitor) {
+			return this.activeCount;
+		}
+	}
+
+	/**
+	 * Return the number of tasks currently waiting in the bulkhead queue.
+	 */
+	public int getQueueSize() {
+		synchronized (this.monitor) {
+			return this.queue.size();
+		}
+	}
+
+	/**
+	 * Return the total number of tasks submitted to this bulkhead.
+	 */
+	public long getSubmittedCount() {
+		return this.submittedCount.sum();
+	}
+
+	/**
+	 * Return the total number of tasks rejected, either by this bulkhead
+	 * due to a full queue or by the target executor.
+	 */
+	public long getRejectedCount() {
+		return this.rejectedCount.sum();
+	}
+
+	/**
+	 * Return the total number of tasks that completed execution,
+	 * whether successfully or not.
+	 */
+	public long getCompletedCount() {
+		return this.completedCount.sum();
+	}
+
+
+	@Override
+	public void execute(Runnable task) {
+		Assert.notNull(task, "Runnable must not be null");
+		this.submittedCount.increment();
+		synchronized (this.monitor) {
+			if (this.activeCount >= this.maxConcurrency) {
+				if (this.queue.size() < this.queueCapacity) {
+					this.queue.add(task);
+					return;
+				}
+				this.rejectedCount.increment();
+				throw new TaskRejectedException("Bulkhead '" + this.name + "' is saturated with " +
+						this.activeCount + " active and " + this.queue.size() + " queued tasks - " +
+						"did not accept task: " + task);
+			}
+			this.activeCount++;
+		}
+		try {
+			this.targetExecutor.execute(new BulkheadTask(task));
+		}
+		catch (RejectedExecutionException ex) {
+			this.rejectedCount.increment();
+			releaseSlot();
+			throw new TaskRejectedException(
+					"Executor [" + this.targetExecutor + "] did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public void execute(Runnable task, long startTimeout) {
+		execute(task);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		FutureTask<Object> future = new FutureTask<>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		FutureTask<T> future = new FutureTask<>(task);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public ListenableFuture<?> submitListenable(Runnable task) {
+		ListenableFutureTask<Object> future = new ListenableFutureTask<>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+		ListenableFutureTask<T> future = new ListenableFutureTask<>(task);
+		execute(future);
+		return future;
+	}
+
+	/**
+	 * Hand the slot of a completed task over to the next queued task, if any,
+	 * or give it back to the bulkhead otherwise.
+	 */
+	private void releaseSlot() {
+		while (true) {
+			Runnable next;
+			synchronized (this.monitor) {
+				next = this.queue.poll();
+				if (next == null) {
+					this.activeCount--;
+					return;
+				}
+			}
+			try {
+				this.targetExecutor.execute(new BulkheadTask(next));
+				return;
+			}
+			catch (RejectedExecutionException ex) {
+				// Keep the slot for the next queued task, if any
+				this.rejectedCount.increment();
+				if (next instanceof Future) {
+					((Future<?>) next).cancel(false);
+				}
+				logger.warn("Executor [" + this.targetExecutor + "] did not accept queued task of bulkhead '" +
+						this.name + "': " + next, ex);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "BulkheadTaskExecutor '" + this.name + "': maxConcurrency=" + this.maxConcurrency +
+				", queueCapacity=" + this.queueCapacity + ", active=" + getActiveCount() +
+				", queued=" + getQueueSize() + ", rejected=" + getRejectedCount();
+	}
+
+
+	/**
+	 * Wrapper for a task running on the target executor, releasing its
+	 * bulkhead slot on completion.
+	 */
+	private class BulkheadTask implements Runnable {
+
+		private final Runnable task;
+
+		BulkheadTask(Runnable task) {
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			try {
+				this.task.run();
+			}
+			finally {
+				completedCount.increment();
+				releaseSlot();
+			}
+		}
+
+		@Override
+		public String toString() {
+			return this.task.toString();
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CustomizableThreadCreator;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link ThreadFactory} that creates virtual threads when running on a JVM
+ * that supports them, and regular platform threads as configured through the
+ * {@link CustomizableThreadCreator} properties otherwise.
+ *
+ * <p>Virtual threads are named according to the
+ * {@linkplain #setThreadNamePrefix thread name prefix}; the priority,
+ * daemon flag and thread group properties only apply to platform threads.
+ *
+ * @since 5.3.3
+ * @see #isSupported()
+ * @see VirtualThreadTaskExecutor
+ */
+@SuppressWarnings("serial")
+public class VirtualThreadFactory extends CustomizableThreadCreator implements ThreadFactory {
+
+	@Nullable
+	private static final Method ofVirtualMethod;
+
+	@Nullable
+	private static final Method nameMethod;
+
+	@Nullable
+	private static final Method unstartedMethod;
+
+	static {
+		Method ofVirtual = ClassUtils.getMethodIfAvailable(Thread.class, "ofVirtual");
+		Method name = null;
+		Method unstarted = null;
+		if (ofVirtual != null) {
+			try {
+				Class<?> builderType = ClassUtils.forName("java.lang.Thread$Builder", Thread.class.getClassLoader());
+				name = builderType.getMethod("name", String.class);
+				unstarted = builderType.getMethod("unstarted", Runnable.class);
+				// Virtual threads may be present as a preview feature but not enabled
+				ofVirtual.invoke(null);
+			}
+			catch (Throwable ex) {
+				ofVirtual = null;
+			}
+		}
+		ofVirtualMethod = ofVirtual;
+		nameMethod = name;
+		unstartedMethod = unstarted;
+	}
+
+
+	/**
+	 * Create a new VirtualThreadFactory with default thread name prefix.
+	 */
+	public VirtualThreadFactory() {
+		super();
+	}
+
+	/**
+	 * Create a new VirtualThreadFactory with the given thread name prefix.
+	 * @param threadNamePrefix the prefix to use for the names of newly created threads
+	 */
+	public VirtualThreadFactory(String threadNamePrefix) {
+		super(threadNamePrefix);
+	}
+
+
+	/**
+	 * Return whether the current JVM supports virtual threads, i.e. provides
+	 * them as a final or as an enabled preview feature.
+	 */
+	public static boolean isSupported() {
+		return (ofVirtualMethod != null);
+	}
+
+	@Override
+	public Thread newThread(Runnable runnable) {
+		return createThread(runnable);
+	}
+
+	/**
+	 * Create a new virtual thread for the given Runnable if supported,
+	 * falling back to a platform thread otherwise.
+	 */
+	@Override
+	public Thread createThread(Runnable runnable) {
+		Thread thread = (isSupported() ? createVirtualThread(nextThreadName(), runnable) : null);
+		return (thread != null ? thread : super.createThread(runnable));
+	}
+
+	/**
+	 * Create an unstarted virtual thread with the given name.
+	 * @return the new thread, or {@code null} if virtual threads are not supported
+	 */
+	@Nullable
+	static Thread createVirtualThread(String name, Runnable runnable) {
+		if (ofVirtualMethod == null || nameMethod == null || unstartedMethod == null) {
+			return null;
+		}
+		Object builder = ReflectionUtils.invokeMethod(ofVirtualMethod, null);
+		builder = ReflectionUtils.invokeMethod(nameMethod, builder, name);
+		return (Thread) ReflectionUtils.invokeMethod(unstartedMethod, builder, runnable);
+	}
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * {@link SimpleAsyncTaskExecutor} variant that runs each task on a new virtual
+ * thread when running on a JVM that supports them, falling back to a new
+ * platform thread per task otherwise. Suitable for large numbers of concurrent
+ * tasks that spend most of their time blocked on I/O.
+ *
+ * <p>Supports limiting concurrent tasks through the "concurrencyLimit" bean
+ * property as well as a {@link TaskDecorator}, as inherited from
+ * {@code SimpleAsyncTaskExecutor}.
+ *
+ * <p>In contrast to its superclass, this executor keeps track of its running
+ * tasks and can be {@linkplain #close() closed}, with the same shutdown
+ * semantics as {@code ExecutorConfigurationSupport}: by default, running tasks
+ * get interrupted; alternatively, they may be left to complete, and shutdown
+ * may block for a maximum amount of time for them to terminate. Once closed,
+ * the executor rejects any further tasks.
+ *
+ * @since 5.3.3
+ * @see VirtualThreadFactory#isSupported()
+ * @see #setWaitForTasksToCompleteOnShutdown
+ * @see #setAwaitTerminationMillis
+ */
+@SuppressWarnings("serial")
+public class VirtualThreadTaskExecutor extends SimpleAsyncTaskExecutor implements AutoCloseable {
+
+	private static final Log logger = LogFactory.getLog(VirtualThreadTaskExecutor.class);
+
+	private boolean virtualThreads = true;
+
+	private boolean waitForTasksToCompleteOnShutdown = false;
+
+	private long awaitTerminationMillis = 0;
+
+	private final Set<Thread> activeThreads = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean active = true;
+
+
+	/**
+	 * Create a new VirtualThreadTaskExecutor with default thread name prefix.
+	 */
+	public VirtualThreadTaskExecutor() {
+		super();
+	}
+
+	/**
+	 * Create a new VirtualThreadTaskExecutor with the given thread name prefix.
+	 * @param threadNamePrefix the prefix to use for the names of newly created threads
+	 */
+	public VirtualThreadTaskExecutor(String threadNamePrefix) {
+		super(threadNamePrefix);
+	}
+
+	/**
+	 * Create a new VirtualThreadTaskExecutor with the given external thread factory,
+	 * e.g. a {@link VirtualThreadFactory} shared with other components.
+	 * @param threadFactory the factory to use for creating new Threads
+	 */
+	public VirtualThreadTaskExecutor(ThreadFactory threadFactory) {
+		super(threadFactory);
+	}
+
+
+	/**
+	 * Specify whether to run tasks on virtual threads if supported by the JVM.
+	 * <p>Default is "true". Switch this flag to "false" to run tasks on platform
+	 * threads while keeping the shutdown semantics of this executor.
+	 * <p>Not applicable if an external {@linkplain #setThreadFactory thread factory}
+	 * has been specified.
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
+	/**
+	 * Return whether tasks are actually run on virtual threads.
+	 */
+	public boolean isVirtualThreads() {
+		return (this.virtualThreads && VirtualThreadFactory.isSupported() && getThreadFactory() == null);
+	}
+
+	/**
+	 * Set whether to let running tasks complete on {@linkplain #close() shutdown}.
+	 * <p>Default is "false", interrupting running tasks on shutdown.
+	 * @see #setAwaitTerminationMillis
+	 */
+	public void setWaitForTasksToCompleteOnShutdown(boolean waitForTasksToCompleteOnShutdown) {
+		this.waitForTasksToCompleteOnShutdown = waitForTasksToCompleteOnShutdown;
+	}
+
+	/**
+	 * Set the maximum number of seconds that this executor is supposed to block
+	 * on shutdown in order to wait for running tasks to complete their execution.
+	 * <p>By default, this executor won't wait for the termination of tasks at all.
+	 * @see #setAwaitTerminationMillis
+	 */
+	public void setAwaitTerminationSeconds(int awaitTerminationSeconds) {
+		this.awaitTerminationMillis = awaitTerminationSeconds * 1000L;
+	}
+
+	/**
+	 * Variant of {@link #setAwaitTerminationSeconds} with millisecond precision.
+	 * @see #setAwaitTerminationSeconds
+	 */
+	public void setAwaitTerminationMillis(long awaitTerminationMillis) {
+		this.awaitTerminationMillis = awaitTerminationMillis;
+	}
+
+	/**
+	 * Return whether this executor still accepts tasks, i.e. has not been closed.
+	 */
+	public boolean isActive() {
+		return this.active;
+	}
+
+	/**
+	 * Return the number of currently running tasks.
+	 */
+	public int getActiveCount() {
+		return this.activeThreads.size();
+	}
+
+
+	/**
+	 * Executes the given task, unless this executor has been closed.
+	 * @throws TaskRejectedException if this executor has been closed
+	 */
+	@Override
+	public void execute(Runnable task, long startTimeout) {
+		if (!this.active) {
+			throw new TaskRejectedException("Executor [" + this + "] has been closed and does not accept tasks");
+		}
+		super.execute(task, startTimeout);
+	}
+
+	/**
+	 * Starts a new thread for the given task, keeping track of it until the
+	 * task has completed.
+	 */
+	@Override
+	protected void doExecute(Runnable task) {
+		ThreadFactory threadFactory = getThreadFactory();
+		Runnable trackingTask = () -> {
+			try {
+				task.run();
+			}
+			finally {
+				this.activeThreads.remove(Thread.currentThread());
+			}
+		};
+		Thread thread = (threadFactory != null ? threadFactory.newThread(trackingTask) : createThread(trackingTask));
+		this.activeThreads.add(thread);
+		try {
+			thread.start();
+		}
+		catch (Throwable ex) {
+			this.activeThreads.remove(thread);
+			throw new TaskRejectedException("Failed to start thread for task " + task, ex);
+		}
+	}
+
+	/**
+	 * Create a new virtual thread for the given Runnable if enabled and
+	 * supported, falling back to a platform thread otherwise.
+	 */
+	@Override
+	public Thread createThread(Runnable runnable) {
+		Thread thread = (this.virtualThreads ? VirtualThreadFactory.createVirtualThread(nextThreadName(), runnable) : null);
+		return (thread != null ? thread : super.createThread(runnable));
+	}
+
+
+	/**
+	 * Shut down this executor: reject further tasks, interrupt running tasks
+	 * unless they are supposed to complete, and wait for their termination
+	 * if an await-termination period has been specified.
+	 * @see #setWaitForTasksToCompleteOnShutdown
+	 * @see #setAwaitTerminationMillis
+	 */
+	@Override
+	public void close() {
+		this.active = false;
+		if (!this.waitForTasksToCompleteOnShutdown) {
+			for (Thread thread : this.activeThreads) {
+				thread.interrupt();
+			}
+		}
+		if (this.awaitTerminationMillis > 0 && !awaitTermination(this.awaitTerminationMillis)) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Timed out while waiting for " + getActiveCount() + " tasks of executor [" +
+						this + "] to terminate");
+			}
+		}
+	}
+
+	/**
+	 * Block until all running tasks have completed, or the timeout occurs,
+	 * or the current thread is interrupted, whichever happens first.
+	 * @param timeoutMillis the maximum time to wait, in milliseconds
+	 * @return {@code true} if all tasks have completed, {@code false} otherwise
+	 */
+	public boolean awaitTermination(long timeoutMillis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		try {
+			for (Thread thread : this.activeThreads) {
+				long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remaining <= 0) {
+					break;
+				}
+				thread.join(remaining);
+			}
+		}
+		catch (InterruptedException ex) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Interrupted while waiting for executor [" + this + "] to terminate");
+			}
+			Thread.currentThread().interrupt();
+		}
+		return this.activeThreads.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return getThreadNamePrefix() + "[" + (isVirtualThreads() ? "virtual" : "platform") +
+				" threads, active tasks = " + getActiveCount() + "]";
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link BulkheadTaskExecutor}.
+ *
+ * @since 5.3.3
+ */
+class BulkheadTaskExecutorTests {
+
+	@Test
+	void queuesTasksBeyondMaxConcurrency() throws Exception {
+		List<Runnable> pending = new ArrayList<>();
+		BulkheadTaskExecutor executor = new BulkheadTaskExecutor("test", pending::add, 2, 10);
+
+		AtomicInteger counter = new AtomicInteger();
+		for (int i = 0; i < 5; i++) {
+			executor.execute(counter::incrementAndGet);
+		}
+		assertThat(pending).hasSize(2);
+		assertThat(executor.getActiveCount()).isEqualTo(2);
+		assertThat(executor.getQueueSize()).isEqualTo(3);
+
+		// Each completed task hands its slot over to the next queued task
+		while (!pending.isEmpty()) {
+			pending.remove(0).run();
+		}
+		assertThat(counter.get()).isEqualTo(5);
+		assertThat(executor.getActiveCount()).isEqualTo(0);
+		assertThat(executor.getQueueSize()).isEqualTo(0);
+		assertThat(executor.getSubmittedCount()).isEqualTo(5);
+		assertThat(executor.getCompletedCount()).isEqualTo(5);
+		assertThat(executor.getRejectedCount()).isEqualTo(0);
+	}
+
+	@Test
+	void rejectsTasksBeyondQueueCapacity() {
+		List<Runnable> pending = new ArrayList<>();
+		BulkheadTaskExecutor executor = new BulkheadTaskExecutor("test", pending::add, 1, 1);
+
+		executor.execute(() -> {});
+		executor.execute(() -> {});
+		assertThatExceptionOfType(TaskRejectedException.class)
+				.isThrownBy(() -> executor.execute(() -> {}))
+				.withMessageContaining("Bulkhead 'test' is saturated");
+		assertThat(executor.getRejectedCount()).isEqualTo(1);
+
+		pending.remove(0).run();
+		executor.execute(() -> {});
+		assertThat(executor.getSubmittedCount()).isEqualTo(4);
+		assertThat(executor.getRejectedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void releasesSlotWhenTaskFails() {
+		List<Runnable> pending = new ArrayList<>();
+		BulkheadTaskExecutor executor = new BulkheadTaskExecutor("test", pending::add, 1, 0);
+
+		executor.execute(() -> {
+			throw new IllegalStateException("Test exception");
+		});
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(pending.remove(0)::run);
+		assertThat(executor.getActiveCount()).isEqualTo(0);
+		executor.execute(() -> {});
+		assertThat(pending).hasSize(1);
+	}
+
+	@Test
+	void targetExecutorRejection() {
+		AtomicInteger accepted = new AtomicInteger();
+		List<Runnable> pending = new ArrayList<>();
+		BulkheadTaskExecutor executor = new BulkheadTaskExecutor("test", task -> {
+			if (accepted.incrementAndGet() > 1) {
+				throw new RejectedExecutionException();
+			}
+			pending.add(task);
+		}, 1, 10);
+
+		executor.execute(() -> {});
+		Future<?> queued = executor.submit(() -> {});
+		assertThat(executor.getQueueSize()).isEqualTo(1);
+
+		// Handing over to the queued task fails -> cancelled and slot released
+		pending.remove(0).run();
+		assertThat(queued.isCancelled()).isTrue();
+		assertThat(executor.getActiveCount()).isEqualTo(0);
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() -> executor.execute(() -> {}));
+		assertThat(executor.getActiveCount()).isEqualTo(0);
+		assertThat(executor.getRejectedCount()).isEqualTo(2);
+	}
+
+	@Test
+	void limitsConcurrencyOnSharedPool() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			BulkheadTaskExecutor executor = new BulkheadTaskExecutor("test", pool, 2, 100);
+			AtomicInteger running = new AtomicInteger();
+			AtomicInteger maxRunning = new AtomicInteger();
+			CountDownLatch latch = new CountDownLatch(20);
+			for (int i = 0; i < 20; i++) {
+				executor.execute(() -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					try {
+						Thread.sleep(2);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+					running.decrementAndGet();
+					latch.countDown();
+				});
+			}
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void submitListenableOnForkJoinPool() throws Exception {
+		BulkheadTaskExecutor executor = new BulkheadTaskExecutor(ForkJoinPool.commonPool(), 1);
+		assertThat(executor.submitListenable(() -> "result").get(5, TimeUnit.SECONDS)).isEqualTo("result");
+		assertThat(executor.submit(() -> 42).get(5, TimeUnit.SECONDS)).isEqualTo(42);
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new BulkheadTaskExecutor(Runnable::run, 0));
+		assertThatIllegalArgumentException().isThrownBy(() -> new BulkheadTaskExecutor("test", Runnable::run, 1, -1));
+	}
+
+}
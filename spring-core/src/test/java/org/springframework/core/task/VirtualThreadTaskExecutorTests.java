@@ -0,0 +1,151 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link VirtualThreadTaskExecutor} and {@link VirtualThreadFactory}.
+ *
+ * @since 5.3.3
+ */
+class VirtualThreadTaskExecutorTests {
+
+	@Test
+	void virtualThreadsIfSupported() {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		assertThat(executor.isVirtualThreads()).isEqualTo(VirtualThreadFactory.isSupported());
+		executor.setVirtualThreads(false);
+		assertThat(executor.isVirtualThreads()).isFalse();
+	}
+
+	@Test
+	void threadNameGetsSetCorrectly() throws Exception {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("vt-test-");
+		Future<String> threadName = executor.submit(() -> Thread.currentThread().getName());
+		assertThat(threadName.get(5, TimeUnit.SECONDS)).startsWith("vt-test-");
+	}
+
+	@Test
+	void threadFactoryCreatesNamedThreads() {
+		VirtualThreadFactory threadFactory = new VirtualThreadFactory("vt-factory-");
+		Thread thread = threadFactory.newThread(() -> {});
+		assertThat(thread.getName()).isEqualTo("vt-factory-1");
+		assertThat(thread.getState()).isEqualTo(Thread.State.NEW);
+	}
+
+	@Test
+	void taskDecoratorIsApplied() throws Exception {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		AtomicInteger decorated = new AtomicInteger();
+		executor.setTaskDecorator(task -> () -> {
+			decorated.incrementAndGet();
+			task.run();
+		});
+		executor.submit(() -> {}).get(5, TimeUnit.SECONDS);
+		assertThat(decorated.get()).isEqualTo(1);
+	}
+
+	@Test
+	void concurrencyLimitIsApplied() throws Exception {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		executor.setConcurrencyLimit(2);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(10);
+		for (int i = 0; i < 10; i++) {
+			executor.execute(() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(10);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				running.decrementAndGet();
+				done.countDown();
+			});
+		}
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void closeInterruptsRunningTasks() throws Exception {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		executor.setAwaitTerminationSeconds(5);
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicBoolean interrupted = new AtomicBoolean();
+		executor.execute(() -> {
+			started.countDown();
+			try {
+				Thread.sleep(10000);
+			}
+			catch (InterruptedException ex) {
+				interrupted.set(true);
+			}
+		});
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		executor.close();
+		assertThat(interrupted.get()).isTrue();
+		assertThat(executor.getActiveCount()).isEqualTo(0);
+		assertThat(executor.isActive()).isFalse();
+	}
+
+	@Test
+	void closeWaitsForRunningTasksIfRequested() throws Exception {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(5);
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicBoolean completed = new AtomicBoolean();
+		executor.execute(() -> {
+			started.countDown();
+			try {
+				Thread.sleep(200);
+				completed.set(true);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		executor.close();
+		assertThat(completed.get()).isTrue();
+		assertThat(executor.getActiveCount()).isEqualTo(0);
+	}
+
+	@Test
+	void rejectsTasksAfterClose() {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		executor.close();
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() ->
+				executor.execute(() -> {}));
+	}
+
+}
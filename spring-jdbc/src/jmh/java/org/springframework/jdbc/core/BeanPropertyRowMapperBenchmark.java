@@ -0,0 +1,279 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark for mapping rows through {@link BeanPropertyRowMapper} and
+ * {@link DataClassRowMapper}, with and without direct mapping.
+ *
+ * @since 5.3.3
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BeanPropertyRowMapperBenchmark {
+
+	private static final String[] COLUMNS = {"id", "first_name", "last_name", "age", "balance", "created_at"};
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"bean", "dataClass"})
+		public String mapper;
+
+		@Param({"false", "true"})
+		public boolean directMapping;
+
+		@Param({"1000"})
+		public int rows;
+
+		public RowMapper<?> rowMapper;
+
+		public ResultSetCursor cursor;
+
+		public ResultSet resultSet;
+
+		@Setup
+		public void setup() {
+			BeanPropertyRowMapper<?> rowMapper = (this.mapper.equals("dataClass") ?
+					new DataClassRowMapper<>(CustomerRecord.class) : new BeanPropertyRowMapper<>(Customer.class));
+			rowMapper.setDirectMapping(this.directMapping);
+			this.rowMapper = rowMapper;
+			this.cursor = new ResultSetCursor(this.rows);
+			this.resultSet = this.cursor.createResultSet();
+		}
+	}
+
+
+	@Benchmark
+	public void mapRows(BenchmarkState state, Blackhole bh) throws SQLException {
+		state.cursor.reset();
+		int rowNum = 0;
+		while (state.resultSet.next()) {
+			bh.consume(state.rowMapper.mapRow(state.resultSet, rowNum++));
+		}
+	}
+
+
+	/**
+	 * Minimal in-memory ResultSet with a fixed column layout.
+	 */
+	static class ResultSetCursor {
+
+		private final int rows;
+
+		private int row;
+
+		private boolean wasNull;
+
+		ResultSetCursor(int rows) {
+			this.rows = rows;
+		}
+
+		void reset() {
+			this.row = 0;
+		}
+
+		ResultSet createResultSet() {
+			ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+					new Class<?>[] {ResultSetMetaData.class}, (proxy, method, args) -> {
+						switch (method.getName()) {
+							case "getColumnCount":
+								return COLUMNS.length;
+							case "getColumnLabel":
+							case "getColumnName":
+								return COLUMNS[(Integer) args[0] - 1];
+							default:
+								throw new UnsupportedOperationException(method.getName());
+						}
+					});
+			return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+					new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+						switch (method.getName()) {
+							case "next":
+								return (this.row++ < this.rows);
+							case "getMetaData":
+								return metaData;
+							case "wasNull":
+								return this.wasNull;
+							case "findColumn":
+								for (int i = 0; i < COLUMNS.length; i++) {
+									if (COLUMNS[i].equalsIgnoreCase((String) args[0])) {
+										return i + 1;
+									}
+								}
+								throw new SQLException("No column " + args[0]);
+							case "hashCode":
+								return System.identityHashCode(proxy);
+							case "equals":
+								return (proxy == args[0]);
+							default:
+								return getValue(method.getName(), (Integer) args[0]);
+						}
+					});
+		}
+
+		private Object getValue(String method, int index) {
+			this.wasNull = false;
+			switch (index) {
+				case 1:
+					return (long) this.row;
+				case 2:
+					return "First" + (this.row & 15);
+				case 3:
+					return "Last" + (this.row & 15);
+				case 4:
+					return this.row & 63;
+				case 5:
+					return (method.equals("getBigDecimal") ? BigDecimal.valueOf(this.row) : (Object) (double) this.row);
+				default:
+					return new Timestamp(1_600_000_000_000L + this.row);
+			}
+		}
+	}
+
+
+	public static class Customer {
+
+		private long id;
+
+		private String firstName;
+
+		private String lastName;
+
+		private int age;
+
+		private BigDecimal balance;
+
+		private java.util.Date createdAt;
+
+		public long getId() {
+			return this.id;
+		}
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public String getFirstName() {
+			return this.firstName;
+		}
+
+		public void setFirstName(String firstName) {
+			this.firstName = firstName;
+		}
+
+		public String getLastName() {
+			return this.lastName;
+		}
+
+		public void setLastName(String lastName) {
+			this.lastName = lastName;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public BigDecimal getBalance() {
+			return this.balance;
+		}
+
+		public void setBalance(BigDecimal balance) {
+			this.balance = balance;
+		}
+
+		public java.util.Date getCreatedAt() {
+			return this.createdAt;
+		}
+
+		public void setCreatedAt(java.util.Date createdAt) {
+			this.createdAt = createdAt;
+		}
+	}
+
+
+	public static class CustomerRecord {
+
+		private final long id;
+
+		private final String firstName;
+
+		private final String lastName;
+
+		private final int age;
+
+		private final BigDecimal balance;
+
+		private final java.util.Date createdAt;
+
+		public CustomerRecord(long id, String firstName, String lastName, int age,
+				BigDecimal balance, java.util.Date createdAt) {
+
+			this.id = id;
+			this.firstName = firstName;
+			this.lastName = lastName;
+			this.age = age;
+			this.balance = balance;
+			this.createdAt = createdAt;
+		}
+
+		public long id() {
+			return this.id;
+		}
+
+		public String firstName() {
+			return this.firstName;
+		}
+
+		public String lastName() {
+			return this.lastName;
+		}
+
+		public int age() {
+			return this.age;
+		}
+
+		public BigDecimal balance() {
+			return this.balance;
+		}
+
+		public java.util.Date createdAt() {
+			return this.createdAt;
+		}
+	}
+
+}
@@ -16,15 +16,25 @@
 
 package org.springframework.jdbc.core;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -32,10 +42,13 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.MethodInvocationException;
 import org.springframework.beans.NotWritablePropertyException;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.MethodParameter;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.dao.DataRetrievalFailureException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
@@ -43,6 +56,7 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -69,7 +83,8 @@ import org.springframework.util.StringUtils;
  * will have been set to the primitive's default value instead of null.
  *
  * <p>Please note that this class is designed to provide convenience rather than high performance.
- * For best performance, consider using a custom {@link RowMapper} implementation.
+ * For best performance, consider using a custom {@link RowMapper} implementation, or switch on
+ * {@link #setDirectMapping direct mapping} for large result sets.
  *
  * @author Thomas Risberg
  * @author Juergen Hoeller
@@ -78,6 +93,9 @@ import org.springframework.util.StringUtils;
  */
 public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 
+	/** Maximum number of column layouts to keep mapping plans for. */
+	private static final int MAX_MAPPING_PLANS = 64;
+
 	/** Logger available to subclasses. */
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -103,6 +121,16 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	@Nullable
 	private Set<String> mappedProperties;
 
+	/** Whether we're mapping through cached mapping plans with direct setter invocations. */
+	private boolean directMapping = false;
+
+	/** Mapping plans per column layout, for direct mapping. */
+	private final Map<List<String>, MappingPlan> mappingPlans = new ConcurrentHashMap<>(8);
+
+	/** Mapping plan for the most recently mapped ResultSet, for direct mapping. */
+	@Nullable
+	private volatile ResultSetMappingPlan currentMappingPlan;
+
 
 	/**
 	 * Create a new {@code BeanPropertyRowMapper} for bean-style configuration.
@@ -213,6 +241,33 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	}
 
 
+	/**
+	 * Set whether to map rows through a mapping plan that is resolved once per
+	 * column layout of the ResultSet, invoking the property setters directly
+	 * instead of going through a {@link BeanWrapper} for every row.
+	 * <p>Default is {@code false}. With direct mapping, the column-to-property
+	 * resolution happens once per ResultSet (and is cached per column layout),
+	 * and the BeanWrapper (as {@link #initBeanWrapper initialized} for the row)
+	 * is only involved for values that are not assignable to the property type
+	 * as returned from {@link #getColumnValue(ResultSet, int, PropertyDescriptor)}.
+	 * Consequently, custom editors registered in {@link #initBeanWrapper} do not
+	 * get applied to such assignable values.
+	 * @since 5.3.3
+	 */
+	public void setDirectMapping(boolean directMapping) {
+		this.directMapping = directMapping;
+	}
+
+	/**
+	 * Return whether to map rows through a mapping plan per column layout,
+	 * invoking the property setters directly.
+	 * @since 5.3.3
+	 */
+	public boolean isDirectMapping() {
+		return this.directMapping;
+	}
+
+
 	/**
 	 * Initialize the mapping meta-data for the given class.
 	 * @param mappedClass the mapped class
@@ -221,6 +276,8 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		this.mappedClass = mappedClass;
 		this.mappedFields = new HashMap<>();
 		this.mappedProperties = new HashSet<>();
+		this.mappingPlans.clear();
+		this.currentMappingPlan = null;
 
 		for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(mappedClass)) {
 			if (pd.getWriteMethod() != null) {
@@ -279,6 +336,10 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	 */
 	@Override
 	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
+		if (this.directMapping) {
+			return mapRowDirectly(rs, rowNumber);
+		}
+
 		BeanWrapperImpl bw = new BeanWrapperImpl();
 		initBeanWrapper(bw);
 
@@ -342,6 +403,127 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return mappedObject;
 	}
 
+	/**
+	 * Extract the values for all columns in the current row through the
+	 * mapping plan for the column layout of the given ResultSet.
+	 * @see #setDirectMapping
+	 */
+	private T mapRowDirectly(ResultSet rs, int rowNumber) throws SQLException {
+		MappingPlan plan = obtainMappingPlan(rs);
+		RowBeanWrapper rbw = new RowBeanWrapper();
+		T mappedObject = constructMappedInstance(rs, rbw);
+		rbw.setBeanInstance(mappedObject);
+
+		for (ColumnMapping mapping : plan.columnMappings) {
+			PropertyDescriptor pd = mapping.propertyDescriptor;
+			Object value = getColumnValue(rs, mapping.index, pd);
+			if (value == null && mapping.primitive) {
+				if (this.primitivesDefaultedForNullValue) {
+					continue;
+				}
+			}
+			else if (mapping.setter != null && (value == null || mapping.propertyType.isInstance(value))) {
+				try {
+					mapping.setter.invokeExact((Object) mappedObject, value);
+				}
+				catch (Throwable ex) {
+					throw new MethodInvocationException(
+							new PropertyChangeEvent(mappedObject, pd.getName(), null, value), ex);
+				}
+				continue;
+			}
+			try {
+				rbw.obtainBeanWrapper().setPropertyValue(pd.getName(), value);
+			}
+			catch (NotWritablePropertyException ex) {
+				throw new DataRetrievalFailureException(
+						"Unable to map column '" + mapping.column + "' to property '" + pd.getName() + "'", ex);
+			}
+		}
+
+		if (isCheckFullyPopulated() && !plan.fullyPopulated) {
+			throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all fields " +
+					"necessary to populate object of " + this.mappedClass + ": " + this.mappedProperties);
+		}
+
+		return mappedObject;
+	}
+
+	/**
+	 * Obtain the mapping plan for the column layout of the given ResultSet,
+	 * resolving it if necessary.
+	 */
+	private MappingPlan obtainMappingPlan(ResultSet rs) throws SQLException {
+		ResultSetMappingPlan current = this.currentMappingPlan;
+		if (current != null && current.resultSet.get() == rs) {
+			return current.plan;
+		}
+
+		ResultSetMetaData rsmd = rs.getMetaData();
+		int columnCount = rsmd.getColumnCount();
+		List<String> columns = new ArrayList<>(columnCount);
+		for (int index = 1; index <= columnCount; index++) {
+			columns.add(JdbcUtils.lookupColumnName(rsmd, index));
+		}
+		MappingPlan plan = this.mappingPlans.get(columns);
+		if (plan == null) {
+			plan = createMappingPlan(columns);
+			if (this.mappingPlans.size() < MAX_MAPPING_PLANS) {
+				this.mappingPlans.put(columns, plan);
+			}
+		}
+		this.currentMappingPlan = new ResultSetMappingPlan(rs, plan);
+		return plan;
+	}
+
+	/**
+	 * Resolve the column-to-property mapping for the given column layout.
+	 */
+	private MappingPlan createMappingPlan(List<String> columns) {
+		List<ColumnMapping> columnMappings = new ArrayList<>(columns.size());
+		Set<String> populatedProperties = new HashSet<>();
+		for (int i = 0; i < columns.size(); i++) {
+			String column = columns.get(i);
+			String field = lowerCaseName(StringUtils.delete(column, " "));
+			PropertyDescriptor pd = (this.mappedFields != null ? this.mappedFields.get(field) : null);
+			if (pd != null) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
+							"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
+				}
+				columnMappings.add(new ColumnMapping(i + 1, column, pd, createSetter(pd)));
+				populatedProperties.add(pd.getName());
+			}
+			else if (logger.isDebugEnabled()) {
+				logger.debug("No property found for column '" + column + "' mapped to field '" + field + "'");
+			}
+		}
+		return new MappingPlan(columnMappings, populatedProperties.equals(this.mappedProperties));
+	}
+
+	/**
+	 * Create a direct invocation handle for the write method of the given property,
+	 * or return {@code null} for setting the property through the BeanWrapper.
+	 */
+	@Nullable
+	private MethodHandle createSetter(PropertyDescriptor pd) {
+		Method writeMethod = pd.getWriteMethod();
+		if (writeMethod == null) {
+			return null;
+		}
+		try {
+			ReflectionUtils.makeAccessible(writeMethod);
+			return MethodHandles.lookup().unreflect(writeMethod)
+					.asType(MethodType.methodType(void.class, Object.class, Object.class));
+		}
+		catch (IllegalAccessException | RuntimeException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Cannot invoke write method of property '" + pd.getName() + "' directly", ex);
+			}
+			return null;
+		}
+	}
+
 	/**
 	 * Construct an instance of the mapped class for the current row.
 	 * @param rs the ResultSet to map (pre-initialized for the current row)
@@ -433,4 +615,142 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return rowMapper;
 	}
 
+
+	/**
+	 * Resolved column-to-property mappings for a specific column layout.
+	 */
+	private static final class MappingPlan {
+
+		final ColumnMapping[] columnMappings;
+
+		final boolean fullyPopulated;
+
+		MappingPlan(List<ColumnMapping> columnMappings, boolean fullyPopulated) {
+			this.columnMappings = columnMappings.toArray(new ColumnMapping[0]);
+			this.fullyPopulated = fullyPopulated;
+		}
+	}
+
+
+	/**
+	 * Mapping of a column index to a bean property.
+	 */
+	private static final class ColumnMapping {
+
+		final int index;
+
+		final String column;
+
+		final PropertyDescriptor propertyDescriptor;
+
+		final Class<?> propertyType;
+
+		final boolean primitive;
+
+		@Nullable
+		final MethodHandle setter;
+
+		ColumnMapping(int index, String column, PropertyDescriptor pd, @Nullable MethodHandle setter) {
+			this.index = index;
+			this.column = column;
+			this.propertyDescriptor = pd;
+			this.primitive = pd.getPropertyType().isPrimitive();
+			this.propertyType = ClassUtils.resolvePrimitiveIfNecessary(pd.getPropertyType());
+			this.setter = setter;
+		}
+	}
+
+
+	/**
+	 * Mapping plan associated with the ResultSet it was last obtained for.
+	 */
+	private static final class ResultSetMappingPlan {
+
+		final WeakReference<ResultSet> resultSet;
+
+		final MappingPlan plan;
+
+		ResultSetMappingPlan(ResultSet resultSet, MappingPlan plan) {
+			this.resultSet = new WeakReference<>(resultSet);
+			this.plan = plan;
+		}
+	}
+
+
+	/**
+	 * TypeConverter for direct mapping that returns assignable values as-is
+	 * and lazily initializes a {@link BeanWrapper} for the current row otherwise.
+	 */
+	private class RowBeanWrapper implements TypeConverter {
+
+		@Nullable
+		private Object beanInstance;
+
+		@Nullable
+		private BeanWrapperImpl beanWrapper;
+
+		void setBeanInstance(Object beanInstance) {
+			this.beanInstance = beanInstance;
+			if (this.beanWrapper != null) {
+				this.beanWrapper.setBeanInstance(beanInstance);
+			}
+		}
+
+		BeanWrapperImpl obtainBeanWrapper() {
+			if (this.beanWrapper == null) {
+				this.beanWrapper = new BeanWrapperImpl();
+				initBeanWrapper(this.beanWrapper);
+				if (this.beanInstance != null) {
+					this.beanWrapper.setBeanInstance(this.beanInstance);
+				}
+			}
+			return this.beanWrapper;
+		}
+
+		@Override
+		@Nullable
+		public <V> V convertIfNecessary(@Nullable Object value, @Nullable Class<V> requiredType)
+				throws TypeMismatchException {
+
+			return (isAssignable(value, requiredType) ? cast(value) :
+					obtainBeanWrapper().convertIfNecessary(value, requiredType));
+		}
+
+		@Override
+		@Nullable
+		public <V> V convertIfNecessary(@Nullable Object value, @Nullable Class<V> requiredType,
+				@Nullable MethodParameter methodParam) throws TypeMismatchException {
+
+			return (isAssignable(value, requiredType) ? cast(value) :
+					obtainBeanWrapper().convertIfNecessary(value, requiredType, methodParam));
+		}
+
+		@Override
+		@Nullable
+		public <V> V convertIfNecessary(@Nullable Object value, @Nullable Class<V> requiredType,
+				@Nullable Field field) throws TypeMismatchException {
+
+			return (isAssignable(value, requiredType) ? cast(value) :
+					obtainBeanWrapper().convertIfNecessary(value, requiredType, field));
+		}
+
+		@Override
+		@Nullable
+		public <V> V convertIfNecessary(@Nullable Object value, @Nullable Class<V> requiredType,
+				@Nullable TypeDescriptor typeDescriptor) throws TypeMismatchException {
+
+			return (isAssignable(value, requiredType) ? cast(value) :
+					obtainBeanWrapper().convertIfNecessary(value, requiredType, typeDescriptor));
+		}
+
+		private boolean isAssignable(@Nullable Object value, @Nullable Class<?> requiredType) {
+			return (value != null && requiredType != null && ClassUtils.isAssignableValue(requiredType, value));
+		}
+
+		@SuppressWarnings("unchecked")
+		private <V> V cast(Object value) {
+			return (V) value;
+		}
+	}
+
 }
@@ -16,6 +16,7 @@
 
 package org.springframework.jdbc.core;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -52,6 +53,10 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 	@Nullable
 	private Class<?>[] constructorParameterTypes;
 
+	/** Constructor parameter column indexes for the most recently mapped ResultSet. */
+	@Nullable
+	private volatile ConstructorColumns constructorColumns;
+
 
 	/**
 	 * Create a new {@code DataClassRowMapper} for bean-style configuration.
@@ -73,6 +78,7 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 	@Override
 	protected void initialize(Class<T> mappedClass) {
 		super.initialize(mappedClass);
+		this.constructorColumns = null;
 
 		this.mappedConstructor = BeanUtils.getResolvableConstructor(mappedClass);
 		if (this.mappedConstructor.getParameterCount() > 0) {
@@ -87,11 +93,12 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 
 		Object[] args;
 		if (this.constructorParameterNames != null && this.constructorParameterTypes != null) {
+			int[] indexes = (isDirectMapping() ? obtainConstructorColumnIndexes(rs) : null);
 			args = new Object[this.constructorParameterNames.length];
 			for (int i = 0; i < args.length; i++) {
-				String name = underscoreName(this.constructorParameterNames[i]);
+				int index = (indexes != null ? indexes[i] : rs.findColumn(underscoreName(this.constructorParameterNames[i])));
 				Class<?> type = this.constructorParameterTypes[i];
-				args[i] = tc.convertIfNecessary(getColumnValue(rs, rs.findColumn(name), type), type);
+				args[i] = tc.convertIfNecessary(getColumnValue(rs, index, type), type);
 			}
 		}
 		else {
@@ -101,6 +108,24 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 		return BeanUtils.instantiateClass(this.mappedConstructor, args);
 	}
 
+	/**
+	 * Obtain the column indexes of the constructor parameters for the given
+	 * ResultSet, resolving them once per ResultSet in case of direct mapping.
+	 */
+	private int[] obtainConstructorColumnIndexes(ResultSet rs) throws SQLException {
+		ConstructorColumns columns = this.constructorColumns;
+		if (columns != null && columns.resultSet.get() == rs) {
+			return columns.indexes;
+		}
+		Assert.state(this.constructorParameterNames != null, "No constructor parameter names");
+		int[] indexes = new int[this.constructorParameterNames.length];
+		for (int i = 0; i < indexes.length; i++) {
+			indexes[i] = rs.findColumn(underscoreName(this.constructorParameterNames[i]));
+		}
+		this.constructorColumns = new ConstructorColumns(rs, indexes);
+		return indexes;
+	}
+
 
 	/**
 	 * Static factory method to create a new {@code DataClassRowMapper}.
@@ -127,4 +152,21 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 		return rowMapper;
 	}
 
+
+	/**
+	 * Constructor parameter column indexes associated with the ResultSet
+	 * they were resolved for.
+	 */
+	private static final class ConstructorColumns {
+
+		final WeakReference<ResultSet> resultSet;
+
+		final int[] indexes;
+
+		ConstructorColumns(ResultSet resultSet, int[] indexes) {
+			this.resultSet = new WeakReference<>(resultSet);
+			this.indexes = indexes;
+		}
+	}
+
 }
@@ -19,6 +19,8 @@ package org.springframework.jdbc.core;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collector;
 import java.util.stream.Stream;
 
 import org.springframework.dao.DataAccessException;
@@ -1026,6 +1028,102 @@ public interface JdbcOperations {
 			ParameterizedPreparedStatementSetter<T> pss) throws DataAccessException;
 
 
+	//-------------------------------------------------------------------------
+	// Methods dealing with partitioned queries
+	//-------------------------------------------------------------------------
+
+	/**
+	 * Query given SQL for each partition of the given strategy in parallel,
+	 * binding the given arguments followed by the values of the partition
+	 * predicate, reading the ResultSets on a per-row basis with a RowCallbackHandler.
+	 * <p>Each partition gets queried on a Connection of its own, with at most
+	 * the given number of partitions being queried at the same time. Partitions
+	 * do not participate in a transaction of the calling thread. The first
+	 * failing partition aborts the query; partitions in progress complete first.
+	 * @param sql the SQL query to execute, ending with the partition predicate
+	 * @param partitions the strategy determining the partitions to query
+	 * @param parallelism the maximum number of partitions to query at the same time
+	 * @param rch a callback that will extract results, one row at a time;
+	 * invoked for the rows of all partitions in no particular order,
+	 * but never concurrently
+	 * @param args arguments to bind to the query before the partition predicate
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link SqlParameterValue} objects which indicate not
+	 * only the argument value but also the SQL type and optionally the scale
+	 * @throws DataAccessException if the query fails for any partition
+	 * @since 5.3.3
+	 * @see PartitionStrategy
+	 */
+	void queryPartitioned(String sql, PartitionStrategy partitions, int parallelism,
+			RowCallbackHandler rch, @Nullable Object... args) throws DataAccessException;
+
+	/**
+	 * Query given SQL for each partition of the given strategy in parallel,
+	 * binding the given arguments followed by the values of the partition
+	 * predicate, mapping each row to a result object via a RowMapper and
+	 * collecting the result objects with a Collector.
+	 * <p>Each partition gets queried on a Connection of its own, with at most
+	 * the given number of partitions being queried at the same time. Partitions
+	 * do not participate in a transaction of the calling thread. The first
+	 * failing partition aborts the query; partitions in progress complete first.
+	 * @param sql the SQL query to execute, ending with the partition predicate
+	 * @param partitions the strategy determining the partitions to query
+	 * @param parallelism the maximum number of partitions to query at the same time
+	 * @param rowMapper a callback that will map one object per row
+	 * @param collector the Collector to collect the result objects with; each
+	 * partition gets collected into a container of its own, with the containers
+	 * being combined in partition order
+	 * @param args arguments to bind to the query before the partition predicate
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link SqlParameterValue} objects which indicate not
+	 * only the argument value but also the SQL type and optionally the scale
+	 * @return the result of the Collector
+	 * @throws DataAccessException if the query fails for any partition
+	 * @since 5.3.3
+	 * @see PartitionStrategy
+	 */
+	<T, R> R queryPartitioned(String sql, PartitionStrategy partitions, int parallelism,
+			RowMapper<T> rowMapper, Collector<? super T, ?, R> collector, @Nullable Object... args)
+			throws DataAccessException;
+
+	/**
+	 * Query using a prepared statement per partition of the given strategy
+	 * in parallel, reading the ResultSets on a per-row basis with a RowCallbackHandler.
+	 * @param partitions the strategy determining the partitions to query
+	 * @param parallelism the maximum number of partitions to query at the same time
+	 * @param pscFactory a factory for the PreparedStatementCreator of each partition
+	 * @param rch a callback that will extract results, one row at a time;
+	 * invoked for the rows of all partitions in no particular order,
+	 * but never concurrently
+	 * @throws DataAccessException if the query fails for any partition
+	 * @since 5.3.3
+	 * @see #queryPartitioned(String, PartitionStrategy, int, RowCallbackHandler, Object...)
+	 */
+	void queryPartitioned(PartitionStrategy partitions, int parallelism,
+			Function<QueryPartition, PreparedStatementCreator> pscFactory, RowCallbackHandler rch)
+			throws DataAccessException;
+
+	/**
+	 * Query using a prepared statement per partition of the given strategy
+	 * in parallel, mapping each row to a result object via a RowMapper and
+	 * collecting the result objects with a Collector.
+	 * @param partitions the strategy determining the partitions to query
+	 * @param parallelism the maximum number of partitions to query at the same time
+	 * @param pscFactory a factory for the PreparedStatementCreator of each partition
+	 * @param rowMapper a callback that will map one object per row
+	 * @param collector the Collector to collect the result objects with; each
+	 * partition gets collected into a container of its own, with the containers
+	 * being combined in partition order
+	 * @return the result of the Collector
+	 * @throws DataAccessException if the query fails for any partition
+	 * @since 5.3.3
+	 * @see #queryPartitioned(String, PartitionStrategy, int, RowMapper, Collector, Object...)
+	 */
+	<T, R> R queryPartitioned(PartitionStrategy partitions, int parallelism,
+			Function<QueryPartition, PreparedStatementCreator> pscFactory,
+			RowMapper<T> rowMapper, Collector<? super T, ?, R> collector) throws DataAccessException;
+
+
 	//-------------------------------------------------------------------------
 	// Methods dealing with callable statements
 	//-------------------------------------------------------------------------
@@ -29,34 +29,53 @@ import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.jdbc.InvalidResultSetAccessException;
 import org.springframework.jdbc.SQLWarningException;
 import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.ConnectionHolder;
 import org.springframework.jdbc.datasource.ConnectionProxy;
 import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.PreparedStatementCache;
 import org.springframework.jdbc.support.JdbcAccessor;
 import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -85,6 +104,14 @@ import org.springframework.util.StringUtils;
  * the {@link org.springframework.jdbc.support.SQLExceptionTranslator}
  * interface, there should be no need to subclass it.
  *
+ * <p>As of 5.3.3, plain {@code update} calls with SQL and arguments may get
+ * deferred into JDBC batches when participating in a transaction that enables
+ * write-behind batching, see
+ * {@link org.springframework.jdbc.datasource.DataSourceTransactionManager#setWriteBehindBatchSize}.
+ * Prepared statements may get reused within a transaction that enables a
+ * statement cache, see
+ * {@link org.springframework.jdbc.datasource.DataSourceTransactionManager#setStatementCacheSize}.
+ *
  * <p>All SQL operations performed by this class are logged at debug level,
  * using "org.springframework.jdbc.core.JdbcTemplate" as log category.
  *
@@ -153,6 +180,10 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	 */
 	private boolean resultsMapCaseInsensitive = false;
 
+	/** Executor for the partitions of partitioned queries, if any. */
+	@Nullable
+	private Executor partitionExecutor;
+
 
 	/**
 	 * Construct a new JdbcTemplate for bean usage.
@@ -317,6 +348,27 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return this.resultsMapCaseInsensitive;
 	}
 
+	/**
+	 * Set the Executor to query the partitions of partitioned queries with.
+	 * <p>Default is none, starting new threads for every partitioned query.
+	 * An Executor with fewer threads than the requested parallelism limits
+	 * the number of partitions queried at the same time accordingly.
+	 * @since 5.3.3
+	 * @see #queryPartitioned(String, PartitionStrategy, int, RowCallbackHandler, Object...)
+	 */
+	public void setPartitionExecutor(@Nullable Executor partitionExecutor) {
+		this.partitionExecutor = partitionExecutor;
+	}
+
+	/**
+	 * Return the Executor to query the partitions of partitioned queries with, if any.
+	 * @since 5.3.3
+	 */
+	@Nullable
+	public Executor getPartitionExecutor() {
+		return this.partitionExecutor;
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with a plain java.sql.Connection
@@ -646,7 +698,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
 		PreparedStatement ps = null;
 		try {
-			ps = psc.createPreparedStatement(con);
+			ps = psc.createPreparedStatement(getStatementCachingConnection(con));
 			applyStatementSettings(ps);
 			T result = action.doInPreparedStatement(ps);
 			handleWarnings(ps);
@@ -677,6 +729,24 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 	}
 
+	/**
+	 * Return the Connection to prepare statements on: a proxy serving statements
+	 * from the {@link PreparedStatementCache} of the current transaction, if any,
+	 * or the given Connection as-is.
+	 * @param con the Connection obtained for the current operation
+	 * @see org.springframework.jdbc.datasource.DataSourceTransactionManager#setStatementCacheSize
+	 */
+	private Connection getStatementCachingConnection(Connection con) {
+		Object resource = TransactionSynchronizationManager.getResource(obtainDataSource());
+		if (resource instanceof ConnectionHolder) {
+			PreparedStatementCache statementCache = ((ConnectionHolder) resource).getPreparedStatementCache();
+			if (statementCache != null && statementCache.getTargetConnection() == con) {
+				return statementCache.getConnection();
+			}
+		}
+		return con;
+	}
+
 	@Override
 	@Nullable
 	public <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action)
@@ -955,6 +1025,17 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	protected int update(final PreparedStatementCreator psc, @Nullable final PreparedStatementSetter pss)
 			throws DataAccessException {
 
+		if (psc instanceof SimplePreparedStatementCreator) {
+			WriteBehindBatch batch = WriteBehindBatch.forCurrentTransaction(obtainDataSource());
+			if (batch != null) {
+				if (logger.isTraceEnabled()) {
+					logger.trace("Deferring SQL update [" + ((SimplePreparedStatementCreator) psc).getSql() + "]");
+				}
+				batch.add(this, ((SimplePreparedStatementCreator) psc).getSql(), pss);
+				return Statement.SUCCESS_NO_INFO;
+			}
+		}
+
 		logger.debug("Executing prepared SQL update");
 
 		return updateCount(execute(psc, ps -> {
@@ -1166,6 +1247,170 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	}
 
 
+	//-------------------------------------------------------------------------
+	// Methods dealing with partitioned queries
+	//-------------------------------------------------------------------------
+
+	@Override
+	public void queryPartitioned(String sql, PartitionStrategy partitions, int parallelism,
+			RowCallbackHandler rch, @Nullable Object... args) throws DataAccessException {
+
+		RowCallbackHandler synchronizedRch = synchronizedRowCallbackHandler(rch);
+		executePartitioned(partitions, parallelism, partition -> {
+			query(sql, synchronizedRch, partitionArguments(args, partition));
+			return null;
+		});
+	}
+
+	@Override
+	public <T, R> R queryPartitioned(String sql, PartitionStrategy partitions, int parallelism,
+			RowMapper<T> rowMapper, Collector<? super T, ?, R> collector, @Nullable Object... args)
+			throws DataAccessException {
+
+		return collectPartitioned(partitions, parallelism, rowMapper, collector,
+				(partition, rse) -> query(sql, rse, partitionArguments(args, partition)));
+	}
+
+	@Override
+	public void queryPartitioned(PartitionStrategy partitions, int parallelism,
+			Function<QueryPartition, PreparedStatementCreator> pscFactory, RowCallbackHandler rch)
+			throws DataAccessException {
+
+		RowCallbackHandler synchronizedRch = synchronizedRowCallbackHandler(rch);
+		executePartitioned(partitions, parallelism, partition -> {
+			query(pscFactory.apply(partition), synchronizedRch);
+			return null;
+		});
+	}
+
+	@Override
+	public <T, R> R queryPartitioned(PartitionStrategy partitions, int parallelism,
+			Function<QueryPartition, PreparedStatementCreator> pscFactory,
+			RowMapper<T> rowMapper, Collector<? super T, ?, R> collector) throws DataAccessException {
+
+		return collectPartitioned(partitions, parallelism, rowMapper, collector,
+				(partition, rse) -> query(pscFactory.apply(partition), rse));
+	}
+
+	private RowCallbackHandler synchronizedRowCallbackHandler(RowCallbackHandler rch) {
+		Assert.notNull(rch, "RowCallbackHandler must not be null");
+		return rs -> {
+			synchronized (rch) {
+				rch.processRow(rs);
+			}
+		};
+	}
+
+	private Object[] partitionArguments(@Nullable Object[] args, QueryPartition partition) {
+		Object[] partitionArgs = partition.getArguments();
+		if (ObjectUtils.isEmpty(args)) {
+			return partitionArgs;
+		}
+		Object[] result = Arrays.copyOf(args, args.length + partitionArgs.length);
+		System.arraycopy(partitionArgs, 0, result, args.length, partitionArgs.length);
+		return result;
+	}
+
+	/**
+	 * Collect the rows of all partitions: each partition into a container of
+	 * its own, combining the containers in partition order afterwards.
+	 */
+	private <T, A, R> R collectPartitioned(PartitionStrategy partitions, int parallelism,
+			RowMapper<T> rowMapper, Collector<? super T, A, R> collector,
+			BiFunction<QueryPartition, ResultSetExtractor<A>, A> partitionQuery) {
+
+		Assert.notNull(rowMapper, "RowMapper must not be null");
+		Assert.notNull(collector, "Collector must not be null");
+		Supplier<A> supplier = collector.supplier();
+		BiConsumer<A, ? super T> accumulator = collector.accumulator();
+		ResultSetExtractor<A> rse = rs -> {
+			A container = supplier.get();
+			int rowNum = 0;
+			while (rs.next()) {
+				accumulator.accept(container, rowMapper.mapRow(rs, rowNum++));
+			}
+			return container;
+		};
+		List<A> containers = executePartitioned(partitions, parallelism,
+				partition -> partitionQuery.apply(partition, rse));
+		A result = (containers.isEmpty() ? supplier.get() : containers.get(0));
+		for (int i = 1; i < containers.size(); i++) {
+			result = collector.combiner().apply(result, containers.get(i));
+		}
+		return collector.finisher().apply(result);
+	}
+
+	/**
+	 * Query all partitions of the given strategy, with up to the given number of
+	 * workers taking the next partition until all partitions have been queried
+	 * or any partition failed.
+	 * @return the results of the partitions, in partition order
+	 */
+	private <A> List<A> executePartitioned(PartitionStrategy partitionStrategy, int parallelism,
+			Function<QueryPartition, A> partitionQuery) {
+
+		Assert.notNull(partitionStrategy, "PartitionStrategy must not be null");
+		Assert.isTrue(parallelism > 0, "Parallelism must be positive");
+		List<QueryPartition> partitions = partitionStrategy.getPartitions();
+		int partitionCount = partitions.size();
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing partitioned query with " + partitionCount +
+					" partitions and parallelism " + parallelism);
+		}
+
+		AtomicReferenceArray<A> results = new AtomicReferenceArray<>(partitionCount);
+		AtomicInteger nextPartition = new AtomicInteger();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Runnable worker = () -> {
+			int index;
+			while (failure.get() == null && (index = nextPartition.getAndIncrement()) < partitionCount) {
+				try {
+					results.set(index, partitionQuery.apply(partitions.get(index)));
+				}
+				catch (Throwable ex) {
+					failure.compareAndSet(null, ex);
+				}
+			}
+		};
+
+		Executor executor = this.partitionExecutor;
+		if (executor == null) {
+			executor = new SimpleAsyncTaskExecutor("jdbc-partition-");
+		}
+		List<CompletableFuture<Void>> workers = new ArrayList<>(parallelism);
+		try {
+			for (int i = 0; i < Math.min(parallelism, partitionCount); i++) {
+				workers.add(CompletableFuture.runAsync(worker, executor));
+			}
+		}
+		catch (RuntimeException ex) {
+			// Let workers already started stop after their current partition.
+			failure.compareAndSet(null, ex);
+		}
+		try {
+			CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0])).get();
+		}
+		catch (InterruptedException ex) {
+			failure.compareAndSet(null, ex);
+			Thread.currentThread().interrupt();
+			throw new DataAccessResourceFailureException("Interrupted while waiting for partitioned query", ex);
+		}
+		catch (ExecutionException ex) {
+			failure.compareAndSet(null, ex.getCause());
+		}
+
+		Throwable ex = failure.get();
+		if (ex != null) {
+			ReflectionUtils.rethrowRuntimeException(ex);
+		}
+		List<A> result = new ArrayList<>(partitionCount);
+		for (int i = 0; i < partitionCount; i++) {
+			result.add(results.get(i));
+		}
+		return result;
+	}
+
+
 	//-------------------------------------------------------------------------
 	// Methods dealing with callable statements
 	//-------------------------------------------------------------------------
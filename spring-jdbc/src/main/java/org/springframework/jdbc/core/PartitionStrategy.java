@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * Strategy for splitting a query into partitions that can be executed in
+ * parallel, each binding different values to a partition predicate that
+ * the SQL statement declares after its regular parameters.
+ *
+ * <p>The predefined strategies bind the following parameters:
+ * <ul>
+ * <li>{@link #keyRanges}: {@code partitionStart} and {@code partitionEnd},
+ * e.g. {@code WHERE id >= ? AND id < ?} or
+ * {@code WHERE id >= :partitionStart AND id < :partitionEnd}</li>
+ * <li>{@link #modulo}: {@code partitionCount} and {@code partitionIndex},
+ * e.g. {@code WHERE MOD(id, ?) = ?} or
+ * {@code WHERE MOD(id, :partitionCount) = :partitionIndex}</li>
+ * <li>{@link #values}: {@code partitionValue},
+ * e.g. {@code WHERE region = ?} or {@code WHERE region = :partitionValue}</li>
+ * </ul>
+ *
+ * @since 5.3.3
+ * @see JdbcOperations#queryPartitioned(String, PartitionStrategy, int, RowCallbackHandler, Object...)
+ */
+@FunctionalInterface
+public interface PartitionStrategy {
+
+	/**
+	 * Return the partitions to execute the query for, in result order.
+	 */
+	List<QueryPartition> getPartitions();
+
+
+	/**
+	 * Return a strategy splitting the given inclusive key range into the given
+	 * number of contiguous ranges of equal size, each binding an inclusive
+	 * {@code partitionStart} and an exclusive {@code partitionEnd}.
+	 * @param minKey the lowest key to cover (inclusive)
+	 * @param maxKey the highest key to cover (inclusive)
+	 * @param partitionCount the number of ranges; fewer ranges are returned
+	 * if the key range contains fewer keys
+	 */
+	static PartitionStrategy keyRanges(long minKey, long maxKey, int partitionCount) {
+		Assert.isTrue(minKey <= maxKey, "'minKey' must not be greater than 'maxKey'");
+		Assert.isTrue(maxKey < Long.MAX_VALUE, "'maxKey' must be lower than Long.MAX_VALUE");
+		Assert.isTrue(partitionCount > 0, "'partitionCount' must be positive");
+		long keyCount = maxKey - minKey + 1;
+		Assert.isTrue(keyCount > 0, "Key range too large");
+		int count = (int) Math.min(partitionCount, keyCount);
+		long rangeSize = keyCount / count;
+		long remainder = keyCount % count;
+		List<QueryPartition> partitions = new ArrayList<>(count);
+		long start = minKey;
+		for (int i = 0; i < count; i++) {
+			long end = start + rangeSize + (i < remainder ? 1 : 0);
+			Map<String, Object> parameters = new LinkedHashMap<>(4);
+			parameters.put("partitionStart", start);
+			parameters.put("partitionEnd", end);
+			partitions.add(new QueryPartition(i, parameters));
+			start = end;
+		}
+		List<QueryPartition> result = Collections.unmodifiableList(partitions);
+		return () -> result;
+	}
+
+	/**
+	 * Return a strategy with the given number of partitions, each binding
+	 * the {@code partitionCount} and its 0-based {@code partitionIndex}.
+	 * @param partitionCount the number of partitions
+	 */
+	static PartitionStrategy modulo(int partitionCount) {
+		Assert.isTrue(partitionCount > 0, "'partitionCount' must be positive");
+		List<QueryPartition> partitions = new ArrayList<>(partitionCount);
+		for (int i = 0; i < partitionCount; i++) {
+			Map<String, Object> parameters = new LinkedHashMap<>(4);
+			parameters.put("partitionCount", partitionCount);
+			parameters.put("partitionIndex", i);
+			partitions.add(new QueryPartition(i, parameters));
+		}
+		List<QueryPartition> result = Collections.unmodifiableList(partitions);
+		return () -> result;
+	}
+
+	/**
+	 * Return a strategy with a partition per given value, binding it as
+	 * {@code partitionValue}.
+	 * @param values the values to partition by
+	 */
+	static PartitionStrategy values(Object... values) {
+		return values(Arrays.asList(values));
+	}
+
+	/**
+	 * Return a strategy with a partition per given value, binding it as
+	 * {@code partitionValue}.
+	 * @param values the values to partition by
+	 */
+	static PartitionStrategy values(Collection<?> values) {
+		Assert.notEmpty(values, "Values must not be empty");
+		List<QueryPartition> partitions = new ArrayList<>(values.size());
+		for (Object value : values) {
+			partitions.add(new QueryPartition(partitions.size(), Collections.singletonMap("partitionValue", value)));
+		}
+		List<QueryPartition> result = Collections.unmodifiableList(partitions);
+		return () -> result;
+	}
+
+}
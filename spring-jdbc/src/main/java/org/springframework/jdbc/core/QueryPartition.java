@@ -0,0 +1,84 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * A single partition of a partitioned query: the values to bind to the
+ * partition predicate of the query for this partition.
+ *
+ * <p>The values are available by parameter name for named parameter queries,
+ * as well as in declaration order for queries with positional parameters.
+ *
+ * @since 5.3.3
+ * @see PartitionStrategy
+ * @see JdbcOperations#queryPartitioned(String, PartitionStrategy, int, RowCallbackHandler, Object...)
+ */
+public final class QueryPartition {
+
+	private final int index;
+
+	private final Map<String, Object> parameters;
+
+
+	/**
+	 * Create a new QueryPartition.
+	 * @param index the 0-based index of the partition
+	 * @param parameters the values of the partition predicate by parameter name,
+	 * in the order of the corresponding positional parameters
+	 */
+	public QueryPartition(int index, Map<String, ?> parameters) {
+		Assert.notNull(parameters, "Parameters must not be null");
+		this.index = index;
+		this.parameters = Collections.unmodifiableMap(new LinkedHashMap<>(parameters));
+	}
+
+
+	/**
+	 * Return the 0-based index of this partition.
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Return the values of the partition predicate by parameter name.
+	 */
+	public Map<String, Object> getParameters() {
+		return this.parameters;
+	}
+
+	/**
+	 * Return the values of the partition predicate in declaration order,
+	 * for binding to positional parameters.
+	 */
+	public Object[] getArguments() {
+		return this.parameters.values().toArray();
+	}
+
+
+	@Override
+	public String toString() {
+		return "QueryPartition " + this.index + " " + this.parameters;
+	}
+
+}
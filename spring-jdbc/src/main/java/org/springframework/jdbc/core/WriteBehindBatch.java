@@ -0,0 +1,225 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.jdbc.datasource.WriteBehindSynchronization;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction-scoped collection of same-SQL updates deferred by {@link JdbcTemplate}
+ * and executed as a single JDBC batch, registered with the thread-bound
+ * {@link ConnectionHolder} of a transaction that enables write-behind batching.
+ *
+ * <p>The deferred updates get executed in their original order once a different
+ * statement gets issued or the batch size is reached, whenever the transactional
+ * Connection gets obtained through {@link org.springframework.jdbc.datasource.DataSourceUtils}
+ * (see {@link ConnectionHolder#flushWriteBehindSynchronization()}), before a savepoint
+ * gets created, on {@link #flush()}, on suspension and before commit. Updates deferred
+ * after a savepoint get discarded when rolling back to it, and all deferred updates
+ * get discarded on transaction completion without commit.
+ *
+ * @since 5.3.3
+ * @see org.springframework.jdbc.datasource.DataSourceTransactionManager#setWriteBehindBatchSize
+ */
+final class WriteBehindBatch implements WriteBehindSynchronization {
+
+	private static final Log logger = LogFactory.getLog(WriteBehindBatch.class);
+
+
+	private final ConnectionHolder connectionHolder;
+
+	private final int batchSize;
+
+	@Nullable
+	private JdbcTemplate jdbcTemplate;
+
+	@Nullable
+	private String sql;
+
+	private List<PreparedStatementSetter> setters = new ArrayList<>();
+
+	private long position;
+
+
+	private WriteBehindBatch(ConnectionHolder connectionHolder, int batchSize) {
+		this.connectionHolder = connectionHolder;
+		this.batchSize = batchSize;
+	}
+
+
+	/**
+	 * Defer the given update, executing previously deferred updates first
+	 * if they were issued with a different statement or template.
+	 * @param jdbcTemplate the template to execute the batch with
+	 * @param sql the SQL update statement
+	 * @param pss the setter for the statement parameters (may be {@code null})
+	 */
+	public void add(JdbcTemplate jdbcTemplate, String sql, @Nullable PreparedStatementSetter pss) {
+		if (jdbcTemplate != this.jdbcTemplate || !sql.equals(this.sql)) {
+			flush();
+			this.jdbcTemplate = jdbcTemplate;
+			this.sql = sql;
+		}
+		this.setters.add(pss != null ? pss : ps -> {});
+		this.position++;
+		if (this.setters.size() >= this.batchSize) {
+			flush();
+		}
+	}
+
+	/**
+	 * Execute the deferred updates, if any, as a single JDBC batch.
+	 */
+	@Override
+	public void flush() {
+		if (this.setters.isEmpty() || this.jdbcTemplate == null || this.sql == null) {
+			return;
+		}
+		// Reset before execution: the batch execution itself goes through
+		// the thread-bound ConnectionHolder which triggers this method again.
+		JdbcTemplate jdbcTemplate = this.jdbcTemplate;
+		String sql = this.sql;
+		List<PreparedStatementSetter> setters = this.setters;
+		this.jdbcTemplate = null;
+		this.sql = null;
+		this.setters = new ArrayList<>();
+		if (logger.isDebugEnabled()) {
+			logger.debug("Flushing " + setters.size() + " deferred SQL updates [" + sql + "]");
+		}
+		jdbcTemplate.batchUpdate(sql, new DeferredStatementSetter(setters));
+	}
+
+	@Override
+	public long getPosition() {
+		return this.position;
+	}
+
+	@Override
+	public void discardAfter(long position) {
+		// Pending updates start after the ones that got flushed already
+		long pendingStart = this.position - this.setters.size();
+		int retained = (int) Math.max(0, position - pendingStart);
+		if (retained >= this.setters.size()) {
+			return;
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Discarding " + (this.setters.size() - retained) +
+					" deferred SQL updates [" + this.sql + "] after savepoint");
+		}
+		this.setters.subList(retained, this.setters.size()).clear();
+		this.position = pendingStart + retained;
+	}
+
+	@Override
+	public void suspend() {
+		flush();
+	}
+
+	@Override
+	public void beforeCommit(boolean readOnly) {
+		flush();
+	}
+
+	@Override
+	public void afterCompletion(int status) {
+		if (!this.setters.isEmpty() && logger.isDebugEnabled()) {
+			logger.debug("Discarding " + this.setters.size() + " deferred SQL updates [" + this.sql + "]");
+		}
+		this.jdbcTemplate = null;
+		this.sql = null;
+		this.setters = new ArrayList<>();
+		if (this.connectionHolder.getWriteBehindSynchronization() == this) {
+			this.connectionHolder.setWriteBehindSynchronization(null);
+		}
+	}
+
+
+	/**
+	 * Return the write-behind batch for the current transaction on the given
+	 * DataSource, registering a new one if necessary.
+	 * @param dataSource the DataSource that the update is issued against
+	 * @return the batch to defer the update into, or {@code null} if the
+	 * update should be executed immediately
+	 */
+	@Nullable
+	public static WriteBehindBatch forCurrentTransaction(DataSource dataSource) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return null;
+		}
+		Object resource = TransactionSynchronizationManager.getResource(dataSource);
+		if (!(resource instanceof ConnectionHolder)) {
+			return null;
+		}
+		ConnectionHolder conHolder = (ConnectionHolder) resource;
+		if (conHolder.getWriteBehindBatchSize() <= 0 || !conHolder.isSynchronizedWithTransaction()) {
+			return null;
+		}
+		WriteBehindSynchronization synchronization = conHolder.getWriteBehindSynchronization();
+		if (synchronization instanceof WriteBehindBatch) {
+			return (WriteBehindBatch) synchronization;
+		}
+		WriteBehindBatch batch = new WriteBehindBatch(conHolder, conHolder.getWriteBehindBatchSize());
+		TransactionSynchronizationManager.registerSynchronization(batch);
+		conHolder.setWriteBehindSynchronization(batch);
+		return batch;
+	}
+
+
+	/**
+	 * Adapter for the deferred statement setters of a batch.
+	 */
+	private static class DeferredStatementSetter implements BatchPreparedStatementSetter, ParameterDisposer {
+
+		private final List<PreparedStatementSetter> setters;
+
+		DeferredStatementSetter(List<PreparedStatementSetter> setters) {
+			this.setters = setters;
+		}
+
+		@Override
+		public void setValues(PreparedStatement ps, int i) throws SQLException {
+			this.setters.get(i).setValues(ps);
+		}
+
+		@Override
+		public int getBatchSize() {
+			return this.setters.size();
+		}
+
+		@Override
+		public void cleanupParameters() {
+			for (PreparedStatementSetter pss : this.setters) {
+				if (pss instanceof ParameterDisposer) {
+					((ParameterDisposer) pss).cleanupParameters();
+				}
+			}
+		}
+	}
+
+}
@@ -18,10 +18,12 @@ package org.springframework.jdbc.core.namedparam;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collector;
 import java.util.stream.Stream;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.PartitionStrategy;
 import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowCallbackHandler;
@@ -258,6 +260,52 @@ public interface NamedParameterJdbcOperations {
 	<T> Stream<T> queryForStream(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper)
 			throws DataAccessException;
 
+	/**
+	 * Query given SQL for each partition of the given strategy in parallel,
+	 * binding the given parameters plus the named parameters of the partition
+	 * predicate, reading the ResultSets on a per-row basis with a RowCallbackHandler.
+	 * <p>Each partition gets queried on a Connection of its own, with at most
+	 * the given number of partitions being queried at the same time. Partitions
+	 * do not participate in a transaction of the calling thread.
+	 * @param sql the SQL query to execute, including the partition predicate
+	 * @param partitions the strategy determining the partitions to query
+	 * @param parallelism the maximum number of partitions to query at the same time
+	 * @param paramSource container of arguments to bind to the query
+	 * @param rch a callback that will extract results, one row at a time;
+	 * invoked for the rows of all partitions in no particular order,
+	 * but never concurrently
+	 * @throws DataAccessException if the query fails for any partition
+	 * @since 5.3.3
+	 * @see JdbcOperations#queryPartitioned(String, PartitionStrategy, int, RowCallbackHandler, Object...)
+	 */
+	void queryPartitioned(String sql, PartitionStrategy partitions, int parallelism,
+			SqlParameterSource paramSource, RowCallbackHandler rch) throws DataAccessException;
+
+	/**
+	 * Query given SQL for each partition of the given strategy in parallel,
+	 * binding the given parameters plus the named parameters of the partition
+	 * predicate, mapping each row to a result object via a RowMapper and
+	 * collecting the result objects with a Collector.
+	 * <p>Each partition gets queried on a Connection of its own, with at most
+	 * the given number of partitions being queried at the same time. Partitions
+	 * do not participate in a transaction of the calling thread.
+	 * @param sql the SQL query to execute, including the partition predicate
+	 * @param partitions the strategy determining the partitions to query
+	 * @param parallelism the maximum number of partitions to query at the same time
+	 * @param paramSource container of arguments to bind to the query
+	 * @param rowMapper object that will map one object per row
+	 * @param collector the Collector to collect the result objects with; each
+	 * partition gets collected into a container of its own, with the containers
+	 * being combined in partition order
+	 * @return the result of the Collector
+	 * @throws DataAccessException if the query fails for any partition
+	 * @since 5.3.3
+	 * @see JdbcOperations#queryPartitioned(String, PartitionStrategy, int, RowMapper, Collector, Object...)
+	 */
+	<T, R> R queryPartitioned(String sql, PartitionStrategy partitions, int parallelism,
+			SqlParameterSource paramSource, RowMapper<T> rowMapper, Collector<? super T, ?, R> collector)
+			throws DataAccessException;
+
 	/**
 	 * Query given SQL to create a prepared statement from SQL and a list
 	 * of arguments to bind to the query, mapping a single result row to a
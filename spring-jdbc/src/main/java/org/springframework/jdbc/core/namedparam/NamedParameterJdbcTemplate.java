@@ -18,9 +18,13 @@ package org.springframework.jdbc.core.namedparam;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.stream.Collector;
 import java.util.stream.Stream;
 
 import javax.sql.DataSource;
@@ -31,9 +35,11 @@ import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PartitionStrategy;
 import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.QueryPartition;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
@@ -45,6 +51,7 @@ import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.StringUtils;
 
 /**
  * Template class with a basic set of JDBC operations, allowing the use
@@ -235,6 +242,24 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return queryForStream(sql, new MapSqlParameterSource(paramMap), rowMapper);
 	}
 
+	@Override
+	public void queryPartitioned(String sql, PartitionStrategy partitions, int parallelism,
+			SqlParameterSource paramSource, RowCallbackHandler rch) throws DataAccessException {
+
+		getJdbcOperations().queryPartitioned(partitions, parallelism, partition ->
+				getPreparedStatementCreator(sql, new PartitionSqlParameterSource(paramSource, partition)), rch);
+	}
+
+	@Override
+	public <T, R> R queryPartitioned(String sql, PartitionStrategy partitions, int parallelism,
+			SqlParameterSource paramSource, RowMapper<T> rowMapper, Collector<? super T, ?, R> collector)
+			throws DataAccessException {
+
+		return getJdbcOperations().queryPartitioned(partitions, parallelism, partition ->
+				getPreparedStatementCreator(sql, new PartitionSqlParameterSource(paramSource, partition)),
+				rowMapper, collector);
+	}
+
 	@Override
 	@Nullable
 	public <T> T queryForObject(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper)
@@ -453,4 +478,58 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return new PreparedStatementCreatorFactory(sqlToUse, declaredParameters);
 	}
 
+
+	/**
+	 * SqlParameterSource exposing the values of a {@link QueryPartition}
+	 * in addition to the given query parameters.
+	 */
+	private static class PartitionSqlParameterSource implements SqlParameterSource {
+
+		private final SqlParameterSource source;
+
+		private final Map<String, Object> partitionParameters;
+
+		public PartitionSqlParameterSource(SqlParameterSource source, QueryPartition partition) {
+			this.source = source;
+			this.partitionParameters = partition.getParameters();
+		}
+
+		@Override
+		public boolean hasValue(String paramName) {
+			return (this.partitionParameters.containsKey(paramName) || this.source.hasValue(paramName));
+		}
+
+		@Override
+		@Nullable
+		public Object getValue(String paramName) throws IllegalArgumentException {
+			if (this.partitionParameters.containsKey(paramName)) {
+				return this.partitionParameters.get(paramName);
+			}
+			return this.source.getValue(paramName);
+		}
+
+		@Override
+		public int getSqlType(String paramName) {
+			return (this.partitionParameters.containsKey(paramName) ? TYPE_UNKNOWN : this.source.getSqlType(paramName));
+		}
+
+		@Override
+		@Nullable
+		public String getTypeName(String paramName) {
+			return (this.partitionParameters.containsKey(paramName) ? null : this.source.getTypeName(paramName));
+		}
+
+		@Override
+		@Nullable
+		public String[] getParameterNames() {
+			String[] names = this.source.getParameterNames();
+			if (names == null) {
+				return null;
+			}
+			Set<String> result = new LinkedHashSet<>(Arrays.asList(names));
+			result.addAll(this.partitionParameters.keySet());
+			return StringUtils.toStringArray(result);
+		}
+	}
+
 }
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -33,6 +34,7 @@ import javax.sql.DataSource;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
@@ -47,6 +49,9 @@ import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
 /**
@@ -82,6 +87,10 @@ public abstract class AbstractJdbcInsert {
 	 */
 	private volatile boolean compiled;
 
+	/** The transaction manager to insert each chunk of a streaming batch with, if any. */
+	@Nullable
+	private PlatformTransactionManager chunkTransactionManager;
+
 	/** The generated string used for insert statement. */
 	private String insertString = "";
 
@@ -221,6 +230,27 @@ public abstract class AbstractJdbcInsert {
 		this.tableMetaDataContext.setOverrideIncludeSynonymsDefault(override);
 	}
 
+	/**
+	 * Specify a transaction manager to insert each chunk of a streaming batch
+	 * in a new transaction with, committing the chunk before the next one gets
+	 * read. Without a transaction manager (the default), chunks participate
+	 * in the current transaction, if any.
+	 * @since 5.3.3
+	 * @see #doExecuteBatch(Iterator, int, BatchInsertListener)
+	 */
+	public void setChunkTransactionManager(@Nullable PlatformTransactionManager chunkTransactionManager) {
+		this.chunkTransactionManager = chunkTransactionManager;
+	}
+
+	/**
+	 * Get the transaction manager to insert each chunk of a streaming batch with, if any.
+	 * @since 5.3.3
+	 */
+	@Nullable
+	public PlatformTransactionManager getChunkTransactionManager() {
+		return this.chunkTransactionManager;
+	}
+
 	/**
 	 * Get the insert string to be used.
 	 */
@@ -562,6 +592,64 @@ public abstract class AbstractJdbcInsert {
 		return executeBatchInternal(batchValues);
 	}
 
+	/**
+	 * Delegate method that executes a streaming batch insert using the passed-in
+	 * {@link SqlParameterSource SqlParameterSources}, in chunks of the given size.
+	 * <p>Only a single chunk of rows is held in memory at any time. Each chunk
+	 * gets inserted in a transaction of its own if a
+	 * {@link #setChunkTransactionManager chunk transaction manager} is specified.
+	 * @param batch the rows to insert, consumed lazily
+	 * @param chunkSize the number of rows per JDBC batch
+	 * @param listener the listener to notify of the progress of the insert, if any
+	 * @return the number of rows in successfully inserted chunks
+	 * @since 5.3.3
+	 */
+	protected long doExecuteBatch(Iterator<? extends SqlParameterSource> batch, int chunkSize,
+			@Nullable BatchInsertListener listener) {
+
+		Assert.notNull(batch, "Batch Iterator must not be null");
+		Assert.isTrue(chunkSize > 0, "Chunk size must be positive");
+		checkCompiled();
+		TransactionTemplate transactionTemplate = null;
+		if (this.chunkTransactionManager != null) {
+			transactionTemplate = new TransactionTemplate(this.chunkTransactionManager);
+			transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		}
+		List<SqlParameterSource> rows = new ArrayList<>(chunkSize);
+		List<List<Object>> chunkValues = new ArrayList<>(chunkSize);
+		int chunkIndex = 0;
+		long totalRows = 0;
+		while (batch.hasNext()) {
+			rows.clear();
+			chunkValues.clear();
+			while (rows.size() < chunkSize && batch.hasNext()) {
+				SqlParameterSource parameterSource = batch.next();
+				rows.add(parameterSource);
+				chunkValues.add(matchInParameterValuesWithInsertColumns(parameterSource));
+			}
+			int[] updateCounts;
+			try {
+				updateCounts = (transactionTemplate != null ?
+						transactionTemplate.execute(status -> executeBatchInternal(chunkValues)) :
+						executeBatchInternal(chunkValues));
+			}
+			catch (DataAccessException ex) {
+				if (listener == null) {
+					throw ex;
+				}
+				listener.onChunkFailure(chunkIndex++, new ArrayList<>(rows), ex);
+				continue;
+			}
+			totalRows += rows.size();
+			if (listener != null) {
+				Assert.state(updateCounts != null, "No update counts");
+				listener.afterChunk(chunkIndex, updateCounts, totalRows);
+			}
+			chunkIndex++;
+		}
+		return totalRows;
+	}
+
 	/**
 	 * Delegate method to execute the batch insert.
 	 */
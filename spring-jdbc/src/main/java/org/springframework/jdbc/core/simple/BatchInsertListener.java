@@ -0,0 +1,59 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.simple;
+
+import java.util.List;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Callback interface for the progress of a streaming batch insert,
+ * which gets executed in chunks of a fixed number of rows.
+ *
+ * @since 5.3.3
+ * @see SimpleJdbcInsertOperations#executeBatch(java.util.Iterator, int, BatchInsertListener)
+ */
+public interface BatchInsertListener {
+
+	/**
+	 * Called after a chunk of rows has been inserted successfully
+	 * (and committed, if executed in a transaction per chunk).
+	 * <p>The default implementation is empty.
+	 * @param chunkIndex the 0-based index of the chunk
+	 * @param updateCounts the update counts returned by the JDBC driver for the chunk
+	 * @param totalRows the total number of rows inserted so far, including this chunk
+	 */
+	default void afterChunk(int chunkIndex, int[] updateCounts, long totalRows) {
+	}
+
+	/**
+	 * Called when a chunk of rows failed to insert (and got rolled back,
+	 * if executed in a transaction per chunk).
+	 * <p>The default implementation rethrows the given exception, aborting
+	 * the batch insert. Implementations may record the failed rows and return
+	 * normally instead, continuing with the next chunk.
+	 * @param chunkIndex the 0-based index of the chunk
+	 * @param rows the rows of the failed chunk
+	 * @param ex the exception thrown for the chunk
+	 * @throws DataAccessException to abort the batch insert
+	 */
+	default void onChunkFailure(int chunkIndex, List<SqlParameterSource> rows, DataAccessException ex) {
+		throw ex;
+	}
+
+}
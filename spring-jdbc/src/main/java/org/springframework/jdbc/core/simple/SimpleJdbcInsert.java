@@ -17,13 +17,17 @@
 package org.springframework.jdbc.core.simple;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * A SimpleJdbcInsert is a multi-threaded, reusable object providing easy insert
@@ -100,6 +104,12 @@ public class SimpleJdbcInsert extends AbstractJdbcInsert implements SimpleJdbcIn
 		return this;
 	}
 
+	@Override
+	public SimpleJdbcInsert withChunkTransactions(PlatformTransactionManager transactionManager) {
+		setChunkTransactionManager(transactionManager);
+		return this;
+	}
+
 	@Override
 	public SimpleJdbcInsertOperations withoutTableColumnMetaDataAccess() {
 		setAccessTableColumnMetaData(false);
@@ -153,4 +163,18 @@ public class SimpleJdbcInsert extends AbstractJdbcInsert implements SimpleJdbcIn
 		return doExecuteBatch(batch);
 	}
 
+	@Override
+	public long executeBatch(Stream<? extends SqlParameterSource> batch, int chunkSize,
+			@Nullable BatchInsertListener listener) {
+
+		return doExecuteBatch(batch.iterator(), chunkSize, listener);
+	}
+
+	@Override
+	public long executeBatch(Iterator<? extends SqlParameterSource> batch, int chunkSize,
+			@Nullable BatchInsertListener listener) {
+
+		return doExecuteBatch(batch, chunkSize, listener);
+	}
+
 }
@@ -16,10 +16,14 @@
 
 package org.springframework.jdbc.core.simple;
 
+import java.util.Iterator;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * Interface specifying the API for a Simple JDBC Insert implemented by {@link SimpleJdbcInsert}.
@@ -66,6 +70,16 @@ public interface SimpleJdbcInsertOperations {
 	 */
 	SimpleJdbcInsertOperations usingGeneratedKeyColumns(String... columnNames);
 
+	/**
+	 * Insert each chunk of a streaming batch in a new transaction of the given
+	 * transaction manager, committing the chunk before the next one gets read.
+	 * @param transactionManager the transaction manager to use
+	 * @return the instance of this SimpleJdbcInsert
+	 * @since 5.3.3
+	 * @see #executeBatch(Iterator, int, BatchInsertListener)
+	 */
+	SimpleJdbcInsertOperations withChunkTransactions(PlatformTransactionManager transactionManager);
+
 	/**
 	 * Turn off any processing of column meta-data information obtained via JDBC.
 	 * @return the instance of this SimpleJdbcInsert
@@ -150,4 +164,33 @@ public interface SimpleJdbcInsertOperations {
 	 */
 	int[] executeBatch(SqlParameterSource... batch);
 
+	/**
+	 * Execute a streaming batch insert using the values of the given Stream,
+	 * in JDBC batches of the given chunk size.
+	 * <p>The Stream gets consumed lazily, holding only a single chunk of rows
+	 * in memory at any time. It does not get closed by this method.
+	 * @param batch a Stream of SqlParameterSource containing values for the batch
+	 * @param chunkSize the number of rows per JDBC batch
+	 * @param listener the listener to notify of each chunk, if any
+	 * @return the number of rows in successfully inserted chunks
+	 * @since 5.3.3
+	 * @see #executeBatch(Iterator, int, BatchInsertListener)
+	 */
+	long executeBatch(Stream<? extends SqlParameterSource> batch, int chunkSize, @Nullable BatchInsertListener listener);
+
+	/**
+	 * Execute a streaming batch insert using the values of the given Iterator,
+	 * in JDBC batches of the given chunk size.
+	 * <p>The Iterator gets consumed lazily, holding only a single chunk of rows
+	 * in memory at any time. By default, a failing chunk aborts the insert;
+	 * a listener may handle the failure and continue with the next chunk.
+	 * @param batch an Iterator of SqlParameterSource containing values for the batch
+	 * @param chunkSize the number of rows per JDBC batch
+	 * @param listener the listener to notify of each chunk, if any
+	 * @return the number of rows in successfully inserted chunks
+	 * @since 5.3.3
+	 * @see #withChunkTransactions
+	 */
+	long executeBatch(Iterator<? extends SqlParameterSource> batch, int chunkSize, @Nullable BatchInsertListener listener);
+
 }
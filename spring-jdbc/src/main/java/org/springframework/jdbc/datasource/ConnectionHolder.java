@@ -19,6 +19,8 @@ package org.springframework.jdbc.datasource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.support.ResourceHolderSupport;
@@ -60,6 +62,16 @@ public class ConnectionHolder extends ResourceHolderSupport {
 
 	private int savepointCounter = 0;
 
+	private int writeBehindBatchSize = 0;
+
+	@Nullable
+	private WriteBehindSynchronization writeBehindSynchronization;
+
+	private final Map<Savepoint, Long> writeBehindSavepointPositions = new IdentityHashMap<>(4);
+
+	@Nullable
+	private PreparedStatementCache preparedStatementCache;
+
 
 	/**
 	 * Create a new ConnectionHolder for the given ConnectionHandle.
@@ -127,6 +139,81 @@ public class ConnectionHolder extends ResourceHolderSupport {
 	}
 
 
+	/**
+	 * Set the maximum number of same-SQL updates to defer into a single
+	 * JDBC batch within the transaction that this holder represents.
+	 * <p>Default is 0, not deferring any updates.
+	 * @since 5.3.3
+	 * @see DataSourceTransactionManager#setWriteBehindBatchSize
+	 */
+	public void setWriteBehindBatchSize(int writeBehindBatchSize) {
+		this.writeBehindBatchSize = writeBehindBatchSize;
+	}
+
+	/**
+	 * Return the maximum number of same-SQL updates to defer into a single
+	 * JDBC batch, or 0 if updates should be executed immediately.
+	 * @since 5.3.3
+	 */
+	public int getWriteBehindBatchSize() {
+		return this.writeBehindBatchSize;
+	}
+
+	/**
+	 * Register the synchronization holding the updates deferred for this holder.
+	 * Its {@link WriteBehindSynchronization#flush() flush} method will be
+	 * invoked when the Connection gets obtained through {@link DataSourceUtils}
+	 * and before a Savepoint gets created; updates deferred after a Savepoint
+	 * get discarded when rolling back to it.
+	 * @since 5.3.3
+	 * @see #flushWriteBehindSynchronization()
+	 * @see #rollbackToSavepoint(Savepoint)
+	 */
+	public void setWriteBehindSynchronization(@Nullable WriteBehindSynchronization writeBehindSynchronization) {
+		this.writeBehindSynchronization = writeBehindSynchronization;
+	}
+
+	/**
+	 * Return the synchronization holding the updates deferred for this holder, if any.
+	 * @since 5.3.3
+	 */
+	@Nullable
+	public WriteBehindSynchronization getWriteBehindSynchronization() {
+		return this.writeBehindSynchronization;
+	}
+
+	/**
+	 * Execute the updates deferred for this holder, if any.
+	 * @since 5.3.3
+	 */
+	public void flushWriteBehindSynchronization() {
+		WriteBehindSynchronization synchronization = this.writeBehindSynchronization;
+		if (synchronization != null) {
+			synchronization.flush();
+		}
+	}
+
+	/**
+	 * Set the cache of PreparedStatements for the Connection held by this holder.
+	 * <p>The cache needs to be {@link PreparedStatementCache#close() closed}
+	 * by whoever set it, before the Connection gets released.
+	 * @since 5.3.3
+	 * @see DataSourceTransactionManager#setStatementCacheSize
+	 */
+	public void setPreparedStatementCache(@Nullable PreparedStatementCache preparedStatementCache) {
+		this.preparedStatementCache = preparedStatementCache;
+	}
+
+	/**
+	 * Return the cache of PreparedStatements for the Connection held by this holder, if any.
+	 * @since 5.3.3
+	 */
+	@Nullable
+	public PreparedStatementCache getPreparedStatementCache() {
+		return this.preparedStatementCache;
+	}
+
+
 	/**
 	 * Override the existing Connection handle with the given Connection.
 	 * Reset the handle if given {@code null}.
@@ -183,8 +270,44 @@ public class ConnectionHolder extends ResourceHolderSupport {
 	 * @throws SQLException if thrown by the JDBC driver
 	 */
 	public Savepoint createSavepoint() throws SQLException {
+		flushWriteBehindSynchronization();
 		this.savepointCounter++;
-		return getConnection().setSavepoint(SAVEPOINT_NAME_PREFIX + this.savepointCounter);
+		Savepoint savepoint = getConnection().setSavepoint(SAVEPOINT_NAME_PREFIX + this.savepointCounter);
+		if (this.writeBehindSynchronization != null) {
+			this.writeBehindSavepointPositions.put(savepoint, this.writeBehindSynchronization.getPosition());
+		}
+		return savepoint;
+	}
+
+	/**
+	 * Roll back the current Connection to the given JDBC 3.0 Savepoint,
+	 * discarding any updates deferred after the Savepoint got created.
+	 * @param savepoint the Savepoint to roll back to
+	 * @throws SQLException if thrown by the JDBC driver
+	 * @since 5.3.3
+	 * @see #createSavepoint()
+	 */
+	public void rollbackToSavepoint(Savepoint savepoint) throws SQLException {
+		getConnection().rollback(savepoint);
+		WriteBehindSynchronization synchronization = this.writeBehindSynchronization;
+		if (synchronization != null) {
+			// No recorded position: the synchronization got registered after the Savepoint
+			Long position = this.writeBehindSavepointPositions.get(savepoint);
+			synchronization.discardAfter(position != null ? position : 0);
+		}
+	}
+
+	/**
+	 * Release the given JDBC 3.0 Savepoint of the current Connection,
+	 * keeping any updates deferred after the Savepoint got created.
+	 * @param savepoint the Savepoint to release
+	 * @throws SQLException if thrown by the JDBC driver
+	 * @since 5.3.3
+	 * @see #createSavepoint()
+	 */
+	public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+		this.writeBehindSavepointPositions.remove(savepoint);
+		getConnection().releaseSavepoint(savepoint);
 	}
 
 	/**
@@ -212,6 +335,10 @@ public class ConnectionHolder extends ResourceHolderSupport {
 		this.transactionActive = false;
 		this.savepointsSupported = null;
 		this.savepointCounter = 0;
+		this.writeBehindBatchSize = 0;
+		this.writeBehindSynchronization = null;
+		this.writeBehindSavepointPositions.clear();
+		this.preparedStatementCache = null;
 	}
 
 }
@@ -117,6 +117,12 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 
 	private boolean enforceReadOnly = false;
 
+	private int writeBehindBatchSize = 0;
+
+	private int statementCacheSize = 0;
+
+	private final PreparedStatementCache.Statistics statementCacheStatistics = new PreparedStatementCache.Statistics();
+
 
 	/**
 	 * Create a new DataSourceTransactionManager instance.
@@ -220,6 +226,80 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 		return this.enforceReadOnly;
 	}
 
+	/**
+	 * Specify the maximum number of same-SQL updates that a
+	 * {@link org.springframework.jdbc.core.JdbcTemplate} participating in a
+	 * transaction of this manager defers into a single JDBC batch ("write-behind").
+	 * <p>Default is 0, executing every update immediately. With a positive value,
+	 * consecutive {@code update} calls with the same SQL statement are collected
+	 * and executed as a {@link java.sql.PreparedStatement} batch once a different
+	 * statement gets issued or the batch size is reached, as well as whenever the
+	 * transactional Connection gets obtained through {@link DataSourceUtils} (e.g.
+	 * by any other {@code JdbcTemplate} operation), before a savepoint gets created,
+	 * on transaction suspension and before commit. Code that keeps working with a
+	 * Connection handle obtained earlier does not trigger a flush. Updates deferred
+	 * after a savepoint get discarded when rolling back to that savepoint.
+	 * <p>Note that deferred updates return {@link java.sql.Statement#SUCCESS_NO_INFO}
+	 * instead of an actual update count, and that constraint violations surface
+	 * at flush time. Statement parameters are bound at flush time as well, so must
+	 * not be modified after an update call. Requires transaction synchronization.
+	 * @since 5.3.3
+	 * @see ConnectionHolder#setWriteBehindBatchSize
+	 * @see org.springframework.jdbc.core.JdbcTemplate#update(String, Object...)
+	 */
+	public void setWriteBehindBatchSize(int writeBehindBatchSize) {
+		Assert.isTrue(writeBehindBatchSize >= 0, "'writeBehindBatchSize' must not be negative");
+		this.writeBehindBatchSize = writeBehindBatchSize;
+	}
+
+	/**
+	 * Return the maximum number of same-SQL updates to defer into a single
+	 * JDBC batch, or 0 if updates are executed immediately.
+	 * @since 5.3.3
+	 */
+	public int getWriteBehindBatchSize() {
+		return this.writeBehindBatchSize;
+	}
+
+	/**
+	 * Specify the maximum number of idle {@link java.sql.PreparedStatement
+	 * PreparedStatements} to keep per transactional Connection, for reuse by
+	 * {@link org.springframework.jdbc.core.JdbcTemplate} operations with the
+	 * same SQL statement within the same transaction.
+	 * <p>Default is 0, preparing and closing a statement for every operation
+	 * and relying on the JDBC driver or connection pool for statement caching.
+	 * With a positive value, statements prepared through a JdbcTemplate get
+	 * returned to a per-Connection cache with least-recently-used eviction
+	 * instead of being closed, and all of them get closed at the end of the
+	 * transaction, before the Connection gets released.
+	 * @since 5.3.3
+	 * @see PreparedStatementCache
+	 * @see #getStatementCacheStatistics()
+	 */
+	public void setStatementCacheSize(int statementCacheSize) {
+		Assert.isTrue(statementCacheSize >= 0, "'statementCacheSize' must not be negative");
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	/**
+	 * Return the maximum number of idle PreparedStatements to keep
+	 * per transactional Connection, or 0 if statements are not cached.
+	 * @since 5.3.3
+	 */
+	public int getStatementCacheSize() {
+		return this.statementCacheSize;
+	}
+
+	/**
+	 * Return the statistics of the statement caches of all transactions
+	 * managed by this transaction manager.
+	 * @since 5.3.3
+	 * @see #setStatementCacheSize
+	 */
+	public PreparedStatementCache.Statistics getStatementCacheStatistics() {
+		return this.statementCacheStatistics;
+	}
+
 	@Override
 	public void afterPropertiesSet() {
 		if (getDataSource() == null) {
@@ -273,7 +353,12 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 			}
 
 			txObject.getConnectionHolder().setSynchronizedWithTransaction(true);
+			txObject.getConnectionHolder().setWriteBehindBatchSize(this.writeBehindBatchSize);
 			con = txObject.getConnectionHolder().getConnection();
+			if (this.statementCacheSize > 0) {
+				txObject.getConnectionHolder().setPreparedStatementCache(
+						new PreparedStatementCache(con, this.statementCacheSize, this.statementCacheStatistics));
+			}
 
 			// ⭐️ 设置数据库连接的隔离级别与 readOnly
 			// 如果当前事务中的隔离级别与数据库中的隔离级别不一致，就返回数据库的隔离级别并记录下来，事务结束后恢复
@@ -390,6 +475,13 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 			TransactionSynchronizationManager.unbindResource(obtainDataSource());
 		}
 
+		// Close cached statements before the connection gets released.
+		PreparedStatementCache statementCache = txObject.getConnectionHolder().getPreparedStatementCache();
+		if (statementCache != null) {
+			txObject.getConnectionHolder().setPreparedStatementCache(null);
+			statementCache.close();
+		}
+
 		// Reset connection.
 		Connection con = txObject.getConnectionHolder().getConnection();
 		try {
@@ -101,6 +101,8 @@ public abstract class DataSourceUtils {
 
 		ConnectionHolder conHolder = (ConnectionHolder) TransactionSynchronizationManager.getResource(dataSource);
 		if (conHolder != null && (conHolder.hasConnection() || conHolder.isSynchronizedWithTransaction())) {
+			// Execute deferred updates before handing out the Connection for further data access
+			conHolder.flushWriteBehindSynchronization();
 			conHolder.requested();
 			if (!conHolder.hasConnection()) {
 				logger.debug("Fetching resumed JDBC Connection from DataSource");
@@ -165,14 +165,16 @@ public abstract class JdbcTransactionObjectSupport implements SavepointManager,
 	}
 
 	/**
-	 * This implementation rolls back to the given JDBC 3.0 Savepoint.
+	 * This implementation rolls back to the given JDBC 3.0 Savepoint,
+	 * discarding any updates deferred after it through write-behind batching.
+	 * @see ConnectionHolder#rollbackToSavepoint(java.sql.Savepoint)
 	 * @see java.sql.Connection#rollback(java.sql.Savepoint)
 	 */
 	@Override
 	public void rollbackToSavepoint(Object savepoint) throws TransactionException {
 		ConnectionHolder conHolder = getConnectionHolderForSavepoint();
 		try {
-			conHolder.getConnection().rollback((Savepoint) savepoint);
+			conHolder.rollbackToSavepoint((Savepoint) savepoint);
 			conHolder.resetRollbackOnly();
 		}
 		catch (Throwable ex) {
@@ -182,13 +184,14 @@ public abstract class JdbcTransactionObjectSupport implements SavepointManager,
 
 	/**
 	 * This implementation releases the given JDBC 3.0 Savepoint.
+	 * @see ConnectionHolder#releaseSavepoint(java.sql.Savepoint)
 	 * @see java.sql.Connection#releaseSavepoint
 	 */
 	@Override
 	public void releaseSavepoint(Object savepoint) throws TransactionException {
 		ConnectionHolder conHolder = getConnectionHolderForSavepoint();
 		try {
-			conHolder.getConnection().releaseSavepoint((Savepoint) savepoint);
+			conHolder.releaseSavepoint((Savepoint) savepoint);
 		}
 		catch (Throwable ex) {
 			logger.debug("Could not explicitly release JDBC savepoint", ex);
@@ -31,6 +31,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.Constants;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Proxy for a target DataSource, fetching actual JDBC Connections lazily,
@@ -74,6 +75,11 @@ import org.springframework.lang.Nullable;
  * lazy fetching of an actual JDBC Connection. Use {@link Connection#unwrap}
  * to retrieve the native JDBC Connection.
  *
+ * <p>As of 5.3.3, a separate {@link #setReadOnlyDataSource read-only DataSource}
+ * can be specified, e.g. for a read replica of the target database: Connections
+ * marked as read-only before an actual JDBC Connection gets fetched (e.g. through
+ * {@code @Transactional(readOnly = true)}) will then be fetched from there.
+ *
  * @author Juergen Hoeller
  * @since 1.1.4
  * @see DataSourceTransactionManager
@@ -85,6 +91,9 @@ public class LazyConnectionDataSourceProxy extends DelegatingDataSource {
 
 	private static final Log logger = LogFactory.getLog(LazyConnectionDataSourceProxy.class);
 
+	@Nullable
+	private DataSource readOnlyDataSource;
+
 	@Nullable
 	private Boolean defaultAutoCommit;
 
@@ -109,6 +118,31 @@ public class LazyConnectionDataSourceProxy extends DelegatingDataSource {
 	}
 
 
+	/**
+	 * Specify a DataSource to fetch actual JDBC Connections from for read-only
+	 * operations, e.g. a read replica of the target database.
+	 * <p>The read-only DataSource is used if the Connection handle has been
+	 * {@linkplain Connection#setReadOnly marked as read-only} or the current
+	 * transaction is read-only at the time the actual JDBC Connection gets
+	 * fetched. Default is none, fetching all Connections from the target DataSource.
+	 * @since 5.3.3
+	 * @see #getReadOnlyDataSource()
+	 * @see TransactionSynchronizationManager#isCurrentTransactionReadOnly()
+	 */
+	public void setReadOnlyDataSource(@Nullable DataSource readOnlyDataSource) {
+		this.readOnlyDataSource = readOnlyDataSource;
+	}
+
+	/**
+	 * Return the DataSource to fetch actual JDBC Connections from for read-only
+	 * operations, if any.
+	 * @since 5.3.3
+	 */
+	@Nullable
+	public DataSource getReadOnlyDataSource() {
+		return this.readOnlyDataSource;
+	}
+
 	/**
 	 * Set the default auto-commit mode to expose when no target Connection
 	 * has been fetched yet (-> actual JDBC Connection default not known yet).
@@ -400,9 +434,14 @@ public class LazyConnectionDataSourceProxy extends DelegatingDataSource {
 				}
 
 				// Fetch physical Connection from DataSource.
+				DataSource dataSource = obtainTargetDataSource();
+				if (readOnlyDataSource != null &&
+						(this.readOnly || TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+					dataSource = readOnlyDataSource;
+				}
 				this.target = (this.username != null) ?
-						obtainTargetDataSource().getConnection(this.username, this.password) :
-						obtainTargetDataSource().getConnection();
+						dataSource.getConnection(this.username, this.password) :
+						dataSource.getConnection();
 
 				// If we still lack default connection properties, check them now.
 				checkDefaultConnectionProperties(this.target);
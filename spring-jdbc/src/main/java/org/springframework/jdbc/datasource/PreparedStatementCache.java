@@ -0,0 +1,460 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Cache of JDBC {@link PreparedStatement PreparedStatements} for a single
+ * physical {@link Connection}, keyed by SQL statement and statement options,
+ * with least-recently-used eviction.
+ *
+ * <p>Statements get prepared through the Connection proxy returned by
+ * {@link #getConnection()}. Closing such a statement clears its parameters and
+ * batch, restores any modified statement settings and returns it to this cache
+ * instead of closing it, so that a subsequent {@code prepareStatement} call
+ * with the same SQL can reuse it without having the database parse the SQL
+ * statement again. A statement in use is never handed out twice; a statement
+ * that threw an {@link SQLException} gets closed instead of being reused.
+ *
+ * <p>{@link DataSourceTransactionManager} binds an instance of this class to
+ * the transactional {@link ConnectionHolder} if a statement cache size has been
+ * specified, and closes it before the Connection gets released.
+ * {@link org.springframework.jdbc.core.JdbcTemplate} transparently prepares
+ * its statements through it.
+ *
+ * <p>Note: This is an SPI class, not intended to be used by applications.
+ *
+ * @since 5.3.3
+ * @see DataSourceTransactionManager#setStatementCacheSize
+ * @see ConnectionHolder#getPreparedStatementCache()
+ */
+public class PreparedStatementCache {
+
+	private static final Log logger = LogFactory.getLog(PreparedStatementCache.class);
+
+	private final Connection targetConnection;
+
+	private final int maxSize;
+
+	private final Statistics statistics;
+
+	private final Connection connectionProxy;
+
+	private final Map<StatementKey, PreparedStatement> statements;
+
+	private boolean closed;
+
+
+	/**
+	 * Create a new PreparedStatementCache for the given Connection.
+	 * @param targetConnection the Connection to prepare statements on
+	 * @param maxSize the maximum number of idle statements to keep
+	 * @param statistics the statistics to record cache usage in
+	 * (may be shared between several caches)
+	 */
+	public PreparedStatementCache(Connection targetConnection, int maxSize, Statistics statistics) {
+		Assert.notNull(targetConnection, "Target Connection must not be null");
+		Assert.isTrue(maxSize > 0, "'maxSize' must be positive");
+		Assert.notNull(statistics, "Statistics must not be null");
+		this.targetConnection = targetConnection;
+		this.maxSize = maxSize;
+		this.statistics = statistics;
+		this.connectionProxy = (Connection) Proxy.newProxyInstance(
+				ConnectionProxy.class.getClassLoader(),
+				new Class<?>[] {ConnectionProxy.class},
+				new CachingConnectionInvocationHandler());
+		this.statements = new LinkedHashMap<StatementKey, PreparedStatement>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<StatementKey, PreparedStatement> eldest) {
+				if (size() > PreparedStatementCache.this.maxSize) {
+					PreparedStatementCache.this.statistics.evictions.increment();
+					closeStatement(eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+
+	/**
+	 * Return the Connection that this cache prepares statements on.
+	 */
+	public Connection getTargetConnection() {
+		return this.targetConnection;
+	}
+
+	/**
+	 * Return the maximum number of idle statements that this cache keeps.
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Return the statistics that this cache records its usage in.
+	 */
+	public Statistics getStatistics() {
+		return this.statistics;
+	}
+
+	/**
+	 * Return a proxy for the target Connection that serves
+	 * {@code prepareStatement} calls from this cache.
+	 * <p>All other calls are delegated to the target Connection,
+	 * except for {@code close} which is ignored.
+	 */
+	public Connection getConnection() {
+		return this.connectionProxy;
+	}
+
+	/**
+	 * Return the number of idle statements currently held in this cache.
+	 */
+	public synchronized int size() {
+		return this.statements.size();
+	}
+
+	/**
+	 * Close all idle statements held in this cache. Statements still in use
+	 * get closed rather than returned to this cache once released.
+	 */
+	public void close() {
+		List<PreparedStatement> toClose;
+		synchronized (this) {
+			this.closed = true;
+			toClose = new ArrayList<>(this.statements.values());
+			this.statements.clear();
+		}
+		for (PreparedStatement ps : toClose) {
+			closeStatement(ps);
+		}
+	}
+
+
+	private PreparedStatement obtainStatement(StatementKey key, Method method, Object[] args) throws Throwable {
+		PreparedStatement ps;
+		synchronized (this) {
+			ps = (this.closed ? null : this.statements.remove(key));
+		}
+		if (ps != null) {
+			this.statistics.hits.increment();
+		}
+		else {
+			this.statistics.misses.increment();
+			try {
+				ps = (PreparedStatement) method.invoke(this.targetConnection, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+		return (PreparedStatement) Proxy.newProxyInstance(
+				PreparedStatement.class.getClassLoader(),
+				new Class<?>[] {PreparedStatement.class},
+				new CachedStatementInvocationHandler(key, ps));
+	}
+
+	private void releaseStatement(StatementKey key, PreparedStatement ps) {
+		synchronized (this) {
+			if (!this.closed && !this.statements.containsKey(key)) {
+				this.statements.put(key, ps);
+				return;
+			}
+		}
+		closeStatement(ps);
+	}
+
+	private static void closeStatement(PreparedStatement ps) {
+		try {
+			ps.close();
+		}
+		catch (SQLException ex) {
+			logger.trace("Could not close cached JDBC PreparedStatement", ex);
+		}
+		catch (Throwable ex) {
+			// We don't trust the JDBC driver: It might throw RuntimeException or Error.
+			logger.trace("Unexpected exception on closing cached JDBC PreparedStatement", ex);
+		}
+	}
+
+
+	/**
+	 * Statistics of {@link PreparedStatementCache} usage.
+	 */
+	public static final class Statistics {
+
+		private final LongAdder hits = new LongAdder();
+
+		private final LongAdder misses = new LongAdder();
+
+		private final LongAdder evictions = new LongAdder();
+
+		/**
+		 * Return the number of statements served from a cache.
+		 */
+		public long getHitCount() {
+			return this.hits.sum();
+		}
+
+		/**
+		 * Return the number of statements that had to be prepared on the Connection.
+		 */
+		public long getMissCount() {
+			return this.misses.sum();
+		}
+
+		/**
+		 * Return the number of idle statements closed to make room for others.
+		 */
+		public long getEvictionCount() {
+			return this.evictions.sum();
+		}
+
+		/**
+		 * Return the ratio of statements served from a cache,
+		 * or 0 if no statement has been requested yet.
+		 */
+		public double getHitRatio() {
+			long hits = getHitCount();
+			long total = hits + getMissCount();
+			return (total > 0 ? (double) hits / total : 0);
+		}
+
+		@Override
+		public String toString() {
+			return "PreparedStatementCache.Statistics: hits=" + getHitCount() +
+					", misses=" + getMissCount() + ", evictions=" + getEvictionCount();
+		}
+	}
+
+
+	/**
+	 * Key of a cached statement: the arguments of the
+	 * {@code prepareStatement} variant that created it.
+	 */
+	private static final class StatementKey {
+
+		private final Object[] args;
+
+		private final int hashCode;
+
+		StatementKey(Object[] args) {
+			this.args = args.clone();
+			this.hashCode = Arrays.deepHashCode(this.args);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof StatementKey &&
+					Arrays.deepEquals(this.args, ((StatementKey) other).args)));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
+	/**
+	 * Invocation handler for the Connection proxy that serves
+	 * {@code prepareStatement} calls from this cache.
+	 */
+	private class CachingConnectionInvocationHandler implements InvocationHandler {
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "equals":
+					// Only considered as equal when proxies are identical.
+					return (proxy == args[0]);
+				case "hashCode":
+					// Use hashCode of Connection proxy.
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "Statement-caching proxy for target Connection [" + targetConnection + "]";
+				case "getTargetConnection":
+					return targetConnection;
+				case "close":
+					// The Connection is held by the ConnectionHolder: ignore.
+					return null;
+				case "prepareStatement":
+					return obtainStatement(new StatementKey(args), method, args);
+				case "unwrap":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return proxy;
+					}
+					break;
+				case "isWrapperFor":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return true;
+					}
+					break;
+			}
+			try {
+				return method.invoke(targetConnection, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+
+
+	/**
+	 * Invocation handler for a statement handed out by this cache,
+	 * returning the statement to this cache on close.
+	 */
+	private class CachedStatementInvocationHandler implements InvocationHandler {
+
+		private final StatementKey key;
+
+		private final PreparedStatement target;
+
+		@Nullable
+		private Map<Method, Object> modifiedSettings;
+
+		private boolean batched;
+
+		private boolean broken;
+
+		private boolean closed;
+
+		CachedStatementInvocationHandler(StatementKey key, PreparedStatement target) {
+			this.key = key;
+			this.target = target;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "equals":
+					// Only considered as equal when proxies are identical.
+					return (proxy == args[0]);
+				case "hashCode":
+					// Use hashCode of PreparedStatement proxy.
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "Cached PreparedStatement [" + this.target + "]";
+				case "isClosed":
+					return this.closed;
+				case "close":
+					if (!this.closed) {
+						this.closed = true;
+						release();
+					}
+					return null;
+				case "unwrap":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return proxy;
+					}
+					break;
+				case "isWrapperFor":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return true;
+					}
+					break;
+			}
+
+			if (this.closed) {
+				throw new SQLException("Statement handle already closed");
+			}
+			try {
+				if (method.getName().equals("addBatch")) {
+					this.batched = true;
+				}
+				else if (method.getName().startsWith("set") && args != null && args.length == 1 &&
+						method.getDeclaringClass() == Statement.class) {
+					rememberSetting(method);
+				}
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				if (ex.getTargetException() instanceof SQLException) {
+					this.broken = true;
+				}
+				throw ex.getTargetException();
+			}
+		}
+
+		private void rememberSetting(Method setter) throws Exception {
+			if (this.modifiedSettings == null) {
+				this.modifiedSettings = new LinkedHashMap<>(4);
+			}
+			if (!this.modifiedSettings.containsKey(setter)) {
+				String getterName = "get" + setter.getName().substring(3);
+				Object original;
+				try {
+					original = Statement.class.getMethod(getterName).invoke(this.target);
+				}
+				catch (NoSuchMethodException ex) {
+					// Write-only setting such as escape processing: cannot be restored.
+					this.broken = true;
+					return;
+				}
+				this.modifiedSettings.put(setter, original);
+			}
+		}
+
+		private void release() {
+			if (!this.broken) {
+				try {
+					this.target.clearParameters();
+					if (this.batched) {
+						this.target.clearBatch();
+					}
+					this.target.clearWarnings();
+					if (this.modifiedSettings != null) {
+						for (Map.Entry<Method, Object> entry : this.modifiedSettings.entrySet()) {
+							entry.getKey().invoke(this.target, entry.getValue());
+						}
+					}
+					releaseStatement(this.key, this.target);
+					return;
+				}
+				catch (Throwable ex) {
+					logger.trace("Could not reset cached JDBC PreparedStatement", ex);
+				}
+			}
+			closeStatement(this.target);
+		}
+	}
+
+}
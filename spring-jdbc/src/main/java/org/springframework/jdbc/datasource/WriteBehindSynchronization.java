@@ -0,0 +1,46 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+
+/**
+ * Transaction synchronization holding the updates deferred for a
+ * {@link ConnectionHolder} within a transaction with write-behind batching.
+ *
+ * <p>Exposes the position of the deferred updates, allowing the holder to
+ * discard the updates deferred after a Savepoint when rolling back to it.
+ *
+ * @since 5.3.3
+ * @see ConnectionHolder#setWriteBehindSynchronization
+ * @see DataSourceTransactionManager#setWriteBehindBatchSize
+ */
+public interface WriteBehindSynchronization extends TransactionSynchronization {
+
+	/**
+	 * Return the current position, i.e. the total number of updates
+	 * deferred so far (including updates that got flushed already).
+	 */
+	long getPosition();
+
+	/**
+	 * Discard any pending updates deferred after the given position.
+	 * @param position a position as returned by {@link #getPosition()}
+	 */
+	void discardAfter(long position);
+
+}
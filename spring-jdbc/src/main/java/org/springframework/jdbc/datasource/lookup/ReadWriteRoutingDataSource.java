@@ -0,0 +1,443 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * DataSource that routes read-only operations to a pool of read replicas and
+ * all other operations to the primary {@link #setTargetDataSource target DataSource}.
+ *
+ * <p>Builds on {@link LazyConnectionDataSourceProxy}: actual JDBC Connections are
+ * fetched lazily on first creation of a Statement, so that the read-only flag of a
+ * transaction is known at that point, in particular with {@code @Transactional(readOnly = true)}
+ * and {@link org.springframework.jdbc.datasource.DataSourceTransactionManager}.
+ * Connections marked as read-only or fetched within a read-only transaction are
+ * fetched from one of the replicas, as chosen by the configured
+ * {@link #setLoadBalancer ReplicaLoadBalancer} (round-robin by default).
+ *
+ * <p>A replica that fails to provide a Connection is taken out of rotation for the
+ * {@link #setFailureBackoff failure backoff} period, and the Connection is fetched
+ * from the next available replica instead. Replicas can also be checked actively
+ * through {@link #checkReplicas()}, e.g. on a fixed schedule, which validates a
+ * Connection and optionally measures the replication lag through a
+ * {@link #setReplicationLagQuery lag query}: replicas lagging behind more than
+ * the {@link #setMaxReplicationLag maximum replication lag} are not used either.
+ * If no replica is available, read-only Connections fall back to the primary.
+ *
+ * <p>A typical configuration looks as follows, with the transaction manager
+ * and the data access code pointing to the routing DataSource:
+ *
+ * <pre class="code">
+ * Map&lt;String, DataSource&gt; replicas = new LinkedHashMap&lt;&gt;();
+ * replicas.put("replica1", replica1DataSource);
+ * replicas.put("replica2", replica2DataSource);
+ * ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(primaryDataSource, replicas);
+ * dataSource.setLoadBalancer(ReplicaLoadBalancer.leastInFlight());
+ * dataSource.setMaxReplicationLag(Duration.ofSeconds(5));
+ * dataSource.setReplicationLagQuery(
+ *     "SELECT EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())");</pre>
+ *
+ * @since 5.3.3
+ * @see #setTargetDataSource
+ * @see #setReplicaDataSources
+ * @see LazyConnectionDataSourceProxy#setReadOnlyDataSource
+ * @see org.springframework.transaction.support.TransactionSynchronizationManager#isCurrentTransactionReadOnly()
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+	private static final Log logger = LogFactory.getLog(ReadWriteRoutingDataSource.class);
+
+
+	private List<Replica> replicas = Collections.emptyList();
+
+	private ReplicaLoadBalancer loadBalancer = ReplicaLoadBalancer.roundRobin();
+
+	private Duration failureBackoff = Duration.ofSeconds(30);
+
+	@Nullable
+	private Duration maxReplicationLag;
+
+	@Nullable
+	private String replicationLagQuery;
+
+	private int validationTimeout = 5;
+
+
+	/**
+	 * Create a new ReadWriteRoutingDataSource.
+	 * @see #setTargetDataSource
+	 * @see #setReplicaDataSources
+	 */
+	public ReadWriteRoutingDataSource() {
+		setReadOnlyDataSource(new ReplicaRoutingDataSource());
+	}
+
+	/**
+	 * Create a new ReadWriteRoutingDataSource.
+	 * @param primaryDataSource the DataSource for all operations that are not read-only
+	 * @param replicaDataSources the read replica DataSources, with their names as keys
+	 */
+	public ReadWriteRoutingDataSource(DataSource primaryDataSource, Map<String, DataSource> replicaDataSources) {
+		this();
+		setTargetDataSource(primaryDataSource);
+		setReplicaDataSources(replicaDataSources);
+		afterPropertiesSet();
+	}
+
+
+	/**
+	 * Specify the read replica DataSources, with their names as keys.
+	 * <p>An empty map routes all Connections to the primary DataSource.
+	 */
+	public void setReplicaDataSources(Map<String, DataSource> replicaDataSources) {
+		Assert.notNull(replicaDataSources, "Replica DataSources must not be null");
+		List<Replica> replicas = new ArrayList<>(replicaDataSources.size());
+		replicaDataSources.forEach((name, dataSource) -> replicas.add(new Replica(name, dataSource)));
+		this.replicas = Collections.unmodifiableList(replicas);
+	}
+
+	/**
+	 * Return the read replicas, with their current state.
+	 */
+	public List<Replica> getReplicas() {
+		return this.replicas;
+	}
+
+	/**
+	 * Set the strategy for choosing the replica to fetch a read-only Connection from.
+	 * <p>Default is {@link ReplicaLoadBalancer#roundRobin()}.
+	 * @see ReplicaLoadBalancer#leastInFlight()
+	 */
+	public void setLoadBalancer(ReplicaLoadBalancer loadBalancer) {
+		Assert.notNull(loadBalancer, "ReplicaLoadBalancer must not be null");
+		this.loadBalancer = loadBalancer;
+	}
+
+	/**
+	 * Set the period for which a replica is taken out of rotation after it failed
+	 * to provide a Connection or failed a {@link #checkReplicas() check}.
+	 * <p>Default is 30 seconds.
+	 */
+	public void setFailureBackoff(Duration failureBackoff) {
+		Assert.notNull(failureBackoff, "Failure backoff must not be null");
+		this.failureBackoff = failureBackoff;
+	}
+
+	/**
+	 * Set the maximum replication lag, as measured by the last
+	 * {@link #checkReplicas() check}, for a replica to be used.
+	 * <p>Default is none, using replicas regardless of their replication lag.
+	 * @see #setReplicationLagQuery
+	 */
+	public void setMaxReplicationLag(@Nullable Duration maxReplicationLag) {
+		this.maxReplicationLag = maxReplicationLag;
+	}
+
+	/**
+	 * Set the query that determines the replication lag of a replica in
+	 * {@link #checkReplicas()}, returning the lag in seconds as a number
+	 * in the first column of a single row.
+	 * <p>The query is database-specific, e.g.
+	 * {@code SELECT EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())}
+	 * on PostgreSQL. Default is none, not measuring the replication lag.
+	 * @see #setMaxReplicationLag
+	 */
+	public void setReplicationLagQuery(@Nullable String replicationLagQuery) {
+		this.replicationLagQuery = replicationLagQuery;
+	}
+
+	/**
+	 * Set the timeout in seconds for validating a replica Connection
+	 * in {@link #checkReplicas()}.
+	 * <p>Default is 5 seconds.
+	 * @see Connection#isValid(int)
+	 */
+	public void setValidationTimeout(int validationTimeout) {
+		this.validationTimeout = validationTimeout;
+	}
+
+
+	/**
+	 * Check all replicas, validating a Connection of each and measuring its
+	 * replication lag if a {@link #setReplicationLagQuery lag query} is set.
+	 * <p>Replicas that fail the check are taken out of rotation for the
+	 * {@link #setFailureBackoff failure backoff} period. This method is meant
+	 * to be invoked periodically, e.g. through a
+	 * {@link org.springframework.scheduling.TaskScheduler}.
+	 */
+	public void checkReplicas() {
+		for (Replica replica : this.replicas) {
+			try (Connection con = replica.getDataSource().getConnection()) {
+				if (!con.isValid(this.validationTimeout)) {
+					logger.warn("Read replica '" + replica.getName() + "' failed validation");
+					replica.markUnavailable(this.failureBackoff);
+					continue;
+				}
+				replica.markAvailable(determineReplicationLag(con));
+			}
+			catch (SQLException ex) {
+				logger.warn("Read replica '" + replica.getName() + "' failed check", ex);
+				replica.markUnavailable(this.failureBackoff);
+			}
+		}
+	}
+
+	@Nullable
+	private Duration determineReplicationLag(Connection con) throws SQLException {
+		if (this.replicationLagQuery == null) {
+			return null;
+		}
+		try (Statement stmt = con.createStatement(); ResultSet rs = stmt.executeQuery(this.replicationLagQuery)) {
+			if (rs.next()) {
+				double seconds = rs.getDouble(1);
+				if (!rs.wasNull()) {
+					return Duration.ofMillis((long) (seconds * 1000));
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Fetch a read-only Connection from one of the available replicas,
+	 * falling back to the primary DataSource if none is available.
+	 */
+	private Connection getReplicaConnection(@Nullable String username, @Nullable String password)
+			throws SQLException {
+
+		List<Replica> candidates = new ArrayList<>(this.replicas.size());
+		for (Replica replica : this.replicas) {
+			if (replica.isAvailable(this.maxReplicationLag)) {
+				candidates.add(replica);
+			}
+		}
+		while (!candidates.isEmpty()) {
+			Replica replica = this.loadBalancer.choose(candidates);
+			try {
+				return replica.getConnection(username, password);
+			}
+			catch (SQLException ex) {
+				logger.warn("Failed to obtain Connection from read replica '" + replica.getName() + "'", ex);
+				replica.markUnavailable(this.failureBackoff);
+				candidates.remove(replica);
+			}
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("No read replica available - fetching read-only Connection from primary DataSource");
+		}
+		DataSource primary = obtainTargetDataSource();
+		return (username != null ? primary.getConnection(username, password) : primary.getConnection());
+	}
+
+
+	/**
+	 * A read replica of a {@link ReadWriteRoutingDataSource}, exposing its current state.
+	 */
+	public static final class Replica {
+
+		private final String name;
+
+		private final DataSource dataSource;
+
+		private final AtomicInteger inFlightCount = new AtomicInteger();
+
+		private volatile boolean unavailable;
+
+		private volatile long unavailableUntil;
+
+		@Nullable
+		private volatile Duration replicationLag;
+
+		Replica(String name, DataSource dataSource) {
+			Assert.notNull(dataSource, "Replica DataSource must not be null");
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+
+		/**
+		 * Return the name of this replica.
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return the DataSource of this replica.
+		 */
+		public DataSource getDataSource() {
+			return this.dataSource;
+		}
+
+		/**
+		 * Return the number of Connections of this replica currently in use.
+		 */
+		public int getInFlightCount() {
+			return this.inFlightCount.get();
+		}
+
+		/**
+		 * Return whether this replica is in rotation, i.e. has not failed
+		 * recently (within the failure backoff period).
+		 */
+		public boolean isHealthy() {
+			return (!this.unavailable || System.nanoTime() - this.unavailableUntil >= 0);
+		}
+
+		/**
+		 * Return the replication lag as measured by the last check, if any.
+		 */
+		@Nullable
+		public Duration getReplicationLag() {
+			return this.replicationLag;
+		}
+
+		boolean isAvailable(@Nullable Duration maxReplicationLag) {
+			Duration lag = this.replicationLag;
+			return (isHealthy() && (maxReplicationLag == null || lag == null || lag.compareTo(maxReplicationLag) <= 0));
+		}
+
+		void markAvailable(@Nullable Duration replicationLag) {
+			this.replicationLag = replicationLag;
+			this.unavailable = false;
+		}
+
+		void markUnavailable(Duration backoff) {
+			this.unavailableUntil = System.nanoTime() + backoff.toNanos();
+			this.unavailable = true;
+		}
+
+		Connection getConnection(@Nullable String username, @Nullable String password) throws SQLException {
+			Connection con = (username != null ?
+					this.dataSource.getConnection(username, password) : this.dataSource.getConnection());
+			this.unavailable = false;
+			this.inFlightCount.incrementAndGet();
+			return (Connection) Proxy.newProxyInstance(
+					ConnectionProxy.class.getClassLoader(),
+					new Class<?>[] {ConnectionProxy.class},
+					new InFlightConnectionInvocationHandler(con, this.inFlightCount));
+		}
+
+		@Override
+		public String toString() {
+			return "Replica '" + this.name + "': healthy=" + isHealthy() + ", inFlight=" + getInFlightCount() +
+					", replicationLag=" + this.replicationLag;
+		}
+	}
+
+
+	/**
+	 * DataSource exposing the replicas as read-only DataSource
+	 * of the {@link LazyConnectionDataSourceProxy}.
+	 */
+	private class ReplicaRoutingDataSource extends AbstractDataSource {
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			return getReplicaConnection(null, null);
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return getReplicaConnection(username, password);
+		}
+
+		@Override
+		public String toString() {
+			return "Read replicas " + replicas;
+		}
+	}
+
+
+	/**
+	 * Invocation handler that keeps track of the Connections of a replica in use.
+	 */
+	private static class InFlightConnectionInvocationHandler implements InvocationHandler {
+
+		private final Connection target;
+
+		private final AtomicInteger inFlightCount;
+
+		private boolean closed;
+
+		InFlightConnectionInvocationHandler(Connection target, AtomicInteger inFlightCount) {
+			this.target = target;
+			this.inFlightCount = inFlightCount;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "equals":
+					return (proxy == args[0]);
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "getTargetConnection":
+					return this.target;
+				case "unwrap":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return proxy;
+					}
+					break;
+				case "isWrapperFor":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return true;
+					}
+					break;
+				case "close":
+					if (!this.closed) {
+						this.closed = true;
+						this.inFlightCount.decrementAndGet();
+					}
+					break;
+			}
+
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+
+}
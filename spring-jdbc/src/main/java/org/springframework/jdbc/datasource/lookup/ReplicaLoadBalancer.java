@@ -0,0 +1,72 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.jdbc.datasource.lookup.ReadWriteRoutingDataSource.Replica;
+
+/**
+ * Strategy for choosing the read replica that a {@link ReadWriteRoutingDataSource}
+ * fetches the next read-only Connection from.
+ *
+ * @since 5.3.3
+ * @see ReadWriteRoutingDataSource#setLoadBalancer
+ */
+@FunctionalInterface
+public interface ReplicaLoadBalancer {
+
+	/**
+	 * Choose one of the given replicas.
+	 * @param replicas the currently available replicas (never empty)
+	 * @return the chosen replica (one of the given replicas)
+	 */
+	Replica choose(List<Replica> replicas);
+
+
+	/**
+	 * Return a load balancer that cycles through the available replicas.
+	 */
+	static ReplicaLoadBalancer roundRobin() {
+		AtomicInteger counter = new AtomicInteger();
+		return replicas -> replicas.get(Math.floorMod(counter.getAndIncrement(), replicas.size()));
+	}
+
+	/**
+	 * Return a load balancer that chooses the replica with the fewest
+	 * Connections currently in use, cycling through replicas with the
+	 * same number of Connections in use.
+	 * @see Replica#getInFlightCount()
+	 */
+	static ReplicaLoadBalancer leastInFlight() {
+		AtomicInteger counter = new AtomicInteger();
+		return replicas -> {
+			int size = replicas.size();
+			int offset = Math.floorMod(counter.getAndIncrement(), size);
+			Replica chosen = null;
+			for (int i = 0; i < size; i++) {
+				Replica candidate = replicas.get((offset + i) % size);
+				if (chosen == null || candidate.getInFlightCount() < chosen.getInFlightCount()) {
+					chosen = candidate;
+				}
+			}
+			return chosen;
+		};
+	}
+
+}
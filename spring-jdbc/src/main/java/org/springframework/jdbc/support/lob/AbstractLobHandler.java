@@ -16,12 +16,22 @@
 
 package org.springframework.jdbc.support.lob;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.nio.channels.WritableByteChannel;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Consumer;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
 
 /**
  * Abstract base class for {@link LobHandler} implementations.
@@ -29,12 +39,47 @@ import org.springframework.lang.Nullable;
  * <p>Implements all accessor methods for column names through a column lookup
  * and delegating to the corresponding accessor that takes a column index.
  *
+ * <p>Copies LOB content to OutputStreams, channels and DataBuffers in chunks
+ * of a configurable {@link #setStreamChunkSize stream chunk size}, reusing
+ * a bounded pool of transfer buffers across copy operations.
+ *
  * @author Juergen Hoeller
  * @since 1.2
  * @see java.sql.ResultSet#findColumn
  */
 public abstract class AbstractLobHandler implements LobHandler {
 
+	private static final int TRANSFER_BUFFER_POOL_SIZE = 16;
+
+
+	private int streamChunkSize = StreamUtils.BUFFER_SIZE;
+
+	private final Queue<byte[]> transferBuffers = new ArrayBlockingQueue<>(TRANSFER_BUFFER_POOL_SIZE);
+
+
+	/**
+	 * Set the chunk size to use when copying LOB content to an OutputStream,
+	 * a channel or DataBuffers, i.e. the size of the transfer buffer as well
+	 * as the capacity of each DataBuffer handed out.
+	 * <p>Default is 4096 bytes.
+	 * @since 5.3.3
+	 * @see #copyBlobTo(ResultSet, int, OutputStream)
+	 * @see #copyBlobTo(ResultSet, int, DataBufferFactory, Consumer)
+	 */
+	public void setStreamChunkSize(int streamChunkSize) {
+		Assert.isTrue(streamChunkSize > 0, "Stream chunk size must be greater than 0");
+		this.streamChunkSize = streamChunkSize;
+	}
+
+	/**
+	 * Return the chunk size to use when copying LOB content.
+	 * @since 5.3.3
+	 */
+	public int getStreamChunkSize() {
+		return this.streamChunkSize;
+	}
+
+
 	@Override
 	@Nullable
 	public byte[] getBlobAsBytes(ResultSet rs, String columnName) throws SQLException {
@@ -64,4 +109,70 @@ public abstract class AbstractLobHandler implements LobHandler {
 		return getClobAsCharacterStream(rs, rs.findColumn(columnName));
 	}
 
+	@Override
+	public long copyBlobTo(ResultSet rs, int columnIndex, OutputStream out) throws SQLException, IOException {
+		InputStream in = getBlobAsBinaryStream(rs, columnIndex);
+		if (in == null) {
+			return -1;
+		}
+		byte[] buffer = obtainTransferBuffer();
+		try {
+			return LobStreamUtils.copy(in, out, buffer);
+		}
+		finally {
+			releaseTransferBuffer(buffer);
+		}
+	}
+
+	@Override
+	public long copyBlobTo(ResultSet rs, int columnIndex, WritableByteChannel channel)
+			throws SQLException, IOException {
+
+		InputStream in = getBlobAsBinaryStream(rs, columnIndex);
+		if (in == null) {
+			return -1;
+		}
+		byte[] buffer = obtainTransferBuffer();
+		try {
+			return LobStreamUtils.copy(in, channel, buffer);
+		}
+		finally {
+			releaseTransferBuffer(buffer);
+		}
+	}
+
+	@Override
+	public long copyBlobTo(ResultSet rs, int columnIndex, DataBufferFactory bufferFactory,
+			Consumer<? super DataBuffer> consumer) throws SQLException, IOException {
+
+		InputStream in = getBlobAsBinaryStream(rs, columnIndex);
+		if (in == null) {
+			return -1;
+		}
+		byte[] buffer = obtainTransferBuffer();
+		try {
+			return LobStreamUtils.copy(in, bufferFactory, buffer.length, consumer, buffer);
+		}
+		finally {
+			releaseTransferBuffer(buffer);
+		}
+	}
+
+	private byte[] obtainTransferBuffer() {
+		int chunkSize = this.streamChunkSize;
+		byte[] buffer;
+		while ((buffer = this.transferBuffers.poll()) != null) {
+			if (buffer.length == chunkSize) {
+				return buffer;
+			}
+		}
+		return new byte[chunkSize];
+	}
+
+	private void releaseTransferBuffer(byte[] buffer) {
+		if (buffer.length == this.streamChunkSize) {
+			this.transferBuffers.offer(buffer);
+		}
+	}
+
 }
@@ -16,12 +16,19 @@
 
 package org.springframework.jdbc.support.lob;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.nio.channels.WritableByteChannel;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.function.Consumer;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 
 /**
  * Abstraction for handling large binary fields and large text fields in
@@ -127,6 +134,124 @@ public interface LobHandler {
 	@Nullable
 	InputStream getBlobAsBinaryStream(ResultSet rs, int columnIndex) throws SQLException;
 
+	/**
+	 * Copy the given column from the given ResultSet to the given OutputStream,
+	 * in chunks, without materializing the entire content.
+	 * @param rs the ResultSet to retrieve the content from
+	 * @param columnName the column name to use
+	 * @param out the OutputStream to copy to (left open)
+	 * @return the number of bytes copied, or -1 in case of SQL NULL
+	 * @throws SQLException if thrown by JDBC methods
+	 * @throws IOException in case of I/O errors
+	 * @since 5.3.3
+	 * @see #copyBlobTo(ResultSet, int, OutputStream)
+	 */
+	default long copyBlobTo(ResultSet rs, String columnName, OutputStream out) throws SQLException, IOException {
+		return copyBlobTo(rs, rs.findColumn(columnName), out);
+	}
+
+	/**
+	 * Copy the given column from the given ResultSet to the given OutputStream,
+	 * in chunks, without materializing the entire content.
+	 * <p>The default implementation copies the {@link #getBlobAsBinaryStream
+	 * binary stream} through a transfer buffer.
+	 * @param rs the ResultSet to retrieve the content from
+	 * @param columnIndex the column index to use
+	 * @param out the OutputStream to copy to (left open)
+	 * @return the number of bytes copied, or -1 in case of SQL NULL
+	 * @throws SQLException if thrown by JDBC methods
+	 * @throws IOException in case of I/O errors
+	 * @since 5.3.3
+	 */
+	default long copyBlobTo(ResultSet rs, int columnIndex, OutputStream out) throws SQLException, IOException {
+		InputStream in = getBlobAsBinaryStream(rs, columnIndex);
+		return (in != null ? LobStreamUtils.copy(in, out, new byte[StreamUtils.BUFFER_SIZE]) : -1);
+	}
+
+	/**
+	 * Copy the given column from the given ResultSet to the given channel,
+	 * in chunks, without materializing the entire content.
+	 * @param rs the ResultSet to retrieve the content from
+	 * @param columnName the column name to use
+	 * @param channel the channel to copy to (left open)
+	 * @return the number of bytes copied, or -1 in case of SQL NULL
+	 * @throws SQLException if thrown by JDBC methods
+	 * @throws IOException in case of I/O errors
+	 * @since 5.3.3
+	 * @see #copyBlobTo(ResultSet, int, WritableByteChannel)
+	 */
+	default long copyBlobTo(ResultSet rs, String columnName, WritableByteChannel channel)
+			throws SQLException, IOException {
+
+		return copyBlobTo(rs, rs.findColumn(columnName), channel);
+	}
+
+	/**
+	 * Copy the given column from the given ResultSet to the given channel,
+	 * in chunks, without materializing the entire content.
+	 * <p>The default implementation copies the {@link #getBlobAsBinaryStream
+	 * binary stream} through a transfer buffer.
+	 * @param rs the ResultSet to retrieve the content from
+	 * @param columnIndex the column index to use
+	 * @param channel the channel to copy to (left open)
+	 * @return the number of bytes copied, or -1 in case of SQL NULL
+	 * @throws SQLException if thrown by JDBC methods
+	 * @throws IOException in case of I/O errors
+	 * @since 5.3.3
+	 */
+	default long copyBlobTo(ResultSet rs, int columnIndex, WritableByteChannel channel)
+			throws SQLException, IOException {
+
+		InputStream in = getBlobAsBinaryStream(rs, columnIndex);
+		return (in != null ? LobStreamUtils.copy(in, channel, new byte[StreamUtils.BUFFER_SIZE]) : -1);
+	}
+
+	/**
+	 * Copy the given column from the given ResultSet into DataBuffers,
+	 * in chunks, without materializing the entire content.
+	 * @param rs the ResultSet to retrieve the content from
+	 * @param columnName the column name to use
+	 * @param bufferFactory the factory to allocate DataBuffers from
+	 * @param consumer the consumer to hand each filled DataBuffer to,
+	 * taking over the responsibility for releasing it
+	 * @return the number of bytes copied, or -1 in case of SQL NULL
+	 * @throws SQLException if thrown by JDBC methods
+	 * @throws IOException in case of I/O errors
+	 * @since 5.3.3
+	 * @see #copyBlobTo(ResultSet, int, DataBufferFactory, Consumer)
+	 */
+	default long copyBlobTo(ResultSet rs, String columnName, DataBufferFactory bufferFactory,
+			Consumer<? super DataBuffer> consumer) throws SQLException, IOException {
+
+		return copyBlobTo(rs, rs.findColumn(columnName), bufferFactory, consumer);
+	}
+
+	/**
+	 * Copy the given column from the given ResultSet into DataBuffers,
+	 * in chunks, without materializing the entire content.
+	 * <p>Each DataBuffer gets handed to the given consumer as soon as it is
+	 * filled, e.g. to a {@code FluxSink} for a {@code Flux} created around
+	 * the query, given that the ResultSet is only valid during the query.
+	 * <p>The default implementation copies the {@link #getBlobAsBinaryStream
+	 * binary stream} through a transfer buffer.
+	 * @param rs the ResultSet to retrieve the content from
+	 * @param columnIndex the column index to use
+	 * @param bufferFactory the factory to allocate DataBuffers from
+	 * @param consumer the consumer to hand each filled DataBuffer to,
+	 * taking over the responsibility for releasing it
+	 * @return the number of bytes copied, or -1 in case of SQL NULL
+	 * @throws SQLException if thrown by JDBC methods
+	 * @throws IOException in case of I/O errors
+	 * @since 5.3.3
+	 */
+	default long copyBlobTo(ResultSet rs, int columnIndex, DataBufferFactory bufferFactory,
+			Consumer<? super DataBuffer> consumer) throws SQLException, IOException {
+
+		InputStream in = getBlobAsBinaryStream(rs, columnIndex);
+		return (in != null ? LobStreamUtils.copy(in, bufferFactory, StreamUtils.BUFFER_SIZE, consumer,
+				new byte[StreamUtils.BUFFER_SIZE]) : -1);
+	}
+
 	/**
 	 * Retrieve the given column as String from the given ResultSet.
 	 * Might simply invoke {@code ResultSet.getString} or work with
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.lob;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.Consumer;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBuffer;
+
+/**
+ * Helper methods for copying LOB content from a JDBC stream to a target
+ * in chunks, through a given transfer buffer, without materializing the
+ * entire content. All methods close the given InputStream when done.
+ *
+ * @since 5.3.3
+ * @see LobHandler#copyBlobTo(java.sql.ResultSet, int, OutputStream)
+ */
+abstract class LobStreamUtils {
+
+	/**
+	 * Copy the given InputStream to the given OutputStream.
+	 * @return the number of bytes copied
+	 */
+	static long copy(InputStream in, OutputStream out, byte[] buffer) throws IOException {
+		try (InputStream input = in) {
+			long byteCount = 0;
+			int bytesRead;
+			while ((bytesRead = input.read(buffer)) != -1) {
+				out.write(buffer, 0, bytesRead);
+				byteCount += bytesRead;
+			}
+			out.flush();
+			return byteCount;
+		}
+	}
+
+	/**
+	 * Copy the given InputStream to the given channel.
+	 * @return the number of bytes copied
+	 */
+	static long copy(InputStream in, WritableByteChannel channel, byte[] buffer) throws IOException {
+		try (InputStream input = in) {
+			ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+			long byteCount = 0;
+			int bytesRead;
+			while ((bytesRead = input.read(buffer)) != -1) {
+				byteBuffer.clear();
+				byteBuffer.limit(bytesRead);
+				while (byteBuffer.hasRemaining()) {
+					channel.write(byteBuffer);
+				}
+				byteCount += bytesRead;
+			}
+			return byteCount;
+		}
+	}
+
+	/**
+	 * Copy the given InputStream into DataBuffers of the given chunk size,
+	 * handing each filled DataBuffer to the given consumer.
+	 * @return the number of bytes copied
+	 */
+	static long copy(InputStream in, DataBufferFactory bufferFactory, int chunkSize,
+			Consumer<? super DataBuffer> consumer, byte[] buffer) throws IOException {
+
+		try (InputStream input = in) {
+			long byteCount = 0;
+			boolean endOfStream = false;
+			while (!endOfStream) {
+				DataBuffer dataBuffer = bufferFactory.allocateBuffer(chunkSize);
+				int filled = 0;
+				try {
+					while (filled < chunkSize) {
+						int bytesRead = input.read(buffer, 0, Math.min(buffer.length, chunkSize - filled));
+						if (bytesRead == -1) {
+							endOfStream = true;
+							break;
+						}
+						dataBuffer.write(buffer, 0, bytesRead);
+						filled += bytesRead;
+					}
+				}
+				catch (IOException | RuntimeException ex) {
+					release(dataBuffer);
+					throw ex;
+				}
+				if (filled > 0) {
+					byteCount += filled;
+					consumer.accept(dataBuffer);
+				}
+				else {
+					release(dataBuffer);
+				}
+			}
+			return byteCount;
+		}
+	}
+
+	private static void release(DataBuffer dataBuffer) {
+		if (dataBuffer instanceof PooledDataBuffer) {
+			((PooledDataBuffer) dataBuffer).release();
+		}
+	}
+
+}
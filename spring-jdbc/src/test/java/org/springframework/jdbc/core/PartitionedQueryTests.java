@@ -0,0 +1,195 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for partitioned queries through {@link JdbcTemplate} and
+ * {@link NamedParameterJdbcTemplate}.
+ *
+ * @since 5.3.3
+ */
+class PartitionedQueryTests {
+
+	private final DataSource dataSource = mock(DataSource.class);
+
+	private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+	private final Set<String> preparedSql = ConcurrentHashMap.newKeySet();
+
+	private final List<List<Object>> boundParameters = Collections.synchronizedList(new ArrayList<>());
+
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+
+	private Function<List<Object>, List<Long>> rows = this::keyRange;
+
+
+	@BeforeEach
+	void setup() throws Exception {
+		given(this.dataSource.getConnection()).willAnswer(invocation -> createConnection());
+	}
+
+
+	@Test
+	void keyRanges() {
+		List<QueryPartition> partitions = PartitionStrategy.keyRanges(1, 10, 3).getPartitions();
+		assertThat(partitions).extracting(partition -> partition.getArguments()[0]).containsExactly(1L, 5L, 8L);
+		assertThat(partitions).extracting(partition -> partition.getArguments()[1]).containsExactly(5L, 8L, 11L);
+		assertThat(partitions.get(2).getParameters()).containsEntry("partitionStart", 8L).containsEntry("partitionEnd", 11L);
+		assertThat(PartitionStrategy.keyRanges(1, 2, 4).getPartitions()).hasSize(2);
+	}
+
+	@Test
+	void moduloAndValues() {
+		List<QueryPartition> partitions = PartitionStrategy.modulo(3).getPartitions();
+		assertThat(partitions).extracting(QueryPartition::getIndex).containsExactly(0, 1, 2);
+		assertThat(partitions.get(1).getArguments()).containsExactly(3, 1);
+		assertThat(PartitionStrategy.values("a", "b").getPartitions())
+				.extracting(partition -> partition.getParameters().get("partitionValue")).containsExactly("a", "b");
+	}
+
+	@Test
+	void collectInPartitionOrder() throws Exception {
+		List<Long> ids = this.jdbcTemplate.queryPartitioned("SELECT ID FROM ITEM WHERE ID >= ? AND ID < ?",
+				PartitionStrategy.keyRanges(1, 1000, 8), 3, (rs, rowNum) -> rs.getLong(1), Collectors.toList());
+
+		assertThat(ids).isEqualTo(LongStream.rangeClosed(1, 1000).boxed().collect(Collectors.toList()));
+		assertThat(this.connections).hasSize(8);
+		for (Connection con : this.connections) {
+			verify(con).close();
+		}
+	}
+
+	@Test
+	void rowCallbackHandlerWithArgumentsAndExecutor() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		this.jdbcTemplate.setPartitionExecutor(executor);
+		List<Long> ids = new ArrayList<>();
+		try {
+			this.jdbcTemplate.queryPartitioned("SELECT ID FROM ITEM WHERE STATUS = ? AND ID >= ? AND ID < ?",
+					PartitionStrategy.keyRanges(1, 500, 5), 4, rs -> {
+						ids.add(rs.getLong(1));
+					}, "active");
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		Collections.sort(ids);
+		assertThat(ids).isEqualTo(LongStream.rangeClosed(1, 500).boxed().collect(Collectors.toList()));
+		assertThat(this.boundParameters).hasSize(5).allSatisfy(params ->
+				assertThat(params.get(0)).isEqualTo("active"));
+	}
+
+	@Test
+	void failingPartitionAbortsQuery() {
+		AtomicInteger queried = new AtomicInteger();
+		this.rows = params -> (queried.incrementAndGet() == 2 ? null : keyRange(params));
+
+		assertThatExceptionOfType(DataAccessException.class).isThrownBy(() ->
+				this.jdbcTemplate.queryPartitioned("SELECT ID FROM ITEM WHERE ID >= ? AND ID < ?",
+						PartitionStrategy.keyRanges(1, 100, 10), 1, (rs, rowNum) -> rs.getLong(1), Collectors.toList()));
+		assertThat(queried.get()).isEqualTo(2);
+	}
+
+	@Test
+	void namedParameters() {
+		this.rows = params -> Collections.singletonList(((String) params.get(1)).equals("north") ? 1L : 2L);
+		NamedParameterJdbcTemplate namedTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
+
+		List<Long> ids = namedTemplate.queryPartitioned(
+				"SELECT ID FROM ITEM WHERE STATUS = :status AND REGION = :partitionValue",
+				PartitionStrategy.values("north", "south"), 2, new MapSqlParameterSource("status", "active"),
+				(rs, rowNum) -> rs.getLong(1), Collectors.toList());
+
+		assertThat(ids).containsExactly(1L, 2L);
+		assertThat(this.boundParameters).extracting(params -> params.get(0)).containsOnly("active");
+		assertThat(this.preparedSql).containsOnly("SELECT ID FROM ITEM WHERE STATUS = ? AND REGION = ?");
+	}
+
+
+	private List<Long> keyRange(List<Object> params) {
+		long start = (Long) params.get(params.size() - 2);
+		long end = (Long) params.get(params.size() - 1);
+		return LongStream.range(start, end).boxed().collect(Collectors.toList());
+	}
+
+	private Connection createConnection() throws SQLException {
+		Connection con = mock(Connection.class);
+		PreparedStatement ps = mock(PreparedStatement.class);
+		List<Object> params = new ArrayList<>();
+		given(con.prepareStatement(anyString())).willAnswer(invocation -> {
+			this.preparedSql.add(invocation.getArgument(0));
+			this.boundParameters.add(params);
+			return ps;
+		});
+		willAnswer(invocation -> params.add(invocation.getArgument(1))).given(ps).setObject(anyInt(), any());
+		willAnswer(invocation -> params.add(invocation.getArgument(1))).given(ps).setString(anyInt(), any());
+		given(ps.executeQuery()).willAnswer(invocation -> {
+			List<Long> values = this.rows.apply(params);
+			if (values == null) {
+				throw new SQLException("failure");
+			}
+			return createResultSet(values);
+		});
+		this.connections.add(con);
+		return con;
+	}
+
+	private ResultSet createResultSet(List<Long> values) throws SQLException {
+		ResultSet rs = mock(ResultSet.class);
+		AtomicInteger row = new AtomicInteger(-1);
+		given(rs.next()).willAnswer(invocation -> row.incrementAndGet() < values.size());
+		given(rs.getLong(1)).willAnswer(invocation -> values.get(row.get()));
+		return rs;
+	}
+
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Savepoint;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for write-behind batching of {@link JdbcTemplate} updates within
+ * transactions of a {@link DataSourceTransactionManager}.
+ *
+ * @since 5.3.3
+ */
+class WriteBehindBatchTests {
+
+	private static final String UPDATE_SQL = "UPDATE ITEM SET NAME = ? WHERE ID = ?";
+
+	private static final String INSERT_SQL = "INSERT INTO ITEM (ID, NAME) VALUES (?, ?)";
+
+	private final DataSource dataSource = mock(DataSource.class);
+
+	private final Connection connection = mock(Connection.class);
+
+	private final PreparedStatement updateStatement = mock(PreparedStatement.class);
+
+	private final PreparedStatement insertStatement = mock(PreparedStatement.class);
+
+	private final Statement statement = mock(Statement.class);
+
+	private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(this.dataSource);
+
+	private final TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+
+
+	@BeforeEach
+	void setup() throws Exception {
+		DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+		given(metaData.supportsBatchUpdates()).willReturn(true);
+		given(metaData.supportsSavepoints()).willReturn(true);
+		given(this.dataSource.getConnection()).willReturn(this.connection);
+		given(this.connection.getMetaData()).willReturn(metaData);
+		given(this.connection.prepareStatement(UPDATE_SQL)).willReturn(this.updateStatement);
+		given(this.connection.prepareStatement(INSERT_SQL)).willReturn(this.insertStatement);
+		given(this.connection.createStatement()).willReturn(this.statement);
+		given(this.updateStatement.getConnection()).willReturn(this.connection);
+		given(this.insertStatement.getConnection()).willReturn(this.connection);
+		given(this.updateStatement.executeBatch()).willReturn(new int[] {1, 1, 1});
+		given(this.insertStatement.executeBatch()).willReturn(new int[] {1});
+		this.transactionManager.setWriteBehindBatchSize(100);
+	}
+
+	@AfterEach
+	void verifyTransactionSynchronizationManagerState() {
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+		assertThat(TransactionSynchronizationManager.isSynchronizationActive()).isFalse();
+	}
+
+
+	@Test
+	void sameSqlUpdatesBatchedUntilCommit() throws Exception {
+		this.transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < 3; i++) {
+				assertThat(this.jdbcTemplate.update(UPDATE_SQL, "name" + i, i)).isEqualTo(Statement.SUCCESS_NO_INFO);
+			}
+			try {
+				verify(this.connection, never()).prepareStatement(anyString());
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+		});
+
+		InOrder ordered = inOrder(this.connection, this.updateStatement);
+		ordered.verify(this.connection).prepareStatement(UPDATE_SQL);
+		ordered.verify(this.updateStatement).setString(1, "name0");
+		ordered.verify(this.updateStatement, times(3)).addBatch();
+		ordered.verify(this.updateStatement).executeBatch();
+		ordered.verify(this.updateStatement).close();
+		ordered.verify(this.connection).commit();
+		verify(this.updateStatement, never()).executeUpdate();
+		verify(this.connection).close();
+	}
+
+	@Test
+	void differentSqlAndOtherStatementsFlushInOrder() throws Exception {
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.jdbcTemplate.update(UPDATE_SQL, "a", 1);
+			this.jdbcTemplate.update(UPDATE_SQL, "b", 2);
+			this.jdbcTemplate.update(INSERT_SQL, 3, "c");
+			this.jdbcTemplate.execute("DELETE FROM AUDIT");
+		});
+
+		InOrder ordered = inOrder(this.connection, this.updateStatement, this.insertStatement, this.statement);
+		ordered.verify(this.updateStatement).executeBatch();
+		ordered.verify(this.connection).prepareStatement(INSERT_SQL);
+		ordered.verify(this.insertStatement).executeBatch();
+		ordered.verify(this.statement).execute("DELETE FROM AUDIT");
+		ordered.verify(this.connection).commit();
+		verify(this.updateStatement, times(2)).addBatch();
+		verify(this.insertStatement, times(1)).addBatch();
+	}
+
+	@Test
+	void batchSizeLimit() throws Exception {
+		this.transactionManager.setWriteBehindBatchSize(2);
+		this.transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < 5; i++) {
+				this.jdbcTemplate.update(UPDATE_SQL, "name" + i, i);
+			}
+		});
+
+		verify(this.connection, times(3)).prepareStatement(UPDATE_SQL);
+		verify(this.updateStatement, times(5)).addBatch();
+		verify(this.updateStatement, times(3)).executeBatch();
+		verify(this.connection).commit();
+	}
+
+	@Test
+	void flushBeforeSavepoint() throws Exception {
+		Savepoint savepoint = mock(Savepoint.class);
+		given(this.connection.setSavepoint(anyString())).willReturn(savepoint);
+		TransactionTemplate nested = new TransactionTemplate(this.transactionManager);
+		nested.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.jdbcTemplate.update(UPDATE_SQL, "a", 1);
+			nested.executeWithoutResult(nestedStatus -> this.jdbcTemplate.update(INSERT_SQL, 2, "b"));
+		});
+
+		InOrder ordered = inOrder(this.connection, this.updateStatement, this.insertStatement);
+		ordered.verify(this.updateStatement).executeBatch();
+		ordered.verify(this.connection).setSavepoint("SAVEPOINT_1");
+		ordered.verify(this.insertStatement).executeBatch();
+		ordered.verify(this.connection).commit();
+	}
+
+	@Test
+	void discardedOnNestedRollback() throws Exception {
+		Savepoint savepoint = mock(Savepoint.class);
+		given(this.connection.setSavepoint(anyString())).willReturn(savepoint);
+		TransactionTemplate nested = new TransactionTemplate(this.transactionManager);
+		nested.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.jdbcTemplate.update(UPDATE_SQL, "a", 1);
+			nested.executeWithoutResult(nestedStatus -> {
+				this.jdbcTemplate.update(INSERT_SQL, 2, "b");
+				nestedStatus.setRollbackOnly();
+			});
+			this.jdbcTemplate.update(UPDATE_SQL, "c", 3);
+		});
+
+		InOrder ordered = inOrder(this.connection, this.updateStatement);
+		ordered.verify(this.updateStatement).executeBatch();
+		ordered.verify(this.connection).setSavepoint("SAVEPOINT_1");
+		ordered.verify(this.connection).rollback(savepoint);
+		ordered.verify(this.updateStatement).executeBatch();
+		ordered.verify(this.connection).commit();
+		verify(this.connection, never()).prepareStatement(INSERT_SQL);
+		verify(this.updateStatement, times(2)).addBatch();
+	}
+
+	@Test
+	void discardedOnManualSavepointRollback() throws Exception {
+		Savepoint savepoint1 = mock(Savepoint.class);
+		Savepoint savepoint2 = mock(Savepoint.class);
+		given(this.connection.setSavepoint(anyString())).willReturn(savepoint1, savepoint2);
+
+		this.transactionTemplate.executeWithoutResult(status -> {
+			Object beforeUpdates = status.createSavepoint();
+			this.jdbcTemplate.update(UPDATE_SQL, "a", 1);
+			this.jdbcTemplate.update(UPDATE_SQL, "b", 2);
+			status.rollbackToSavepoint(beforeUpdates);
+			Object beforeInsert = status.createSavepoint();
+			this.jdbcTemplate.update(INSERT_SQL, 3, "c");
+			status.releaseSavepoint(beforeInsert);
+		});
+
+		InOrder ordered = inOrder(this.connection, this.insertStatement);
+		ordered.verify(this.connection).rollback(savepoint1);
+		ordered.verify(this.connection).setSavepoint("SAVEPOINT_2");
+		ordered.verify(this.connection).releaseSavepoint(savepoint2);
+		ordered.verify(this.insertStatement).executeBatch();
+		ordered.verify(this.connection).commit();
+		verify(this.connection, never()).prepareStatement(UPDATE_SQL);
+		verify(this.insertStatement, times(1)).addBatch();
+	}
+
+	@Test
+	void discardedOnRollback() throws Exception {
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.jdbcTemplate.update(UPDATE_SQL, "a", 1);
+			status.setRollbackOnly();
+		});
+
+		verify(this.connection, never()).prepareStatement(anyString());
+		verify(this.connection).rollback();
+		verify(this.connection).close();
+	}
+
+	@Test
+	void notDeferredWithoutBatchSize() throws Exception {
+		given(this.updateStatement.executeUpdate()).willReturn(1);
+		this.transactionManager.setWriteBehindBatchSize(0);
+		this.transactionTemplate.executeWithoutResult(status ->
+				assertThat(this.jdbcTemplate.update(UPDATE_SQL, "a", 1)).isEqualTo(1));
+
+		verify(this.updateStatement).executeUpdate();
+		verify(this.updateStatement, never()).addBatch();
+	}
+
+	@Test
+	void notDeferredOutsideOfTransaction() throws Exception {
+		given(this.updateStatement.executeUpdate()).willReturn(1);
+		assertThat(this.jdbcTemplate.update(UPDATE_SQL, "a", 1)).isEqualTo(1);
+		verify(this.updateStatement).executeUpdate();
+	}
+
+}
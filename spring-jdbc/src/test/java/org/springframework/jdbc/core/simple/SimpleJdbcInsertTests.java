@@ -16,10 +16,15 @@
 
 package org.springframework.jdbc.core.simple;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import javax.sql.DataSource;
 
@@ -27,11 +32,18 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -81,4 +93,87 @@ public class SimpleJdbcInsertTests {
 		verify(resultSet).close();
 	}
 
+	@Test
+	public void testStreamingBatchInChunks() throws Exception {
+		Connection batchConnection = mock(Connection.class);
+		PreparedStatement ps = mockBatchStatement(batchConnection);
+		given(ps.executeBatch()).willReturn(new int[] {1, 1}, new int[] {1, 1}, new int[] {1});
+
+		SimpleJdbcInsert insert = compiledInsert(batchConnection);
+		List<Long> progress = new ArrayList<>();
+		long rows = insert.executeBatch(IntStream.range(0, 5).mapToObj(this::row), 2, new BatchInsertListener() {
+			@Override
+			public void afterChunk(int chunkIndex, int[] updateCounts, long totalRows) {
+				progress.add(totalRows);
+			}
+		});
+
+		assertThat(rows).isEqualTo(5);
+		assertThat(progress).containsExactly(2L, 4L, 5L);
+		verify(batchConnection, times(3)).prepareStatement("INSERT INTO item (id, name) VALUES(?, ?)");
+		verify(ps, times(5)).addBatch();
+		verify(ps, times(3)).executeBatch();
+	}
+
+	@Test
+	public void testStreamingBatchWithTransactionPerChunkAndFailure() throws Exception {
+		Connection batchConnection = mock(Connection.class);
+		PreparedStatement ps = mockBatchStatement(batchConnection);
+		given(batchConnection.getAutoCommit()).willReturn(true);
+		given(ps.executeBatch()).willReturn(new int[] {1, 1})
+				.willThrow(new BatchUpdateException())
+				.willReturn(new int[] {1});
+
+		SimpleJdbcInsert insert = compiledInsert(batchConnection);
+		insert.withChunkTransactions(new DataSourceTransactionManager(dataSource));
+		List<Integer> failedChunks = new ArrayList<>();
+		long rows = insert.executeBatch(IntStream.range(0, 5).mapToObj(this::row).iterator(), 2, new BatchInsertListener() {
+			@Override
+			public void onChunkFailure(int chunkIndex, List<SqlParameterSource> failedRows, DataAccessException ex) {
+				failedChunks.add(chunkIndex);
+				assertThat(failedRows).extracting(row -> row.getValue("id")).containsExactly(2, 3);
+			}
+		});
+
+		assertThat(rows).isEqualTo(3);
+		assertThat(failedChunks).containsExactly(1);
+		verify(batchConnection, times(2)).commit();
+		verify(batchConnection, times(1)).rollback();
+		verify(batchConnection, times(3)).close();
+	}
+
+	@Test
+	public void testStreamingBatchFailureWithoutListener() throws Exception {
+		Connection batchConnection = mock(Connection.class);
+		PreparedStatement ps = mockBatchStatement(batchConnection);
+		given(ps.executeBatch()).willThrow(new BatchUpdateException());
+
+		SimpleJdbcInsert insert = compiledInsert(batchConnection);
+		assertThatExceptionOfType(DataAccessException.class).isThrownBy(() ->
+				insert.executeBatch(IntStream.range(0, 5).mapToObj(this::row), 2, null));
+		verify(ps, times(1)).executeBatch();
+	}
+
+	private PreparedStatement mockBatchStatement(Connection batchConnection) throws Exception {
+		PreparedStatement ps = mock(PreparedStatement.class);
+		given(batchConnection.getMetaData()).willReturn(databaseMetaData);
+		given(batchConnection.prepareStatement(anyString())).willReturn(ps);
+		given(ps.getConnection()).willReturn(batchConnection);
+		given(databaseMetaData.supportsBatchUpdates()).willReturn(true);
+		return ps;
+	}
+
+	private SimpleJdbcInsert compiledInsert(Connection batchConnection) throws Exception {
+		given(dataSource.getConnection()).willReturn(connection, batchConnection);
+		SimpleJdbcInsert insert = new SimpleJdbcInsert(dataSource).withTableName("item")
+				.usingColumns("id", "name");
+		insert.withoutTableColumnMetaDataAccess();
+		insert.compile();
+		return insert;
+	}
+
+	private SqlParameterSource row(int id) {
+		return new MapSqlParameterSource("id", id).addValue("name", "name" + id);
+	}
+
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link PreparedStatementCache}, used by a {@link JdbcTemplate}
+ * within transactions of a {@link DataSourceTransactionManager}.
+ *
+ * @since 5.3.3
+ */
+class PreparedStatementCacheTests {
+
+	private static final String SELECT_SQL = "SELECT NAME FROM ITEM WHERE ID = ?";
+
+	private static final String UPDATE_SQL = "UPDATE ITEM SET NAME = ? WHERE ID = ?";
+
+	private final DataSource dataSource = mock(DataSource.class);
+
+	private final Connection connection = mock(Connection.class);
+
+	private final PreparedStatement selectStatement = mock(PreparedStatement.class);
+
+	private final PreparedStatement updateStatement = mock(PreparedStatement.class);
+
+	private final ResultSet resultSet = mock(ResultSet.class);
+
+	private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(this.dataSource);
+
+	private final TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+
+
+	@BeforeEach
+	void setup() throws Exception {
+		given(this.dataSource.getConnection()).willReturn(this.connection);
+		given(this.connection.prepareStatement(SELECT_SQL)).willReturn(this.selectStatement);
+		given(this.connection.prepareStatement(UPDATE_SQL)).willReturn(this.updateStatement);
+		given(this.selectStatement.executeQuery()).willReturn(this.resultSet);
+		given(this.selectStatement.getConnection()).willReturn(this.connection);
+		given(this.updateStatement.getConnection()).willReturn(this.connection);
+		given(this.updateStatement.executeUpdate()).willReturn(1);
+		given(this.resultSet.next()).willReturn(true, false, true, false, true, false);
+		given(this.resultSet.getString(1)).willReturn("name");
+		ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+		given(metaData.getColumnCount()).willReturn(1);
+		given(this.resultSet.getMetaData()).willReturn(metaData);
+		this.transactionManager.setStatementCacheSize(10);
+	}
+
+	@AfterEach
+	void verifyTransactionSynchronizationManagerState() {
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+		assertThat(TransactionSynchronizationManager.isSynchronizationActive()).isFalse();
+	}
+
+
+	@Test
+	void statementReusedWithinTransaction() throws Exception {
+		this.transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < 3; i++) {
+				assertThat(this.jdbcTemplate.queryForObject(SELECT_SQL, String.class, i)).isEqualTo("name");
+			}
+		});
+
+		InOrder ordered = inOrder(this.connection, this.selectStatement);
+		ordered.verify(this.connection).prepareStatement(SELECT_SQL);
+		ordered.verify(this.selectStatement).clearParameters();
+		ordered.verify(this.selectStatement).close();
+		ordered.verify(this.connection).close();
+		verify(this.connection, times(1)).prepareStatement(SELECT_SQL);
+		verify(this.selectStatement, times(3)).executeQuery();
+		verify(this.selectStatement, times(3)).clearParameters();
+		verify(this.selectStatement, times(1)).close();
+		verify(this.resultSet, times(3)).close();
+
+		PreparedStatementCache.Statistics statistics = this.transactionManager.getStatementCacheStatistics();
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+		assertThat(statistics.getHitCount()).isEqualTo(2);
+		assertThat(statistics.getEvictionCount()).isEqualTo(0);
+	}
+
+	@Test
+	void statementReusedByNamedParameterJdbcTemplate() throws Exception {
+		NamedParameterJdbcTemplate namedTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
+		this.transactionTemplate.executeWithoutResult(status -> {
+			String sql = "UPDATE ITEM SET NAME = :name WHERE ID = :id";
+			namedTemplate.update(sql, new MapSqlParameterSource("name", "a").addValue("id", 1));
+			namedTemplate.update(sql, new MapSqlParameterSource("name", "b").addValue("id", 2));
+		});
+
+		verify(this.connection, times(1)).prepareStatement(UPDATE_SQL);
+		verify(this.updateStatement, times(2)).executeUpdate();
+		verify(this.updateStatement).setString(1, "a");
+		verify(this.updateStatement).setString(1, "b");
+		verify(this.updateStatement, times(1)).close();
+	}
+
+	@Test
+	void leastRecentlyUsedStatementEvicted() throws Exception {
+		this.transactionManager.setStatementCacheSize(1);
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.jdbcTemplate.queryForObject(SELECT_SQL, String.class, 1);
+			this.jdbcTemplate.update(UPDATE_SQL, "a", 1);
+			this.jdbcTemplate.queryForObject(SELECT_SQL, String.class, 2);
+		});
+
+		verify(this.connection, times(2)).prepareStatement(SELECT_SQL);
+		verify(this.selectStatement, times(2)).close();
+		verify(this.updateStatement, times(1)).close();
+		assertThat(this.transactionManager.getStatementCacheStatistics().getEvictionCount()).isEqualTo(2);
+	}
+
+	@Test
+	void modifiedStatementSettingsRestored() throws Exception {
+		given(this.selectStatement.getFetchSize()).willReturn(0);
+		this.jdbcTemplate.setFetchSize(50);
+		this.transactionTemplate.executeWithoutResult(status ->
+				this.jdbcTemplate.queryForObject(SELECT_SQL, String.class, 1));
+
+		InOrder ordered = inOrder(this.selectStatement);
+		ordered.verify(this.selectStatement).setFetchSize(50);
+		ordered.verify(this.selectStatement).executeQuery();
+		ordered.verify(this.selectStatement).setFetchSize(0);
+		ordered.verify(this.selectStatement).close();
+	}
+
+	@Test
+	void failedStatementNotReused() throws Exception {
+		given(this.updateStatement.executeUpdate()).willThrow(new SQLException("failure"));
+		this.transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < 2; i++) {
+				assertThatExceptionOfType(DataAccessException.class).isThrownBy(() ->
+						this.jdbcTemplate.update(UPDATE_SQL, "a", 1));
+			}
+		});
+
+		verify(this.connection, times(2)).prepareStatement(UPDATE_SQL);
+		verify(this.updateStatement, never()).clearParameters();
+		verify(this.updateStatement, times(2)).close();
+	}
+
+	@Test
+	void statementInUseNotHandedOutTwice() throws Exception {
+		PreparedStatementCache cache = new PreparedStatementCache(
+				this.connection, 10, new PreparedStatementCache.Statistics());
+		PreparedStatement otherStatement = mock(PreparedStatement.class);
+		given(this.connection.prepareStatement(SELECT_SQL)).willReturn(this.selectStatement, otherStatement);
+
+		PreparedStatement ps1 = cache.getConnection().prepareStatement(SELECT_SQL);
+		PreparedStatement ps2 = cache.getConnection().prepareStatement(SELECT_SQL);
+		assertThat(ps1.unwrap(PreparedStatement.class)).isSameAs(ps1);
+		ps1.executeQuery();
+		ps2.executeQuery();
+		verify(this.selectStatement).executeQuery();
+		verify(otherStatement).executeQuery();
+
+		ps1.close();
+		ps2.close();
+		assertThat(ps1.isClosed()).isTrue();
+		assertThat(cache.size()).isEqualTo(1);
+		verify(this.selectStatement, never()).close();
+		verify(otherStatement).close();
+
+		cache.close();
+		assertThat(cache.size()).isEqualTo(0);
+		verify(this.selectStatement).close();
+	}
+
+	@Test
+	void statementsNotCachedOutsideOfTransaction() throws Exception {
+		this.jdbcTemplate.queryForObject(SELECT_SQL, String.class, 1);
+		this.jdbcTemplate.queryForObject(SELECT_SQL, String.class, 2);
+
+		verify(this.connection, times(2)).prepareStatement(SELECT_SQL);
+		verify(this.selectStatement, times(2)).close();
+		verify(this.selectStatement, never()).clearParameters();
+	}
+
+	@Test
+	void statementsNotCachedWithoutCacheSize() throws Exception {
+		this.transactionManager.setStatementCacheSize(0);
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.jdbcTemplate.queryForObject(SELECT_SQL, String.class, 1);
+			this.jdbcTemplate.queryForObject(SELECT_SQL, String.class, 2);
+		});
+
+		verify(this.connection, times(2)).prepareStatement(SELECT_SQL);
+		verify(this.selectStatement, times(2)).close();
+		assertThat(this.transactionManager.getStatementCacheStatistics().getMissCount()).isEqualTo(0);
+	}
+
+}
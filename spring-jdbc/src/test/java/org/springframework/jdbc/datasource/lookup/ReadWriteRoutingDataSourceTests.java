@@ -0,0 +1,199 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ReadWriteRoutingDataSource}.
+ *
+ * @since 5.3.3
+ */
+class ReadWriteRoutingDataSourceTests {
+
+	private final DataSource primary = mock(DataSource.class);
+
+	private final Connection primaryConnection = mock(Connection.class);
+
+	private final DataSource replica1 = mock(DataSource.class);
+
+	private final Connection replica1Connection = mock(Connection.class);
+
+	private final DataSource replica2 = mock(DataSource.class);
+
+	private final Connection replica2Connection = mock(Connection.class);
+
+	private ReadWriteRoutingDataSource dataSource;
+
+
+	@BeforeEach
+	void setup() throws Exception {
+		given(this.primary.getConnection()).willReturn(this.primaryConnection);
+		given(this.replica1.getConnection()).willReturn(this.replica1Connection);
+		given(this.replica2.getConnection()).willReturn(this.replica2Connection);
+		for (Connection con : new Connection[] {this.primaryConnection, this.replica1Connection, this.replica2Connection}) {
+			given(con.getAutoCommit()).willReturn(true);
+			given(con.createStatement()).willReturn(mock(Statement.class));
+		}
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica1", this.replica1);
+		replicas.put("replica2", this.replica2);
+		this.dataSource = new ReadWriteRoutingDataSource(this.primary, replicas);
+	}
+
+
+	@Test
+	void readOnlyTransactionsRoutedToReplicas() throws Exception {
+		TransactionTemplate tt = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+
+		tt.setReadOnly(true);
+		tt.executeWithoutResult(status -> jdbcTemplate.execute("SELECT 1"));
+		tt.executeWithoutResult(status -> jdbcTemplate.execute("SELECT 2"));
+		tt.setReadOnly(false);
+		tt.executeWithoutResult(status -> jdbcTemplate.execute("UPDATE ITEM SET NAME = 'x'"));
+
+		verify(this.replica1Connection).createStatement();
+		verify(this.replica1Connection).setReadOnly(true);
+		verify(this.replica1Connection).close();
+		verify(this.replica2Connection).createStatement();
+		verify(this.primaryConnection).createStatement();
+		verify(this.primaryConnection).commit();
+		assertThat(this.dataSource.getReplicas()).allSatisfy(replica ->
+				assertThat(replica.getInFlightCount()).isEqualTo(0));
+	}
+
+	@Test
+	void readOnlyConnectionsRoundRobin() throws Exception {
+		for (int i = 0; i < 4; i++) {
+			useReadOnlyConnection();
+		}
+		verify(this.replica1Connection, times(2)).createStatement();
+		verify(this.replica2Connection, times(2)).createStatement();
+		verify(this.primaryConnection, never()).createStatement();
+	}
+
+	@Test
+	void leastInFlight() throws Exception {
+		this.dataSource.setLoadBalancer(ReplicaLoadBalancer.leastInFlight());
+		Connection first = this.dataSource.getConnection();
+		first.setReadOnly(true);
+		first.createStatement();
+		assertThat(this.dataSource.getReplicas().get(0).getInFlightCount()).isEqualTo(1);
+
+		// The first replica still has a Connection in use
+		useReadOnlyConnection();
+		useReadOnlyConnection();
+		verify(this.replica1Connection, times(1)).createStatement();
+		verify(this.replica2Connection, times(2)).createStatement();
+
+		first.close();
+		assertThat(this.dataSource.getReplicas().get(0).getInFlightCount()).isEqualTo(0);
+	}
+
+	@Test
+	void failingReplicaTakenOutOfRotation() throws Exception {
+		given(this.replica1.getConnection()).willThrow(new SQLException("down"));
+
+		useReadOnlyConnection();
+		useReadOnlyConnection();
+
+		verify(this.replica1, times(1)).getConnection();
+		verify(this.replica2Connection, times(2)).createStatement();
+		assertThat(this.dataSource.getReplicas().get(0).isHealthy()).isFalse();
+		assertThat(this.dataSource.getReplicas().get(1).isHealthy()).isTrue();
+	}
+
+	@Test
+	void fallbackToPrimaryWithoutAvailableReplica() throws Exception {
+		given(this.replica1.getConnection()).willThrow(new SQLException("down"));
+		given(this.replica2.getConnection()).willThrow(new SQLException("down"));
+
+		useReadOnlyConnection();
+
+		verify(this.primaryConnection).createStatement();
+		verify(this.primaryConnection).setReadOnly(true);
+	}
+
+	@Test
+	void checkReplicasWithReplicationLag() throws Exception {
+		Statement lagStatement = mock(Statement.class);
+		ResultSet lagResultSet = mock(ResultSet.class);
+		given(this.replica1Connection.isValid(anyInt())).willReturn(true);
+		given(this.replica1Connection.createStatement()).willReturn(lagStatement);
+		given(lagStatement.executeQuery(anyString())).willReturn(lagResultSet);
+		given(lagResultSet.next()).willReturn(true);
+		given(lagResultSet.getDouble(1)).willReturn(10.5);
+		given(this.replica2Connection.isValid(anyInt())).willReturn(false);
+		this.dataSource.setReplicationLagQuery("SELECT LAG");
+		this.dataSource.setMaxReplicationLag(Duration.ofSeconds(5));
+
+		this.dataSource.checkReplicas();
+
+		assertThat(this.dataSource.getReplicas().get(0).getReplicationLag()).isEqualTo(Duration.ofMillis(10_500));
+		assertThat(this.dataSource.getReplicas().get(0).isHealthy()).isTrue();
+		assertThat(this.dataSource.getReplicas().get(1).isHealthy()).isFalse();
+		useReadOnlyConnection();
+		verify(this.primaryConnection).createStatement();
+
+		this.dataSource.setMaxReplicationLag(Duration.ofSeconds(15));
+		useReadOnlyConnection();
+		verify(this.replica1Connection, times(2)).createStatement();
+	}
+
+	@Test
+	void readWriteConnectionsNotRouted() throws Exception {
+		try (Connection con = this.dataSource.getConnection()) {
+			con.createStatement();
+		}
+		verify(this.primaryConnection).createStatement();
+		verify(this.replica1, never()).getConnection();
+		verify(this.replica2, never()).getConnection();
+	}
+
+	private void useReadOnlyConnection() throws SQLException {
+		try (Connection con = this.dataSource.getConnection()) {
+			con.setReadOnly(true);
+			con.createStatement();
+		}
+	}
+
+}
@@ -17,20 +17,30 @@
 package org.springframework.jdbc.support;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.jdbc.support.lob.DefaultLobHandler;
 import org.springframework.jdbc.support.lob.LobCreator;
 import org.springframework.jdbc.support.lob.LobHandler;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -79,6 +89,53 @@ public class DefaultLobHandlerTests {
 		verify(rs).getCharacterStream(1);
 	}
 
+	@Test
+	public void testCopyBlobToOutputStream() throws SQLException, IOException {
+		AtomicBoolean closed = new AtomicBoolean();
+		InputStream bis = new ByteArrayInputStream("testContent".getBytes()) {
+			@Override
+			public void close() {
+				closed.set(true);
+			}
+		};
+		given(rs.getBinaryStream(1)).willReturn(bis);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertThat(lobHandler.copyBlobTo(rs, 1, out)).isEqualTo(11);
+		assertThat(out.toString("UTF-8")).isEqualTo("testContent");
+		assertThat(closed.get()).isTrue();
+	}
+
+	@Test
+	public void testCopyBlobToChannel() throws SQLException, IOException {
+		given(rs.findColumn("content")).willReturn(2);
+		given(rs.getBinaryStream(2)).willReturn(new ByteArrayInputStream("testContent".getBytes()));
+		DefaultLobHandler lobHandler = new DefaultLobHandler();
+		lobHandler.setStreamChunkSize(3);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertThat(lobHandler.copyBlobTo(rs, "content", Channels.newChannel(out))).isEqualTo(11);
+		assertThat(out.toString("UTF-8")).isEqualTo("testContent");
+	}
+
+	@Test
+	public void testCopyBlobToDataBuffers() throws SQLException, IOException {
+		given(rs.getBinaryStream(1)).willReturn(new ByteArrayInputStream("testContent".getBytes()));
+		DefaultLobHandler lobHandler = new DefaultLobHandler();
+		lobHandler.setStreamChunkSize(4);
+		List<String> chunks = new ArrayList<>();
+		assertThat(lobHandler.copyBlobTo(rs, 1, DefaultDataBufferFactory.sharedInstance,
+				(DataBuffer buffer) -> chunks.add(buffer.toString(StandardCharsets.UTF_8)))).isEqualTo(11);
+		assertThat(chunks).containsExactly("test", "Cont", "ent");
+	}
+
+	@Test
+	public void testCopyBlobToWithNull() throws SQLException, IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertThat(lobHandler.copyBlobTo(rs, 1, out)).isEqualTo(-1);
+		assertThat(lobHandler.copyBlobTo(rs, 1, DefaultDataBufferFactory.sharedInstance,
+				buffer -> { throw new IllegalStateException(); })).isEqualTo(-1);
+		assertThat(out.size()).isEqualTo(0);
+	}
+
 	@Test
 	public void testSetBlobAsBytes() throws SQLException {
 		byte[] content = "testContent".getBytes();
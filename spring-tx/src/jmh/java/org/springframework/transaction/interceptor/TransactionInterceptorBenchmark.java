@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.interceptor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.ResourceHolderSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Benchmark for the per-call overhead of an empty {@code @Transactional} method
+ * invoked through a {@link TransactionInterceptor} proxy, using a transaction
+ * manager that binds a resource per transaction like a JDBC transaction manager.
+ *
+ * @since 5.3.3
+ */
+@BenchmarkMode(Mode.Throughput)
+public class TransactionInterceptorBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"none", "readOnly", "synchronization"})
+		public String scenario;
+
+		public TransactionalService service;
+
+		@Setup
+		public void setup() {
+			TransactionInterceptor interceptor = new TransactionInterceptor(
+					new ResourceBindingTransactionManager(), new AnnotationTransactionAttributeSource());
+			ProxyFactory proxyFactory = new ProxyFactory(new DefaultTransactionalService());
+			proxyFactory.addInterface(TransactionalService.class);
+			proxyFactory.addAdvice(interceptor);
+			this.service = (TransactionalService) proxyFactory.getProxy();
+		}
+
+		public void invoke() {
+			switch (this.scenario) {
+				case "readOnly":
+					this.service.readOnly();
+					break;
+				case "synchronization":
+					this.service.withSynchronization();
+					break;
+				default:
+					this.service.empty();
+			}
+		}
+	}
+
+
+	@Benchmark
+	public void emptyTransactionalMethod(BenchmarkState state) {
+		state.invoke();
+	}
+
+
+	public interface TransactionalService {
+
+		void empty();
+
+		void readOnly();
+
+		void withSynchronization();
+	}
+
+
+	static class DefaultTransactionalService implements TransactionalService {
+
+		private static final TransactionSynchronization synchronization = new TransactionSynchronization() {};
+
+		@Override
+		@Transactional
+		public void empty() {
+		}
+
+		@Override
+		@Transactional(readOnly = true, isolation = Isolation.SERIALIZABLE)
+		public void readOnly() {
+		}
+
+		@Override
+		@Transactional
+		public void withSynchronization() {
+			TransactionSynchronizationManager.registerSynchronization(synchronization);
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	static class ResourceBindingTransactionManager extends AbstractPlatformTransactionManager {
+
+		private final Object resourceKey = new Object();
+
+		ResourceBindingTransactionManager() {
+			setTransactionSynchronization(SYNCHRONIZATION_ALWAYS);
+		}
+
+		@Override
+		protected Object doGetTransaction() {
+			Object holder = TransactionSynchronizationManager.getResource(this.resourceKey);
+			return (holder != null ? holder : new ResourceHolderSupport() {});
+		}
+
+		@Override
+		protected boolean isExistingTransaction(Object transaction) {
+			return TransactionSynchronizationManager.hasResource(this.resourceKey);
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+			TransactionSynchronizationManager.bindResource(this.resourceKey, transaction);
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doCleanupAfterCompletion(Object transaction) {
+			TransactionSynchronizationManager.unbindResource(this.resourceKey);
+		}
+	}
+
+}
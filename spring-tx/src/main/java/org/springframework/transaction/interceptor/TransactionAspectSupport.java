@@ -35,12 +35,15 @@ import org.springframework.transaction.support.CallbackPreferringPlatformTransac
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -173,6 +176,12 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	private final ConcurrentMap<Method, ReactiveTransactionSupport> transactionSupportCache =
 			new ConcurrentReferenceHashMap<>(1024);
 
+	private final ConcurrentMap<MethodClassKey, TransactionInvocationPlan> invocationPlanCache =
+			new ConcurrentReferenceHashMap<>(1024);
+
+	/** Whether the transaction manager lookup is not customized, i.e. may be cached per method. */
+	private final boolean cacheTransactionManager;
+
 
 	protected TransactionAspectSupport() {
 		if (reactiveStreamsPresent) {
@@ -181,6 +190,13 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		else {
 			this.reactiveAdapterRegistry = null;
 		}
+		this.cacheTransactionManager = (!isOverridden("determineTransactionManager", TransactionAttribute.class) &&
+				!isOverridden("getTransactionManager"));
+	}
+
+	private boolean isOverridden(String methodName, Class<?>... paramTypes) {
+		Method method = ReflectionUtils.findMethod(getClass(), methodName, paramTypes);
+		return (method != null && method.getDeclaringClass() != TransactionAspectSupport.class);
 	}
 
 
@@ -191,6 +207,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionManagerBeanName(@Nullable String transactionManagerBeanName) {
 		this.transactionManagerBeanName = transactionManagerBeanName;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -212,6 +229,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionManager(@Nullable TransactionManager transactionManager) {
 		this.transactionManager = transactionManager;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -240,6 +258,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		NameMatchTransactionAttributeSource tas = new NameMatchTransactionAttributeSource();
 		tas.setProperties(transactionAttributes);
 		this.transactionAttributeSource = tas;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -252,6 +271,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSources(TransactionAttributeSource... transactionAttributeSources) {
 		this.transactionAttributeSource = new CompositeTransactionAttributeSource(transactionAttributeSources);
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -265,6 +285,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSource(@Nullable TransactionAttributeSource transactionAttributeSource) {
 		this.transactionAttributeSource = transactionAttributeSource;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -281,6 +302,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	@Override
 	public void setBeanFactory(@Nullable BeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -324,16 +346,16 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	protected Object invokeWithinTransaction(Method method, @Nullable Class<?> targetClass,
 			final InvocationCallback invocation) throws Throwable {
 
-		// If the transaction attribute is null, the method is non-transactional.
-		// ⭐️ 获取解析 @Transactional 注解的工具
-		TransactionAttributeSource tas = getTransactionAttributeSource();
+		// ⭐️ 获取当前方法的调用计划：@Transactional 注解的信息、TransactionManager 以及事务名，首次调用时解析并缓存
+		TransactionInvocationPlan plan = getInvocationPlan(method, targetClass);
 
-		// ⭐️ 获取当前方法上的 @Transactional 注解的信息
-		final TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
+		// If the transaction attribute is null, the method is non-transactional.
+		final TransactionAttribute txAttr = plan.transactionAttribute;
 
 		// ⭐️ 得到一个 TransactionManager，是通过 @Bean 添加的
 		// 通常是 PlatformTransactionManager
-		final TransactionManager tm = determineTransactionManager(txAttr);
+		final TransactionManager tm = (this.cacheTransactionManager ?
+				plan.transactionManager : determineTransactionManager(plan.sourceAttribute));
 
 		// 是否是 Reactive 模式
 		if (this.reactiveAdapterRegistry != null && tm instanceof ReactiveTransactionManager) {
@@ -360,7 +382,8 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 			if (corInv != null) {
 				callback = () -> CoroutinesUtils.invokeSuspendingFunction(method, corInv.getTarget(), corInv.getArguments());
 			}
-			Object result = txSupport.invokeWithinTransaction(method, targetClass, callback, txAttr, (ReactiveTransactionManager) tm);
+			Object result = txSupport.invokeWithinTransaction(
+					method, targetClass, callback, plan.sourceAttribute, (ReactiveTransactionManager) tm);
 			if (corInv != null) {
 				Publisher<?> pr = (Publisher<?>) result;
 				return (hasSuspendingFlowReturnType ? KotlinDelegate.asFlow(pr) :
@@ -376,14 +399,14 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		// ⭐️ 根据当前执行的类中的某个方法以及 @Transactional 注解的信息生成一个唯一标志，这个标记会用做事务名
 		// joinpointIdentification 就是【类名 + 方法】的名字
 		// 可以通过：TransactionSynchronizationManager.getCurrentTransactionName() 在代码中获取事务名字
-		final String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+		final String joinpointIdentification = plan.joinpointIdentification;
 
 		if (txAttr == null || !(ptm instanceof CallbackPreferringPlatformTransactionManager)) {
 			// Standard transaction demarcation with getTransaction and commit/rollback calls.
 			// ⭐️ 创建事务，并得到事务信息，后面需要事务信息来进行提交或回滚
 			// 如果有必要就创建事务，这里就涉及到事物到传播机制到实现
 			// TransactionInfo 表示一个逻辑事务，比如两个逻辑事务属于同一个物理事务
-			TransactionInfo txInfo = createTransactionIfNecessary(ptm, txAttr, joinpointIdentification);
+			TransactionInfo txInfo = createTransactionIfNecessary(ptm, plan.namedTransactionAttribute, joinpointIdentification);
 
 			Object retVal;
 			try {
@@ -479,16 +502,42 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		}
 	}
 
+	/**
+	 * Return the invocation plan for the given method: its transaction attribute,
+	 * transaction manager and joinpoint identification, resolved on first invocation
+	 * and cached until the transaction manager or attribute source configuration
+	 * changes. The transaction manager is only part of the plan if its lookup is
+	 * not customized through {@link #determineTransactionManager} or
+	 * {@link #getTransactionManager()} overrides; it is determined per invocation otherwise.
+	 */
+	private TransactionInvocationPlan getInvocationPlan(Method method, @Nullable Class<?> targetClass) {
+		MethodClassKey cacheKey = new MethodClassKey(method, targetClass);
+		TransactionInvocationPlan plan = this.invocationPlanCache.get(cacheKey);
+		if (plan == null) {
+			TransactionAttributeSource tas = getTransactionAttributeSource();
+			TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
+			TransactionManager tm = (this.cacheTransactionManager ? determineTransactionManager(txAttr) : null);
+			String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+			plan = new TransactionInvocationPlan(txAttr, tm, joinpointIdentification);
+			this.invocationPlanCache.put(cacheKey, plan);
+		}
+		return plan;
+	}
+
 	/**
 	 * Clear the transaction manager cache.
 	 */
 	protected void clearTransactionManagerCache() {
 		this.transactionManagerCache.clear();
+		this.invocationPlanCache.clear();
 		this.beanFactory = null;
 	}
 
 	/**
 	 * Determine the specific transaction manager to use for the given transaction.
+	 * <p>The result of the default implementation is cached per method. If this
+	 * method is overridden, e.g. for routing to a transaction manager per invocation,
+	 * it gets called for every transactional invocation instead.
 	 */
 	@Nullable
 	protected TransactionManager determineTransactionManager(@Nullable TransactionAttribute txAttr) {
@@ -745,6 +794,97 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	}
 
 
+	/**
+	 * Immutable per-method state for transactional invocations, resolved once
+	 * instead of on every invocation.
+	 */
+	private static final class TransactionInvocationPlan {
+
+		@Nullable
+		final TransactionAttribute sourceAttribute;
+
+		@Nullable
+		final TransactionAttribute transactionAttribute;
+
+		@Nullable
+		final TransactionAttribute namedTransactionAttribute;
+
+		@Nullable
+		final TransactionManager transactionManager;
+
+		final String joinpointIdentification;
+
+		TransactionInvocationPlan(@Nullable TransactionAttribute txAttr, @Nullable TransactionManager tm,
+				String joinpointIdentification) {
+
+			this.sourceAttribute = txAttr;
+			this.transactionManager = tm;
+			this.joinpointIdentification = joinpointIdentification;
+			if (txAttr == null) {
+				this.transactionAttribute = null;
+				this.namedTransactionAttribute = null;
+			}
+			else {
+				boolean compileRollbackRules = (txAttr.getClass() == RuleBasedTransactionAttribute.class &&
+						!((RuleBasedTransactionAttribute) txAttr).getRollbackRules().isEmpty());
+				this.transactionAttribute = (compileRollbackRules ?
+						new CompiledTransactionAttribute(txAttr, txAttr.getName(), true) : txAttr);
+				// If no name specified, apply method identification as transaction name.
+				this.namedTransactionAttribute = (txAttr.getName() != null ? this.transactionAttribute :
+						new CompiledTransactionAttribute(txAttr, joinpointIdentification, compileRollbackRules));
+			}
+		}
+	}
+
+
+	/**
+	 * TransactionAttribute decorator exposing a given transaction name and
+	 * optionally caching the rollback decision per exception type, avoiding
+	 * repeated scans over the rollback rules and exception class hierarchy.
+	 * Only to be used for rollback decisions that depend on the exception type only.
+	 */
+	@SuppressWarnings("serial")
+	private static final class CompiledTransactionAttribute extends DelegatingTransactionAttribute {
+
+		private static final int MAX_CACHED_EXCEPTION_TYPES = 256;
+
+		@Nullable
+		private final String name;
+
+		@Nullable
+		private final Map<Class<?>, Boolean> rollbackDecisions;
+
+		CompiledTransactionAttribute(TransactionAttribute targetAttribute, @Nullable String name,
+				boolean compileRollbackRules) {
+
+			super(targetAttribute);
+			this.name = name;
+			this.rollbackDecisions = (compileRollbackRules ? new ConcurrentHashMap<>(8) : null);
+		}
+
+		@Override
+		@Nullable
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public boolean rollbackOn(Throwable ex) {
+			if (this.rollbackDecisions == null) {
+				return super.rollbackOn(ex);
+			}
+			Boolean rollback = this.rollbackDecisions.get(ex.getClass());
+			if (rollback == null) {
+				rollback = super.rollbackOn(ex);
+				if (this.rollbackDecisions.size() < MAX_CACHED_EXCEPTION_TYPES) {
+					this.rollbackDecisions.put(ex.getClass(), rollback);
+				}
+			}
+			return rollback;
+		}
+	}
+
+
 	/**
 	 * Opaque object used to hold transaction information. Subclasses
 	 * must pass it back to methods on this class, but not see its internals.
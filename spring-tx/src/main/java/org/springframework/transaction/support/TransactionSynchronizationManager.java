@@ -57,6 +57,12 @@ import java.util.*;
  * within a JTA transaction, e.g. a JDBC Connection or a Hibernate Session for
  * any given DataSource or SessionFactory, respectively.
  *
+ * <p>As of 5.3.3, all of the above state is held in a single per-thread context
+ * object, so that each transaction touches one thread-local instead of six. The
+ * context and its collections are reused for as long as any state is bound to the
+ * thread, and the context is removed once the thread is back to a pristine state,
+ * in order to not retain any state in pooled threads between transactions.
+ *
  * @author Juergen Hoeller
  * @since 02.06.2003
  * @see #isSynchronizationActive
@@ -71,24 +77,31 @@ public abstract class TransactionSynchronizationManager {
 
 	private static final Log logger = LogFactory.getLog(TransactionSynchronizationManager.class);
 
-	// key = Datasource，value = 某个数据库的连接对象 connection
-	private static final ThreadLocal<Map<Object, Object>> resources =
-			new NamedThreadLocal<>("Transactional resources");
-
-	private static final ThreadLocal<Set<TransactionSynchronization>> synchronizations =
-			new NamedThreadLocal<>("Transaction synchronizations");
+	// 每个线程一个事务上下文：resources（key = Datasource，value = 数据库连接 connection）、synchronizations 及事务属性
+	private static final ThreadLocal<TransactionContext> transactionContext =
+			new NamedThreadLocal<>("Transaction context");
 
-	private static final ThreadLocal<String> currentTransactionName =
-			new NamedThreadLocal<>("Current transaction name");
 
-	private static final ThreadLocal<Boolean> currentTransactionReadOnly =
-			new NamedThreadLocal<>("Current transaction read-only status");
+	@Nullable
+	private static Map<Object, Object> getResources() {
+		TransactionContext context = transactionContext.get();
+		return (context != null ? context.resources : null);
+	}
 
-	private static final ThreadLocal<Integer> currentTransactionIsolationLevel =
-			new NamedThreadLocal<>("Current transaction isolation level");
+	private static TransactionContext obtainContext() {
+		TransactionContext context = transactionContext.get();
+		if (context == null) {
+			context = new TransactionContext();
+			transactionContext.set(context);
+		}
+		return context;
+	}
 
-	private static final ThreadLocal<Boolean> actualTransactionActive =
-			new NamedThreadLocal<>("Actual transaction active");
+	private static void removeContextIfEmpty(TransactionContext context) {
+		if (context.isEmpty()) {
+			transactionContext.remove();
+		}
+	}
 
 
 	//-------------------------------------------------------------------------
@@ -105,8 +118,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #hasResource
 	 */
 	public static Map<Object, Object> getResourceMap() {
-		Map<Object, Object> map = resources.get();
-		return (map != null ? Collections.unmodifiableMap(map) : Collections.emptyMap());
+		Map<Object, Object> map = getResources();
+		return (map != null && !map.isEmpty() ? Collections.unmodifiableMap(map) : Collections.emptyMap());
 	}
 
 	/**
@@ -147,19 +160,16 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	private static Object doGetResource(Object actualKey) {
-		// resources = ThreadLocal<Map<Object, Object>>
-		Map<Object, Object> map = resources.get();
-		if (map == null) {
+		TransactionContext context = transactionContext.get();
+		if (context == null || context.resources == null) {
 			return null;
 		}
-		Object value = map.get(actualKey);
+		Object value = context.resources.get(actualKey);
 		// Transparently remove ResourceHolder that was marked as void...
 		if (value instanceof ResourceHolder && ((ResourceHolder) value).isVoid()) {
-			map.remove(actualKey);
+			context.resources.remove(actualKey);
 			// Remove entire ThreadLocal if empty...
-			if (map.isEmpty()) {
-				resources.remove();
-			}
+			removeContextIfEmpty(context);
 			value = null;
 		}
 		return value;
@@ -175,14 +185,15 @@ public abstract class TransactionSynchronizationManager {
 	public static void bindResource(Object key, Object value) throws IllegalStateException {
 		Object actualKey = TransactionSynchronizationUtils.unwrapResourceIfNecessary(key);
 		Assert.notNull(value, "Value must not be null");
-		// ⭐️ resources 就是 ThreadLocal<Map<Object, Object>>
-		Map<Object, Object> map = resources.get();
-		// set ThreadLocal Map if none found
+		// ⭐️ resources 就是当前线程事务上下文中的 Map<Object, Object>
+		TransactionContext context = obtainContext();
+		Map<Object, Object> map = context.resources;
+		// set resource Map if none found
 		if (map == null) {
-			map = new HashMap<>();
-			resources.set(map);
+			map = new HashMap<>(4);
+			context.resources = map;
 		}
-		// ⭐️ 加入到 ThreadLocal<Map<Object, Object>> 中
+		// ⭐️ 加入到事务上下文的 Map<Object, Object> 中
 		Object oldValue = map.put(actualKey, value);
 		// Transparently suppress a ResourceHolder that was marked as void...
 		if (oldValue instanceof ResourceHolder && ((ResourceHolder) oldValue).isVoid()) {
@@ -232,15 +243,13 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	private static Object doUnbindResource(Object actualKey) {
-		Map<Object, Object> map = resources.get();
-		if (map == null) {
+		TransactionContext context = transactionContext.get();
+		if (context == null || context.resources == null) {
 			return null;
 		}
-		Object value = map.remove(actualKey);
+		Object value = context.resources.remove(actualKey);
 		// Remove entire ThreadLocal if empty...
-		if (map.isEmpty()) {
-			resources.remove();
-		}
+		removeContextIfEmpty(context);
 		// Transparently suppress a ResourceHolder that was marked as void...
 		if (value instanceof ResourceHolder && ((ResourceHolder) value).isVoid()) {
 			value = null;
@@ -263,7 +272,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #registerSynchronization
 	 */
 	public static boolean isSynchronizationActive() {
-		return (synchronizations.get() != null);
+		TransactionContext context = transactionContext.get();
+		return (context != null && context.synchronizationActive);
 	}
 
 	/**
@@ -276,7 +286,7 @@ public abstract class TransactionSynchronizationManager {
 			throw new IllegalStateException("Cannot activate transaction synchronization - already active");
 		}
 		logger.trace("Initializing transaction synchronization");
-		synchronizations.set(new LinkedHashSet<>());
+		obtainContext().synchronizationActive = true;
 	}
 
 	/**
@@ -293,10 +303,16 @@ public abstract class TransactionSynchronizationManager {
 			throws IllegalStateException {
 
 		Assert.notNull(synchronization, "TransactionSynchronization must not be null");
-		Set<TransactionSynchronization> synchs = synchronizations.get();
-		if (synchs == null) {
+		TransactionContext context = transactionContext.get();
+		if (context == null || !context.synchronizationActive) {
 			throw new IllegalStateException("Transaction synchronization is not active");
 		}
+		Set<TransactionSynchronization> synchs = context.synchronizations;
+		// Allocated on first registration only, then reused for the lifetime of the context
+		if (synchs == null) {
+			synchs = new LinkedHashSet<>(8);
+			context.synchronizations = synchs;
+		}
 		synchs.add(synchronization);
 	}
 
@@ -308,16 +324,20 @@ public abstract class TransactionSynchronizationManager {
 	 * @see TransactionSynchronization
 	 */
 	public static List<TransactionSynchronization> getSynchronizations() throws IllegalStateException {
-		Set<TransactionSynchronization> synchs = synchronizations.get();
-		if (synchs == null) {
+		TransactionContext context = transactionContext.get();
+		if (context == null || !context.synchronizationActive) {
 			throw new IllegalStateException("Transaction synchronization is not active");
 		}
 		// Return unmodifiable snapshot, to avoid ConcurrentModificationExceptions
 		// while iterating and invoking synchronization callbacks that in turn
 		// might register further synchronizations.
-		if (synchs.isEmpty()) {
+		Set<TransactionSynchronization> synchs = context.synchronizations;
+		if (synchs == null || synchs.isEmpty()) {
 			return Collections.emptyList();
 		}
+		else if (synchs.size() == 1) {
+			return Collections.singletonList(synchs.iterator().next());
+		}
 		else {
 			// Sort lazily here, not in registerSynchronization.
 			List<TransactionSynchronization> sortedSynchs = new ArrayList<>(synchs);
@@ -336,7 +356,9 @@ public abstract class TransactionSynchronizationManager {
 			throw new IllegalStateException("Cannot deactivate transaction synchronization - not active");
 		}
 		logger.trace("Clearing transaction synchronization");
-		synchronizations.remove();
+		TransactionContext context = obtainContext();
+		context.clearSynchronization();
+		removeContextIfEmpty(context);
 	}
 
 
@@ -351,7 +373,14 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#getName()
 	 */
 	public static void setCurrentTransactionName(@Nullable String name) {
-		currentTransactionName.set(name);
+		TransactionContext context = transactionContext.get();
+		if (context != null) {
+			context.transactionName = name;
+			removeContextIfEmpty(context);
+		}
+		else if (name != null) {
+			obtainContext().transactionName = name;
+		}
 	}
 
 	/**
@@ -362,7 +391,8 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	public static String getCurrentTransactionName() {
-		return currentTransactionName.get();
+		TransactionContext context = transactionContext.get();
+		return (context != null ? context.transactionName : null);
 	}
 
 	/**
@@ -373,7 +403,14 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#isReadOnly()
 	 */
 	public static void setCurrentTransactionReadOnly(boolean readOnly) {
-		currentTransactionReadOnly.set(readOnly ? Boolean.TRUE : null);
+		TransactionContext context = transactionContext.get();
+		if (context != null) {
+			context.readOnly = readOnly;
+			removeContextIfEmpty(context);
+		}
+		else if (readOnly) {
+			obtainContext().readOnly = true;
+		}
 	}
 
 	/**
@@ -389,7 +426,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see TransactionSynchronization#beforeCommit(boolean)
 	 */
 	public static boolean isCurrentTransactionReadOnly() {
-		return (currentTransactionReadOnly.get() != null);
+		TransactionContext context = transactionContext.get();
+		return (context != null && context.readOnly);
 	}
 
 	/**
@@ -409,7 +447,14 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#getIsolationLevel()
 	 */
 	public static void setCurrentTransactionIsolationLevel(@Nullable Integer isolationLevel) {
-		currentTransactionIsolationLevel.set(isolationLevel);
+		TransactionContext context = transactionContext.get();
+		if (context != null) {
+			context.isolationLevel = isolationLevel;
+			removeContextIfEmpty(context);
+		}
+		else if (isolationLevel != null) {
+			obtainContext().isolationLevel = isolationLevel;
+		}
 	}
 
 	/**
@@ -431,7 +476,8 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	public static Integer getCurrentTransactionIsolationLevel() {
-		return currentTransactionIsolationLevel.get();
+		TransactionContext context = transactionContext.get();
+		return (context != null ? context.isolationLevel : null);
 	}
 
 	/**
@@ -441,7 +487,14 @@ public abstract class TransactionSynchronizationManager {
 	 * with an actual transaction; {@code false} to reset that marker
 	 */
 	public static void setActualTransactionActive(boolean active) {
-		actualTransactionActive.set(active ? Boolean.TRUE : null);
+		TransactionContext context = transactionContext.get();
+		if (context != null) {
+			context.actualTransactionActive = active;
+			removeContextIfEmpty(context);
+		}
+		else if (active) {
+			obtainContext().actualTransactionActive = true;
+		}
 	}
 
 	/**
@@ -456,7 +509,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #isSynchronizationActive()
 	 */
 	public static boolean isActualTransactionActive() {
-		return (actualTransactionActive.get() != null);
+		TransactionContext context = transactionContext.get();
+		return (context != null && context.actualTransactionActive);
 	}
 
 
@@ -470,11 +524,56 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #setActualTransactionActive
 	 */
 	public static void clear() {
-		synchronizations.remove();
-		currentTransactionName.remove();
-		currentTransactionReadOnly.remove();
-		currentTransactionIsolationLevel.remove();
-		actualTransactionActive.remove();
+		TransactionContext context = transactionContext.get();
+		if (context != null) {
+			context.clearSynchronization();
+			context.transactionName = null;
+			context.readOnly = false;
+			context.isolationLevel = null;
+			context.actualTransactionActive = false;
+			removeContextIfEmpty(context);
+		}
+	}
+
+
+	/**
+	 * Holder for all transactional state of a thread, replacing separate
+	 * thread-locals per attribute. The resource map and synchronization set
+	 * get allocated lazily and are cleared rather than discarded, for reuse
+	 * by subsequent transactions while the context stays bound.
+	 */
+	private static final class TransactionContext {
+
+		@Nullable
+		Map<Object, Object> resources;
+
+		@Nullable
+		Set<TransactionSynchronization> synchronizations;
+
+		boolean synchronizationActive;
+
+		@Nullable
+		String transactionName;
+
+		boolean readOnly;
+
+		@Nullable
+		Integer isolationLevel;
+
+		boolean actualTransactionActive;
+
+		void clearSynchronization() {
+			this.synchronizationActive = false;
+			if (this.synchronizations != null) {
+				this.synchronizations.clear();
+			}
+		}
+
+		boolean isEmpty() {
+			return ((this.resources == null || this.resources.isEmpty()) && !this.synchronizationActive &&
+					this.transactionName == null && !this.readOnly && this.isolationLevel == null &&
+					!this.actualTransactionActive);
+		}
 	}
 
 }
@@ -16,12 +16,19 @@
 
 package org.springframework.transaction;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.Ordered;
+
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.transaction.support.DefaultTransactionStatus;
 import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
@@ -282,6 +289,40 @@ public class TransactionSupportTests {
 		assertThat(template3).isEqualTo(template2);
 	}
 
+	@Test
+	public void transactionStateBoundAndClearedPerTransaction() {
+		TestTransactionManager tm = new TestTransactionManager(false, true);
+		tm.setTransactionSynchronization(AbstractPlatformTransactionManager.SYNCHRONIZATION_ALWAYS);
+		TransactionTemplate template = new TransactionTemplate(tm);
+		template.setName("tx");
+		template.setReadOnly(true);
+		template.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+		List<String> callbacks = new ArrayList<>();
+
+		for (int i = 0; i < 2; i++) {
+			template.executeWithoutResult(status -> {
+				assertThat(TransactionSynchronizationManager.getCurrentTransactionName()).isEqualTo("tx");
+				assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isTrue();
+				assertThat(TransactionSynchronizationManager.getCurrentTransactionIsolationLevel())
+						.isEqualTo(TransactionDefinition.ISOLATION_SERIALIZABLE);
+				assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isTrue();
+				assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+				TransactionSynchronizationManager.registerSynchronization(new OrderedSynchronization(callbacks, "second", 2));
+				TransactionSynchronizationManager.registerSynchronization(new OrderedSynchronization(callbacks, "first", 1));
+				assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(2);
+				TransactionSynchronizationManager.bindResource("key", "value");
+			});
+			assertThat(TransactionSynchronizationManager.getResource("key")).isEqualTo("value");
+			assertThat(TransactionSynchronizationManager.unbindResource("key")).isEqualTo("value");
+		}
+
+		assertThat(callbacks).containsExactly("first", "second", "first", "second");
+		assertThat(TransactionSynchronizationManager.getCurrentTransactionName()).isNull();
+		assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isFalse();
+		assertThat(TransactionSynchronizationManager.getCurrentTransactionIsolationLevel()).isNull();
+		assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+	}
+
 
 	@AfterEach
 	public void clear() {
@@ -289,4 +330,30 @@ public class TransactionSupportTests {
 		assertThat(TransactionSynchronizationManager.isSynchronizationActive()).isFalse();
 	}
 
+
+	private static class OrderedSynchronization implements TransactionSynchronization, Ordered {
+
+		private final List<String> callbacks;
+
+		private final String name;
+
+		private final int order;
+
+		OrderedSynchronization(List<String> callbacks, String name, int order) {
+			this.callbacks = callbacks;
+			this.name = name;
+			this.order = order;
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			this.callbacks.add(this.name);
+		}
+
+		@Override
+		public int getOrder() {
+			return this.order;
+		}
+	}
+
 }
@@ -17,13 +17,19 @@
 package org.springframework.transaction.interceptor;
 
 import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.testfixture.beans.ITestBean;
+import org.springframework.beans.testfixture.beans.TestBean;
 import org.springframework.core.testfixture.io.SerializationTestUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -34,8 +40,10 @@ import org.springframework.transaction.TransactionStatus;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -261,6 +269,89 @@ public class TransactionInterceptorTests extends AbstractTransactionAspectTests
 		verify(beanFactory, times(1)).getBean(TransactionManager.class);
 	}
 
+	@Test
+	public void transactionAttributeResolvedOncePerMethod() {
+		AtomicInteger lookups = new AtomicInteger();
+		TransactionAttributeSource tas = (method, targetClass) -> {
+			lookups.incrementAndGet();
+			return new DefaultTransactionAttribute();
+		};
+		PlatformTransactionManager ptm = mock(PlatformTransactionManager.class);
+		TransactionStatus status = mock(TransactionStatus.class);
+		given(ptm.getTransaction(new DefaultTransactionAttribute())).willReturn(status);
+		TransactionInterceptor ti = new TransactionInterceptor(ptm, tas);
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(ti);
+		ITestBean itb = (ITestBean) pf.getProxy();
+
+		itb.getName();
+		itb.getName();
+		assertThat(lookups.get()).isEqualTo(1);
+		verify(ptm, times(2)).commit(status);
+
+		// Changed configuration -> resolved again
+		PlatformTransactionManager ptm2 = mock(PlatformTransactionManager.class);
+		given(ptm2.getTransaction(new DefaultTransactionAttribute())).willReturn(status);
+		ti.setTransactionManager(ptm2);
+		itb.getName();
+		assertThat(lookups.get()).isEqualTo(2);
+		verify(ptm2).commit(status);
+	}
+
+	@Test
+	@SuppressWarnings("serial")
+	public void transactionManagerDeterminedPerInvocationIfOverridden() {
+		PlatformTransactionManager ptm1 = mock(PlatformTransactionManager.class);
+		PlatformTransactionManager ptm2 = mock(PlatformTransactionManager.class);
+		TransactionStatus status = mock(TransactionStatus.class);
+		given(ptm1.getTransaction(any())).willReturn(status);
+		given(ptm2.getTransaction(any())).willReturn(status);
+		AtomicReference<PlatformTransactionManager> currentTm = new AtomicReference<>(ptm1);
+		TransactionInterceptor ti = new TransactionInterceptor() {
+			@Override
+			protected TransactionManager determineTransactionManager(@Nullable TransactionAttribute txAttr) {
+				return currentTm.get();
+			}
+		};
+		ti.setTransactionAttributeSource((method, targetClass) -> new DefaultTransactionAttribute());
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(ti);
+		ITestBean itb = (ITestBean) pf.getProxy();
+
+		itb.getName();
+		verify(ptm1).commit(status);
+		currentTm.set(ptm2);
+		itb.getName();
+		verify(ptm2).commit(status);
+		verify(ptm1).commit(status);
+	}
+
+	@Test
+	public void rollbackRulesEvaluatedPerExceptionType() throws Throwable {
+		RuleBasedTransactionAttribute txatt = new RuleBasedTransactionAttribute();
+		txatt.setRollbackRules(Arrays.asList(
+				new NoRollbackRuleAttribute(IllegalStateException.class), new RollbackRuleAttribute(Exception.class)));
+		Method exceptional = ITestBean.class.getMethod("exceptional", Throwable.class);
+		MapTransactionAttributeSource tas = new MapTransactionAttributeSource();
+		tas.register(exceptional, txatt);
+		PlatformTransactionManager ptm = mock(PlatformTransactionManager.class);
+		TransactionStatus status = mock(TransactionStatus.class);
+		given(ptm.getTransaction(any())).willReturn(status);
+		ITestBean itb = (ITestBean) advised(new TestBean(), ptm, tas);
+
+		for (int i = 0; i < 2; i++) {
+			assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() ->
+					itb.exceptional(new IllegalStateException()));
+		}
+		verify(ptm, times(2)).commit(status);
+		verify(ptm, never()).rollback(status);
+
+		assertThatExceptionOfType(Exception.class).isThrownBy(() -> itb.exceptional(new Exception()));
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
+				itb.exceptional(new IllegalArgumentException()));
+		verify(ptm, times(2)).rollback(status);
+	}
+
 
 	private TransactionInterceptor createTransactionInterceptor(BeanFactory beanFactory,
 			String transactionManagerName, PlatformTransactionManager transactionManager) {